@@ -0,0 +1,263 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.metrics.ExtractionListener;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The configuration of extractions: the downloader, the preferred localization and content
+ * country, the executor of asynchronous work and the extraction listener.
+ *
+ * <p>
+ * Contexts are immutable, so that differently configured extractions can run concurrently. An
+ * extractor uses the context which is {@link #current() current} when it is created, e.g. the
+ * one given to {@link StreamingService#getStreamExtractor(ExtractionContext, String)}. While it
+ * fetches its page and while an info is extracted from it, its context is
+ * {@link #enter() entered}, so that {@link NewPipe#getDownloader()},
+ * {@link NewPipe#getPreferredLocalization()}, {@link NewPipe#getPreferredContentCountry()} and
+ * {@link NewPipe#getExtractionListener()} return the values of the context on this thread.
+ * </p>
+ *
+ * <p>
+ * When no context is entered, the {@link #getDefault() default context} is used, which is
+ * configured with the static methods of {@link NewPipe}.
+ * </p>
+ */
+public final class ExtractionContext {
+    private static final ThreadLocal<ExtractionContext> ENTERED = new ThreadLocal<>();
+
+    @Nonnull
+    private final Downloader downloader;
+    @Nonnull
+    private final Localization localization;
+    @Nonnull
+    private final ContentCountry contentCountry;
+    @Nonnull
+    private final Executor executor;
+    @Nonnull
+    private final ExtractionListener extractionListener;
+
+    private ExtractionContext(@Nonnull final Builder builder) {
+        this.downloader = Objects.requireNonNull(builder.downloader, "downloader is null");
+        this.localization = builder.localization;
+        this.contentCountry = builder.contentCountry == null
+                ? getContentCountryOf(builder.localization) : builder.contentCountry;
+        this.executor = builder.executor;
+        this.extractionListener = builder.extractionListener;
+    }
+
+    /**
+     * @return the context configured with the static methods of {@link NewPipe}
+     */
+    @Nonnull
+    public static ExtractionContext getDefault() {
+        return newBuilder()
+                .downloader(NewPipe.getDefaultDownloader())
+                .localization(NewPipe.getDefaultLocalization())
+                .contentCountry(NewPipe.getDefaultContentCountry())
+                .extractionListener(NewPipe.getDefaultExtractionListener())
+                .build();
+    }
+
+    /**
+     * @return the context entered on the current thread, or the {@link #getDefault() default
+     * context} if there is none
+     */
+    @Nonnull
+    public static ExtractionContext current() {
+        final ExtractionContext entered = ENTERED.get();
+        return entered == null ? getDefault() : entered;
+    }
+
+    /**
+     * @return the context entered on the current thread, or {@code null} if there is none
+     */
+    @Nullable
+    static ExtractionContext getEntered() {
+        return ENTERED.get();
+    }
+
+    /**
+     * Make this context the current one of the current thread, until the returned scope is
+     * closed.
+     *
+     * <pre>{@code
+     * try (ExtractionContext.Scope ignored = context.enter()) {
+     *     // extractions made here use the context
+     * }
+     * }</pre>
+     *
+     * @return the scope, which restores the previous context when it is closed
+     */
+    @Nonnull
+    public Scope enter() {
+        final ExtractionContext previous = ENTERED.get();
+        ENTERED.set(this);
+        return new Scope(previous);
+    }
+
+    /**
+     * Wrap a task so that this context is entered while it runs, e.g. on another thread.
+     *
+     * @param task the task to wrap
+     * @return a task entering this context, running the given task and restoring the context
+     * which was current before
+     */
+    @Nonnull
+    public Runnable wrap(@Nonnull final Runnable task) {
+        return () -> {
+            try (Scope ignored = enter()) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * Wrap an executor so that the tasks submitted to it run with this context entered.
+     *
+     * <p>
+     * Asynchronous work of an extraction should be submitted to such an executor, since the
+     * context entered on a thread is not inherited by the threads of executors.
+     * </p>
+     *
+     * @param executor the executor on which tasks are run
+     * @return an executor running the tasks given to it with {@link #wrap(Runnable)} on the
+     * given executor
+     */
+    @Nonnull
+    public Executor wrapExecutor(@Nonnull final Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    @Nonnull
+    public Downloader getDownloader() {
+        return downloader;
+    }
+
+    @Nonnull
+    public Localization getLocalization() {
+        return localization;
+    }
+
+    @Nonnull
+    public ContentCountry getContentCountry() {
+        return contentCountry;
+    }
+
+    /**
+     * @return the executor on which asynchronous work of extractions is run when no executor is
+     * given, e.g. concurrent requests; tasks should be submitted to it through
+     * {@link #wrapExecutor(Executor)}
+     */
+    @Nonnull
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    @Nonnull
+    public ExtractionListener getExtractionListener() {
+        return extractionListener;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * @return a builder initialized with the values of this context
+     */
+    public Builder toBuilder() {
+        return new Builder()
+                .downloader(downloader)
+                .localization(localization)
+                .contentCountry(contentCountry)
+                .executor(executor)
+                .extractionListener(extractionListener);
+    }
+
+    @Nonnull
+    private static ContentCountry getContentCountryOf(@Nonnull final Localization localization) {
+        return localization.getCountryCode().isEmpty()
+                ? ContentCountry.DEFAULT : new ContentCountry(localization.getCountryCode());
+    }
+
+    /**
+     * A scope in which a context is the current one of a thread.
+     */
+    public static final class Scope implements AutoCloseable {
+        @Nullable
+        private final ExtractionContext previous;
+
+        private Scope(@Nullable final ExtractionContext previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            if (previous == null) {
+                ENTERED.remove();
+            } else {
+                ENTERED.set(previous);
+            }
+        }
+    }
+
+    /**
+     * A builder for an {@link ExtractionContext}.
+     */
+    public static final class Builder {
+        private Downloader downloader;
+        @Nonnull
+        private Localization localization = Localization.DEFAULT;
+        @Nullable
+        private ContentCountry contentCountry;
+        @Nonnull
+        private Executor executor = ForkJoinPool.commonPool();
+        @Nonnull
+        private ExtractionListener extractionListener = ExtractionListener.NOOP;
+
+        private Builder() {
+        }
+
+        public Builder downloader(@Nonnull final Downloader downloader) {
+            this.downloader = downloader;
+            return this;
+        }
+
+        public Builder localization(@Nonnull final Localization localization) {
+            this.localization = localization;
+            return this;
+        }
+
+        /**
+         * @param contentCountry the content country, or {@code null} to use the country of the
+         *                       localization
+         */
+        public Builder contentCountry(@Nullable final ContentCountry contentCountry) {
+            this.contentCountry = contentCountry;
+            return this;
+        }
+
+        public Builder executor(@Nonnull final Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public Builder extractionListener(@Nonnull final ExtractionListener extractionListener) {
+            this.extractionListener = extractionListener;
+            return this;
+        }
+
+        public ExtractionContext build() {
+            return new ExtractionContext(this);
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.schabi.newpipe.extractor.linkhandler.LinkHandler;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -15,6 +16,24 @@ import java.io.IOException;
 import java.util.Objects;
 
 public abstract class Extractor {
+    /**
+     * A phase of an extraction, run by {@link #runPhase(ExtractionPhase, Step)}.
+     *
+     * <p>
+     * A step declares two exception types, so that steps throwing both an {@link IOException}
+     * and an {@link ExtractionException} can be run without widening the exceptions thrown by
+     * their callers. Steps which throw fewer exceptions leave them inferred.
+     * </p>
+     *
+     * @param <T>  the type of the result of the step
+     * @param <E1> the type of a checked exception thrown by the step
+     * @param <E2> the type of another checked exception thrown by the step
+     */
+    @FunctionalInterface
+    public interface Step<T, E1 extends Exception, E2 extends Exception> {
+        T run() throws E1, E2;
+    }
+
     /**
      * {@link StreamingService} currently related to this extractor.<br>
      * Useful for getting other things from a service (like the url handlers for
@@ -29,6 +48,8 @@ public abstract class Extractor {
     private ContentCountry forcedContentCountry = null;
 
     private boolean pageFetched = false;
+    @Nonnull
+    private final ExtractionContext context;
     // called like this to prevent checkstyle errors about "hiding a field"
     private final Downloader downloader;
 
@@ -36,6 +57,7 @@ public abstract class Extractor {
         this.service = Objects.requireNonNull(service, "service is null");
         this.linkHandler = Objects.requireNonNull(linkHandler, "LinkHandler is null");
         this.downloader = Objects.requireNonNull(NewPipe.getDownloader(), "downloader is null");
+        this.context = ExtractionContext.current();
     }
 
     /**
@@ -57,7 +79,10 @@ public abstract class Extractor {
         if (pageFetched) {
             return;
         }
-        onFetchPage(downloader);
+        this.<Void, IOException, ExtractionException>runPhase(ExtractionPhase.FETCH_PAGE, () -> {
+            onFetchPage(downloader);
+            return null;
+        });
         pageFetched = true;
     }
 
@@ -124,6 +149,52 @@ public abstract class Extractor {
         return downloader;
     }
 
+    /**
+     * @return the context of this extractor, which was the current one when it was created
+     */
+    @Nonnull
+    public ExtractionContext getContext() {
+        return context;
+    }
+
+    /**
+     * Like {@link #runPhase(ExtractionPhase, String, Step)}, reporting the URL of the
+     * {@link #getLinkHandler() link handler} of this extractor.
+     */
+    public final <T, E1 extends Exception, E2 extends Exception> T runPhase(
+            @Nonnull final ExtractionPhase phase,
+            @Nonnull final Step<T, E1, E2> step) throws E1, E2 {
+        return runPhase(phase, linkHandler.getUrl(), step);
+    }
+
+    /**
+     * Run a phase of an extraction with the {@link #getContext() context} of this extractor
+     * entered, and report its duration and its error, if any, to the
+     * {@link ExtractionContext#getExtractionListener() extraction listener} of the context.
+     *
+     * @param phase the phase of the extraction
+     * @param url   the URL reported to the extraction listener
+     * @param step  the work of the phase
+     * @return the result of the step
+     */
+    public final <T, E1 extends Exception, E2 extends Exception> T runPhase(
+            @Nonnull final ExtractionPhase phase,
+            @Nonnull final String url,
+            @Nonnull final Step<T, E1, E2> step) throws E1, E2 {
+        final long startedAt = System.nanoTime();
+        final T result;
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            result = step.run();
+        } catch (final Exception e) {
+            context.getExtractionListener().onPhase(phase, getServiceId(), url, e,
+                    System.nanoTime() - startedAt);
+            throw e;
+        }
+        context.getExtractionListener().onPhase(phase, getServiceId(), url, null,
+                System.nanoTime() - startedAt);
+        return result;
+    }
+
     /*//////////////////////////////////////////////////////////////////////////
     // Localization
     //////////////////////////////////////////////////////////////////////////*/
@@ -136,14 +207,25 @@ public abstract class Extractor {
         this.forcedContentCountry = contentCountry;
     }
 
+    /**
+     * @return the forced localization of this extractor, or else the localization of its
+     * {@link #getContext() context} if it is supported by the service
+     */
     @Nonnull
     public Localization getExtractorLocalization() {
-        return forcedLocalization == null ? getService().getLocalization() : forcedLocalization;
+        return forcedLocalization == null
+                ? getService().getLocalization(context.getLocalization())
+                : forcedLocalization;
     }
 
+    /**
+     * @return the forced content country of this extractor, or else the content country of its
+     * {@link #getContext() context} if it is supported by the service
+     */
     @Nonnull
     public ContentCountry getExtractorContentCountry() {
-        return forcedContentCountry == null ? getService().getContentCountry()
+        return forcedContentCountry == null
+                ? getService().getContentCountry(context.getContentCountry())
                 : forcedContentCountry;
     }
 
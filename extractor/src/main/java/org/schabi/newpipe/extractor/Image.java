@@ -115,6 +115,26 @@ public final class Image implements Serializable {
         return estimatedResolutionLevel;
     }
 
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Image)) {
+            return false;
+        }
+        final Image image = (Image) o;
+        return height == image.height
+                && width == image.width
+                && url.equals(image.url)
+                && estimatedResolutionLevel == image.estimatedResolutionLevel;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url, height, width, estimatedResolutionLevel);
+    }
+
     /**
      * Get a string representation of this {@link Image} instance.
      *
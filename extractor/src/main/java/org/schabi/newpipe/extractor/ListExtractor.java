@@ -2,10 +2,13 @@ package org.schabi.newpipe.extractor;
 
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
 
@@ -53,6 +56,86 @@ public abstract class ListExtractor<R extends InfoItem> extends Extractor {
      */
     public abstract InfoItemsPage<R> getPage(Page page) throws IOException, ExtractionException;
 
+    /**
+     * Get a page like {@link #getPage(Page)}, with the {@link #getContext() context} of this
+     * extractor entered.
+     *
+     * <p>
+     * {@link #getPage(Page)} uses the context which is current when it is called. Use this method
+     * when the page may be requested outside of the scope in which this extractor was created,
+     * e.g. on another thread, so that it is still requested with the downloader and the
+     * localization of this extractor.
+     * </p>
+     *
+     * <p>
+     * The duration of the request is reported to the extraction listener of the context as an
+     * {@link ExtractionPhase#GET_PAGE} phase.
+     * </p>
+     *
+     * @param page the page to get
+     * @return the page
+     */
+    public final InfoItemsPage<R> getPageInContext(final Page page)
+            throws IOException, ExtractionException {
+        final String url = page.getUrl() == null ? getLinkHandler().getUrl() : page.getUrl();
+        return this.<InfoItemsPage<R>, IOException, ExtractionException>runPhase(
+                ExtractionPhase.GET_PAGE, url, () -> getPage(page));
+    }
+
+    /**
+     * Get a {@link PageIterator} over all the pages of this list, starting from the initial page
+     * and fetching up to {@code prefetchDepth} pages ahead of the consumer on the given executor.
+     *
+     * <p>
+     * This extractor must not be used by other threads until the iterator has been consumed or
+     * {@link PageIterator#close() closed}.
+     * </p>
+     *
+     * @param prefetchDepth the maximum number of pages fetched ahead of the consumer
+     * @param executor      the executor on which pages will be fetched
+     * @return a new {@link PageIterator}, which starts fetching pages immediately
+     */
+    @Nonnull
+    public PageIterator<R> pageIterator(final int prefetchDepth,
+                                        @Nonnull final Executor executor) {
+        return new PageIterator<>(this, null, prefetchDepth, executor);
+    }
+
+    /**
+     * Get a {@link PageIterator} over all the pages of this list, fetching the next page on a
+     * dedicated daemon thread while the current one is being consumed.
+     *
+     * @return a new {@link PageIterator}, which starts fetching pages immediately
+     * @see #pageIterator(int, Executor)
+     */
+    @Nonnull
+    public PageIterator<R> pageIterator() {
+        return pageIterator(PageIterator.DEFAULT_PREFETCH_DEPTH, runnable -> {
+            final Thread thread = new Thread(runnable, "PageIterator-" + getServiceId());
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    /**
+     * Get a lazily populated {@link Stream} of all the items of this list.
+     *
+     * <p>
+     * The stream must be {@link Stream#close() closed} if it is not consumed entirely, e.g. with
+     * a try-with-resources statement, to stop fetching pages in the background. Page fetching
+     * errors are thrown as {@link PageIterator.FetchException}s when reaching the failed page.
+     * </p>
+     *
+     * @param prefetchDepth the maximum number of pages fetched ahead of the consumer
+     * @param executor      the executor on which pages will be fetched
+     * @return a stream of the items of this list
+     * @see #pageIterator(int, Executor)
+     */
+    @Nonnull
+    public Stream<R> itemsStream(final int prefetchDepth, @Nonnull final Executor executor) {
+        return pageIterator(prefetchDepth, executor).itemsStream();
+    }
+
     @Nonnull
     @Override
     public ListLinkHandler getLinkHandler() {
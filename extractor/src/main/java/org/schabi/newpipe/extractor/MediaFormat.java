@@ -24,10 +24,12 @@ package org.schabi.newpipe.extractor;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
-import java.util.function.Function;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Static data about various media formats support by NewPipe, eg mime type, extension
@@ -82,14 +84,38 @@ public enum MediaFormat {
         this.mimeType = mimeType;
     }
 
-    private static <T> T getById(final int id,
-                                 final Function<MediaFormat, T> field,
-                                 final T orElse) {
-        return Arrays.stream(MediaFormat.values())
-                .filter(mediaFormat -> mediaFormat.id == id)
-                .map(field)
-                .findFirst()
-                .orElse(orElse);
+    /**
+     * The ids of the media formats, sorted in ascending order, in order to find a format by its
+     * id with a binary search. The ids are too sparse to index an array with them directly.
+     */
+    private static final int[] SORTED_IDS;
+    /**
+     * The media format of each id of {@link #SORTED_IDS}, at the same index.
+     */
+    private static final MediaFormat[] FORMATS_BY_SORTED_ID;
+    private static final Map<String, MediaFormat> FIRST_FORMAT_BY_MIME_TYPE = new HashMap<>();
+    private static final Map<String, List<MediaFormat>> FORMATS_BY_MIME_TYPE = new HashMap<>();
+    private static final Map<String, MediaFormat> FIRST_FORMAT_BY_SUFFIX = new HashMap<>();
+
+    static {
+        // Media formats with the same id, mime type or suffix are resolved in declaration order
+        final Map<Integer, MediaFormat> firstFormatById = new TreeMap<>();
+        for (final MediaFormat mediaFormat : values()) {
+            firstFormatById.putIfAbsent(mediaFormat.id, mediaFormat);
+            FIRST_FORMAT_BY_MIME_TYPE.putIfAbsent(mediaFormat.mimeType, mediaFormat);
+            FORMATS_BY_MIME_TYPE.computeIfAbsent(mediaFormat.mimeType, k -> new ArrayList<>())
+                    .add(mediaFormat);
+            FIRST_FORMAT_BY_SUFFIX.putIfAbsent(mediaFormat.suffix, mediaFormat);
+        }
+
+        SORTED_IDS = firstFormatById.keySet().stream().mapToInt(Integer::intValue).toArray();
+        FORMATS_BY_SORTED_ID = firstFormatById.values().toArray(new MediaFormat[0]);
+    }
+
+    @Nullable
+    private static MediaFormat findById(final int id) {
+        final int index = Arrays.binarySearch(SORTED_IDS, id);
+        return index < 0 ? null : FORMATS_BY_SORTED_ID[index];
     }
 
     /**
@@ -101,7 +127,8 @@ public enum MediaFormat {
      */
     @Nonnull
     public static String getNameById(final int id) {
-        return getById(id, MediaFormat::getName, "");
+        final MediaFormat mediaFormat = findById(id);
+        return mediaFormat == null ? "" : mediaFormat.name;
     }
 
     /**
@@ -113,7 +140,8 @@ public enum MediaFormat {
      */
     @Nonnull
     public static String getSuffixById(final int id) {
-        return getById(id, MediaFormat::getSuffix, "");
+        final MediaFormat mediaFormat = findById(id);
+        return mediaFormat == null ? "" : mediaFormat.suffix;
     }
 
     /**
@@ -125,7 +153,8 @@ public enum MediaFormat {
      */
     @Nullable
     public static String getMimeById(final int id) {
-        return getById(id, MediaFormat::getMimeType, null);
+        final MediaFormat mediaFormat = findById(id);
+        return mediaFormat == null ? null : mediaFormat.mimeType;
     }
 
     /**
@@ -138,10 +167,7 @@ public enum MediaFormat {
      */
     @Nullable
     public static MediaFormat getFromMimeType(final String mimeType) {
-        return Arrays.stream(MediaFormat.values())
-                .filter(mediaFormat -> mediaFormat.mimeType.equals(mimeType))
-                .findFirst()
-                .orElse(null);
+        return FIRST_FORMAT_BY_MIME_TYPE.get(mimeType);
     }
 
     /**
@@ -152,9 +178,8 @@ public enum MediaFormat {
      */
     @Nonnull
     public static List<MediaFormat> getAllFromMimeType(final String mimeType) {
-        return Arrays.stream(MediaFormat.values())
-                .filter(mediaFormat -> mediaFormat.mimeType.equals(mimeType))
-                .collect(Collectors.toList());
+        final List<MediaFormat> mediaFormats = FORMATS_BY_MIME_TYPE.get(mimeType);
+        return mediaFormats == null ? new ArrayList<>() : new ArrayList<>(mediaFormats);
     }
 
     /**
@@ -165,7 +190,7 @@ public enum MediaFormat {
      */
     @Nullable
     public static MediaFormat getFormatById(final int id) {
-        return getById(id, mediaFormat -> mediaFormat, null);
+        return findById(id);
     }
 
     /**
@@ -174,10 +199,7 @@ public enum MediaFormat {
      */
     @Nullable
     public static MediaFormat getFromSuffix(final String suffix) {
-        return Arrays.stream(MediaFormat.values())
-                .filter(mediaFormat -> mediaFormat.suffix.equals(suffix))
-                .findFirst()
-                .orElse(null);
+        return FIRST_FORMAT_BY_SUFFIX.get(suffix);
     }
 
     /**
@@ -24,6 +24,7 @@ import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.metrics.ExtractionListener;
 
 import java.util.List;
 
@@ -32,11 +33,19 @@ import javax.annotation.Nullable;
 
 /**
  * Provides access to streaming services supported by NewPipe.
+ *
+ * <p>
+ * The downloader, localization, content country and extraction listener set with the static
+ * methods of this class form the {@link ExtractionContext#getDefault() default extraction
+ * context}. Their getters return the values of the {@link ExtractionContext} entered on the
+ * current thread, if there is one.
+ * </p>
  */
 public final class NewPipe {
     private static Downloader downloader;
     private static Localization preferredLocalization;
     private static ContentCountry preferredContentCountry;
+    private static volatile ExtractionListener extractionListener = ExtractionListener.NOOP;
 
     private NewPipe() {
     }
@@ -57,7 +66,27 @@ public final class NewPipe {
     }
 
     public static Downloader getDownloader() {
-        return downloader;
+        final ExtractionContext context = ExtractionContext.getEntered();
+        return context == null ? downloader : context.getDownloader();
+    }
+
+    /**
+     * @return the listener of the events of extractions, which is
+     * {@link ExtractionListener#NOOP} by default
+     */
+    @Nonnull
+    public static ExtractionListener getExtractionListener() {
+        final ExtractionContext context = ExtractionContext.getEntered();
+        return context == null ? extractionListener : context.getExtractionListener();
+    }
+
+    /**
+     * Set the listener of the events of extractions, to measure or trace them.
+     *
+     * @param listener the listener, or {@code null} to ignore the events
+     */
+    public static void setExtractionListener(@Nullable final ExtractionListener listener) {
+        extractionListener = listener == null ? ExtractionListener.NOOP : listener;
     }
 
     /*//////////////////////////////////////////////////////////////////////////
@@ -117,7 +146,8 @@ public final class NewPipe {
 
     @Nonnull
     public static Localization getPreferredLocalization() {
-        return preferredLocalization == null ? Localization.DEFAULT : preferredLocalization;
+        final ExtractionContext context = ExtractionContext.getEntered();
+        return context == null ? getDefaultLocalization() : context.getLocalization();
     }
 
     public static void setPreferredLocalization(final Localization preferredLocalization) {
@@ -126,10 +156,34 @@ public final class NewPipe {
 
     @Nonnull
     public static ContentCountry getPreferredContentCountry() {
-        return preferredContentCountry == null ? ContentCountry.DEFAULT : preferredContentCountry;
+        final ExtractionContext context = ExtractionContext.getEntered();
+        return context == null ? getDefaultContentCountry() : context.getContentCountry();
     }
 
     public static void setPreferredContentCountry(final ContentCountry preferredContentCountry) {
         NewPipe.preferredContentCountry = preferredContentCountry;
     }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Default extraction context
+    //////////////////////////////////////////////////////////////////////////*/
+
+    static Downloader getDefaultDownloader() {
+        return downloader;
+    }
+
+    @Nonnull
+    static Localization getDefaultLocalization() {
+        return preferredLocalization == null ? Localization.DEFAULT : preferredLocalization;
+    }
+
+    @Nonnull
+    static ContentCountry getDefaultContentCountry() {
+        return preferredContentCountry == null ? ContentCountry.DEFAULT : preferredContentCountry;
+    }
+
+    @Nonnull
+    static ExtractionListener getDefaultExtractionListener() {
+        return extractionListener;
+    }
 }
@@ -0,0 +1,339 @@
+package org.schabi.newpipe.extractor;
+
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An {@link Iterator} over the pages of a {@link ListExtractor} which fetches the following pages
+ * in the background while the current one is being consumed.
+ *
+ * <p>
+ * Pages are fetched sequentially by a single task submitted to an {@link Executor}, as the
+ * continuation of a page is only known once the previous page has been parsed. At most
+ * {@link #getPrefetchDepth() prefetchDepth} pages are fetched ahead of the consumer, counting the
+ * page being fetched: the background task waits before fetching a page as soon as this limit is
+ * reached and resumes when the consumer takes a page, so a slow consumer never makes the iterator
+ * buffer the whole list.
+ * </p>
+ *
+ * <p>
+ * The {@link ListExtractor} given to this iterator must not be used by other threads while the
+ * iterator is running. Always {@link #close() close} the iterator (or the {@link Stream} returned
+ * by {@link #itemsStream()}) if it is not consumed until the end, in order to stop the background
+ * task.
+ * </p>
+ *
+ * @param <T> the info item type of the pages of the list extractor
+ */
+public final class PageIterator<T extends InfoItem>
+        implements Iterator<InfoItemsPage<T>>, Closeable {
+
+    /**
+     * The default number of pages fetched ahead of the consumer.
+     */
+    public static final int DEFAULT_PREFETCH_DEPTH = 1;
+
+    /**
+     * Marker put in the queue by the background task when there are no more pages.
+     */
+    private static final Object END = new Object();
+
+    /**
+     * The time after which the background task checks again whether the iterator was closed
+     * while it waits for the consumer.
+     */
+    private static final long WAIT_TIMEOUT_MILLIS = 100;
+
+    @Nonnull
+    private final ListExtractor<T> extractor;
+    @Nullable
+    private final Page startPage;
+    private final int prefetchDepth;
+    private final BlockingQueue<Object> queue;
+    /**
+     * The permits to fetch a page, one for each page which can be fetched ahead of the consumer.
+     * A permit is acquired before fetching a page and released when the consumer takes it.
+     */
+    private final Semaphore fetchPermits;
+    private final FutureTask<Void> fetchTask;
+
+    /**
+     * The element taken from the queue by {@link #hasNext()} and not yet returned by
+     * {@link #next()}.
+     */
+    @Nullable
+    private Object peeked = null;
+    private boolean finished = false;
+    private volatile boolean closed = false;
+
+    /**
+     * Creates a new {@link PageIterator} and starts fetching pages on the given executor.
+     *
+     * @param extractor     the list extractor whose pages should be iterated
+     * @param startPage     the page from which iteration should start, or {@code null} to start
+     *                      from the {@link ListExtractor#getInitialPage() initial page}
+     * @param prefetchDepth the maximum number of pages fetched ahead of the consumer, which must
+     *                      be at least {@code 1}
+     * @param executor      the executor on which pages will be fetched; the fetching task blocks
+     *                      while waiting for the consumer, so this should not be a pool with a
+     *                      small fixed number of threads shared with other work
+     */
+    public PageIterator(@Nonnull final ListExtractor<T> extractor,
+                        @Nullable final Page startPage,
+                        final int prefetchDepth,
+                        @Nonnull final Executor executor) {
+        if (prefetchDepth < 1) {
+            throw new IllegalArgumentException(
+                    "prefetchDepth must be at least 1, got " + prefetchDepth);
+        }
+
+        this.extractor = extractor;
+        this.startPage = startPage;
+        this.prefetchDepth = prefetchDepth;
+        // Room for the pages fetched ahead and for the end marker or the failure
+        this.queue = new ArrayBlockingQueue<>(prefetchDepth + 1);
+        this.fetchPermits = new Semaphore(prefetchDepth);
+        this.fetchTask = new FutureTask<>(this::fetchPages, null);
+        // Pages are fetched with the context of the extractor, whatever the executor thread is
+        executor.execute(extractor.getContext().wrap(fetchTask));
+    }
+
+    public int getPrefetchDepth() {
+        return prefetchDepth;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This method blocks until the next page has been fetched or until it is known that there
+     * are no more pages.
+     * </p>
+     */
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (peeked != null) {
+            return true;
+        }
+        if (finished) {
+            return false;
+        }
+
+        try {
+            peeked = queue.take();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            return false;
+        }
+
+        fetchPermits.release();
+        if (peeked == END || closed) {
+            peeked = null;
+            finished = true;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @throws FetchException if the page could not be fetched or extracted; the iteration ends
+     *                        after such an error
+     */
+    @Override
+    public InfoItemsPage<T> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Object element = peeked;
+        peeked = null;
+        if (element instanceof FetchException) {
+            finished = true;
+            throw (FetchException) element;
+        }
+
+        //noinspection unchecked
+        return (InfoItemsPage<T>) element;
+    }
+
+    /**
+     * Stops fetching pages and discards the pages which have already been fetched but not
+     * consumed.
+     *
+     * <p>
+     * The background task is interrupted, so a request currently executed may be aborted if the
+     * {@link org.schabi.newpipe.extractor.downloader.Downloader Downloader} supports
+     * interruption. Calling this method multiple times has no effect.
+     * </p>
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        fetchTask.cancel(true);
+        queue.clear();
+        // wake up a consumer which could be waiting in hasNext() on another thread
+        queue.offer(END);
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Get a sequential, ordered {@link Stream} of the pages of this iterator.
+     *
+     * <p>
+     * Closing the stream closes this iterator. Pages are only fetched as far as the stream is
+     * consumed, plus the configured prefetch depth.
+     * </p>
+     *
+     * @return a stream of the remaining pages of this iterator
+     */
+    @Nonnull
+    public Stream<InfoItemsPage<T>> pagesStream() {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(this::close);
+    }
+
+    /**
+     * Get a sequential, ordered {@link Stream} of the items of the remaining pages of this
+     * iterator.
+     *
+     * <p>
+     * Errors which happened while extracting single items are not reported by this stream; use
+     * {@link #pagesStream()} and {@link InfoItemsPage#getErrors()} if they are needed.
+     * </p>
+     *
+     * @return a stream of the items of the remaining pages of this iterator
+     * @see #pagesStream()
+     */
+    @Nonnull
+    public Stream<T> itemsStream() {
+        return pagesStream().flatMap(page -> page.getItems().stream());
+    }
+
+    /**
+     * The body of the background task, fetching pages and putting them in the queue, until
+     * there are no more pages, an error happens or this iterator is closed.
+     */
+    private void fetchPages() {
+        try {
+            if (!acquireFetchPermit()) {
+                return;
+            }
+            InfoItemsPage<T> page;
+            if (startPage == null) {
+                extractor.fetchPage();
+                page = extractor.getInitialPage();
+            } else {
+                page = extractor.getPageInContext(startPage);
+            }
+            if (!enqueue(page)) {
+                return;
+            }
+
+            while (page.hasNextPage()) {
+                if (!acquireFetchPermit()) {
+                    return;
+                }
+                page = extractor.getPageInContext(page.getNextPage());
+                if (!enqueue(page)) {
+                    return;
+                }
+            }
+            enqueue(END);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final IOException | ExtractionException | RuntimeException e) {
+            putFailure(new FetchException(e));
+        }
+    }
+
+    private void putFailure(@Nonnull final FetchException exception) {
+        try {
+            enqueue(exception);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Wait until a page can be fetched without exceeding the prefetch depth, unless this
+     * iterator is closed.
+     *
+     * <p>
+     * The wait is bounded, because the interruption of the background task by {@link #close()}
+     * may have been swallowed by the downloader, e.g. by turning it into an {@link IOException}.
+     * </p>
+     *
+     * @return whether a page can be fetched, i.e. this iterator is not closed
+     */
+    private boolean acquireFetchPermit() throws InterruptedException {
+        while (!closed) {
+            if (fetchPermits.tryAcquire(WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Put an element in the queue, waiting for the consumer to make room for it unless this
+     * iterator is closed.
+     *
+     * <p>
+     * The queue has room for all the pages allowed by the fetch permits and for the last
+     * element, so this only waits if {@link #close()} put {@link #END} in the queue, in which
+     * case the wait is bounded for the same reason as in {@link #acquireFetchPermit()}.
+     * </p>
+     *
+     * @return whether the element was put in the queue, i.e. this iterator is not closed
+     */
+    private boolean enqueue(@Nonnull final Object element) throws InterruptedException {
+        while (!closed) {
+            if (queue.offer(element, WAIT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Unchecked exception thrown by {@link PageIterator#next()} when a page could not be fetched.
+     * The original {@link IOException} or {@link ExtractionException} is available as the
+     * {@link #getCause() cause}.
+     */
+    public static final class FetchException extends RuntimeException {
+        public FetchException(final Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
 import org.schabi.newpipe.extractor.utils.Utils;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.Collections;
 import java.util.List;
@@ -310,6 +311,83 @@ public abstract class StreamingService {
         return getCommentsExtractor(listLinkHandlerFactory.fromUrl(url));
     }
 
+    /*//////////////////////////////////////////////////////////////////////////
+    // Extractors with an extraction context
+    //////////////////////////////////////////////////////////////////////////*/
+
+    /**
+     * Like {@link #getSearchExtractor(String)}, but the extractor uses the given context instead
+     * of the current one.
+     */
+    public SearchExtractor getSearchExtractor(@Nonnull final ExtractionContext context,
+                                              final String query)
+            throws ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getSearchExtractor(query);
+        }
+    }
+
+    /**
+     * Like {@link #getChannelExtractor(String)}, but the extractor uses the given context instead
+     * of the current one.
+     */
+    public ChannelExtractor getChannelExtractor(@Nonnull final ExtractionContext context,
+                                                final String url)
+            throws ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getChannelExtractor(url);
+        }
+    }
+
+    /**
+     * Like {@link #getPlaylistExtractor(String)}, but the extractor uses the given context
+     * instead of the current one.
+     */
+    public PlaylistExtractor getPlaylistExtractor(@Nonnull final ExtractionContext context,
+                                                  final String url)
+            throws ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getPlaylistExtractor(url);
+        }
+    }
+
+    /**
+     * Like {@link #getStreamExtractor(String)}, but the extractor uses the given context instead
+     * of the current one.
+     */
+    public StreamExtractor getStreamExtractor(@Nonnull final ExtractionContext context,
+                                              final String url)
+            throws ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getStreamExtractor(url);
+        }
+    }
+
+    /**
+     * Like {@link #getCommentsExtractor(String)}, but the extractor uses the given context
+     * instead of the current one.
+     */
+    public CommentsExtractor getCommentsExtractor(@Nonnull final ExtractionContext context,
+                                                  final String url)
+            throws ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getCommentsExtractor(url);
+        }
+    }
+
+    /**
+     * Like {@link #getFeedExtractor(String)}, but the extractor uses the given context instead of
+     * the current one.
+     */
+    @Nullable
+    public FeedExtractor getFeedExtractor(@Nonnull final ExtractionContext context,
+                                          final String url)
+            throws ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getFeedExtractor(url);
+        }
+    }
+
     /*//////////////////////////////////////////////////////////////////////////
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
@@ -366,8 +444,19 @@ public abstract class StreamingService {
      * </ul>
      */
     public Localization getLocalization() {
-        final Localization preferredLocalization = NewPipe.getPreferredLocalization();
+        return getLocalization(NewPipe.getPreferredLocalization());
+    }
 
+    /**
+     * Like {@link #getLocalization()}, but with the given preferred localization instead of
+     * {@link NewPipe#getPreferredLocalization()}.
+     *
+     * @param preferredLocalization the localization preferred by the user, e.g. the one of an
+     *                              {@link ExtractionContext}
+     * @return the localization that should be used in this service
+     */
+    @Nonnull
+    public Localization getLocalization(@Nonnull final Localization preferredLocalization) {
         // Check the localization's language and country
         if (getSupportedLocalizations().contains(preferredLocalization)) {
             return preferredLocalization;
@@ -393,8 +482,20 @@ public abstract class StreamingService {
      * </ul>
      */
     public ContentCountry getContentCountry() {
-        final ContentCountry preferredContentCountry = NewPipe.getPreferredContentCountry();
+        return getContentCountry(NewPipe.getPreferredContentCountry());
+    }
 
+    /**
+     * Like {@link #getContentCountry()}, but with the given preferred country instead of
+     * {@link NewPipe#getPreferredContentCountry()}.
+     *
+     * @param preferredContentCountry the country preferred by the user, e.g. the one of an
+     *                                {@link ExtractionContext}
+     * @return the country that should be used to fetch content in this service
+     */
+    @Nonnull
+    public ContentCountry getContentCountry(
+            @Nonnull final ContentCountry preferredContentCountry) {
         if (getSupportedCountries().contains(preferredContentCountry)) {
             return preferredContentCountry;
         }
@@ -20,12 +20,14 @@
 
 package org.schabi.newpipe.extractor.channel;
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.Info;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 
 import java.io.IOException;
 import java.util.List;
@@ -46,6 +48,17 @@ public class ChannelInfo extends Info {
         return getInfo(NewPipe.getServiceByUrl(url), url);
     }
 
+    /**
+     * Like {@link #getInfo(String)}, but the extraction uses the given context instead of the
+     * current one.
+     */
+    public static ChannelInfo getInfo(@Nonnull final ExtractionContext context, final String url)
+            throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getInfo(url);
+        }
+    }
+
     public static ChannelInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
         final ChannelExtractor extractor = service.getChannelExtractor(url);
@@ -55,6 +68,12 @@ public class ChannelInfo extends Info {
 
     public static ChannelInfo getInfo(final ChannelExtractor extractor)
             throws IOException, ExtractionException {
+        return extractor.<ChannelInfo, IOException, ExtractionException>runPhase(
+                ExtractionPhase.EXTRACT_INFO, () -> extractInfo(extractor));
+    }
+
+    private static ChannelInfo extractInfo(final ChannelExtractor extractor)
+            throws IOException, ExtractionException {
 
         final int serviceId = extractor.getServiceId();
         final String id = extractor.getId();
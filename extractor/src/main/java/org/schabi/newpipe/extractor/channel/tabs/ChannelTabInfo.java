@@ -1,5 +1,6 @@
 package org.schabi.newpipe.extractor.channel.tabs;
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.InfoItem;
 import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.ListInfo;
@@ -8,6 +9,7 @@ import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.channel.ChannelInfo;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import javax.annotation.Nonnull;
@@ -44,6 +46,11 @@ public class ChannelTabInfo extends ListInfo<InfoItem> {
      */
     @Nonnull
     public static ChannelTabInfo getInfo(@Nonnull final ChannelTabExtractor extractor) {
+        return extractor.runPhase(ExtractionPhase.EXTRACT_INFO, () -> extractInfo(extractor));
+    }
+
+    @Nonnull
+    private static ChannelTabInfo extractInfo(@Nonnull final ChannelTabExtractor extractor) {
         final ChannelTabInfo info =
                 new ChannelTabInfo(extractor.getServiceId(), extractor.getLinkHandler());
 
@@ -65,6 +72,20 @@ public class ChannelTabInfo extends ListInfo<InfoItem> {
             @Nonnull final StreamingService service,
             @Nonnull final ListLinkHandler linkHandler,
             @Nonnull final Page page) throws ExtractionException, IOException {
-        return service.getChannelTabExtractor(linkHandler).getPage(page);
+        return service.getChannelTabExtractor(linkHandler).getPageInContext(page);
+    }
+
+    /**
+     * Like {@link #getMoreItems(StreamingService, ListLinkHandler, Page)}, but the extraction
+     * uses the given context instead of the current one.
+     */
+    public static ListExtractor.InfoItemsPage<InfoItem> getMoreItems(
+            @Nonnull final ExtractionContext context,
+            @Nonnull final StreamingService service,
+            @Nonnull final ListLinkHandler linkHandler,
+            @Nonnull final Page page) throws ExtractionException, IOException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getMoreItems(service, linkHandler, page);
+        }
     }
 }
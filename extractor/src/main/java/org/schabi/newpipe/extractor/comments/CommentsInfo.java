@@ -1,5 +1,6 @@
 package org.schabi.newpipe.extractor.comments;
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.NewPipe;
@@ -7,10 +8,13 @@ import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
 
+import javax.annotation.Nonnull;
+
 public final class CommentsInfo extends ListInfo<CommentsInfoItem> {
 
     private CommentsInfo(
@@ -24,6 +28,17 @@ public final class CommentsInfo extends ListInfo<CommentsInfoItem> {
         return getInfo(NewPipe.getServiceByUrl(url), url);
     }
 
+    /**
+     * Like {@link #getInfo(String)}, but the extraction uses the given context instead of the
+     * current one.
+     */
+    public static CommentsInfo getInfo(@Nonnull final ExtractionContext context, final String url)
+            throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getInfo(url);
+        }
+    }
+
     public static CommentsInfo getInfo(final StreamingService service, final String url)
             throws ExtractionException, IOException {
         return getInfo(service.getCommentsExtractor(url));
@@ -36,6 +51,12 @@ public final class CommentsInfo extends ListInfo<CommentsInfoItem> {
             return null;
         }
 
+        return commentsExtractor.<CommentsInfo, IOException, ExtractionException>runPhase(
+                ExtractionPhase.EXTRACT_INFO, () -> extractInfo(commentsExtractor));
+    }
+
+    private static CommentsInfo extractInfo(final CommentsExtractor commentsExtractor)
+            throws IOException, ExtractionException {
         commentsExtractor.fetchPage();
 
         final String name = commentsExtractor.getName();
@@ -76,7 +97,21 @@ public final class CommentsInfo extends ListInfo<CommentsInfoItem> {
             final StreamingService service,
             final String url,
             final Page page) throws IOException, ExtractionException {
-        return service.getCommentsExtractor(url).getPage(page);
+        return service.getCommentsExtractor(url).getPageInContext(page);
+    }
+
+    /**
+     * Like {@link #getMoreItems(StreamingService, String, Page)}, but the extraction uses the
+     * given context instead of the current one.
+     */
+    public static InfoItemsPage<CommentsInfoItem> getMoreItems(
+            @Nonnull final ExtractionContext context,
+            final StreamingService service,
+            final String url,
+            final Page page) throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getMoreItems(service, url, page);
+        }
     }
 
     private transient CommentsExtractor commentsExtractor;
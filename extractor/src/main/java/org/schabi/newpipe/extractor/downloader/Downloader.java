@@ -81,6 +81,33 @@ public abstract class Downloader {
                 .build());
     }
 
+    /**
+     * Do a conditional GET request with the given headers and validators.
+     *
+     * <p>
+     * If the resource did not change since the response whose validators are given, the
+     * returned response {@link Response#isNotModified() is not modified} and has no body.
+     * </p>
+     *
+     * @param url          the URL that is pointing to the wanted resource
+     * @param headers      a list of headers that will be used in the request
+     * @param validators   the validators of the previous response for the same resource
+     * @param localization the source of the value of the {@code Accept-Language} header
+     * @return the result of the GET request
+     */
+    public Response getConditionally(final String url,
+                                     @Nullable final Map<String, List<String>> headers,
+                                     @Nonnull final Validators validators,
+                                     final Localization localization)
+            throws IOException, ReCaptchaException {
+        return execute(Request.newBuilder()
+                .get(url)
+                .headers(headers)
+                .validators(validators)
+                .localization(localization)
+                .build());
+    }
+
     /**
      * Do a HEAD request.
      *
@@ -0,0 +1,38 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.metrics.ExtractionListener;
+
+import java.io.IOException;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link Downloader} reporting the requests made by another downloader to the
+ * {@link NewPipe#getExtractionListener() extraction listener}.
+ */
+public final class ListeningDownloader extends Downloader {
+    @Nonnull
+    private final Downloader delegate;
+
+    public ListeningDownloader(@Nonnull final Downloader delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Response execute(@Nonnull final Request request)
+            throws IOException, ReCaptchaException {
+        final ExtractionListener listener = NewPipe.getExtractionListener();
+        listener.onRequestStart(request);
+        final long startedAt = System.nanoTime();
+        try {
+            final Response response = delegate.execute(request);
+            listener.onRequestEnd(request, response, null, System.nanoTime() - startedAt);
+            return response;
+        } catch (final IOException | ReCaptchaException | RuntimeException e) {
+            listener.onRequestEnd(request, null, e, System.nanoTime() - startedAt);
+            throw e;
+        }
+    }
+}
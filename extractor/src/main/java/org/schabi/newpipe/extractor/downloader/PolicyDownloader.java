@@ -0,0 +1,431 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Downloader} applying {@link RequestPolicy request policies} to the requests made by
+ * another downloader.
+ *
+ * <p>
+ * Endpoints are identified by URL prefixes, such as
+ * {@code "https://www.youtube.com/youtubei/v1/player"}; a request uses the policy of the longest
+ * prefix of its URL, or the default policy. The requests of each endpoint are counted and their
+ * latencies are recorded in {@link EndpointMetrics}, which are also used to find when requests
+ * are slow enough to be hedged.
+ * </p>
+ *
+ * <p>
+ * Requests with a deadline or which can be hedged are made on the executor of this downloader,
+ * and are interrupted when their deadline is exceeded or when another request won; other ones
+ * are made on the calling thread.
+ * </p>
+ */
+public final class PolicyDownloader extends Downloader {
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD");
+    private static final Set<Integer> RETRYABLE_RESPONSE_CODES = Set.of(429, 500, 502, 503, 504);
+    private static final int MAX_LATENCY_SAMPLES = 256;
+    private static final int MIN_HEDGING_LATENCY_SAMPLES = 20;
+
+    @Nonnull
+    private final Downloader delegate;
+    @Nonnull
+    private final Endpoint defaultEndpoint;
+    // Sorted from the longest prefix to the shortest one
+    @Nonnull
+    private final List<Endpoint> endpoints;
+    @Nonnull
+    private final ExecutorService executor;
+
+    /**
+     * Create a downloader applying policies to the requests made by another one.
+     *
+     * @param delegate         the downloader making the requests
+     * @param defaultPolicy    the policy of the requests whose URL matches no endpoint
+     * @param endpointPolicies the policies of endpoints, by URL prefix
+     * @param executor         the executor on which requests with a deadline or which can be
+     *                         hedged are made
+     */
+    public PolicyDownloader(@Nonnull final Downloader delegate,
+                            @Nonnull final RequestPolicy defaultPolicy,
+                            @Nonnull final Map<String, RequestPolicy> endpointPolicies,
+                            @Nonnull final ExecutorService executor) {
+        this.delegate = delegate;
+        this.defaultEndpoint = new Endpoint("", defaultPolicy);
+        this.endpoints = new ArrayList<>();
+        endpointPolicies.forEach((prefix, policy) -> endpoints.add(new Endpoint(prefix, policy)));
+        endpoints.sort(Comparator.comparingInt(
+                (final Endpoint endpoint) -> endpoint.prefix.length()).reversed());
+        this.executor = executor;
+    }
+
+    @Override
+    public Response execute(@Nonnull final Request request)
+            throws IOException, ReCaptchaException {
+        final Endpoint endpoint = getEndpoint(request.url());
+        final RequestPolicy policy = endpoint.policy;
+        final boolean idempotent = IDEMPOTENT_METHODS.contains(request.httpMethod());
+        final long startedAt = System.nanoTime();
+        endpoint.metrics.requestCount.incrementAndGet();
+
+        for (int retry = 0;; retry++) {
+            final boolean canRetry = idempotent && retry < policy.getMaxRetries();
+            final Response response;
+            try {
+                response = executeAttempt(request, endpoint, startedAt, idempotent);
+            } catch (final IOException e) {
+                // Interrupted requests are not retried, contrary to timed out ones
+                if (!canRetry || (e instanceof InterruptedIOException
+                        && !(e instanceof SocketTimeoutException))
+                        || !waitBeforeRetry(policy, retry, 0, startedAt)) {
+                    endpoint.metrics.failureCount.incrementAndGet();
+                    throw e;
+                }
+                endpoint.metrics.retryCount.incrementAndGet();
+                continue;
+            } catch (final ReCaptchaException e) {
+                endpoint.metrics.failureCount.incrementAndGet();
+                throw e;
+            }
+
+            if (!canRetry || !RETRYABLE_RESPONSE_CODES.contains(response.responseCode())
+                    || !waitBeforeRetry(policy, retry, getRetryAfterNanos(response), startedAt)) {
+                return response;
+            }
+            endpoint.metrics.retryCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * @param url the URL of a request
+     * @return the metrics of the endpoint of the request
+     */
+    @Nonnull
+    public EndpointMetrics getMetrics(@Nonnull final String url) {
+        return getEndpoint(url).metrics;
+    }
+
+    @Nonnull
+    private Endpoint getEndpoint(@Nonnull final String url) {
+        for (final Endpoint endpoint : endpoints) {
+            if (url.startsWith(endpoint.prefix)) {
+                return endpoint;
+            }
+        }
+        return defaultEndpoint;
+    }
+
+    @Nonnull
+    private Response executeAttempt(@Nonnull final Request request,
+                                    @Nonnull final Endpoint endpoint,
+                                    final long startedAt,
+                                    final boolean idempotent)
+            throws IOException, ReCaptchaException {
+        final RequestPolicy policy = endpoint.policy;
+        final boolean hedging = idempotent && policy.isHedgingEnabled();
+        if (policy.getDeadlineNanos() == 0 && !hedging) {
+            return executeAndRecord(request, endpoint);
+        }
+
+        final CompletableFuture<Response> result = new CompletableFuture<>();
+        final AtomicInteger pendingAttempts = new AtomicInteger(1);
+        final AtomicReference<Response> hedgeResponse = new AtomicReference<>();
+        final List<Future<?>> attempts = new ArrayList<>(2);
+        attempts.add(submitAttempt(request, endpoint, result, pendingAttempts, null));
+        try {
+            if (hedging) {
+                final long hedgingDelay = endpoint.getHedgingDelayNanos();
+                if (hedgingDelay < getRemainingNanos(policy, startedAt)) {
+                    try {
+                        return await(result, hedgingDelay);
+                    } catch (final TimeoutException e) {
+                        pendingAttempts.incrementAndGet();
+                        endpoint.metrics.hedgeCount.incrementAndGet();
+                        attempts.add(submitAttempt(request, endpoint, result, pendingAttempts,
+                                hedgeResponse));
+                    }
+                }
+            }
+
+            try {
+                final Response response = await(result, getRemainingNanos(policy, startedAt));
+                if (response == hedgeResponse.get()) {
+                    endpoint.metrics.hedgeWinCount.incrementAndGet();
+                }
+                return response;
+            } catch (final TimeoutException e) {
+                endpoint.metrics.timeoutCount.incrementAndGet();
+                throw new SocketTimeoutException("Deadline exceeded for request to "
+                        + request.url());
+            }
+        } finally {
+            for (final Future<?> attempt : attempts) {
+                attempt.cancel(true);
+            }
+        }
+    }
+
+    @Nonnull
+    private Future<?> submitAttempt(@Nonnull final Request request,
+                                    @Nonnull final Endpoint endpoint,
+                                    @Nonnull final CompletableFuture<Response> result,
+                                    @Nonnull final AtomicInteger pendingAttempts,
+                                    @Nullable final AtomicReference<Response> hedgeResponse) {
+        // The attempt is made on another thread, with the priority of the calling one
+        final RequestPriority priority = RequestPriority.current();
+        return executor.submit(() -> {
+            try (RequestPriority.Scope ignored = RequestPriority.enter(priority)) {
+                final Response response = executeAndRecord(request, endpoint);
+                if (hedgeResponse != null) {
+                    // Set before completing the result, to know whether the hedge won
+                    hedgeResponse.set(response);
+                }
+                result.complete(response);
+            } catch (final Exception e) {
+                // Fail only if the other attempt failed too
+                if (pendingAttempts.decrementAndGet() == 0) {
+                    result.completeExceptionally(e);
+                }
+            }
+        });
+    }
+
+    @Nonnull
+    private Response executeAndRecord(@Nonnull final Request request,
+                                      @Nonnull final Endpoint endpoint)
+            throws IOException, ReCaptchaException {
+        final long startedAt = System.nanoTime();
+        final Response response = delegate.execute(request);
+        endpoint.metrics.recordLatency(System.nanoTime() - startedAt);
+        return response;
+    }
+
+    @Nonnull
+    private static Response await(@Nonnull final CompletableFuture<Response> result,
+                                  final long timeoutNanos)
+            throws IOException, ReCaptchaException, TimeoutException {
+        try {
+            return result.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a response");
+        } catch (final ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof ReCaptchaException) {
+                throw (ReCaptchaException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Wait a random delay before a retry.
+     *
+     * @param minimumDelayNanos the delay requested by the server with a {@code Retry-After}
+     *                          header, or {@code 0}
+     * @return whether the request can be retried, which is not the case if the server asked to
+     * wait longer than the maximum backoff of the policy or if the deadline of the request would
+     * be exceeded after the delay
+     */
+    private static boolean waitBeforeRetry(@Nonnull final RequestPolicy policy,
+                                           final int retry,
+                                           final long minimumDelayNanos,
+                                           final long startedAt)
+            throws InterruptedIOException {
+        if (minimumDelayNanos > policy.getMaxBackoffNanos()) {
+            return false;
+        }
+        final long backoff = getBackoffNanos(policy, retry);
+        final long delay = Math.max(minimumDelayNanos,
+                ThreadLocalRandom.current().nextLong(backoff + 1));
+        if (delay >= getRemainingNanos(policy, startedAt)) {
+            return false;
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting before a retry");
+        }
+        return true;
+    }
+
+    /**
+     * @return the maximum delay before a retry, which doubles with each retry until the maximum
+     * backoff of the policy is reached
+     */
+    static long getBackoffNanos(@Nonnull final RequestPolicy policy, final int retry) {
+        final long maxBackoff = policy.getMaxBackoffNanos();
+        // Shifting the base backoff further would exceed the maximum backoff or overflow
+        if (retry >= Long.SIZE - 1 || policy.getBaseBackoffNanos() > maxBackoff >> retry) {
+            return maxBackoff;
+        }
+        return policy.getBaseBackoffNanos() << retry;
+    }
+
+    private static long getRemainingNanos(@Nonnull final RequestPolicy policy,
+                                          final long startedAt) {
+        if (policy.getDeadlineNanos() == 0) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, policy.getDeadlineNanos() - (System.nanoTime() - startedAt));
+    }
+
+    private static long getRetryAfterNanos(@Nonnull final Response response) {
+        final String retryAfter = response.getHeader("Retry-After");
+        if (retryAfter == null) {
+            return 0;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+        } catch (final NumberFormatException e) {
+            // HTTP dates are not supported
+            return 0;
+        }
+    }
+
+    private static final class Endpoint {
+        @Nonnull
+        private final String prefix;
+        @Nonnull
+        private final RequestPolicy policy;
+        private final EndpointMetrics metrics = new EndpointMetrics();
+
+        Endpoint(@Nonnull final String prefix, @Nonnull final RequestPolicy policy) {
+            this.prefix = prefix;
+            this.policy = policy;
+        }
+
+        long getHedgingDelayNanos() {
+            if (metrics.getLatencySampleCount() < MIN_HEDGING_LATENCY_SAMPLES) {
+                return policy.getMinimumHedgingDelayNanos();
+            }
+            return Math.max(policy.getMinimumHedgingDelayNanos(),
+                    metrics.getLatency(policy.getHedgingPercentile(), TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * The metrics of the requests made to an endpoint.
+     *
+     * <p>
+     * Latencies are those of the last requests which got a response, including retries and
+     * hedged requests.
+     * </p>
+     */
+    public static final class EndpointMetrics {
+        private final AtomicLong requestCount = new AtomicLong();
+        private final AtomicLong retryCount = new AtomicLong();
+        private final AtomicLong hedgeCount = new AtomicLong();
+        private final AtomicLong hedgeWinCount = new AtomicLong();
+        private final AtomicLong timeoutCount = new AtomicLong();
+        private final AtomicLong failureCount = new AtomicLong();
+
+        private final long[] latencies = new long[MAX_LATENCY_SAMPLES];
+        private int latencyCount;
+        private int nextLatency;
+
+        EndpointMetrics() {
+        }
+
+        /**
+         * @return the number of requests, not counting their retries and hedged requests
+         */
+        public long getRequestCount() {
+            return requestCount.get();
+        }
+
+        public long getRetryCount() {
+            return retryCount.get();
+        }
+
+        /**
+         * @return the number of hedged requests, i.e. of second requests started because the
+         * first one was slow
+         */
+        public long getHedgeCount() {
+            return hedgeCount.get();
+        }
+
+        /**
+         * @return the number of hedged requests which completed before the first request
+         */
+        public long getHedgeWinCount() {
+            return hedgeWinCount.get();
+        }
+
+        /**
+         * @return the number of requests which failed because their deadline was exceeded
+         */
+        public long getTimeoutCount() {
+            return timeoutCount.get();
+        }
+
+        /**
+         * @return the number of requests which failed with an exception, including timeouts
+         */
+        public long getFailureCount() {
+            return failureCount.get();
+        }
+
+        /**
+         * @return the number of recorded latencies
+         */
+        public synchronized int getLatencySampleCount() {
+            return latencyCount;
+        }
+
+        /**
+         * @param percentile the percentile, between {@code 0} and {@code 1}, e.g. {@code 0.95}
+         * @param unit       the unit of the returned latency
+         * @return the given percentile of the recorded latencies, or {@code -1} if none is
+         * recorded
+         */
+        public long getLatency(final double percentile, @Nonnull final TimeUnit unit) {
+            final long[] sorted;
+            synchronized (this) {
+                if (latencyCount == 0) {
+                    return -1;
+                }
+                sorted = Arrays.copyOf(latencies, latencyCount);
+            }
+            Arrays.sort(sorted);
+            final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return unit.convert(sorted[Math.max(0, Math.min(sorted.length - 1, index))],
+                    TimeUnit.NANOSECONDS);
+        }
+
+        synchronized void recordLatency(final long nanos) {
+            latencies[nextLatency] = nanos;
+            nextLatency = (nextLatency + 1) % latencies.length;
+            latencyCount = Math.min(latencyCount + 1, latencies.length);
+        }
+    }
+}
@@ -230,6 +230,18 @@ public class Request {
             return addHeaders(headerName, Collections.singletonList(headerValue));
         }
 
+        /**
+         * Make the request conditional, by adding the {@code If-None-Match} and
+         * {@code If-Modified-Since} headers of the given validators.
+         *
+         * @param validators the validators of the previous response for the same resource
+         * @see Response#isNotModified()
+         */
+        public Builder validators(@Nonnull final Validators validators) {
+            validators.toRequestHeaders().forEach(this::setHeaders);
+            return this;
+        }
+
     }
 
     /*//////////////////////////////////////////////////////////////////////////
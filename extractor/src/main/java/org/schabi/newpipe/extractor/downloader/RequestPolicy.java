@@ -0,0 +1,192 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+/**
+ * How a {@link PolicyDownloader} makes the requests to an endpoint: their deadline, how they are
+ * retried and whether they are hedged.
+ *
+ * <p>
+ * Only idempotent requests ({@code GET} and {@code HEAD} ones) are retried and hedged. Requests
+ * are retried after network errors and HTTP 429, 500, 502, 503 and 504 responses, waiting a
+ * random delay between zero and an exponentially growing backoff. A delay requested by the
+ * server with a {@code Retry-After} header is respected, unless it is longer than the maximum
+ * backoff: the response is then returned without retrying the request.
+ * </p>
+ */
+public final class RequestPolicy {
+    /**
+     * The policy of endpoints without a specific policy: no deadline, two retries and no
+     * hedging.
+     */
+    public static final RequestPolicy DEFAULT = newBuilder().build();
+
+    private final long deadlineNanos;
+    private final int maxRetries;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final double hedgingPercentile;
+    private final long minimumHedgingDelayNanos;
+
+    private RequestPolicy(@Nonnull final Builder builder) {
+        this.deadlineNanos = builder.deadlineNanos;
+        this.maxRetries = builder.maxRetries;
+        this.baseBackoffNanos = builder.baseBackoffNanos;
+        this.maxBackoffNanos = builder.maxBackoffNanos;
+        this.hedgingPercentile = builder.hedgingPercentile;
+        this.minimumHedgingDelayNanos = builder.minimumHedgingDelayNanos;
+    }
+
+    /**
+     * @return the time after which a request and its retries fail, or {@code 0} if there is no
+     * deadline
+     */
+    public long getDeadline(@Nonnull final TimeUnit unit) {
+        return unit.convert(deadlineNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the maximum number of times a request is retried
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @return the maximum delay before the first retry
+     */
+    public long getBaseBackoff(@Nonnull final TimeUnit unit) {
+        return unit.convert(baseBackoffNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the maximum delay before a retry
+     */
+    public long getMaxBackoff(@Nonnull final TimeUnit unit) {
+        return unit.convert(maxBackoffNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return whether a second request is started when the first one is slow
+     */
+    public boolean isHedgingEnabled() {
+        return hedgingPercentile > 0;
+    }
+
+    /**
+     * @return the percentile of the latencies of the endpoint after which a request is hedged
+     */
+    public double getHedgingPercentile() {
+        return hedgingPercentile;
+    }
+
+    /**
+     * @return the minimum time after which a request is hedged
+     */
+    public long getMinimumHedgingDelay(@Nonnull final TimeUnit unit) {
+        return unit.convert(minimumHedgingDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    long getDeadlineNanos() {
+        return deadlineNanos;
+    }
+
+    long getBaseBackoffNanos() {
+        return baseBackoffNanos;
+    }
+
+    long getMaxBackoffNanos() {
+        return maxBackoffNanos;
+    }
+
+    long getMinimumHedgingDelayNanos() {
+        return minimumHedgingDelayNanos;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * A builder for a {@link RequestPolicy}.
+     */
+    public static final class Builder {
+        private long deadlineNanos = 0;
+        private int maxRetries = 2;
+        private long baseBackoffNanos = TimeUnit.MILLISECONDS.toNanos(250);
+        private long maxBackoffNanos = TimeUnit.SECONDS.toNanos(2);
+        private double hedgingPercentile = 0;
+        private long minimumHedgingDelayNanos = 0;
+
+        private Builder() {
+        }
+
+        /**
+         * Make a request fail with a {@link java.net.SocketTimeoutException} if it and its
+         * retries did not complete after the given time.
+         *
+         * @param deadline the deadline of requests, or {@code 0} to have no deadline
+         */
+        public Builder deadline(final long deadline, @Nonnull final TimeUnit unit) {
+            if (deadline < 0) {
+                throw new IllegalArgumentException("Invalid deadline");
+            }
+            this.deadlineNanos = unit.toNanos(deadline);
+            return this;
+        }
+
+        /**
+         * @param maxRetries the maximum number of times a request is retried, or {@code 0} to
+         *                   not retry requests
+         */
+        public Builder maxRetries(final int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("Invalid maximum number of retries");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * @param baseBackoff the maximum delay before the first retry, which is doubled for each
+         *                    following retry
+         * @param maxBackoff  the maximum delay before a retry, including the delays requested by
+         *                    servers with a {@code Retry-After} header
+         */
+        public Builder backoff(final long baseBackoff,
+                               final long maxBackoff,
+                               @Nonnull final TimeUnit unit) {
+            if (baseBackoff < 0 || maxBackoff < baseBackoff) {
+                throw new IllegalArgumentException("Invalid backoff");
+            }
+            this.baseBackoffNanos = unit.toNanos(baseBackoff);
+            this.maxBackoffNanos = unit.toNanos(maxBackoff);
+            return this;
+        }
+
+        /**
+         * Start a second request if the first one did not complete after the given percentile
+         * of the latencies of the endpoint, and use the response which comes first.
+         *
+         * @param percentile   the percentile of the latencies, e.g. {@code 0.95}
+         * @param minimumDelay the minimum time after which a request is hedged, which is also
+         *                     used until enough latencies of the endpoint are known
+         */
+        public Builder hedging(final double percentile,
+                               final long minimumDelay,
+                               @Nonnull final TimeUnit unit) {
+            if (percentile <= 0 || percentile > 1 || minimumDelay < 0) {
+                throw new IllegalArgumentException("Invalid hedging");
+            }
+            this.hedgingPercentile = percentile;
+            this.minimumHedgingDelayNanos = unit.toNanos(minimumDelay);
+            return this;
+        }
+
+        public RequestPolicy build() {
+            return new RequestPolicy(this);
+        }
+    }
+}
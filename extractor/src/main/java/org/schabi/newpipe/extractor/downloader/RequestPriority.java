@@ -0,0 +1,72 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import javax.annotation.Nonnull;
+
+/**
+ * The priority of the requests made by the current thread.
+ *
+ * <p>
+ * Requests are {@link #INTERACTIVE interactive} by default. Code making requests whose results
+ * nobody is waiting for, such as feed refreshes, can {@link #enter(RequestPriority) enter} the
+ * {@link #BACKGROUND background} priority, so that downloaders limiting requests (like
+ * {@link ThrottlingDownloader}) make them wait for interactive requests.
+ * </p>
+ *
+ * <pre>{@code
+ * try (RequestPriority.Scope ignored = RequestPriority.enter(RequestPriority.BACKGROUND)) {
+ *     // requests made here are background requests
+ * }
+ * }</pre>
+ */
+public enum RequestPriority {
+    /**
+     * Requests whose results are waited for by the user, like loading a stream.
+     */
+    INTERACTIVE,
+    /**
+     * Requests made in the background, like refreshing feeds.
+     */
+    BACKGROUND;
+
+    private static final ThreadLocal<RequestPriority> CURRENT =
+            ThreadLocal.withInitial(() -> INTERACTIVE);
+
+    /**
+     * @return the priority of the requests made by the current thread
+     */
+    @Nonnull
+    public static RequestPriority current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Make the requests of the current thread have the given priority, until the returned scope
+     * is closed.
+     *
+     * @param priority the priority of the requests made in the scope
+     * @return the scope, which restores the previous priority when it is closed
+     */
+    @Nonnull
+    public static Scope enter(@Nonnull final RequestPriority priority) {
+        final RequestPriority previous = CURRENT.get();
+        CURRENT.set(priority);
+        return new Scope(previous);
+    }
+
+    /**
+     * A scope in which the requests of a thread have a priority.
+     */
+    public static final class Scope implements AutoCloseable {
+        @Nonnull
+        private final RequestPriority previous;
+
+        private Scope(@Nonnull final RequestPriority previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close() {
+            CURRENT.set(previous);
+        }
+    }
+}
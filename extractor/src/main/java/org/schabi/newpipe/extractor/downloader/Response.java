@@ -61,6 +61,24 @@ public class Response {
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
 
+    /**
+     * @return whether the server answered a conditional request with the HTTP {@code 304} status
+     * code, meaning that the resource did not change and that the response has no body
+     * @see Request.Builder#validators(Validators)
+     */
+    public boolean isNotModified() {
+        return responseCode == 304;
+    }
+
+    /**
+     * @return the validators of this response, to be sent in a later conditional request for the
+     * same resource
+     */
+    @Nonnull
+    public Validators getValidators() {
+        return Validators.fromResponse(this);
+    }
+
     /**
      * For easy access to some header value that (usually) don't repeat itself.
      * <p>For getting all the values associated to the header, use {@link #responseHeaders()} (e.g.
@@ -0,0 +1,306 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.utils.Utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.MalformedURLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A {@link Downloader} limiting the requests made to each host by another downloader.
+ *
+ * <p>
+ * Each host has a token bucket, which limits the rate of requests while allowing short bursts,
+ * and a concurrency limit, which is adapted to the responses of the host: it is increased by one
+ * request for about each concurrency limit's worth of successful requests, and halved when the
+ * host answers with an HTTP 429 or 5xx status code or a {@link ReCaptchaException} is thrown.
+ * Requests started before the last decrease do not decrease the limit again, so that a burst of
+ * rejected requests only halves it once. If a rejection contains a {@code Retry-After} header
+ * with a number of seconds, no new request is made to the host before this delay has elapsed.
+ * </p>
+ *
+ * <p>
+ * When the concurrency limit of a host is reached, {@link RequestPriority#INTERACTIVE
+ * interactive} requests get the next free slot before {@link RequestPriority#BACKGROUND
+ * background} ones.
+ * </p>
+ */
+public final class ThrottlingDownloader extends Downloader {
+
+    /**
+     * The limits of the requests made to a host.
+     */
+    public static final class Limits {
+        private final double requestsPerSecond;
+        private final int burst;
+        private final int maxConcurrency;
+
+        /**
+         * @param requestsPerSecond the number of requests per second allowed on average
+         * @param burst             the number of requests which can be made at once after the
+         *                          host has not been requested for a while
+         * @param maxConcurrency    the maximum number of concurrent requests
+         */
+        public Limits(final double requestsPerSecond, final int burst, final int maxConcurrency) {
+            if (requestsPerSecond <= 0 || burst <= 0 || maxConcurrency <= 0) {
+                throw new IllegalArgumentException("Invalid limits");
+            }
+            this.requestsPerSecond = requestsPerSecond;
+            this.burst = burst;
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public double getRequestsPerSecond() {
+            return requestsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+    }
+
+    /**
+     * Waits for a duration, which is replaced in tests to not depend on the real time.
+     */
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+
+    private enum Outcome {
+        SUCCESS,
+        CONGESTION,
+        FAILURE
+    }
+
+    @Nonnull
+    private final Downloader delegate;
+    @Nonnull
+    private final Limits defaultLimits;
+    @Nonnull
+    private final Map<String, Limits> hostLimits;
+    @Nonnull
+    private final LongSupplier nanoTime;
+    @Nonnull
+    private final Sleeper sleeper;
+    private final Map<String, Host> hosts = new ConcurrentHashMap<>();
+
+    /**
+     * Create a downloader limiting the requests made by another one.
+     *
+     * @param delegate      the downloader making the requests
+     * @param defaultLimits the limits of the hosts which have no specific limits
+     * @param hostLimits    the limits of specific hosts, whose names are compared ignoring case
+     */
+    public ThrottlingDownloader(@Nonnull final Downloader delegate,
+                                @Nonnull final Limits defaultLimits,
+                                @Nonnull final Map<String, Limits> hostLimits) {
+        this(delegate, defaultLimits, hostLimits, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    ThrottlingDownloader(@Nonnull final Downloader delegate,
+                         @Nonnull final Limits defaultLimits,
+                         @Nonnull final Map<String, Limits> hostLimits,
+                         @Nonnull final LongSupplier nanoTime,
+                         @Nonnull final Sleeper sleeper) {
+        this.delegate = delegate;
+        this.defaultLimits = defaultLimits;
+        this.hostLimits = new ConcurrentHashMap<>();
+        hostLimits.forEach((host, limits) ->
+                this.hostLimits.put(host.toLowerCase(Locale.ROOT), limits));
+        this.nanoTime = nanoTime;
+        this.sleeper = sleeper;
+    }
+
+    @Override
+    public Response execute(@Nonnull final Request request)
+            throws IOException, ReCaptchaException {
+        final Host host = getHost(request.url());
+        final long startedAt;
+        try {
+            startedAt = host.acquire(RequestPriority.current());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to request "
+                    + request.url());
+        }
+
+        Outcome outcome = Outcome.FAILURE;
+        try {
+            final Response response = delegate.execute(request);
+            final int responseCode = response.responseCode();
+            if (responseCode == 429 || responseCode >= 500) {
+                outcome = Outcome.CONGESTION;
+                host.pause(response.getHeader("Retry-After"));
+            } else {
+                outcome = Outcome.SUCCESS;
+            }
+            return response;
+        } catch (final ReCaptchaException e) {
+            outcome = Outcome.CONGESTION;
+            throw e;
+        } finally {
+            host.release(startedAt, outcome);
+        }
+    }
+
+    /**
+     * @param host the name of a host
+     * @return the current concurrency limit of the host
+     */
+    public int getConcurrencyLimit(@Nonnull final String host) {
+        final Host state = hosts.get(host.toLowerCase(Locale.ROOT));
+        return state == null ? getLimits(host).maxConcurrency : state.getConcurrencyLimit();
+    }
+
+    @Nonnull
+    private Host getHost(@Nonnull final String url) {
+        String host;
+        try {
+            host = Utils.stringToURL(url).getHost().toLowerCase(Locale.ROOT);
+        } catch (final MalformedURLException e) {
+            host = "";
+        }
+        return hosts.computeIfAbsent(host, name -> new Host(getLimits(name)));
+    }
+
+    @Nonnull
+    private Limits getLimits(@Nonnull final String host) {
+        return hostLimits.getOrDefault(host.toLowerCase(Locale.ROOT), defaultLimits);
+    }
+
+    private final class Host {
+        @Nonnull
+        private final Limits limits;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition slotFreed = lock.newCondition();
+
+        private double concurrencyLimit;
+        private int inFlight;
+        private int interactiveWaiting;
+        private long lastDecreaseAt;
+
+        private double tokens;
+        private long refilledAt;
+        private long pausedUntil;
+
+        Host(@Nonnull final Limits limits) {
+            this.limits = limits;
+            this.concurrencyLimit = limits.maxConcurrency;
+            this.tokens = limits.burst;
+            this.refilledAt = nanoTime.getAsLong();
+            this.lastDecreaseAt = refilledAt;
+            this.pausedUntil = refilledAt;
+        }
+
+        /**
+         * Wait for a free slot and for a token.
+         *
+         * @return the time at which the request is started
+         */
+        long acquire(@Nonnull final RequestPriority priority) throws InterruptedException {
+            final boolean interactive = priority == RequestPriority.INTERACTIVE;
+            final long delay;
+            lock.lock();
+            try {
+                if (interactive) {
+                    interactiveWaiting++;
+                }
+                try {
+                    while (inFlight >= (int) concurrencyLimit
+                            || (!interactive && interactiveWaiting > 0)) {
+                        slotFreed.await();
+                    }
+                } finally {
+                    if (interactive) {
+                        interactiveWaiting--;
+                        slotFreed.signalAll();
+                    }
+                }
+                inFlight++;
+
+                // Reserve a token, waiting for it outside of the lock if there is none left
+                final long now = nanoTime.getAsLong();
+                tokens = Math.min(limits.burst, tokens
+                        + (now - refilledAt) * limits.requestsPerSecond / 1e9);
+                refilledAt = now;
+                tokens--;
+                final long tokenDelay = tokens >= 0
+                        ? 0 : (long) (-tokens / limits.requestsPerSecond * 1e9);
+                delay = Math.max(tokenDelay, pausedUntil - now);
+            } finally {
+                lock.unlock();
+            }
+
+            if (delay > 0) {
+                try {
+                    sleeper.sleep(delay);
+                } catch (final InterruptedException e) {
+                    release(Long.MIN_VALUE, Outcome.FAILURE);
+                    throw e;
+                }
+            }
+            return nanoTime.getAsLong();
+        }
+
+        void release(final long startedAt, @Nonnull final Outcome outcome) {
+            lock.lock();
+            try {
+                inFlight--;
+                if (outcome == Outcome.SUCCESS) {
+                    concurrencyLimit = Math.min(limits.maxConcurrency,
+                            concurrencyLimit + 1 / concurrencyLimit);
+                } else if (outcome == Outcome.CONGESTION && startedAt >= lastDecreaseAt) {
+                    concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+                    lastDecreaseAt = nanoTime.getAsLong();
+                }
+                slotFreed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void pause(final String retryAfter) {
+            if (retryAfter == null) {
+                return;
+            }
+            final long seconds;
+            try {
+                seconds = Long.parseLong(retryAfter.trim());
+            } catch (final NumberFormatException e) {
+                // HTTP dates are not supported
+                return;
+            }
+            lock.lock();
+            try {
+                pausedUntil = Math.max(pausedUntil,
+                        nanoTime.getAsLong() + TimeUnit.SECONDS.toNanos(seconds));
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int getConcurrencyLimit() {
+            lock.lock();
+            try {
+                return (int) concurrencyLimit;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
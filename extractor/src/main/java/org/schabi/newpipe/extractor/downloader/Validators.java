@@ -0,0 +1,111 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The validators of a response, which can be sent in a later request for the same resource to
+ * only get the resource again if it changed.
+ *
+ * <p>
+ * The {@code ETag} of a response is sent back in the {@code If-None-Match} header and its
+ * {@code Last-Modified} date in the {@code If-Modified-Since} header. If the resource did not
+ * change, the server answers with an empty response with the HTTP {@code 304} status code, see
+ * {@link Response#isNotModified()}.
+ * </p>
+ */
+public final class Validators implements Serializable {
+    /**
+     * Validators without any value, which make requests unconditional.
+     */
+    public static final Validators NONE = new Validators(null, null);
+
+    @Nullable
+    private final String entityTag;
+    @Nullable
+    private final String lastModified;
+
+    public Validators(@Nullable final String entityTag, @Nullable final String lastModified) {
+        this.entityTag = entityTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @param response a response
+     * @return the validators of the response, which are {@link #isEmpty() empty} if it has no
+     * {@code ETag} and no {@code Last-Modified} header
+     */
+    @Nonnull
+    public static Validators fromResponse(@Nonnull final Response response) {
+        return new Validators(response.getHeader("ETag"), response.getHeader("Last-Modified"));
+    }
+
+    /**
+     * @return the value of the {@code ETag} header of the response, or {@code null}
+     */
+    @Nullable
+    public String getEntityTag() {
+        return entityTag;
+    }
+
+    /**
+     * @return the value of the {@code Last-Modified} header of the response, or {@code null}
+     */
+    @Nullable
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * @return whether there is no validator, so that a request cannot be conditional
+     */
+    public boolean isEmpty() {
+        return entityTag == null && lastModified == null;
+    }
+
+    /**
+     * @return the {@code If-None-Match} and {@code If-Modified-Since} headers to send in a
+     * conditional request
+     */
+    @Nonnull
+    public Map<String, List<String>> toRequestHeaders() {
+        final Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (entityTag != null) {
+            headers.put("If-None-Match", List.of(entityTag));
+        }
+        if (lastModified != null) {
+            headers.put("If-Modified-Since", List.of(lastModified));
+        }
+        return headers;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Validators)) {
+            return false;
+        }
+        final Validators that = (Validators) o;
+        return Objects.equals(entityTag, that.entityTag)
+                && Objects.equals(lastModified, that.lastModified);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entityTag, lastModified);
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return "Validators[entityTag=" + entityTag + ", lastModified=" + lastModified + "]";
+    }
+}
@@ -1,16 +1,21 @@
 package org.schabi.newpipe.extractor.feed;
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.downloader.RequestPriority;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
 import java.util.List;
 
+import javax.annotation.Nonnull;
+
 public class FeedInfo extends ListInfo<StreamInfoItem> {
 
     public FeedInfo(final int serviceId,
@@ -27,6 +32,17 @@ public class FeedInfo extends ListInfo<StreamInfoItem> {
         return getInfo(NewPipe.getServiceByUrl(url), url);
     }
 
+    /**
+     * Like {@link #getInfo(String)}, but the extraction uses the given context instead of the
+     * current one.
+     */
+    public static FeedInfo getInfo(@Nonnull final ExtractionContext context, final String url)
+            throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getInfo(url);
+        }
+    }
+
     public static FeedInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
         final FeedExtractor extractor = service.getFeedExtractor(url);
@@ -36,12 +52,23 @@ public class FeedInfo extends ListInfo<StreamInfoItem> {
                     + "\" doesn't support FeedExtractor.");
         }
 
-        extractor.fetchPage();
         return getInfo(extractor);
     }
 
+    /**
+     * Get the info of a feed. Feeds are refreshed in the background, so the requests needed are
+     * made with the {@link RequestPriority#BACKGROUND background} priority.
+     */
     public static FeedInfo getInfo(final FeedExtractor extractor)
             throws IOException, ExtractionException {
+        try (RequestPriority.Scope priority = RequestPriority.enter(RequestPriority.BACKGROUND)) {
+            return extractor.<FeedInfo, IOException, ExtractionException>runPhase(
+                    ExtractionPhase.EXTRACT_INFO, () -> extractInfo(extractor));
+        }
+    }
+
+    private static FeedInfo extractInfo(final FeedExtractor extractor)
+            throws IOException, ExtractionException {
         extractor.fetchPage();
 
         final int serviceId = extractor.getServiceId();
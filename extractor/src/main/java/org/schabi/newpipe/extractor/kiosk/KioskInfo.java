@@ -20,6 +20,7 @@ package org.schabi.newpipe.extractor.kiosk;
  * along with NewPipe Extractor.  If not, see <http://www.gnu.org/licenses/>.
  */
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.ListInfo;
 import org.schabi.newpipe.extractor.NewPipe;
@@ -27,11 +28,14 @@ import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
 
+import javax.annotation.Nonnull;
+
 public final class KioskInfo extends ListInfo<StreamInfoItem> {
     private KioskInfo(final int serviceId, final ListLinkHandler linkHandler, final String name) {
         super(serviceId, linkHandler, name);
@@ -40,13 +44,38 @@ public final class KioskInfo extends ListInfo<StreamInfoItem> {
     public static ListExtractor.InfoItemsPage<StreamInfoItem> getMoreItems(
             final StreamingService service, final String url, final Page page)
             throws IOException, ExtractionException {
-        return service.getKioskList().getExtractorByUrl(url, page).getPage(page);
+        return service.getKioskList().getExtractorByUrl(url, page).getPageInContext(page);
+    }
+
+    /**
+     * Like {@link #getMoreItems(StreamingService, String, Page)}, but the extraction uses the
+     * given context instead of the current one.
+     */
+    public static ListExtractor.InfoItemsPage<StreamInfoItem> getMoreItems(
+            @Nonnull final ExtractionContext context,
+            final StreamingService service,
+            final String url,
+            final Page page) throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getMoreItems(service, url, page);
+        }
     }
 
     public static KioskInfo getInfo(final String url) throws IOException, ExtractionException {
         return getInfo(NewPipe.getServiceByUrl(url), url);
     }
 
+    /**
+     * Like {@link #getInfo(String)}, but the extraction uses the given context instead of the
+     * current one.
+     */
+    public static KioskInfo getInfo(@Nonnull final ExtractionContext context, final String url)
+            throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getInfo(url);
+        }
+    }
+
     public static KioskInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
         final KioskExtractor extractor = service.getKioskList().getExtractorByUrl(url, null);
@@ -60,7 +89,11 @@ public final class KioskInfo extends ListInfo<StreamInfoItem> {
      * @param extractor an extractor where fetchPage() was already got called on.
      */
     public static KioskInfo getInfo(final KioskExtractor extractor) throws ExtractionException {
+        return extractor.runPhase(ExtractionPhase.EXTRACT_INFO, () -> extractInfo(extractor));
+    }
 
+    private static KioskInfo extractInfo(final KioskExtractor extractor)
+            throws ExtractionException {
         final KioskInfo info = new KioskInfo(extractor.getServiceId(),
                 extractor.getLinkHandler(),
                 extractor.getName());
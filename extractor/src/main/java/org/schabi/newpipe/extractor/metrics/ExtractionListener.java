@@ -0,0 +1,103 @@
+package org.schabi.newpipe.extractor.metrics;
+
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A listener of the events of extractions, to measure them or trace them.
+ *
+ * <p>
+ * The listener used by the extractor is set with
+ * {@link org.schabi.newpipe.extractor.NewPipe#setExtractionListener(ExtractionListener)}; by
+ * default, it is {@link #NOOP}. Request events are only reported if the downloader is wrapped in
+ * a {@link org.schabi.newpipe.extractor.downloader.ListeningDownloader}.
+ * </p>
+ *
+ * <p>
+ * Events are reported synchronously on the threads doing the extraction, so listeners must be
+ * thread-safe, return quickly and not throw exceptions. All methods do nothing by default.
+ * </p>
+ *
+ * @see MeterExtractionListener
+ */
+public interface ExtractionListener {
+    /**
+     * The listener which ignores all events.
+     */
+    ExtractionListener NOOP = new ExtractionListener() {
+    };
+
+    /**
+     * Called before a request is made.
+     *
+     * @param request the request
+     */
+    default void onRequestStart(@Nonnull final Request request) {
+    }
+
+    /**
+     * Called after a request completed or failed.
+     *
+     * @param request       the request
+     * @param response      the response, or {@code null} if the request failed
+     * @param error         the exception thrown, or {@code null} if the request completed
+     * @param durationNanos the duration of the request in nanoseconds
+     */
+    default void onRequestEnd(@Nonnull final Request request,
+                              @Nullable final Response response,
+                              @Nullable final Exception error,
+                              final long durationNanos) {
+    }
+
+    /**
+     * Called after a phase of an extraction completed or failed.
+     *
+     * @param phase         the phase
+     * @param serviceId     the ID of the service of the extractor
+     * @param url           the URL of the extracted content
+     * @param error         the exception thrown, or {@code null} if the phase completed
+     * @param durationNanos the duration of the phase in nanoseconds
+     */
+    default void onPhase(@Nonnull final ExtractionPhase phase,
+                         final int serviceId,
+                         @Nonnull final String url,
+                         @Nullable final Exception error,
+                         final long durationNanos) {
+    }
+
+    /**
+     * Called when a cache of the extractor is used.
+     *
+     * @param cacheName the name of the cache
+     * @param hit       whether the cached value was used, instead of being loaded or parsed
+     */
+    default void onCacheAccess(@Nonnull final String cacheName, final boolean hit) {
+    }
+
+    /**
+     * Called after a JavaScript function was evaluated.
+     *
+     * @param functionName  the name of the function
+     * @param durationNanos the duration of the evaluation in nanoseconds, including the
+     *                      evaluation of the code declaring the function
+     */
+    default void onJavaScriptEvaluation(@Nonnull final String functionName,
+                                        final long durationNanos) {
+    }
+
+    /**
+     * Called when an extractor falls back to another way to get some data, because the preferred
+     * one failed.
+     *
+     * @param component the data which is extracted, e.g. {@code "youtube.javaScriptPlayerUrl"}
+     * @param fallback  the way used instead, e.g. {@code "embedWatchPage"}
+     * @param cause     the reason of the fallback, or {@code null} if it is unknown
+     */
+    default void onFallback(@Nonnull final String component,
+                            @Nonnull final String fallback,
+                            @Nullable final Exception cause) {
+    }
+}
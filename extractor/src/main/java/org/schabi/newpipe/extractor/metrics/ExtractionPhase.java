@@ -0,0 +1,25 @@
+package org.schabi.newpipe.extractor.metrics;
+
+/**
+ * The phases of an extraction, reported to {@link ExtractionListener}s.
+ */
+public enum ExtractionPhase {
+    /**
+     * The download of the data needed by an extractor, see
+     * {@link org.schabi.newpipe.extractor.Extractor#fetchPage()}.
+     */
+    FETCH_PAGE,
+    /**
+     * The download and extraction of a following page of a list, see
+     * {@link org.schabi.newpipe.extractor.ListExtractor#getPageInContext(
+     * org.schabi.newpipe.extractor.Page)}.
+     */
+    GET_PAGE,
+    /**
+     * The extraction of an info from the data of a fetched extractor, e.g. in
+     * {@link org.schabi.newpipe.extractor.stream.StreamInfo#getInfo(
+     * org.schabi.newpipe.extractor.stream.StreamExtractor)} or in the {@code getInfo} methods of
+     * the other infos taking an extractor.
+     */
+    EXTRACT_INFO
+}
@@ -0,0 +1,132 @@
+package org.schabi.newpipe.extractor.metrics;
+
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.utils.Utils;
+
+import java.net.MalformedURLException;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An {@link ExtractionListener} recording the events of extractions as meters with a
+ * {@link MeterRecorder}.
+ *
+ * <p>
+ * The following meters are recorded, with low-cardinality tags only:
+ * </p>
+ * <ul>
+ *     <li>{@code newpipe.extractor.requests}: timer of the requests, tagged with their
+ *     {@code host}, {@code method} and {@code status} (the HTTP status code or the simple name
+ *     of the exception thrown);</li>
+ *     <li>{@code newpipe.extractor.response.size}: distribution of the size in bytes of the
+ *     response bodies encoded in UTF-8, tagged with their {@code host};</li>
+ *     <li>{@code newpipe.extractor.phases}: timer of the phases of extractions, tagged with the
+ *     {@code phase}, the {@code service} ID and the {@code outcome};</li>
+ *     <li>{@code newpipe.extractor.cache}: counter of cache accesses, tagged with the
+ *     {@code cache} name and the {@code result} ({@code hit} or {@code miss});</li>
+ *     <li>{@code newpipe.extractor.javascript}: timer of JavaScript evaluations, which are not
+ *     tagged with the function names, as they are obfuscated and change with each player;</li>
+ *     <li>{@code newpipe.extractor.fallbacks}: counter of fallbacks, tagged with the
+ *     {@code component} and the {@code fallback}.</li>
+ * </ul>
+ */
+public final class MeterExtractionListener implements ExtractionListener {
+    @Nonnull
+    private final MeterRecorder recorder;
+
+    public MeterExtractionListener(@Nonnull final MeterRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void onRequestEnd(@Nonnull final Request request,
+                             @Nullable final Response response,
+                             @Nullable final Exception error,
+                             final long durationNanos) {
+        final String host = getHost(request.url());
+        final String status = response != null
+                ? String.valueOf(response.responseCode())
+                : error == null ? "unknown" : error.getClass().getSimpleName();
+        recorder.recordDuration("newpipe.extractor.requests",
+                Map.of("host", host, "method", request.httpMethod(), "status", status),
+                durationNanos);
+
+        if (response != null && response.responseBody() != null) {
+            recorder.recordValue("newpipe.extractor.response.size", Map.of("host", host),
+                    getUtf8Length(response.responseBody()));
+        }
+    }
+
+    @Override
+    public void onPhase(@Nonnull final ExtractionPhase phase,
+                        final int serviceId,
+                        @Nonnull final String url,
+                        @Nullable final Exception error,
+                        final long durationNanos) {
+        recorder.recordDuration("newpipe.extractor.phases",
+                Map.of("phase", phase.name().toLowerCase(Locale.ROOT),
+                        "service", String.valueOf(serviceId),
+                        "outcome", error == null ? "success" : "failure"),
+                durationNanos);
+    }
+
+    @Override
+    public void onCacheAccess(@Nonnull final String cacheName, final boolean hit) {
+        recorder.increment("newpipe.extractor.cache",
+                Map.of("cache", cacheName, "result", hit ? "hit" : "miss"));
+    }
+
+    @Override
+    public void onJavaScriptEvaluation(@Nonnull final String functionName,
+                                       final long durationNanos) {
+        recorder.recordDuration("newpipe.extractor.javascript", Map.of(), durationNanos);
+    }
+
+    @Override
+    public void onFallback(@Nonnull final String component,
+                           @Nonnull final String fallback,
+                           @Nullable final Exception cause) {
+        recorder.increment("newpipe.extractor.fallbacks",
+                Map.of("component", component, "fallback", fallback));
+    }
+
+    /**
+     * @return the number of bytes of the string encoded in UTF-8, computed without encoding it
+     */
+    static long getUtf8Length(@Nonnull final String string) {
+        long length = 0;
+        int i = 0;
+        while (i < string.length()) {
+            final char c = string.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < string.length()
+                    && Character.isLowSurrogate(string.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are replaced by '?' when encoding
+                length++;
+            } else {
+                length += 3;
+            }
+            i++;
+        }
+        return length;
+    }
+
+    @Nonnull
+    private static String getHost(@Nonnull final String url) {
+        try {
+            return Utils.stringToURL(url).getHost().toLowerCase(Locale.ROOT);
+        } catch (final MalformedURLException e) {
+            return "unknown";
+        }
+    }
+}
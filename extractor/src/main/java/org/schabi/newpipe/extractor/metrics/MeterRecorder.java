@@ -0,0 +1,44 @@
+package org.schabi.newpipe.extractor.metrics;
+
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Records meters in a metrics library, e.g. Micrometer or OpenTelemetry, for a
+ * {@link MeterExtractionListener}.
+ *
+ * <p>
+ * Meters are identified by a name and tags, like in these libraries. With Micrometer for instance,
+ * {@link #increment(String, Map)} can be implemented with {@code registry.counter(name, tags)}
+ * and {@link #recordDuration(String, Map, long)} with {@code registry.timer(name, tags)}.
+ * </p>
+ */
+public interface MeterRecorder {
+    /**
+     * Increment a counter by one.
+     *
+     * @param name the name of the counter
+     * @param tags the tags of the counter
+     */
+    void increment(@Nonnull String name, @Nonnull Map<String, String> tags);
+
+    /**
+     * Record a duration in a timer.
+     *
+     * @param name          the name of the timer
+     * @param tags          the tags of the timer
+     * @param durationNanos the duration in nanoseconds
+     */
+    void recordDuration(@Nonnull String name, @Nonnull Map<String, String> tags,
+                        long durationNanos);
+
+    /**
+     * Record a value in a distribution, e.g. a number of bytes.
+     *
+     * @param name  the name of the distribution
+     * @param tags  the tags of the distribution
+     * @param value the value
+     */
+    void recordValue(@Nonnull String name, @Nonnull Map<String, String> tags, double value);
+}
@@ -0,0 +1,91 @@
+package org.schabi.newpipe.extractor.playlist;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A compact representation of a stream of a playlist, containing only its identifying data.
+ *
+ * <p>
+ * Unlike {@link org.schabi.newpipe.extractor.stream.StreamInfoItem StreamInfoItem}s, entries
+ * contain no images, descriptions or upload dates, so that they can be used to export or mirror
+ * large playlists with a small memory footprint.
+ * </p>
+ */
+public final class PlaylistEntry implements Serializable {
+    @Nonnull
+    private final String id;
+    @Nonnull
+    private final String name;
+    private final long duration;
+    @Nullable
+    private final String uploaderId;
+
+    public PlaylistEntry(@Nonnull final String id,
+                         @Nonnull final String name,
+                         final long duration,
+                         @Nullable final String uploaderId) {
+        this.id = id;
+        this.name = name;
+        this.duration = duration;
+        this.uploaderId = uploaderId;
+    }
+
+    /**
+     * @return the id of the stream on its service
+     */
+    @Nonnull
+    public String getId() {
+        return id;
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the duration of the stream in seconds, or {@code -1} if it is unknown
+     */
+    public long getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return the id of the uploader channel of the stream, or {@code null} if it is unknown
+     */
+    @Nullable
+    public String getUploaderId() {
+        return uploaderId;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PlaylistEntry)) {
+            return false;
+        }
+        final PlaylistEntry that = (PlaylistEntry) o;
+        return duration == that.duration
+                && id.equals(that.id)
+                && name.equals(that.name)
+                && Objects.equals(uploaderId, that.uploaderId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, name, duration, uploaderId);
+    }
+
+    @Nonnull
+    @Override
+    public String toString() {
+        return "PlaylistEntry {" + "id=" + id + ", name=" + name + ", duration=" + duration
+                + ", uploaderId=" + uploaderId + "}";
+    }
+}
@@ -1,5 +1,6 @@
 package org.schabi.newpipe.extractor.playlist;
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
 import org.schabi.newpipe.extractor.ListInfo;
@@ -9,6 +10,7 @@ import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 import org.schabi.newpipe.extractor.stream.Description;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
@@ -65,6 +67,17 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
         return getInfo(NewPipe.getServiceByUrl(url), url);
     }
 
+    /**
+     * Like {@link #getInfo(String)}, but the extraction uses the given context instead of the
+     * current one.
+     */
+    public static PlaylistInfo getInfo(@Nonnull final ExtractionContext context, final String url)
+            throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getInfo(url);
+        }
+    }
+
     public static PlaylistInfo getInfo(final StreamingService service, final String url)
             throws IOException, ExtractionException {
         final PlaylistExtractor extractor = service.getPlaylistExtractor(url);
@@ -76,7 +89,21 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
                                                              final String url,
                                                              final Page page)
             throws IOException, ExtractionException {
-        return service.getPlaylistExtractor(url).getPage(page);
+        return service.getPlaylistExtractor(url).getPageInContext(page);
+    }
+
+    /**
+     * Like {@link #getMoreItems(StreamingService, String, Page)}, but the extraction uses the
+     * given context instead of the current one.
+     */
+    public static InfoItemsPage<StreamInfoItem> getMoreItems(
+            @Nonnull final ExtractionContext context,
+            final StreamingService service,
+            final String url,
+            final Page page) throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getMoreItems(service, url, page);
+        }
     }
 
     /**
@@ -86,6 +113,11 @@ public final class PlaylistInfo extends ListInfo<StreamInfoItem> {
      */
     public static PlaylistInfo getInfo(final PlaylistExtractor extractor)
             throws ExtractionException {
+        return extractor.runPhase(ExtractionPhase.EXTRACT_INFO, () -> extractInfo(extractor));
+    }
+
+    private static PlaylistInfo extractInfo(final PlaylistExtractor extractor)
+            throws ExtractionException {
 
         final PlaylistInfo info = new PlaylistInfo(
                 extractor.getServiceId(),
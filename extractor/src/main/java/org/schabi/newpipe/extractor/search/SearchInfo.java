@@ -1,5 +1,6 @@
 package org.schabi.newpipe.extractor.search;
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.InfoItem;
 import org.schabi.newpipe.extractor.ListExtractor;
 import org.schabi.newpipe.extractor.ListInfo;
@@ -8,6 +9,7 @@ import org.schabi.newpipe.extractor.Page;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
 import org.schabi.newpipe.extractor.utils.ExtractorHelper;
 
 import java.io.IOException;
@@ -39,6 +41,12 @@ public class SearchInfo extends ListInfo<InfoItem> {
 
     public static SearchInfo getInfo(final SearchExtractor extractor)
             throws ExtractionException, IOException {
+        return extractor.<SearchInfo, IOException, ExtractionException>runPhase(
+                ExtractionPhase.EXTRACT_INFO, () -> extractInfo(extractor));
+    }
+
+    private static SearchInfo extractInfo(final SearchExtractor extractor)
+            throws ExtractionException, IOException {
         final SearchInfo info = new SearchInfo(
                 extractor.getServiceId(),
                 extractor.getLinkHandler(),
@@ -78,7 +86,21 @@ public class SearchInfo extends ListInfo<InfoItem> {
                                                                      final SearchQueryHandler query,
                                                                      final Page page)
             throws IOException, ExtractionException {
-        return service.getSearchExtractor(query).getPage(page);
+        return service.getSearchExtractor(query).getPageInContext(page);
+    }
+
+    /**
+     * Like {@link #getMoreItems(StreamingService, SearchQueryHandler, Page)}, but the extraction
+     * uses the given context instead of the current one.
+     */
+    public static ListExtractor.InfoItemsPage<InfoItem> getMoreItems(
+            @Nonnull final ExtractionContext context,
+            final StreamingService service,
+            final SearchQueryHandler query,
+            final Page page) throws IOException, ExtractionException {
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            return getMoreItems(service, query, page);
+        }
     }
 
     // Getter
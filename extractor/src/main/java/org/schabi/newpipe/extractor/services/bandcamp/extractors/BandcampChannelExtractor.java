@@ -24,6 +24,7 @@ import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.channel.tabs.ChannelTabs;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.linkhandler.ReadyChannelTabListLinkHandler;
+import org.schabi.newpipe.extractor.services.bandcamp.linkHandler.BandcampChannelLinkHandler;
 import org.schabi.newpipe.extractor.services.bandcamp.linkHandler.BandcampChannelTabLinkHandlerFactory;
 
 import java.io.IOException;
@@ -35,10 +36,13 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class BandcampChannelExtractor extends ChannelExtractor {
 
     private JsonObject channelInfo;
+    @Nullable
+    private String artistPage;
 
     public BandcampChannelExtractor(final StreamingService service,
                                     final ListLinkHandler linkHandler) {
@@ -59,11 +63,7 @@ public class BandcampChannelExtractor extends ChannelExtractor {
          * Therefore, we need to query the website
          */
         try {
-            final String html = getDownloader()
-                    .get(replaceHttpWithHttps(channelInfo.getString("bandcamp_url")))
-                    .responseBody();
-
-            return Stream.of(Jsoup.parse(html).getElementById("customHeader"))
+            return Stream.of(Jsoup.parse(getArtistPage()).getElementById("customHeader"))
                     .filter(Objects::nonNull)
                     .flatMap(element -> element.getElementsByTag("img").stream())
                     .map(element -> element.attr("src"))
@@ -165,7 +165,29 @@ public class BandcampChannelExtractor extends ChannelExtractor {
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
-        channelInfo = getArtistDetails(getId());
+        if (getLinkHandler() instanceof BandcampChannelLinkHandler) {
+            final BandcampChannelLinkHandler linkHandler =
+                    (BandcampChannelLinkHandler) getLinkHandler();
+            channelInfo = linkHandler.getArtistDetails();
+            artistPage = linkHandler.getArtistPage();
+        }
+        if (channelInfo == null) {
+            channelInfo = getArtistDetails(getId());
+        }
+    }
+
+    /**
+     * Get the artist page, reusing the one downloaded while resolving the link handler if there
+     * is one, and downloading it at most once per extractor otherwise.
+     */
+    @Nonnull
+    private String getArtistPage() throws IOException, ReCaptchaException {
+        if (artistPage == null) {
+            artistPage = getDownloader()
+                    .get(replaceHttpWithHttps(channelInfo.getString("bandcamp_url")))
+                    .responseBody();
+        }
+        return artistPage;
     }
 
     @Nonnull
@@ -15,6 +15,7 @@ import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.utils.ImageInterner;
 import org.schabi.newpipe.extractor.utils.ImageSuffix;
 import org.schabi.newpipe.extractor.utils.Utils;
 
@@ -26,7 +27,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -294,10 +294,7 @@ public final class BandcampExtractorHelper {
      */
     @Nonnull
     private static List<Image> getImagesFromImageBaseUrl(@Nonnull final String baseUrl) {
-        return IMAGE_URL_SUFFIXES_AND_RESOLUTIONS.stream()
-                .map(imageSuffix -> new Image(baseUrl + imageSuffix.getSuffix(),
-                        imageSuffix.getHeight(), imageSuffix.getWidth(),
-                        imageSuffix.getResolutionLevel()))
-                .collect(Collectors.toUnmodifiableList());
+        return ImageInterner.getImagesFromSuffixes(baseUrl, IMAGE_URL_SUFFIXES_AND_RESOLUTIONS,
+                imageSuffix -> baseUrl + imageSuffix.getSuffix());
     }
 }
@@ -33,6 +33,7 @@ import java.util.Objects;
 import java.util.List;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public class BandcampPlaylistExtractor extends PlaylistExtractor {
 
@@ -43,6 +44,8 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
      */
     private static final int MAXIMUM_INDIVIDUAL_COVER_ARTS = 10;
 
+    private String html;
+    @Nullable
     private Document document;
     private JsonObject albumJson;
     private JsonArray trackInfo;
@@ -56,8 +59,8 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
-        final String html = downloader.get(getLinkHandler().getUrl()).responseBody();
-        document = Jsoup.parse(html);
+        html = downloader.get(getLinkHandler().getUrl()).responseBody();
+        document = null;
         albumJson = getAlbumInfoJson(html);
         trackInfo = albumJson.getArray("trackinfo");
 
@@ -75,6 +78,18 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
         }
     }
 
+    /**
+     * Get the document of the page, which is only parsed when it is first needed, as most of the
+     * data is read from the JSON embedded in the page.
+     */
+    @Nonnull
+    private Document getDocument() {
+        if (document == null) {
+            document = Jsoup.parse(html);
+        }
+        return document;
+    }
+
     @Nonnull
     @Override
     public List<Image> getThumbnails() throws ParsingException {
@@ -100,7 +115,7 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
     @Nonnull
     @Override
     public List<Image> getUploaderAvatars() {
-        return getImagesFromImageUrl(document.getElementsByClass("band-photo")
+        return getImagesFromImageUrl(getDocument().getElementsByClass("band-photo")
                 .stream()
                 .map(element -> element.attr("src"))
                 .findFirst()
@@ -120,13 +135,13 @@ public class BandcampPlaylistExtractor extends PlaylistExtractor {
     @Nonnull
     @Override
     public Description getDescription() throws ParsingException {
-        final Element tInfo = document.getElementById("trackInfo");
+        final Element tInfo = getDocument().getElementById("trackInfo");
         if (tInfo == null) {
             throw new ParsingException("Could not find trackInfo in document");
         }
         final Elements about = tInfo.getElementsByClass("tralbum-about");
         final Elements credits = tInfo.getElementsByClass("tralbum-credits");
-        final Element license = document.getElementById("license");
+        final Element license = getDocument().getElementById("license");
         if (about.isEmpty() && credits.isEmpty() && license == null) {
             return Description.EMPTY_DESCRIPTION;
         }
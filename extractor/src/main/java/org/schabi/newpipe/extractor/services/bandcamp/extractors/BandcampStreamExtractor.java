@@ -43,6 +43,8 @@ import javax.annotation.Nullable;
 public class BandcampStreamExtractor extends StreamExtractor {
     private JsonObject albumJson;
     private JsonObject current;
+    private String html;
+    @Nullable
     private Document document;
 
     public BandcampStreamExtractor(final StreamingService service, final LinkHandler linkHandler) {
@@ -53,8 +55,8 @@ public class BandcampStreamExtractor extends StreamExtractor {
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
-        final String html = downloader.get(getLinkHandler().getUrl()).responseBody();
-        document = Jsoup.parse(html);
+        html = downloader.get(getLinkHandler().getUrl()).responseBody();
+        document = null;
         albumJson = getAlbumInfoJson(html);
         current = albumJson.getObject("current");
 
@@ -68,6 +70,18 @@ public class BandcampStreamExtractor extends StreamExtractor {
         }
     }
 
+    /**
+     * Get the document of the page, which is only parsed when it is first needed, as most of the
+     * data is read from the JSON embedded in the page.
+     */
+    @Nonnull
+    private Document getDocument() {
+        if (document == null) {
+            document = Jsoup.parse(html);
+        }
+        return document;
+    }
+
     /**
      * Get the JSON that contains album's metadata from page
      *
@@ -136,7 +150,7 @@ public class BandcampStreamExtractor extends StreamExtractor {
     @Nonnull
     @Override
     public List<Image> getUploaderAvatars() {
-        return getImagesFromImageUrl(document.getElementsByClass("band-photo")
+        return getImagesFromImageUrl(getDocument().getElementsByClass("band-photo")
                 .stream()
                 .map(element -> element.attr("src"))
                 .findFirst()
@@ -188,7 +202,7 @@ public class BandcampStreamExtractor extends StreamExtractor {
     @Override
     public PlaylistInfoItemsCollector getRelatedItems() {
         final PlaylistInfoItemsCollector collector = new PlaylistInfoItemsCollector(getServiceId());
-        document.getElementsByClass("recommended-album")
+        getDocument().getElementsByClass("recommended-album")
                 .stream()
                 .map(BandcampRelatedPlaylistInfoItemExtractor::new)
                 .forEach(collector::commit);
@@ -200,7 +214,7 @@ public class BandcampStreamExtractor extends StreamExtractor {
     @Override
     public String getCategory() {
         // Get first tag from html, which is the artist's Genre
-        return document.getElementsByClass("tralbum-tags").stream()
+        return getDocument().getElementsByClass("tralbum-tags").stream()
                 .flatMap(element -> element.getElementsByClass("tag").stream())
                 .map(Element::text)
                 .findFirst()
@@ -239,7 +253,7 @@ public class BandcampStreamExtractor extends StreamExtractor {
     @Nonnull
     @Override
     public List<String> getTags() {
-        return document.getElementsByAttributeValue("itemprop", "keywords")
+        return getDocument().getElementsByAttributeValue("itemprop", "keywords")
                 .stream()
                 .map(Element::text)
                 .collect(Collectors.toList());
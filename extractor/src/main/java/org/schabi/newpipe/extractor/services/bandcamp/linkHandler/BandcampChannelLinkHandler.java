@@ -0,0 +1,53 @@
+package org.schabi.newpipe.extractor.services.bandcamp.linkHandler;
+
+import com.grack.nanojson.JsonObject;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ListLinkHandler} of a Bandcamp artist which may carry the artist page and the artist
+ * details downloaded while resolving its ID and URL, so that the channel extractor does not have
+ * to download them again.
+ *
+ * <p>
+ * The downloaded data is not serialized: a deserialized link handler has none and the extractor
+ * downloads it when needed.
+ * </p>
+ */
+public final class BandcampChannelLinkHandler extends ListLinkHandler {
+    @Nullable
+    private final transient String artistPage;
+    @Nullable
+    private final transient JsonObject artistDetails;
+
+    BandcampChannelLinkHandler(final String originalUrl,
+                               final String url,
+                               final String id,
+                               @Nullable final String artistPage,
+                               @Nullable final JsonObject artistDetails) {
+        super(originalUrl, url, id, List.of(), "");
+        this.artistPage = artistPage;
+        this.artistDetails = artistDetails;
+    }
+
+    /**
+     * @return the HTML of the artist page, or {@code null} if it was not downloaded while
+     * resolving the link handler
+     */
+    @Nullable
+    public String getArtistPage() {
+        return artistPage;
+    }
+
+    /**
+     * @return the details of the artist returned by the band details API, or {@code null} if
+     * they were not downloaded while resolving the link handler
+     */
+    @Nullable
+    public JsonObject getArtistDetails() {
+        return artistDetails;
+    }
+}
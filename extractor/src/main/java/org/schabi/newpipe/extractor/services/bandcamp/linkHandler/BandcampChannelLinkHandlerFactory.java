@@ -7,22 +7,45 @@ import com.grack.nanojson.JsonParserException;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandlerFactory;
 import org.schabi.newpipe.extractor.services.bandcamp.extractors.BandcampExtractorHelper;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 /**
  * Artist do have IDs that are useful
+ *
+ * <p>
+ * Resolving the ID of an artist requires downloading its page, and resolving its canonical URL
+ * requires the band details API, so the IDs of artists are cached per artist URL, as well as the
+ * canonical URLs of artists per ID. Link handlers created from a URL carry the downloaded data,
+ * see {@link BandcampChannelLinkHandler}.
+ * </p>
  */
 public final class BandcampChannelLinkHandlerFactory extends ListLinkHandlerFactory {
 
     private static final BandcampChannelLinkHandlerFactory INSTANCE
             = new BandcampChannelLinkHandlerFactory();
 
+    private static final int CACHE_MAXIMUM_SIZE = 500;
+
+    // Keys are artist URLs, as returned by getChannelUrl
+    private final Map<String, String> bandIdsCache = createCache();
+    // Values are the canonical URLs of artists, as returned by the band details API
+    private final Map<String, String> channelUrlsCache = createCache();
+
     private BandcampChannelLinkHandlerFactory() {
     }
 
@@ -32,19 +55,15 @@ public final class BandcampChannelLinkHandlerFactory extends ListLinkHandlerFact
 
     @Override
     public String getId(final String url) throws ParsingException, UnsupportedOperationException {
-        try {
-            final String response = NewPipe.getDownloader().get(Utils.replaceHttpWithHttps(url))
-                    .responseBody();
-
-            // Use band data embedded in website to extract ID
-            final JsonObject bandData = JsonUtils.getJsonData(response, "data-band");
-
-            return String.valueOf(bandData.getLong("id"));
-
-        } catch (final IOException | ReCaptchaException | ArrayIndexOutOfBoundsException
-                | JsonParserException e) {
-            throw new ParsingException("Download failed", e);
+        final String channelUrl = getChannelUrl(url);
+        final String cachedId = getCachedId(channelUrl);
+        if (cachedId != null) {
+            return cachedId;
         }
+
+        final String id = getIdFromArtistPage(downloadArtistPage(url));
+        bandIdsCache.put(channelUrl, id);
+        return id;
     }
 
     /**
@@ -53,12 +72,56 @@ public final class BandcampChannelLinkHandlerFactory extends ListLinkHandlerFact
     @Override
     public String getUrl(final String id, final List<String> contentFilter, final String sortFilter)
             throws ParsingException, UnsupportedOperationException {
-        final JsonObject artistDetails = BandcampExtractorHelper.getArtistDetails(id);
-        if (artistDetails.getBoolean("error")) {
-            throw new ParsingException(
-                    "JSON does not contain a channel URL (invalid id?) or is otherwise invalid");
+        final String cachedUrl = channelUrlsCache.get(id);
+        if (cachedUrl != null) {
+            return cachedUrl;
+        }
+
+        return getCanonicalUrl(id, getArtistDetails(id));
+    }
+
+    /**
+     * Builds a {@link BandcampChannelLinkHandler} from a URL.
+     *
+     * <p>
+     * The URL of the link handler is the canonical URL of the artist, like the one returned by
+     * {@link #getUrl(String)}. The artist page and the artist details are only downloaded if the
+     * ID and the URL of the artist are not cached, and they are then stored in the link handler.
+     * </p>
+     */
+    @Override
+    public ListLinkHandler fromUrl(final String url, final String baseUrl)
+            throws ParsingException {
+        Objects.requireNonNull(url, "URL may not be null");
+        if (!acceptUrl(url)) {
+            throw new ParsingException("URL not accepted: " + url);
+        }
+
+        final String channelUrl = getChannelUrl(url);
+        String id = getCachedId(channelUrl);
+        String artistPage = null;
+        if (id == null) {
+            artistPage = downloadArtistPage(url);
+            id = getIdFromArtistPage(artistPage);
+            bandIdsCache.put(channelUrl, id);
         }
-        return Utils.replaceHttpWithHttps(artistDetails.getString("bandcamp_url"));
+
+        final String cachedUrl = channelUrlsCache.get(id);
+        if (cachedUrl != null) {
+            return new BandcampChannelLinkHandler(url, cachedUrl, id, artistPage, null);
+        }
+
+        final JsonObject artistDetails = getArtistDetails(id);
+        return new BandcampChannelLinkHandler(url, getCanonicalUrl(id, artistDetails), id,
+                artistPage, artistDetails);
+    }
+
+    /**
+     * Clear the cached IDs and URLs of artists.
+     */
+    public void clearCache() {
+        bandIdsCache.clear();
+        channelUrlsCache.clear();
     }
 
     /**
@@ -90,8 +153,83 @@ public final class BandcampChannelLinkHandlerFactory extends ListLinkHandlerFact
                 return false;
             }
 
-            // Test whether domain is supported
-            return BandcampExtractorHelper.isArtistDomain(lowercaseUrl);
+            // Test whether domain is supported, which needs a download for custom domains
+            return getCachedId(getChannelUrl(lowercaseUrl)) != null
+                    || BandcampExtractorHelper.isArtistDomain(lowercaseUrl);
+        }
+    }
+
+    /**
+     * @return the root of the artist profile the given URL belongs to, in the form of
+     * {@code https://artist.bandcamp.com}
+     */
+    @Nonnull
+    private static String getChannelUrl(final String url) throws ParsingException {
+        return Utils.replaceHttpWithHttps(Utils.getBaseUrl(url)).toLowerCase(Locale.ROOT);
+    }
+
+    @Nullable
+    private String getCachedId(@Nonnull final String channelUrl) {
+        return bandIdsCache.get(channelUrl);
+    }
+
+    @Nonnull
+    private static JsonObject getArtistDetails(@Nonnull final String id)
+            throws ParsingException {
+        final JsonObject artistDetails = BandcampExtractorHelper.getArtistDetails(id);
+        if (artistDetails.getBoolean("error")) {
+            throw new ParsingException(
+                    "JSON does not contain a channel URL (invalid id?) or is otherwise invalid");
+        }
+        return artistDetails;
+    }
+
+    /**
+     * Get the canonical URL of an artist from its details and cache it, along with the ID of the
+     * artist for this URL.
+     */
+    @Nonnull
+    private String getCanonicalUrl(@Nonnull final String id,
+                                   @Nonnull final JsonObject artistDetails)
+            throws ParsingException {
+        final String url = Utils.replaceHttpWithHttps(artistDetails.getString("bandcamp_url"));
+        bandIdsCache.put(getChannelUrl(url), id);
+        channelUrlsCache.put(id, url);
+        return url;
+    }
+
+    /**
+     * @return a thread-safe map removing its least recently used entry once it holds more than
+     * {@link #CACHE_MAXIMUM_SIZE} entries
+     */
+    @Nonnull
+    private static Map<String, String> createCache() {
+        return Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+                return size() > CACHE_MAXIMUM_SIZE;
+            }
+        });
+    }
+
+    @Nonnull
+    private static String downloadArtistPage(final String url) throws ParsingException {
+        try {
+            return NewPipe.getDownloader().get(Utils.replaceHttpWithHttps(url)).responseBody();
+        } catch (final IOException | ReCaptchaException e) {
+            throw new ParsingException("Download failed", e);
+        }
+    }
+
+    @Nonnull
+    private static String getIdFromArtistPage(@Nonnull final String artistPage)
+            throws ParsingException {
+        try {
+            // Use band data embedded in website to extract ID
+            final JsonObject bandData = JsonUtils.getJsonData(artistPage, "data-band");
+            return String.valueOf(bandData.getLong("id"));
+        } catch (final ArrayIndexOutOfBoundsException | JsonParserException e) {
+            throw new ParsingException("Could not get band ID from artist page", e);
         }
     }
 }
@@ -3,8 +3,6 @@ package org.schabi.newpipe.extractor.services.media_ccc.extractors;
 import static org.schabi.newpipe.extractor.services.media_ccc.extractors.MediaCCCParsingHelper.getImageListFromLogoImageUrl;
 
 import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonParser;
-import com.grack.nanojson.JsonParserException;
 
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.StreamingService;
@@ -15,7 +13,6 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.linkhandler.ReadyChannelTabListLinkHandler;
-import org.schabi.newpipe.extractor.services.media_ccc.linkHandler.MediaCCCConferenceLinkHandlerFactory;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -34,13 +31,7 @@ public class MediaCCCConferenceExtractor extends ChannelExtractor {
     static JsonObject fetchConferenceData(@Nonnull final Downloader downloader,
                                           @Nonnull final String conferenceId)
             throws IOException, ExtractionException {
-        final String conferenceUrl
-                = MediaCCCConferenceLinkHandlerFactory.CONFERENCE_API_ENDPOINT + conferenceId;
-        try {
-            return JsonParser.object().from(downloader.get(conferenceUrl).responseBody());
-        } catch (final JsonParserException jpe) {
-            throw new ExtractionException("Could not parse json returned by URL: " + conferenceUrl);
-        }
+        return MediaCCCParsingHelper.getConferenceData(downloader, conferenceId);
     }
 
 
@@ -11,6 +11,8 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.services.media_ccc.linkHandler.MediaCCCConferenceLinkHandlerFactory;
+import org.schabi.newpipe.extractor.utils.ExpiringCache;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -20,6 +22,7 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static org.schabi.newpipe.extractor.Image.HEIGHT_UNKNOWN;
@@ -29,7 +32,13 @@ import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 public final class MediaCCCParsingHelper {
     // conference_slug/room_slug
     private static final Pattern LIVE_STREAM_ID_PATTERN = Pattern.compile("\\w+/\\w+");
-    private static JsonArray liveStreams = null;
+    private static final String LIVE_STREAMS_URL = "https://streaming.media.ccc.de/streams/v2.json";
+    private static final String LIVE_STREAMS_KEY = "live";
+    // The live streams are served with a max-age of 3 minutes
+    private static final ExpiringCache<String, JsonArray> LIVE_STREAMS_CACHE =
+            new ExpiringCache<>("mediaccc.liveStreams", 3, 2, TimeUnit.MINUTES, 1);
+    private static final ExpiringCache<String, JsonObject> CONFERENCES_CACHE =
+            new ExpiringCache<>("mediaccc.conferences", 30, 30, TimeUnit.MINUTES, 16);
 
     private MediaCCCParsingHelper() { }
 
@@ -57,7 +66,12 @@ public final class MediaCCCParsingHelper {
      * <a href="https://streaming.media.ccc.de/streams/v2.json">
      *     https://streaming.media.ccc.de/streams/v2.json</a>.
      * Use this method to cache requests, because they can get quite big.
-     * TODO: implement better caching policy (max-age: 3 min)
+     *
+     * <p>
+     * The live streams are cached for 3 minutes, like the website does. After 2 minutes, the
+     * cached live streams are still returned while they are downloaded again in the background.
+     * </p>
+     *
      * @param downloader The downloader to use for making the request
      * @param localization The localization to be used. Will most likely be ignored.
      * @return {@link JsonArray} containing current conferences and info about their rooms and
@@ -68,18 +82,62 @@ public final class MediaCCCParsingHelper {
     public static JsonArray getLiveStreams(final Downloader downloader,
                                            final Localization localization)
             throws ExtractionException {
-        if (liveStreams == null) {
+        try {
+            return LIVE_STREAMS_CACHE.get(LIVE_STREAMS_KEY, () -> {
+                try {
+                    return JsonParser.array().from(downloader.get(LIVE_STREAMS_URL, localization)
+                            .responseBody());
+                } catch (final JsonParserException e) {
+                    throw new ExtractionException("Could not parse JSON.", e);
+                }
+            });
+        } catch (final IOException | ReCaptchaException e) {
+            throw new ExtractionException("Could not get live stream JSON.", e);
+        }
+    }
+
+    /**
+     * Get the data of a conference, including its events.
+     *
+     * <p>
+     * The data of a conference is cached per acronym for 30 minutes, so that extracting several
+     * talks of the same conference downloads the conference only once.
+     * </p>
+     *
+     * @param downloader the downloader to use for making the request
+     * @param acronym    the acronym of the conference, which is its ID
+     * @return the conference JSON object returned by the API
+     * @throws IOException         if the data could not be fetched
+     * @throws ExtractionException if the data could not be parsed
+     */
+    @Nonnull
+    public static JsonObject getConferenceData(@Nonnull final Downloader downloader,
+                                               @Nonnull final String acronym)
+            throws IOException, ExtractionException {
+        return CONFERENCES_CACHE.get(acronym, () -> {
+            final String conferenceUrl =
+                    MediaCCCConferenceLinkHandlerFactory.CONFERENCE_API_ENDPOINT + acronym;
             try {
-                final String site = downloader.get("https://streaming.media.ccc.de/streams/v2.json",
-                        localization).responseBody();
-                liveStreams = JsonParser.array().from(site);
-            } catch (final IOException | ReCaptchaException e) {
-                throw new ExtractionException("Could not get live stream JSON.", e);
-            } catch (final JsonParserException e) {
-                throw new ExtractionException("Could not parse JSON.", e);
+                return JsonParser.object().from(downloader.get(conferenceUrl).responseBody());
+            } catch (final JsonParserException jpe) {
+                throw new ExtractionException(
+                        "Could not parse json returned by URL: " + conferenceUrl);
             }
-        }
-        return liveStreams;
+        });
+    }
+
+    /**
+     * <p>
+     * <b>Only used in tests.</b>
+     * </p>
+     *
+     * <p>
+     * Clear the cached live streams and conferences.
+     * </p>
+     */
+    public static void clearCaches() {
+        LIVE_STREAMS_CACHE.clear();
+        CONFERENCES_CACHE.clear();
     }
 
     /**
@@ -15,6 +15,7 @@ import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.localization.DateWrapper;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.RevalidatingCache;
 
 import java.io.IOException;
 import java.util.Comparator;
@@ -24,6 +25,14 @@ import javax.annotation.Nonnull;
 public class MediaCCCRecentKiosk extends KioskExtractor<StreamInfoItem> {
 
     public static final String KIOSK_ID = "recent";
+    private static final String RECENT_EVENTS_URL =
+            "https://api.media.ccc.de/public/events/recent";
+
+    /**
+     * The parsed recent events, which are reused when the API answers that they did not change.
+     */
+    private static final RevalidatingCache<JsonObject> RECENT_EVENTS_CACHE =
+            new RevalidatingCache<>("mediaccc.recent", 1);
 
     private JsonObject doc;
 
@@ -36,13 +45,27 @@ public class MediaCCCRecentKiosk extends KioskExtractor<StreamInfoItem> {
     @Override
     public void onFetchPage(@Nonnull final Downloader downloader)
             throws IOException, ExtractionException {
-        final String site = downloader.get("https://api.media.ccc.de/public/events/recent",
-                getExtractorLocalization()).responseBody();
-        try {
-            doc = JsonParser.object().from(site);
-        } catch (final JsonParserException jpe) {
-            throw new ExtractionException("Could not parse json.", jpe);
-        }
+        doc = RECENT_EVENTS_CACHE.get(RECENT_EVENTS_URL,
+                validators -> downloader.getConditionally(RECENT_EVENTS_URL, null, validators,
+                        getExtractorLocalization()),
+                response -> {
+                    try {
+                        return JsonParser.object().from(response.responseBody());
+                    } catch (final JsonParserException jpe) {
+                        throw new ExtractionException("Could not parse json.", jpe);
+                    }
+                });
+    }
+
+    /**
+     * Remove the recent events from the cache of parsed recent events.
+     *
+     * <p>
+     * <b>Only used in tests.</b>
+     * </p>
+     */
+    public static void clearCache() {
+        RECENT_EVENTS_CACHE.clear();
     }
 
     @Nonnull
@@ -195,8 +195,8 @@ public class MediaCCCStreamExtractor extends StreamExtractor {
         final String videoUrl = MediaCCCStreamLinkHandlerFactory.VIDEO_API_ENDPOINT + getId();
         try {
             data = JsonParser.object().from(downloader.get(videoUrl).responseBody());
-            conferenceData = JsonParser.object()
-                    .from(downloader.get(data.getString("conference_url")).responseBody());
+            conferenceData = MediaCCCParsingHelper.getConferenceData(downloader,
+                    getUploaderName());
         } catch (final JsonParserException jpe) {
             throw new ExtractionException("Could not parse json returned by URL: " + videoUrl,
                     jpe);
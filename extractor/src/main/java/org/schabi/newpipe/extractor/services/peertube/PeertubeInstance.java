@@ -1,22 +1,13 @@
 package org.schabi.newpipe.extractor.services.peertube;
 
-import com.grack.nanojson.JsonObject;
-import com.grack.nanojson.JsonParser;
-import com.grack.nanojson.JsonParserException;
-
-import org.schabi.newpipe.extractor.NewPipe;
-import org.schabi.newpipe.extractor.downloader.Response;
-import org.schabi.newpipe.extractor.exceptions.ParsingException;
-import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
-import org.schabi.newpipe.extractor.utils.JsonUtils;
-import org.schabi.newpipe.extractor.utils.Utils;
-
-import java.io.IOException;
+import javax.annotation.Nullable;
 
 public class PeertubeInstance {
 
     private final String url;
     private String name;
+    @Nullable
+    private volatile PeertubeInstanceMetaData metaData;
     public static final PeertubeInstance DEFAULT_INSTANCE
             = new PeertubeInstance("https://framatube.org", "FramaTube");
 
@@ -34,28 +25,40 @@ public class PeertubeInstance {
         return url;
     }
 
+    /**
+     * Fetch the metadata of this instance, such as its name.
+     *
+     * <p>
+     * The metadata is cached by the {@link PeertubeInstanceRegistry#getDefault() default
+     * instance registry}, and so shared by all {@link PeertubeInstance}s of the same host.
+     * </p>
+     */
     public void fetchInstanceMetaData() throws Exception {
-        final Response response;
-        try {
-            response = NewPipe.getDownloader().get(url + "/api/v1/config");
-        } catch (ReCaptchaException | IOException e) {
-            throw new Exception("unable to configure instance " + url, e);
-        }
-
-        if (response == null || Utils.isBlank(response.responseBody())) {
-            throw new Exception("unable to configure instance " + url);
-        }
-
-        try {
-            final JsonObject json = JsonParser.object().from(response.responseBody());
-            this.name = JsonUtils.getString(json, "instance.name");
-        } catch (JsonParserException | ParsingException e) {
-            throw new Exception("unable to parse instance config", e);
-        }
+        final PeertubeInstanceMetaData fetchedMetaData =
+                PeertubeInstanceRegistry.getDefault().getMetaData(url);
+        this.name = fetchedMetaData.getName();
+        this.metaData = fetchedMetaData;
     }
 
     public String getName() {
         return name;
     }
 
+    /**
+     * @return the metadata of this instance, or {@code null} if it has not been fetched
+     * successfully with {@link #fetchInstanceMetaData()}
+     */
+    @Nullable
+    public PeertubeInstanceMetaData getMetaData() {
+        return metaData;
+    }
+
+    /**
+     * @return whether the metadata of this instance has been fetched successfully with
+     * {@link #fetchInstanceMetaData()}
+     */
+    public boolean isMetaDataFetched() {
+        return metaData != null;
+    }
+
 }
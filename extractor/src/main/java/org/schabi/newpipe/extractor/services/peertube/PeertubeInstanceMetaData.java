@@ -0,0 +1,112 @@
+package org.schabi.newpipe.extractor.services.peertube;
+
+import com.grack.nanojson.JsonObject;
+
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.utils.JsonUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
+
+/**
+ * The metadata and capabilities of a PeerTube instance, as returned by its
+ * {@code /api/v1/config} endpoint.
+ *
+ * @see PeertubeInstanceRegistry#getMetaData(String)
+ */
+public final class PeertubeInstanceMetaData {
+    @Nonnull
+    private final String name;
+    @Nullable
+    private final String serverVersion;
+    private final boolean searchIndexEnabled;
+    @Nullable
+    private final String searchIndexUrl;
+    @Nonnull
+    private final List<String> captionExtensions;
+
+    private PeertubeInstanceMetaData(@Nonnull final String name,
+                                     @Nullable final String serverVersion,
+                                     final boolean searchIndexEnabled,
+                                     @Nullable final String searchIndexUrl,
+                                     @Nonnull final List<String> captionExtensions) {
+        this.name = name;
+        this.serverVersion = serverVersion;
+        this.searchIndexEnabled = searchIndexEnabled;
+        this.searchIndexUrl = searchIndexUrl;
+        this.captionExtensions = captionExtensions;
+    }
+
+    /**
+     * Parse the metadata of an instance from the response of its {@code /api/v1/config}
+     * endpoint.
+     *
+     * @param config the configuration of the instance
+     * @return the metadata of the instance
+     * @throws ParsingException if the name of the instance could not be found
+     */
+    @Nonnull
+    static PeertubeInstanceMetaData fromConfig(@Nonnull final JsonObject config)
+            throws ParsingException {
+        final JsonObject searchIndex = config.getObject("search").getObject("searchIndex");
+        final String searchIndexUrl = searchIndex.getString("url");
+        final List<String> captionExtensions = config.getObject("videoCaption")
+                .getObject("file")
+                .getArray("extensions")
+                .stream()
+                .filter(String.class::isInstance)
+                .map(extension -> ((String) extension).replaceFirst("^\\.", ""))
+                .collect(Collectors.toUnmodifiableList());
+
+        return new PeertubeInstanceMetaData(
+                JsonUtils.getString(config, "instance.name"),
+                config.getString("serverVersion"),
+                searchIndex.getBoolean("enabled") && !isNullOrEmpty(searchIndexUrl),
+                isNullOrEmpty(searchIndexUrl) ? null : searchIndexUrl,
+                captionExtensions);
+    }
+
+    @Nonnull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the version of PeerTube run by the instance, or {@code null} if it is unknown
+     */
+    @Nullable
+    public String getServerVersion() {
+        return serverVersion;
+    }
+
+    /**
+     * @return whether the instance uses a global search index, such as Sepia Search, for its
+     * searches
+     */
+    public boolean isSearchIndexEnabled() {
+        return searchIndexEnabled;
+    }
+
+    /**
+     * @return the URL of the global search index used by the instance, or {@code null} if it
+     * does not use one
+     */
+    @Nullable
+    public String getSearchIndexUrl() {
+        return searchIndexUrl;
+    }
+
+    /**
+     * @return the extensions of the caption files served by the instance, without their
+     * leading dot, e.g. {@code vtt}
+     */
+    @Nonnull
+    public List<String> getCaptionExtensions() {
+        return captionExtensions;
+    }
+}
@@ -0,0 +1,407 @@
+package org.schabi.newpipe.extractor.services.peertube;
+
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+import com.grack.nanojson.JsonParserException;
+
+import org.schabi.newpipe.extractor.ExtractionContext;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.utils.Utils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A registry of PeerTube instances, caching their {@link PeertubeInstanceMetaData metadata} and
+ * tracking their health.
+ *
+ * <p>
+ * The metadata of an instance is fetched once and cached for a given time to live. If several
+ * threads request the metadata of the same instance at the same time, it is only fetched once.
+ * Failures are also cached, for a shorter time to live, so that unavailable instances are not
+ * requested again on each extraction.
+ * </p>
+ *
+ * <p>
+ * Instances are identified by their base URL. The latencies and the failures of the requests to
+ * an instance are tracked in its {@link Health}, which can also be reported by extractors with
+ * {@link #reportSuccess(String, long, TimeUnit)} and {@link #reportFailure(String)}.
+ * </p>
+ *
+ * <p>
+ * This class is thread-safe.
+ * </p>
+ */
+public final class PeertubeInstanceRegistry {
+    public static final long DEFAULT_TTL_MILLIS = TimeUnit.HOURS.toMillis(1);
+    public static final long DEFAULT_FAILURE_TTL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final PeertubeInstanceRegistry DEFAULT = new PeertubeInstanceRegistry(
+            DEFAULT_TTL_MILLIS, DEFAULT_FAILURE_TTL_MILLIS, TimeUnit.MILLISECONDS);
+
+    private final long ttlNanos;
+    private final long failureTtlNanos;
+    @Nonnull
+    private final LongSupplier nanoClock;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, HealthTracker> healthTrackers = new ConcurrentHashMap<>();
+
+    /**
+     * Create a new registry.
+     *
+     * @param ttl        the time during which the metadata of an instance is cached
+     * @param failureTtl the time during which a failure to fetch the metadata of an instance is
+     *                   cached
+     * @param unit       the unit of the times to live
+     */
+    public PeertubeInstanceRegistry(final long ttl,
+                                    final long failureTtl,
+                                    @Nonnull final TimeUnit unit) {
+        this(unit.toNanos(ttl), unit.toNanos(failureTtl), System::nanoTime);
+    }
+
+    PeertubeInstanceRegistry(final long ttlNanos,
+                             final long failureTtlNanos,
+                             @Nonnull final LongSupplier nanoClock) {
+        this.ttlNanos = ttlNanos;
+        this.failureTtlNanos = failureTtlNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return the registry used by {@link PeertubeInstance#fetchInstanceMetaData()}
+     */
+    @Nonnull
+    public static PeertubeInstanceRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the metadata of an instance, fetching it if it is not cached.
+     *
+     * <p>
+     * If the metadata of the instance is being fetched by another thread, this method waits for
+     * that fetch instead of starting a new one.
+     * </p>
+     *
+     * @param instanceUrl the URL of the instance
+     * @return the metadata of the instance
+     * @throws ExtractionException if the metadata could not be fetched, now or during the
+     *                             failure time to live
+     */
+    @Nonnull
+    public PeertubeInstanceMetaData getMetaData(@Nonnull final String instanceUrl)
+            throws ExtractionException {
+        final String baseUrl = getBaseUrl(instanceUrl);
+        while (true) {
+            final Entry entry = entries.get(baseUrl);
+            if (entry != null && !entry.isExpired(nanoClock.getAsLong())) {
+                return entry.await();
+            }
+
+            final Entry newEntry = new Entry();
+            final boolean added = entry == null
+                    ? entries.putIfAbsent(baseUrl, newEntry) == null
+                    : entries.replace(baseUrl, entry, newEntry);
+            if (added) {
+                fetch(baseUrl, newEntry);
+                return newEntry.await();
+            }
+            // Another thread started to fetch the metadata first
+        }
+    }
+
+    /**
+     * Get the metadata of an instance if it is cached, without fetching it.
+     *
+     * @param instanceUrl the URL of the instance
+     * @return the cached metadata of the instance, or {@code null} if it has not been fetched
+     * successfully in the time to live
+     */
+    @Nullable
+    public PeertubeInstanceMetaData getCachedMetaData(@Nonnull final String instanceUrl) {
+        final Entry entry = entries.get(getBaseUrl(instanceUrl));
+        if (entry == null || entry.isExpired(nanoClock.getAsLong())) {
+            return null;
+        }
+        return entry.future.getNow(null);
+    }
+
+    /**
+     * Fetch the metadata of the given instances in parallel on the given executor, if they are
+     * not cached.
+     *
+     * <p>
+     * This can be called when an application starts, so that extractions do not have to wait
+     * for these fetches. The metadata are fetched with the context which is current when this
+     * method is called.
+     * </p>
+     *
+     * @param instanceUrls the URLs of the instances
+     * @param executor     the executor on which the metadata are fetched
+     * @return a future completed when the metadata of all the instances have been fetched or
+     * could not be fetched; failures are not propagated, but are available with
+     * {@link #getHealth(String)}
+     */
+    @Nonnull
+    public CompletableFuture<Void> warmUp(@Nonnull final Collection<String> instanceUrls,
+                                          @Nonnull final Executor executor) {
+        final Executor contextExecutor = ExtractionContext.current().wrapExecutor(executor);
+        return CompletableFuture.allOf(instanceUrls.stream()
+                .map(instanceUrl -> CompletableFuture.runAsync(() -> {
+                    try {
+                        getMetaData(instanceUrl);
+                    } catch (final ExtractionException ignored) {
+                        // Tracked in the health of the instance
+                    }
+                }, contextExecutor))
+                .toArray(CompletableFuture<?>[]::new));
+    }
+
+    /**
+     * Remove the cached metadata of an instance, so that it is fetched again on the next
+     * request.
+     *
+     * @param instanceUrl the URL of the instance
+     */
+    public void invalidate(@Nonnull final String instanceUrl) {
+        entries.remove(getBaseUrl(instanceUrl));
+    }
+
+    /**
+     * Remove the cached metadata and the health of all instances.
+     */
+    public void clear() {
+        entries.clear();
+        healthTrackers.clear();
+    }
+
+    /**
+     * Report a successful request to an instance.
+     *
+     * @param instanceUrl the URL of the instance
+     * @param latency     the time the instance took to respond
+     * @param unit        the unit of the latency
+     */
+    public void reportSuccess(@Nonnull final String instanceUrl,
+                              final long latency,
+                              @Nonnull final TimeUnit unit) {
+        getHealthTracker(instanceUrl).onSuccess(unit.toNanos(latency));
+    }
+
+    /**
+     * Report a failed request to an instance.
+     *
+     * @param instanceUrl the URL of the instance
+     */
+    public void reportFailure(@Nonnull final String instanceUrl) {
+        getHealthTracker(instanceUrl).onFailure();
+    }
+
+    /**
+     * @param instanceUrl the URL of the instance
+     * @return the current health of the instance
+     */
+    @Nonnull
+    public Health getHealth(@Nonnull final String instanceUrl) {
+        final HealthTracker tracker = healthTrackers.get(getBaseUrl(instanceUrl));
+        return tracker == null ? Health.UNKNOWN : tracker.snapshot();
+    }
+
+    private void fetch(@Nonnull final String baseUrl, @Nonnull final Entry entry) {
+        final long start = nanoClock.getAsLong();
+        try {
+            final PeertubeInstanceMetaData metaData = fetchMetaData(baseUrl);
+            final long end = nanoClock.getAsLong();
+            getHealthTracker(baseUrl).onSuccess(end - start);
+            entry.complete(metaData, end);
+        } catch (final ExtractionException | RuntimeException e) {
+            getHealthTracker(baseUrl).onFailure();
+            entry.fail(e, nanoClock.getAsLong());
+        }
+    }
+
+    @Nonnull
+    private static PeertubeInstanceMetaData fetchMetaData(@Nonnull final String baseUrl)
+            throws ExtractionException {
+        final Response response;
+        try {
+            response = NewPipe.getDownloader().get(baseUrl + "/api/v1/config");
+        } catch (final ReCaptchaException | IOException e) {
+            throw new ExtractionException("unable to configure instance " + baseUrl, e);
+        }
+
+        if (response == null || Utils.isBlank(response.responseBody())) {
+            throw new ExtractionException("unable to configure instance " + baseUrl);
+        }
+
+        try {
+            final JsonObject json = JsonParser.object().from(response.responseBody());
+            return PeertubeInstanceMetaData.fromConfig(json);
+        } catch (final JsonParserException | ParsingException e) {
+            throw new ParsingException("unable to parse instance config", e);
+        }
+    }
+
+    @Nonnull
+    private HealthTracker getHealthTracker(@Nonnull final String instanceUrl) {
+        return healthTrackers.computeIfAbsent(getBaseUrl(instanceUrl),
+                baseUrl -> new HealthTracker());
+    }
+
+    @Nonnull
+    private static String getBaseUrl(@Nonnull final String instanceUrl) {
+        try {
+            return Utils.getBaseUrl(instanceUrl);
+        } catch (final ParsingException e) {
+            return instanceUrl;
+        }
+    }
+
+    /**
+     * A cached fetch of the metadata of an instance, which may still be running.
+     */
+    private final class Entry {
+        private final CompletableFuture<PeertubeInstanceMetaData> future =
+                new CompletableFuture<>();
+        private volatile long completionNanos;
+
+        void complete(@Nonnull final PeertubeInstanceMetaData metaData, final long nowNanos) {
+            completionNanos = nowNanos;
+            future.complete(metaData);
+        }
+
+        void fail(@Nonnull final Exception exception, final long nowNanos) {
+            completionNanos = nowNanos;
+            future.completeExceptionally(exception);
+        }
+
+        boolean isExpired(final long nowNanos) {
+            if (!future.isDone()) {
+                return false;
+            }
+            final long ttl = future.isCompletedExceptionally() ? failureTtlNanos : ttlNanos;
+            return nowNanos - completionNanos >= ttl;
+        }
+
+        @Nonnull
+        PeertubeInstanceMetaData await() throws ExtractionException {
+            try {
+                return future.join();
+            } catch (final CompletionException e) {
+                if (e.getCause() instanceof ExtractionException) {
+                    throw (ExtractionException) e.getCause();
+                }
+                throw new ExtractionException(e.getCause());
+            }
+        }
+    }
+
+    private static final class HealthTracker {
+        // Weight of the last latency in the smoothed latency
+        private static final double LATENCY_SMOOTHING_FACTOR = 0.25;
+
+        private long successCount = 0;
+        private long failureCount = 0;
+        private int consecutiveFailures = 0;
+        private long lastLatencyNanos = -1;
+        private double smoothedLatencyNanos = -1;
+
+        synchronized void onSuccess(final long latencyNanos) {
+            successCount++;
+            consecutiveFailures = 0;
+            lastLatencyNanos = latencyNanos;
+            smoothedLatencyNanos = smoothedLatencyNanos < 0 ? latencyNanos
+                    : smoothedLatencyNanos
+                            + LATENCY_SMOOTHING_FACTOR * (latencyNanos - smoothedLatencyNanos);
+        }
+
+        synchronized void onFailure() {
+            failureCount++;
+            consecutiveFailures++;
+        }
+
+        @Nonnull
+        synchronized Health snapshot() {
+            return new Health(successCount, failureCount, consecutiveFailures, lastLatencyNanos,
+                    (long) smoothedLatencyNanos);
+        }
+    }
+
+    /**
+     * A snapshot of the health of an instance.
+     */
+    public static final class Health {
+        static final Health UNKNOWN = new Health(0, 0, 0, -1, -1);
+
+        private final long successCount;
+        private final long failureCount;
+        private final int consecutiveFailures;
+        private final long lastLatencyNanos;
+        private final long smoothedLatencyNanos;
+
+        Health(final long successCount,
+               final long failureCount,
+               final int consecutiveFailures,
+               final long lastLatencyNanos,
+               final long smoothedLatencyNanos) {
+            this.successCount = successCount;
+            this.failureCount = failureCount;
+            this.consecutiveFailures = consecutiveFailures;
+            this.lastLatencyNanos = lastLatencyNanos;
+            this.smoothedLatencyNanos = smoothedLatencyNanos;
+        }
+
+        public long getSuccessCount() {
+            return successCount;
+        }
+
+        public long getFailureCount() {
+            return failureCount;
+        }
+
+        public int getConsecutiveFailures() {
+            return consecutiveFailures;
+        }
+
+        /**
+         * @return whether the last request to the instance succeeded
+         */
+        public boolean isHealthy() {
+            return successCount > 0 && consecutiveFailures == 0;
+        }
+
+        /**
+         * @param unit the unit of the latency returned
+         * @return the latency of the last successful request, or {@code -1} if it is unknown
+         */
+        public long getLastLatency(@Nonnull final TimeUnit unit) {
+            return lastLatencyNanos < 0
+                    ? -1 : unit.convert(lastLatencyNanos, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * @param unit the unit of the latency returned
+         * @return the exponentially smoothed latency of the successful requests, or {@code -1}
+         * if it is unknown
+         */
+        public long getSmoothedLatency(@Nonnull final TimeUnit unit) {
+            return smoothedLatencyNanos < 0
+                    ? -1 : unit.convert(smoothedLatencyNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
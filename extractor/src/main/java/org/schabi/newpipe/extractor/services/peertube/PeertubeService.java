@@ -4,6 +4,7 @@ import static org.schabi.newpipe.extractor.StreamingService.ServiceInfo.MediaCap
 import static org.schabi.newpipe.extractor.StreamingService.ServiceInfo.MediaCapability.VIDEO;
 import static java.util.Arrays.asList;
 
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.channel.ChannelExtractor;
 import org.schabi.newpipe.extractor.channel.tabs.ChannelTabExtractor;
@@ -22,6 +23,7 @@ import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeAccount
 import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeChannelExtractor;
 import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeChannelTabExtractor;
 import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeCommentsExtractor;
+import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeFederatedSearchExtractor;
 import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubePlaylistExtractor;
 import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeSearchExtractor;
 import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeStreamExtractor;
@@ -39,6 +41,8 @@ import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.suggestion.SuggestionExtractor;
 
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 public class PeertubeService extends StreamingService {
 
@@ -90,6 +94,42 @@ public class PeertubeService extends StreamingService {
                 !contentFilters.isEmpty() && contentFilters.get(0).startsWith("sepia_"));
     }
 
+    /**
+     * Get an extractor searching on several instances at once, instead of the instance of this
+     * service only.
+     *
+     * @param queryHandler the search query handler
+     * @param instances    the instances on which the search is made
+     * @param executor     the executor on which instances are requested
+     * @param timeout      the maximum time to wait for the response of an instance
+     * @param timeoutUnit  the unit of the timeout
+     * @return a new federated search extractor
+     * @see PeertubeFederatedSearchExtractor
+     */
+    public PeertubeFederatedSearchExtractor getFederatedSearchExtractor(
+            final SearchQueryHandler queryHandler,
+            final List<PeertubeInstance> instances,
+            final Executor executor,
+            final long timeout,
+            final TimeUnit timeoutUnit) {
+        return new PeertubeFederatedSearchExtractor(this, queryHandler, instances, executor,
+                timeout, timeoutUnit);
+    }
+
+    /**
+     * Like {@link #getFederatedSearchExtractor(SearchQueryHandler, List, Executor, long,
+     * TimeUnit)}, but instances are requested on the
+     * {@link ExtractionContext#getExecutor() executor} of the current context.
+     */
+    public PeertubeFederatedSearchExtractor getFederatedSearchExtractor(
+            final SearchQueryHandler queryHandler,
+            final List<PeertubeInstance> instances,
+            final long timeout,
+            final TimeUnit timeoutUnit) {
+        return getFederatedSearchExtractor(queryHandler, instances,
+                ExtractionContext.current().getExecutor(), timeout, timeoutUnit);
+    }
+
     @Override
     public SuggestionExtractor getSuggestionExtractor() {
         return new PeertubeSuggestionExtractor(this);
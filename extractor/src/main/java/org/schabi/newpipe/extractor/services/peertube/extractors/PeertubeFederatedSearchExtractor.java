@@ -0,0 +1,393 @@
+package org.schabi.newpipe.extractor.services.peertube.extractors;
+
+import com.grack.nanojson.JsonObject;
+import com.grack.nanojson.JsonParser;
+
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.MetaInfo;
+import org.schabi.newpipe.extractor.MultiInfoItemsCollector;
+import org.schabi.newpipe.extractor.Page;
+import org.schabi.newpipe.extractor.StreamingService;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
+import org.schabi.newpipe.extractor.search.SearchExtractor;
+import org.schabi.newpipe.extractor.services.peertube.PeertubeInstance;
+import org.schabi.newpipe.extractor.services.peertube.PeertubeInstanceRegistry;
+import org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelper;
+import org.schabi.newpipe.extractor.services.peertube.linkHandler.PeertubeSearchQueryHandlerFactory;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.utils.Utils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import static org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelper.COUNT_KEY;
+import static org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelper.ITEMS_PER_PAGE;
+import static org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelper.START_KEY;
+import static org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelper.collectItemsFrom;
+import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
+
+/**
+ * A {@link SearchExtractor} searching on several PeerTube instances at once.
+ *
+ * <p>
+ * Each page is requested concurrently on all the instances, on the given {@link Executor}, and
+ * instances which do not respond before the given timeout are skipped. Their errors are added to
+ * the errors of the page. Results are deduplicated by video UUID, so that a video federated on
+ * several instances is only returned once, for the first instance which returned it.
+ * </p>
+ *
+ * <p>
+ * The items of each instance can be handled as soon as the instance responded, with
+ * {@link #getInitialPage(Consumer)} and {@link #getPage(Page, Consumer)}.
+ * </p>
+ *
+ * <p>
+ * The ids of the pages of this extractor are the search URLs of the instances which still have
+ * results.
+ * </p>
+ */
+public class PeertubeFederatedSearchExtractor extends SearchExtractor {
+    private static final String API_PATH = "/api/v1/";
+
+    @Nonnull
+    private final List<PeertubeInstance> instances;
+    @Nonnull
+    private final Executor executor;
+    private final long timeout;
+    @Nonnull
+    private final TimeUnit timeoutUnit;
+
+    // Identifiers of the items which have already been returned, on all pages
+    private final Set<String> returnedItemIds = ConcurrentHashMap.newKeySet();
+    private List<PeertubeInstance> availableInstances;
+    private List<Throwable> unavailableInstancesErrors;
+
+    /**
+     * Create a new extractor searching on the given instances.
+     *
+     * @param service     the PeerTube service
+     * @param linkHandler the search query handler; only its search string, content filters and
+     *                    sort filter are used
+     * @param instances   the instances on which the search is made
+     * @param executor    the executor on which instances are requested
+     * @param timeout     the maximum time to wait for the response of an instance
+     * @param timeoutUnit the unit of the timeout
+     */
+    public PeertubeFederatedSearchExtractor(@Nonnull final StreamingService service,
+                                            @Nonnull final SearchQueryHandler linkHandler,
+                                            @Nonnull final List<PeertubeInstance> instances,
+                                            @Nonnull final Executor executor,
+                                            final long timeout,
+                                            @Nonnull final TimeUnit timeoutUnit) {
+        super(service, linkHandler);
+        if (instances.isEmpty()) {
+            throw new IllegalArgumentException("No PeerTube instance to search on");
+        }
+        this.instances = List.copyOf(instances);
+        // Requests are made on the threads of the executor, with the context of this extractor
+        this.executor = getContext().wrapExecutor(Objects.requireNonNull(executor));
+        this.timeout = timeout;
+        this.timeoutUnit = Objects.requireNonNull(timeoutUnit);
+    }
+
+    @Nonnull
+    @Override
+    public String getSearchSuggestion() {
+        return "";
+    }
+
+    @Override
+    public boolean isCorrectedSearch() {
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public List<MetaInfo> getMetaInfo() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Fetch the metadata of the instances which is not cached by the
+     * {@link PeertubeInstanceRegistry#getDefault() default instance registry}, in order to skip
+     * the unavailable instances.
+     */
+    @Override
+    public void onFetchPage(@Nonnull final Downloader downloader) throws ExtractionException {
+        final List<CompletableFuture<Throwable>> futures = instances.stream()
+                .map(instance -> {
+                    if (instance.isMetaDataFetched() && PeertubeInstanceRegistry.getDefault()
+                            .getCachedMetaData(instance.getUrl()) != null) {
+                        return CompletableFuture.<Throwable>completedFuture(null);
+                    }
+                    return fetchInstanceMetaData(instance);
+                })
+                .collect(Collectors.toList());
+
+        final List<PeertubeInstance> available = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        for (int i = 0; i < instances.size(); i++) {
+            final Throwable error = futures.get(i).join();
+            if (error == null) {
+                available.add(instances.get(i));
+            } else {
+                errors.add(error);
+            }
+        }
+
+        if (available.isEmpty()) {
+            throw allInstancesFailed(errors);
+        }
+        availableInstances = available;
+        unavailableInstancesErrors = errors;
+    }
+
+    @Nonnull
+    @Override
+    public InfoItemsPage<InfoItem> getInitialPage() throws IOException, ExtractionException {
+        return getInitialPage(page -> { });
+    }
+
+    /**
+     * Get the initial page, passing the new items of each instance to the given consumer as soon
+     * as the instance responded.
+     *
+     * @param instancePageConsumer the consumer of the pages of each instance, which have no next
+     *                             page; it is never called concurrently
+     * @return the merged page of all the instances
+     */
+    @Nonnull
+    public InfoItemsPage<InfoItem> getInitialPage(
+            @Nonnull final Consumer<? super InfoItemsPage<InfoItem>> instancePageConsumer)
+            throws IOException, ExtractionException {
+        assertPageFetched();
+        final List<String> urls = new ArrayList<>(availableInstances.size());
+        for (final PeertubeInstance instance : availableInstances) {
+            urls.add(getSearchUrl(instance) + "&" + START_KEY + "=0&"
+                    + COUNT_KEY + "=" + ITEMS_PER_PAGE);
+        }
+
+        final InfoItemsPage<InfoItem> page = getPage(new Page(urls), instancePageConsumer);
+        if (unavailableInstancesErrors.isEmpty()) {
+            return page;
+        }
+        final List<Throwable> errors = new ArrayList<>(unavailableInstancesErrors);
+        errors.addAll(page.getErrors());
+        return new InfoItemsPage<>(page.getItems(), page.getNextPage(), errors);
+    }
+
+    @Override
+    public InfoItemsPage<InfoItem> getPage(final Page page)
+            throws IOException, ExtractionException {
+        return getPage(page, instancePage -> { });
+    }
+
+    /**
+     * Get the given page, passing the new items of each instance to the given consumer as soon
+     * as the instance responded.
+     *
+     * @param page                 the page to get, returned by a previous page of this extractor
+     * @param instancePageConsumer the consumer of the pages of each instance, which have no next
+     *                             page; it is never called concurrently
+     * @return the merged page of all the instances
+     */
+    @Nonnull
+    public InfoItemsPage<InfoItem> getPage(
+            final Page page,
+            @Nonnull final Consumer<? super InfoItemsPage<InfoItem>> instancePageConsumer)
+            throws IOException, ExtractionException {
+        if (page == null || isNullOrEmpty(page.getIds())) {
+            throw new IllegalArgumentException("Page doesn't contain instance URLs");
+        }
+
+        final List<String> urls = page.getIds();
+        final List<InfoItem> items = new ArrayList<>();
+        final List<Throwable> errors = new ArrayList<>();
+        // Keep next pages in the order of the instances
+        final String[] nextPageUrls = new String[urls.size()];
+        final Object lock = new Object();
+
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[urls.size()];
+        for (int i = 0; i < urls.size(); i++) {
+            final String url = urls.get(i);
+            final int index = i;
+            futures[i] = CompletableFuture.supplyAsync(() -> {
+                try {
+                    final long start = System.nanoTime();
+                    final InfoItemsPage<InfoItem> instancePage = getInstancePage(url);
+                    PeertubeInstanceRegistry.getDefault().reportSuccess(getInstanceBaseUrl(url),
+                            System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return instancePage;
+                } catch (final IOException | ExtractionException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor)
+                    .orTimeout(timeout, timeoutUnit)
+                    .handle((instancePage, throwable) -> {
+                        synchronized (lock) {
+                            if (throwable != null) {
+                                PeertubeInstanceRegistry.getDefault()
+                                        .reportFailure(getInstanceBaseUrl(url));
+                                errors.add(unwrapError(throwable, getInstanceBaseUrl(url)));
+                                return null;
+                            }
+
+                            final InfoItemsPage<InfoItem> newItemsPage =
+                                    new InfoItemsPage<>(filterReturnedItems(instancePage),
+                                            null, instancePage.getErrors());
+                            items.addAll(newItemsPage.getItems());
+                            errors.addAll(newItemsPage.getErrors());
+                            if (instancePage.hasNextPage()) {
+                                nextPageUrls[index] = instancePage.getNextPage().getUrl();
+                            }
+                            instancePageConsumer.accept(newItemsPage);
+                            return null;
+                        }
+                    });
+        }
+
+        try {
+            CompletableFuture.allOf(futures).join();
+        } catch (final CompletionException e) {
+            // Thrown by the consumer
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+
+        final List<String> nextUrls = Arrays.stream(nextPageUrls)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        synchronized (lock) {
+            if (items.isEmpty() && nextUrls.isEmpty() && errors.size() >= urls.size()) {
+                throw allInstancesFailed(errors);
+            }
+            return new InfoItemsPage<>(items, nextUrls.isEmpty() ? null : new Page(nextUrls),
+                    errors);
+        }
+    }
+
+    @Nonnull
+    private InfoItemsPage<InfoItem> getInstancePage(@Nonnull final String url)
+            throws IOException, ExtractionException {
+        final Response response = getDownloader().get(url);
+
+        JsonObject json = null;
+        if (response != null && !Utils.isBlank(response.responseBody())) {
+            try {
+                json = JsonParser.object().from(response.responseBody());
+            } catch (final Exception e) {
+                throw new ParsingException("Could not parse json data for search info", e);
+            }
+        }
+
+        if (json == null) {
+            throw new ExtractionException("Unable to get PeerTube search info from " + url);
+        }
+
+        PeertubeParsingHelper.validate(json);
+        final long total = json.getLong("total");
+
+        final MultiInfoItemsCollector collector = new MultiInfoItemsCollector(getServiceId());
+        collectItemsFrom(collector, json, getInstanceBaseUrl(url));
+
+        return new InfoItemsPage<>(collector, PeertubeParsingHelper.getNextPage(url, total));
+    }
+
+    @Nonnull
+    private List<InfoItem> filterReturnedItems(@Nonnull final InfoItemsPage<InfoItem> page) {
+        return page.getItems().stream()
+                .filter(item -> returnedItemIds.add(getItemId(item)))
+                .collect(Collectors.toList());
+    }
+
+    @Nonnull
+    private String getItemId(@Nonnull final InfoItem item) {
+        if (item instanceof StreamInfoItem) {
+            try {
+                // The UUID of a video is the same on all the instances it is federated on
+                return getService().getStreamLHFactory().getId(item.getUrl());
+            } catch (final ParsingException ignored) {
+                // Fall back to the URL of the item
+            }
+        }
+        return item.getUrl();
+    }
+
+    @Nonnull
+    private String getSearchUrl(@Nonnull final PeertubeInstance instance)
+            throws ParsingException {
+        final SearchQueryHandler linkHandler = getLinkHandler();
+        return PeertubeSearchQueryHandlerFactory.getInstance().getUrl(
+                linkHandler.getSearchString(), linkHandler.getContentFilters(),
+                linkHandler.getSortFilter(), instance.getUrl());
+    }
+
+    @Nonnull
+    private static String getInstanceBaseUrl(@Nonnull final String url) {
+        final int apiPathIndex = url.indexOf(API_PATH);
+        return apiPathIndex == -1 ? url : url.substring(0, apiPathIndex);
+    }
+
+    /**
+     * @return a future completed with the error which prevented the metadata of the instance
+     * from being fetched, or with {@code null} if it has been fetched
+     */
+    @Nonnull
+    private CompletableFuture<Throwable> fetchInstanceMetaData(
+            @Nonnull final PeertubeInstance instance) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                instance.fetchInstanceMetaData();
+            } catch (final Exception e) {
+                throw new CompletionException(e);
+            }
+        }, executor)
+                .orTimeout(timeout, timeoutUnit)
+                .handle((result, throwable) -> throwable == null
+                        ? null : unwrapError(throwable, instance.getUrl()));
+    }
+
+    @Nonnull
+    private Throwable unwrapError(@Nonnull final Throwable throwable,
+                                  @Nonnull final String instanceUrl) {
+        final Throwable cause = throwable instanceof CompletionException
+                && throwable.getCause() != null ? throwable.getCause() : throwable;
+        if (cause instanceof TimeoutException) {
+            return new ExtractionException("PeerTube instance " + instanceUrl
+                    + " did not respond in " + timeout + " " + timeoutUnit, cause);
+        }
+        return cause;
+    }
+
+    @Nonnull
+    private static ExtractionException allInstancesFailed(@Nonnull final List<Throwable> errors) {
+        final ExtractionException exception = new ExtractionException(
+                "Unable to get PeerTube search info from any instance",
+                errors.isEmpty() ? null : errors.get(0));
+        for (int i = 1; i < errors.size(); i++) {
+            exception.addSuppressed(errors.get(i));
+        }
+        return exception;
+    }
+}
@@ -26,8 +26,8 @@ import org.schabi.newpipe.extractor.services.peertube.linkHandler.PeertubeStream
 import org.schabi.newpipe.extractor.stream.AudioStream;
 import org.schabi.newpipe.extractor.stream.DeliveryMethod;
 import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.DistinctStreamsBuilder;
 import org.schabi.newpipe.extractor.stream.Frameset;
-import org.schabi.newpipe.extractor.stream.Stream;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamSegment;
@@ -61,8 +61,15 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     private JsonObject json;
 
     private final List<SubtitlesStream> subtitles = new ArrayList<>();
-    private final List<AudioStream> audioStreams = new ArrayList<>();
-    private final List<VideoStream> videoStreams = new ArrayList<>();
+    private final DistinctStreamsBuilder<AudioStream> audioStreams =
+            new DistinctStreamsBuilder<>();
+    private final DistinctStreamsBuilder<VideoStream> videoStreams =
+            new DistinctStreamsBuilder<>();
+    // the lists built once all the streams have been added
+    @Nullable
+    private List<AudioStream> builtAudioStreams = null;
+    @Nullable
+    private List<VideoStream> builtVideoStreams = null;
 
     private ParsingException subtitlesException = null;
 
@@ -217,6 +224,9 @@ public class PeertubeStreamExtractor extends StreamExtractor {
     @Override
     public List<AudioStream> getAudioStreams() throws ParsingException {
         assertPageFetched();
+        if (builtAudioStreams != null) {
+            return builtAudioStreams;
+        }
 
         /*
         Some videos have audio streams; others don't.
@@ -230,12 +240,16 @@ public class PeertubeStreamExtractor extends StreamExtractor {
             getStreams();
         }
 
-        return audioStreams;
+        builtAudioStreams = audioStreams.build();
+        return builtAudioStreams;
     }
 
     @Override
     public List<VideoStream> getVideoStreams() throws ExtractionException {
         assertPageFetched();
+        if (builtVideoStreams != null) {
+            return builtVideoStreams;
+        }
 
         if (videoStreams.isEmpty()) {
             if (getStreamType() == StreamType.VIDEO_STREAM) {
@@ -245,7 +259,8 @@ public class PeertubeStreamExtractor extends StreamExtractor {
             }
         }
 
-        return videoStreams;
+        builtVideoStreams = videoStreams.build();
+        return builtVideoStreams;
     }
 
     @Override
@@ -624,9 +639,7 @@ public class PeertubeStreamExtractor extends StreamExtractor {
                     .setAverageBitrate(UNKNOWN_BITRATE)
                     .setManifestUrl(playlistUrl)
                     .build();
-            if (!Stream.containSimilarStream(audioStream, audioStreams)) {
-                audioStreams.add(audioStream);
-            }
+            audioStreams.addIfDistinct(audioStream);
         }
 
         // Finally, add torrent URLs
@@ -677,9 +690,7 @@ public class PeertubeStreamExtractor extends StreamExtractor {
                     .setMediaFormat(format)
                     .setManifestUrl(playlistUrl)
                     .build();
-            if (!Stream.containSimilarStream(videoStream, videoStreams)) {
-                videoStreams.add(videoStream);
-            }
+            videoStreams.addIfDistinct(videoStream);
         }
 
         // Add finally torrent URLs
@@ -14,6 +14,7 @@ import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelper;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.RevalidatingCache;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import java.io.IOException;
@@ -27,6 +28,12 @@ import static org.schabi.newpipe.extractor.services.peertube.PeertubeParsingHelp
 import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
 
 public class PeertubeTrendingExtractor extends KioskExtractor<StreamInfoItem> {
+    /**
+     * The parsed pages, which are reused when the instance answers that a page did not change.
+     */
+    private static final RevalidatingCache<JsonObject> PAGE_CACHE =
+            new RevalidatingCache<>("peertube.trending", 32);
+
     public PeertubeTrendingExtractor(final StreamingService streamingService,
                                      final ListLinkHandler linkHandler,
                                      final String kioskId) {
@@ -53,29 +60,46 @@ public class PeertubeTrendingExtractor extends KioskExtractor<StreamInfoItem> {
             throw new IllegalArgumentException("Page doesn't contain an URL");
         }
 
-        final Response response = getDownloader().get(page.getUrl());
+        final JsonObject json = PAGE_CACHE.get(page.getUrl(),
+                validators -> getDownloader().getConditionally(page.getUrl(), null, validators,
+                        getExtractorLocalization()),
+                PeertubeTrendingExtractor::parsePage);
 
-        JsonObject json = null;
-        if (response != null && !Utils.isBlank(response.responseBody())) {
-            try {
-                json = JsonParser.object().from(response.responseBody());
-            } catch (final Exception e) {
-                throw new ParsingException("Could not parse json data for kiosk info", e);
-            }
-        }
+        final long total = json.getLong("total");
 
-        if (json != null) {
-            PeertubeParsingHelper.validate(json);
-            final long total = json.getLong("total");
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+        collectItemsFrom(collector, json, getBaseUrl());
 
-            final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-            collectItemsFrom(collector, json, getBaseUrl());
+        return new InfoItemsPage<>(collector,
+                PeertubeParsingHelper.getNextPage(page.getUrl(), total));
+    }
 
-            return new InfoItemsPage<>(collector,
-                    PeertubeParsingHelper.getNextPage(page.getUrl(), total));
-        } else {
+    @Nonnull
+    private static JsonObject parsePage(@Nonnull final Response response)
+            throws ExtractionException {
+        if (Utils.isBlank(response.responseBody())) {
             throw new ExtractionException("Unable to get PeerTube kiosk info");
         }
+
+        final JsonObject json;
+        try {
+            json = JsonParser.object().from(response.responseBody());
+        } catch (final Exception e) {
+            throw new ParsingException("Could not parse json data for kiosk info", e);
+        }
+        PeertubeParsingHelper.validate(json);
+        return json;
+    }
+
+    /**
+     * Remove all pages from the cache of parsed pages.
+     *
+     * <p>
+     * <b>Only used in tests.</b>
+     * </p>
+     */
+    public static void clearCache() {
+        PAGE_CACHE.clear();
     }
 
     @Override
@@ -0,0 +1,299 @@
+package org.schabi.newpipe.extractor.services.soundcloud;
+
+import org.jsoup.Jsoup;
+import org.schabi.newpipe.extractor.ExtractionContext;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.utils.Parser;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.schabi.newpipe.extractor.utils.Utils.isNullOrEmpty;
+
+/**
+ * Provider of the client ID needed by the SoundCloud API, which is extracted from the scripts of
+ * the SoundCloud website.
+ *
+ * <p>
+ * The client ID is stored in an atomic reference, so that getting it never blocks once it has
+ * been extracted. Only one extraction runs at a time: threads needing the client ID while it is
+ * extracted wait for that extraction instead of starting new ones. The candidate scripts are
+ * downloaded concurrently and the first client ID found is used.
+ * </p>
+ *
+ * <p>
+ * Once its refresh interval has elapsed, the client ID is extracted again in the background,
+ * while the current one is still returned. A client ID rejected by the API can be
+ * {@link #invalidate(String) invalidated}, so that the next call extracts a new one.
+ * </p>
+ */
+public final class SoundcloudClientIdProvider {
+    private static final long DEFAULT_REFRESH_INTERVAL_HOURS = 6;
+    private static final String SOUNDCLOUD_URL = "https://soundcloud.com";
+    private static final String CLIENT_ID_PATTERN = ",client_id:\"(.*?)\"";
+    private static final Map<String, List<String>> SCRIPT_HEADERS =
+            Map.of("Range", List.of("bytes=0-50000"));
+
+    private static final SoundcloudClientIdProvider DEFAULT = new SoundcloudClientIdProvider(
+            TimeUnit.HOURS.toNanos(DEFAULT_REFRESH_INTERVAL_HOURS), System::nanoTime,
+            createDefaultExecutor());
+
+    private final long refreshIntervalNanos;
+    @Nonnull
+    private final LongSupplier nanoTime;
+    @Nonnull
+    private final Executor executor;
+
+    private final AtomicReference<ClientId> clientId = new AtomicReference<>();
+    // The running extraction, if there is one
+    private final AtomicReference<CompletableFuture<String>> extraction =
+            new AtomicReference<>();
+
+    /**
+     * Create a client ID provider.
+     *
+     * @param refreshInterval the time after which the client ID is extracted again
+     * @param unit            the unit of {@code refreshInterval}
+     * @param executor        the executor on which the client ID is extracted
+     */
+    public SoundcloudClientIdProvider(final long refreshInterval,
+                                      @Nonnull final TimeUnit unit,
+                                      @Nonnull final Executor executor) {
+        this(unit.toNanos(refreshInterval), System::nanoTime, executor);
+    }
+
+    SoundcloudClientIdProvider(final long refreshIntervalNanos,
+                               @Nonnull final LongSupplier nanoTime,
+                               @Nonnull final Executor executor) {
+        this.refreshIntervalNanos = refreshIntervalNanos;
+        this.nanoTime = nanoTime;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the provider used by {@link SoundcloudParsingHelper#clientId()}
+     */
+    @Nonnull
+    public static SoundcloudClientIdProvider getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the client ID, extracting it if it has not been extracted yet or if it has been
+     * invalidated.
+     *
+     * <p>
+     * If the refresh interval of the client ID has elapsed, a new one is extracted in the
+     * background and the current one is returned.
+     * </p>
+     *
+     * @return the client ID
+     * @throws IOException         if the client ID could not be extracted because of a network
+     *                             error
+     * @throws ExtractionException if the client ID could not be found
+     */
+    @Nonnull
+    public String getClientId() throws IOException, ExtractionException {
+        final ClientId current = clientId.get();
+        if (current != null) {
+            if (nanoTime.getAsLong() - current.extractedAt >= refreshIntervalNanos) {
+                refresh();
+            }
+            return current.value;
+        }
+
+        try {
+            return refresh().join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof ExtractionException) {
+                throw (ExtractionException) e.getCause();
+            }
+            throw new ExtractionException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the current client ID, or {@code null} if it has not been extracted yet or if it
+     * has been invalidated
+     */
+    @Nullable
+    public String getCachedClientId() {
+        final ClientId current = clientId.get();
+        return current == null ? null : current.value;
+    }
+
+    /**
+     * Start extracting the client ID on the executor of this provider, unless an extraction is
+     * already running.
+     *
+     * <p>
+     * If the extraction fails, the current client ID is kept until the refresh interval elapses
+     * again.
+     * </p>
+     *
+     * @return a future completed with the new client ID when the extraction is done
+     */
+    @Nonnull
+    public CompletableFuture<String> refresh() {
+        while (true) {
+            final CompletableFuture<String> running = extraction.get();
+            if (running != null) {
+                return running;
+            }
+
+            final CompletableFuture<String> future = new CompletableFuture<>();
+            if (extraction.compareAndSet(null, future)) {
+                final ClientId previous = clientId.get();
+                extractClientId().whenComplete((value, throwable) -> {
+                    if (throwable == null) {
+                        clientId.set(new ClientId(value, nanoTime.getAsLong()));
+                    } else if (previous != null) {
+                        // Wait for another refresh interval before trying again
+                        clientId.compareAndSet(previous,
+                                new ClientId(previous.value, nanoTime.getAsLong()));
+                    }
+                    extraction.compareAndSet(future, null);
+
+                    if (throwable == null) {
+                        future.complete(value);
+                    } else {
+                        future.completeExceptionally(throwable instanceof CompletionException
+                                ? throwable.getCause() : throwable);
+                    }
+                });
+                return future;
+            }
+        }
+    }
+
+    /**
+     * Invalidate the given client ID, e.g. after the API rejected it.
+     *
+     * <p>
+     * Nothing is done if the current client ID is another one, so that threads reporting the
+     * same rejected client ID make only one extraction happen.
+     * </p>
+     *
+     * @param rejectedClientId the client ID which is not valid anymore
+     */
+    public void invalidate(@Nonnull final String rejectedClientId) {
+        final ClientId current = clientId.get();
+        if (current != null && current.value.equals(rejectedClientId)) {
+            clientId.compareAndSet(current, null);
+        }
+    }
+
+    /**
+     * Forget the current client ID, e.g. to reset global state between tests.
+     */
+    public void clear() {
+        clientId.set(null);
+    }
+
+    @Nonnull
+    private CompletableFuture<String> extractClientId() {
+        // The client ID is extracted with the context of the thread which needs it
+        final Executor contextExecutor = ExtractionContext.current().wrapExecutor(executor);
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return getScriptUrls();
+            } catch (final IOException | ReCaptchaException e) {
+                throw new CompletionException(e);
+            }
+        }, contextExecutor).thenCompose(scriptUrls -> probeScripts(scriptUrls, contextExecutor));
+    }
+
+    @Nonnull
+    private static List<String> getScriptUrls() throws IOException, ReCaptchaException {
+        final String responseBody = NewPipe.getDownloader().get(SOUNDCLOUD_URL).responseBody();
+        final List<String> scriptUrls = Jsoup.parse(responseBody)
+                .select("script[src*=\"sndcdn.com/assets/\"][src$=\".js\"]")
+                .stream()
+                .map(element -> element.attr("src"))
+                .filter(src -> !isNullOrEmpty(src))
+                .collect(Collectors.toCollection(ArrayList::new));
+        // The one containing the client id will likely be the last one
+        Collections.reverse(scriptUrls);
+        return scriptUrls;
+    }
+
+    /**
+     * Download the given scripts concurrently.
+     *
+     * @return a future completed with the first client ID found, or completed exceptionally if
+     * none of the scripts contains a client ID
+     */
+    @Nonnull
+    private CompletableFuture<String> probeScripts(@Nonnull final List<String> scriptUrls,
+                                                   @Nonnull final Executor contextExecutor) {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        if (scriptUrls.isEmpty()) {
+            result.completeExceptionally(new ExtractionException("Couldn't extract client id"));
+            return result;
+        }
+
+        final Downloader downloader = NewPipe.getDownloader();
+        final AtomicInteger remaining = new AtomicInteger(scriptUrls.size());
+        for (final String scriptUrl : scriptUrls) {
+            contextExecutor.execute(() -> {
+                if (result.isDone()) {
+                    return;
+                }
+                try {
+                    result.complete(Parser.matchGroup1(CLIENT_ID_PATTERN,
+                            downloader.get(scriptUrl, SCRIPT_HEADERS).responseBody()));
+                } catch (final Exception ignored) {
+                    // Ignore it and proceed to try searching other scripts
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        // Officially give up
+                        result.completeExceptionally(
+                                new ExtractionException("Couldn't extract client id"));
+                    }
+                }
+            });
+        }
+        return result;
+    }
+
+    @Nonnull
+    private static ExecutorService createDefaultExecutor() {
+        return Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "SoundCloud client ID extraction");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class ClientId {
+        @Nonnull
+        private final String value;
+        private final long extractedAt;
+
+        ClientId(@Nonnull final String value, final long extractedAt) {
+            this.value = value;
+            this.extractedAt = extractedAt;
+        }
+    }
+}
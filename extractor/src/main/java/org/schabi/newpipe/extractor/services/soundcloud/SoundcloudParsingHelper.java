@@ -11,26 +11,25 @@ import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
 import org.schabi.newpipe.extractor.MultiInfoItemsCollector;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.channel.ChannelInfoItemsCollector;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.downloader.Validators;
 import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudChannelInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudPlaylistInfoItemExtractor;
 import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudStreamInfoItemExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.ImageInterner;
 import org.schabi.newpipe.extractor.utils.ImageSuffix;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
-import org.schabi.newpipe.extractor.utils.Parser;
-import org.schabi.newpipe.extractor.utils.Parser.RegexException;
+import org.schabi.newpipe.extractor.utils.RevalidatingCache;
 import org.schabi.newpipe.extractor.utils.Utils;
 
 import javax.annotation.Nonnull;
@@ -41,10 +40,8 @@ import java.net.URL;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
-import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public final class SoundcloudParsingHelper {
@@ -86,9 +83,17 @@ public final class SoundcloudParsingHelper {
             List.of(new ImageSuffix("t1240x260", 1240, 260, MEDIUM),
                     new ImageSuffix("t2480x520", 2480, 520, MEDIUM));
 
-    private static String clientId;
     public static final String SOUNDCLOUD_API_V2_URL = "https://api-v2.soundcloud.com/";
 
+    private static final Pattern CLIENT_ID_PARAMETER_PATTERN =
+            Pattern.compile("[?&]client_id=([^&#]+)");
+
+    /**
+     * The parsed chart pages, which are reused when the API answers that a page did not change.
+     */
+    private static final RevalidatingCache<JsonObject> CHARTS_CACHE =
+            new RevalidatingCache<>("soundcloud.charts", 32);
+
     private static final Pattern ON_URL_PATTERN = Pattern.compile(
         "^https?://on.soundcloud.com/[0-9a-zA-Z]+$"
     );
@@ -96,40 +101,77 @@ public final class SoundcloudParsingHelper {
     private SoundcloudParsingHelper() {
     }
 
-    public static synchronized String clientId() throws ExtractionException, IOException {
-        if (!isNullOrEmpty(clientId)) {
-            return clientId;
+    /**
+     * Get the client ID needed by the SoundCloud API.
+     *
+     * @see SoundcloudClientIdProvider#getClientId()
+     */
+    public static String clientId() throws ExtractionException, IOException {
+        return SoundcloudClientIdProvider.getDefault().getClientId();
+    }
+
+    /**
+     * Perform a GET request to a URL of the SoundCloud API containing a client ID.
+     *
+     * <p>
+     * If the API rejects the client ID with an HTTP 401 or 403 response, it is
+     * {@link SoundcloudClientIdProvider#invalidate(String) invalidated} and the request is made
+     * again once, with a new client ID. If no new client ID could be extracted, the response of
+     * the API is returned.
+     * </p>
+     *
+     * @param downloader   the downloader to use
+     * @param apiUrl       the URL of the API, with a {@code client_id} query parameter
+     * @param localization the localization of the request
+     * @return the response of the API
+     */
+    @Nonnull
+    public static Response getFromApi(@Nonnull final Downloader downloader,
+                                      @Nonnull final String apiUrl,
+                                      final Localization localization)
+            throws IOException, ReCaptchaException {
+        return getFromApi(downloader, apiUrl, localization, Validators.NONE);
+    }
+
+    /**
+     * Like {@link #getFromApi(Downloader, String, Localization)}, but the request is conditional.
+     *
+     * @param validators the validators of the previous response of the API for the same URL
+     * @return the response of the API, which {@link Response#isNotModified() is not modified} if
+     * the resource did not change
+     */
+    @Nonnull
+    public static Response getFromApi(@Nonnull final Downloader downloader,
+                                      @Nonnull final String apiUrl,
+                                      final Localization localization,
+                                      @Nonnull final Validators validators)
+            throws IOException, ReCaptchaException {
+        final Response response = downloader.getConditionally(apiUrl, null, validators,
+                localization);
+        if (response.responseCode() != 401 && response.responseCode() != 403) {
+            return response;
         }
 
-        final Downloader dl = NewPipe.getDownloader();
-
-        final Response download = dl.get("https://soundcloud.com");
-        final String responseBody = download.responseBody();
-        final String clientIdPattern = ",client_id:\"(.*?)\"";
-
-        final Document doc = Jsoup.parse(responseBody);
-        final Elements possibleScripts = doc.select(
-                "script[src*=\"sndcdn.com/assets/\"][src$=\".js\"]");
-        // The one containing the client id will likely be the last one
-        Collections.reverse(possibleScripts);
-
-        final var headers = Map.of("Range", List.of("bytes=0-50000"));
-
-        for (final Element element : possibleScripts) {
-            final String srcUrl = element.attr("src");
-            if (!isNullOrEmpty(srcUrl)) {
-                try {
-                    clientId = Parser.matchGroup1(clientIdPattern, dl.get(srcUrl, headers)
-                            .responseBody());
-                    return clientId;
-                } catch (final RegexException ignored) {
-                    // Ignore it and proceed to try searching other script
-                }
-            }
+        final Matcher matcher = CLIENT_ID_PARAMETER_PATTERN.matcher(apiUrl);
+        if (!matcher.find()) {
+            return response;
         }
 
-        // Officially give up
-        throw new ExtractionException("Couldn't extract client id");
+        final String rejectedClientId = matcher.group(1);
+        final SoundcloudClientIdProvider provider = SoundcloudClientIdProvider.getDefault();
+        provider.invalidate(rejectedClientId);
+        final String newClientId;
+        try {
+            newClientId = provider.getClientId();
+        } catch (final ExtractionException e) {
+            return response;
+        }
+        if (newClientId.equals(rejectedClientId)) {
+            return response;
+        }
+
+        return downloader.getConditionally(apiUrl.substring(0, matcher.start(1)) + newClientId
+                + apiUrl.substring(matcher.end(1)), null, validators, localization);
     }
 
     public static OffsetDateTime parseDateFrom(final String textualUploadDate)
@@ -159,7 +201,7 @@ public final class SoundcloudParsingHelper {
                 + "&client_id=" + clientId();
 
         try {
-            final String response = downloader.get(apiUrl, SoundCloud.getLocalization())
+            final String response = getFromApi(downloader, apiUrl, SoundCloud.getLocalization())
                     .responseBody();
             return JsonParser.object().from(response);
         } catch (final JsonParserException e) {
@@ -223,7 +265,7 @@ public final class SoundcloudParsingHelper {
             final String widgetUrl = "https://api-widget.soundcloud.com/resolve?url="
                     + Utils.encodeUrlUtf8(url.toString())
                     + "&format=json&client_id=" + SoundcloudParsingHelper.clientId();
-            final String response = NewPipe.getDownloader().get(widgetUrl,
+            final String response = getFromApi(NewPipe.getDownloader(), widgetUrl,
                     SoundCloud.getLocalization()).responseBody();
             final JsonObject o = JsonParser.object().from(response);
             return String.valueOf(JsonUtils.getValue(o, "id"));
@@ -266,8 +308,8 @@ public final class SoundcloudParsingHelper {
     public static String getUsersFromApi(final ChannelInfoItemsCollector collector,
                                          final String apiUrl) throws IOException,
             ReCaptchaException, ParsingException {
-        final String response = NewPipe.getDownloader().get(apiUrl, SoundCloud.getLocalization())
-                .responseBody();
+        final String response = getFromApi(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization()).responseBody();
         final JsonObject responseObject;
 
         try {
@@ -312,6 +354,11 @@ public final class SoundcloudParsingHelper {
     /**
      * Fetch the streams from the given API and commit each of them to the collector.
      *
+     * <p>
+     * Chart pages are requested conditionally: if the API answers that a page did not change,
+     * the previously parsed page is used again.
+     * </p>
+     *
      * @return the next streams url, empty if don't have
      */
     @Nonnull
@@ -319,18 +366,22 @@ public final class SoundcloudParsingHelper {
                                            final String apiUrl,
                                            final boolean charts) throws IOException,
             ReCaptchaException, ParsingException {
-        final Response response = NewPipe.getDownloader().get(apiUrl, SoundCloud
-                .getLocalization());
-        if (response.responseCode() >= 400) {
-            throw new IOException("Could not get streams from API, HTTP " + response
-                    .responseCode());
-        }
-
+        final Downloader downloader = NewPipe.getDownloader();
         final JsonObject responseObject;
-        try {
-            responseObject = JsonParser.object().from(response.responseBody());
-        } catch (final JsonParserException e) {
-            throw new ParsingException("Could not parse json response", e);
+        if (charts) {
+            try {
+                responseObject = CHARTS_CACHE.get(apiUrl,
+                        validators -> getFromApi(downloader, apiUrl,
+                                SoundCloud.getLocalization(), validators),
+                        SoundcloudParsingHelper::parseStreamsResponse);
+            } catch (final ReCaptchaException | ParsingException e) {
+                throw e;
+            } catch (final ExtractionException e) {
+                throw new ParsingException(e.getMessage(), e);
+            }
+        } else {
+            responseObject = parseStreamsResponse(getFromApi(downloader, apiUrl,
+                    SoundCloud.getLocalization()));
         }
 
         final JsonArray responseCollection = responseObject.getArray("collection");
@@ -345,6 +396,32 @@ public final class SoundcloudParsingHelper {
         return getNextPageUrl(responseObject);
     }
 
+    @Nonnull
+    private static JsonObject parseStreamsResponse(@Nonnull final Response response)
+            throws IOException, ParsingException {
+        if (response.responseCode() >= 400) {
+            throw new IOException("Could not get streams from API, HTTP " + response
+                    .responseCode());
+        }
+
+        try {
+            return JsonParser.object().from(response.responseBody());
+        } catch (final JsonParserException e) {
+            throw new ParsingException("Could not parse json response", e);
+        }
+    }
+
+    /**
+     * Remove all pages from the cache of parsed chart pages.
+     *
+     * <p>
+     * <b>Only used in tests.</b>
+     * </p>
+     */
+    public static void clearChartsCache() {
+        CHARTS_CACHE.clear();
+    }
+
     @Nonnull
     private static String getNextPageUrl(@Nonnull final JsonObject response) {
         try {
@@ -367,7 +444,8 @@ public final class SoundcloudParsingHelper {
     public static String getInfoItemsFromApi(final MultiInfoItemsCollector collector,
                                              final String apiUrl) throws ReCaptchaException,
             ParsingException, IOException {
-        final Response response = NewPipe.getDownloader().get(apiUrl, SoundCloud.getLocalization());
+        final Response response = getFromApi(NewPipe.getDownloader(), apiUrl,
+                SoundCloud.getLocalization());
         if (response.responseCode() >= 400) {
             throw new IOException("Could not get streams from API, HTTP "
                     + response.responseCode());
@@ -475,11 +553,7 @@ public final class SoundcloudParsingHelper {
     private static List<Image> getAllImagesFromImageUrlReturned(
             @Nonnull final String baseImageUrlFormat,
             @Nonnull final List<ImageSuffix> imageSuffixes) {
-        return imageSuffixes.stream()
-                .map(imageSuffix -> new Image(
-                        String.format(baseImageUrlFormat, imageSuffix.getSuffix()),
-                        imageSuffix.getHeight(), imageSuffix.getWidth(),
-                        imageSuffix.getResolutionLevel()))
-                .collect(Collectors.toUnmodifiableList());
+        return ImageInterner.getImagesFromSuffixes(baseImageUrlFormat, imageSuffixes,
+                imageSuffix -> String.format(baseImageUrlFormat, imageSuffix.getSuffix()));
     }
 }
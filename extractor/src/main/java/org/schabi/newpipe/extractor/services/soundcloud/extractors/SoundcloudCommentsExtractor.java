@@ -17,6 +17,7 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper;
 
 import java.io.IOException;
 
@@ -50,7 +51,8 @@ public class SoundcloudCommentsExtractor extends CommentsExtractor {
     private InfoItemsPage<CommentsInfoItem> getPage(@Nonnull final String url)
             throws ParsingException, IOException, ReCaptchaException {
         final Downloader downloader = NewPipe.getDownloader();
-        final Response response = downloader.get(url);
+        final Response response = SoundcloudParsingHelper.getFromApi(downloader, url,
+                NewPipe.getPreferredLocalization());
 
         final JsonObject json;
         try {
@@ -50,7 +50,8 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
         final String apiUrl = SOUNDCLOUD_API_V2_URL + "playlists/" + playlistId + "?client_id="
                 + SoundcloudParsingHelper.clientId() + "&representation=compact";
 
-        final String response = downloader.get(apiUrl, getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getFromApi(downloader, apiUrl,
+                getExtractorLocalization()).responseBody();
         try {
             playlist = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
@@ -180,8 +181,8 @@ public class SoundcloudPlaylistExtractor extends PlaylistExtractor {
                 + SoundcloudParsingHelper.clientId() + "&ids=" + String.join(",", currentIds);
 
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-        final String response = NewPipe.getDownloader().get(currentPageUrl,
-                getExtractorLocalization()).responseBody();
+        final String response = SoundcloudParsingHelper.getFromApi(NewPipe.getDownloader(),
+                currentPageUrl, getExtractorLocalization()).responseBody();
 
         try {
             final JsonArray tracks = JsonParser.array().from(response);
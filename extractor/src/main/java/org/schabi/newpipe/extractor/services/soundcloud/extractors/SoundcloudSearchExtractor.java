@@ -20,6 +20,7 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
 import org.schabi.newpipe.extractor.search.SearchExtractor;
+import org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper;
 import org.schabi.newpipe.extractor.utils.Parser;
 
 import java.io.IOException;
@@ -83,8 +84,8 @@ public class SoundcloudSearchExtractor extends SearchExtractor {
         final JsonArray searchCollection;
         final int totalResults;
         try {
-            final String response = dl.get(page.getUrl(), getExtractorLocalization())
-                    .responseBody();
+            final String response = SoundcloudParsingHelper.getFromApi(dl, page.getUrl(),
+                    getExtractorLocalization()).responseBody();
             final JsonObject result = JsonParser.object().from(response);
             searchCollection = result.getArray(COLLECTION);
             totalResults = result.getInt(TOTAL_RESULTS);
@@ -106,7 +107,8 @@ public class SoundcloudSearchExtractor extends SearchExtractor {
         final Downloader dl = getDownloader();
         final String url = getUrl();
         try {
-            final String response = dl.get(url, getExtractorLocalization()).responseBody();
+            final String response = SoundcloudParsingHelper.getFromApi(dl, url,
+                    getExtractorLocalization()).responseBody();
             initialSearchObject = JsonParser.object().from(response);
         } catch (final JsonParserException e) {
             throw new ParsingException("Could not parse json response", e);
@@ -31,7 +31,7 @@ import org.schabi.newpipe.extractor.services.soundcloud.SoundcloudParsingHelper;
 import org.schabi.newpipe.extractor.stream.AudioStream;
 import org.schabi.newpipe.extractor.stream.DeliveryMethod;
 import org.schabi.newpipe.extractor.stream.Description;
-import org.schabi.newpipe.extractor.stream.Stream;
+import org.schabi.newpipe.extractor.stream.DistinctStreamsBuilder;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
 import org.schabi.newpipe.extractor.stream.StreamType;
@@ -160,21 +160,22 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
 
     @Override
     public List<AudioStream> getAudioStreams() throws ExtractionException {
-        final List<AudioStream> audioStreams = new ArrayList<>();
-
         // Streams can be streamable and downloadable - or explicitly not.
         // For playing the track, it is only necessary to have a streamable track.
         // If this is not the case, this track might not be published yet.
         if (!track.getBoolean("streamable") || !isAvailable) {
-            return audioStreams;
+            return new ArrayList<>();
         }
 
+        final List<AudioStream> audioStreams;
         try {
             final JsonArray transcodings = track.getObject("media").getArray("transcodings");
             if (!isNullOrEmpty(transcodings)) {
                 // Get information about what stream formats are available
-                extractAudioStreams(transcodings, checkMp3ProgressivePresence(transcodings),
-                        audioStreams);
+                audioStreams = extractAudioStreams(transcodings,
+                        checkMp3ProgressivePresence(transcodings));
+            } else {
+                audioStreams = new ArrayList<>();
             }
 
             extractDownloadableFileIfAvailable(audioStreams);
@@ -198,7 +199,8 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
     private String getTranscodingUrl(final String endpointUrl)
             throws IOException, ExtractionException {
         final String apiStreamUrl = endpointUrl + "?client_id=" + clientId();
-        final String response = NewPipe.getDownloader().get(apiStreamUrl).responseBody();
+        final String response = SoundcloudParsingHelper.getFromApi(NewPipe.getDownloader(),
+                apiStreamUrl, NewPipe.getPreferredLocalization()).responseBody();
         final JsonObject urlObject;
         try {
             urlObject = JsonParser.object().from(response);
@@ -212,8 +214,9 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
     @Nullable
     private String getDownloadUrl(@Nonnull final String trackId)
             throws IOException, ExtractionException {
-        final String response = NewPipe.getDownloader().get(SOUNDCLOUD_API_V2_URL + "tracks/"
-                + trackId + "/download" + "?client_id=" + clientId()).responseBody();
+        final String response = SoundcloudParsingHelper.getFromApi(NewPipe.getDownloader(),
+                SOUNDCLOUD_API_V2_URL + "tracks/" + trackId + "/download" + "?client_id="
+                        + clientId(), NewPipe.getPreferredLocalization()).responseBody();
 
         final JsonObject downloadJsonObject;
         try {
@@ -228,9 +231,10 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
         return null;
     }
 
-    private void extractAudioStreams(@Nonnull final JsonArray transcodings,
-                                     final boolean mp3ProgressiveInStreams,
-                                     final List<AudioStream> audioStreams) {
+    @Nonnull
+    private List<AudioStream> extractAudioStreams(@Nonnull final JsonArray transcodings,
+                                                  final boolean mp3ProgressiveInStreams) {
+        final DistinctStreamsBuilder<AudioStream> audioStreams = new DistinctStreamsBuilder<>();
         transcodings.stream()
                 .filter(JsonObject.class::isInstance)
                 .map(JsonObject.class::cast)
@@ -272,15 +276,13 @@ public class SoundcloudStreamExtractor extends StreamExtractor {
                             return;
                         }
 
-                        final AudioStream audioStream = builder.build();
-                        if (!Stream.containSimilarStream(audioStream, audioStreams)) {
-                            audioStreams.add(audioStream);
-                        }
+                        audioStreams.addIfDistinct(builder.build());
                     } catch (final ExtractionException | IOException ignored) {
                         // Something went wrong when trying to get and add this audio stream,
                         // skip to the next one
                     }
                 });
+        return audioStreams.build();
     }
 
     /**
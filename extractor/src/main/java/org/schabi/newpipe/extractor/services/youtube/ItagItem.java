@@ -104,23 +104,56 @@ public class ItagItem implements Serializable {
     // Utils
     //////////////////////////////////////////////////////////////////////////*/
 
-    public static boolean isSupported(final int itag) {
+    /**
+     * The items of {@link #ITAG_LIST}, indexed by their itag.
+     */
+    private static final ItagItem[] ITAGS_BY_ID = indexItagsById();
+
+    @Nonnull
+    private static ItagItem[] indexItagsById() {
+        int maxItag = 0;
         for (final ItagItem item : ITAG_LIST) {
-            if (itag == item.id) {
-                return true;
+            maxItag = Math.max(maxItag, item.id);
+        }
+
+        final ItagItem[] itagsById = new ItagItem[maxItag + 1];
+        for (final ItagItem item : ITAG_LIST) {
+            // Keep the first item of the list if an itag was declared twice
+            if (itagsById[item.id] == null) {
+                itagsById[item.id] = item;
             }
         }
-        return false;
+        return itagsById;
+    }
+
+    @Nullable
+    private static ItagItem findItag(final int itag) {
+        return itag >= 0 && itag < ITAGS_BY_ID.length ? ITAGS_BY_ID[itag] : null;
+    }
+
+    public static boolean isSupported(final int itag) {
+        return findItag(itag) != null;
+    }
+
+    /**
+     * Get the type of a supported itag, without copying its {@link ItagItem}.
+     *
+     * @param itag the itag
+     * @return the type of the itag, or {@code null} if it is not supported
+     */
+    @Nullable
+    public static ItagType getItagType(final int itag) {
+        final ItagItem item = findItag(itag);
+        return item == null ? null : item.itagType;
     }
 
     @Nonnull
     public static ItagItem getItag(final int itagId) throws ParsingException {
-        for (final ItagItem item : ITAG_LIST) {
-            if (itagId == item.id) {
-                return new ItagItem(item);
-            }
+        final ItagItem item = findItag(itagId);
+        if (item == null) {
+            throw new ParsingException("itag " + itagId + " is not supported");
         }
-        throw new ParsingException("itag " + itagId + " is not supported");
+        return new ItagItem(item);
     }
 
     /*//////////////////////////////////////////////////////////////////////////
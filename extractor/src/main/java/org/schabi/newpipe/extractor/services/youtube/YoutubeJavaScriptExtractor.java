@@ -62,6 +62,8 @@ final class YoutubeJavaScriptExtractor {
 
             return YoutubeJavaScriptExtractor.downloadJavaScriptCode(playerJsUrl);
         } catch (final Exception e) {
+            NewPipe.getExtractionListener().onFallback("youtube.javaScriptPlayerUrl",
+                    "embedWatchPage", e);
             url = YoutubeJavaScriptExtractor.extractJavaScriptUrlWithEmbedWatchPage(videoId);
             final String playerJsUrl = YoutubeJavaScriptExtractor.cleanJavaScriptUrl(url);
 
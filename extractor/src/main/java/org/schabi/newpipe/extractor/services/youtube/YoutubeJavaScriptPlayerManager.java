@@ -5,9 +5,14 @@ import org.schabi.newpipe.extractor.utils.JavaScript;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Manage the extraction and the usage of YouTube's player JavaScript needed data in the YouTube
@@ -31,6 +36,7 @@ public final class YoutubeJavaScriptPlayerManager {
     private static final Map<String, String> CACHED_THROTTLING_PARAMETERS = new HashMap<>();
 
     private static String cachedJavaScriptPlayerCode;
+    private static YoutubePlayerAnalyzer cachedPlayerAnalyzer;
 
     @Nullable
     private static Integer cachedSignatureTimestamp;
@@ -94,7 +100,8 @@ public final class YoutubeJavaScriptPlayerManager {
 
         try {
             cachedSignatureTimestamp = Integer.valueOf(
-                    YoutubeSignatureUtils.getSignatureTimestamp(cachedJavaScriptPlayerCode));
+                    YoutubeSignatureUtils.getSignatureTimestamp(cachedJavaScriptPlayerCode,
+                            cachedPlayerAnalyzer));
         } catch (final ParsingException e) {
             // Store the exception for future calls of this method, in order to improve performance
             sigTimestampExtractionEx = e;
@@ -130,31 +137,7 @@ public final class YoutubeJavaScriptPlayerManager {
     public static String deobfuscateSignature(@Nonnull final String videoId,
                                               @Nonnull final String obfuscatedSignature)
             throws ParsingException {
-        // If the signature deobfuscation function has been not extracted on a previous call, this
-        // mean that we will fail to extract it on next calls too if the player code has been not
-        // changed
-        // Throw again the corresponding stored exception in this case to improve performance
-        if (sigDeobFuncExtractionEx != null) {
-            throw sigDeobFuncExtractionEx;
-        }
-
-        extractJavaScriptCodeIfNeeded(videoId);
-
-        if (cachedSignatureDeobfuscationFunction == null) {
-            try {
-                cachedSignatureDeobfuscationFunction = YoutubeSignatureUtils.getDeobfuscationCode(
-                        cachedJavaScriptPlayerCode);
-            } catch (final ParsingException e) {
-                // Store the exception for future calls of this method, in order to improve
-                // performance
-                sigDeobFuncExtractionEx = e;
-                throw e;
-            } catch (final Exception e) {
-                sigDeobFuncExtractionEx = new ParsingException(
-                        "Could not get signature parameter deobfuscation JavaScript function", e);
-                throw e;
-            }
-        }
+        extractSignatureDeobfuscationFunctionIfNeeded(videoId);
 
         try {
             // Return an empty parameter in the case the function returns null
@@ -169,6 +152,55 @@ public final class YoutubeJavaScriptPlayerManager {
         }
     }
 
+    /**
+     * Deobfuscate multiple signatures of streaming URLs at once, using their corresponding
+     * JavaScript base player's function.
+     *
+     * <p>
+     * The deobfuscation function is evaluated only once for all the distinct given signatures,
+     * which is faster than calling {@link #deobfuscateSignature(String, String)} for each of
+     * them, like for the formats of a player response.
+     * </p>
+     *
+     * @param videoId              the video ID used to get the JavaScript base player file (an
+     *                             empty one can be passed, even it is not recommend in order to
+     *                             spoof better official YouTube clients)
+     * @param obfuscatedSignatures the obfuscated signatures of streaming URLs
+     * @return a map of the given obfuscated signatures to their deobfuscated variant
+     * @throws ParsingException if the extraction of the base JavaScript player file or the
+     * signature deobfuscation function failed, or if the function could not be run
+     */
+    @Nonnull
+    public static Map<String, String> deobfuscateSignatures(
+            @Nonnull final String videoId,
+            @Nonnull final Collection<String> obfuscatedSignatures) throws ParsingException {
+        final Map<String, String> deobfuscatedSignatures = new HashMap<>();
+        if (obfuscatedSignatures.isEmpty()) {
+            return deobfuscatedSignatures;
+        }
+
+        extractSignatureDeobfuscationFunctionIfNeeded(videoId);
+
+        final List<String> distinctSignatures =
+                new ArrayList<>(new LinkedHashSet<>(obfuscatedSignatures));
+        final List<String> results;
+        try {
+            results = JavaScript.runOnEach(cachedSignatureDeobfuscationFunction,
+                    YoutubeSignatureUtils.DEOBFUSCATION_FUNCTION_NAME, distinctSignatures);
+        } catch (final Exception e) {
+            // This shouldn't happen as the function validity is checked when it is extracted
+            throw new ParsingException(
+                    "Could not run signature parameter deobfuscation JavaScript function", e);
+        }
+
+        for (int i = 0; i < distinctSignatures.size(); i++) {
+            // Return an empty parameter in the case the function returns null
+            deobfuscatedSignatures.put(distinctSignatures.get(i),
+                    Objects.requireNonNullElse(results.get(i), ""));
+        }
+        return deobfuscatedSignatures;
+    }
+
     /**
      * Return a streaming URL with the throttling parameter of a given one deobfuscated, if it is
      * present, using its corresponding JavaScript base player's function.
@@ -201,7 +233,7 @@ public final class YoutubeJavaScriptPlayerManager {
      * @return the original streaming URL if it has no throttling parameter or a URL with a
      * deobfuscated throttling parameter
      * @throws ParsingException if the extraction of the base JavaScript player file or the
-     * throttling parameter deobfuscation function failed
+     * throttling parameter deobfuscation function failed, or if the function returned no result
      */
     @Nonnull
     public static String getUrlWithThrottlingParameterDeobfuscated(
@@ -226,54 +258,102 @@ public final class YoutubeJavaScriptPlayerManager {
             return streamingUrl.replace(obfuscatedThrottlingParameter, cacheResult);
         }
 
-        extractJavaScriptCodeIfNeeded(videoId);
+        extractThrottlingDeobfuscationFunctionIfNeeded(videoId);
 
-        // If the throttling parameter deobfuscation function has been not extracted on a previous
-        // call, this mean that we will fail to extract it on next calls too if the player code has
-        // been not changed
-        // Throw again the corresponding stored exception in this case to improve performance
-        if (throttlingDeobfFuncExtractionEx != null) {
-            throw throttlingDeobfFuncExtractionEx;
+        final String deobfuscatedThrottlingParameter;
+        try {
+            deobfuscatedThrottlingParameter = JavaScript.run(
+                    cachedThrottlingDeobfuscationFunction,
+                    cachedThrottlingDeobfuscationFunctionName,
+                    obfuscatedThrottlingParameter);
+        } catch (final Exception e) {
+            // This shouldn't happen as the function validity is checked when it is extracted
+            throw new ParsingException(
+                    "Could not run throttling parameter deobfuscation JavaScript function", e);
+        }
+        if (deobfuscatedThrottlingParameter == null) {
+            throw new ParsingException(
+                    "Throttling parameter deobfuscation function returned no result");
         }
 
-        if (cachedThrottlingDeobfuscationFunction == null) {
-            try {
-                cachedThrottlingDeobfuscationFunctionName =
-                        YoutubeThrottlingParameterUtils.getDeobfuscationFunctionName(
-                                cachedJavaScriptPlayerCode);
+        CACHED_THROTTLING_PARAMETERS.put(
+                obfuscatedThrottlingParameter, deobfuscatedThrottlingParameter);
 
-                cachedThrottlingDeobfuscationFunction =
-                        YoutubeThrottlingParameterUtils.getDeobfuscationFunction(
-                                cachedJavaScriptPlayerCode,
-                                cachedThrottlingDeobfuscationFunctionName);
-            } catch (final ParsingException e) {
-                // Store the exception for future calls of this method, in order to improve
-                // performance
-                throttlingDeobfFuncExtractionEx = e;
-                throw e;
-            } catch (final Exception e) {
-                throttlingDeobfFuncExtractionEx = new ParsingException(
-                        "Could not get throttling parameter deobfuscation JavaScript function", e);
-                throw e;
+        return streamingUrl.replace(
+                obfuscatedThrottlingParameter, deobfuscatedThrottlingParameter);
+    }
+
+    /**
+     * Deobfuscate the throttling parameters of multiple streaming URLs at once, using their
+     * corresponding JavaScript base player's function.
+     *
+     * <p>
+     * The deobfuscation function is evaluated only once for all the distinct throttling
+     * parameters which are not already cached. The results are added to the cache used by
+     * {@link #getUrlWithThrottlingParameterDeobfuscated(String, String)}, so that calls of this
+     * method on the same streaming URLs will not run the function again.
+     * </p>
+     *
+     * @param videoId       the video ID used to get the JavaScript base player file (an empty one
+     *                      can be passed, even it is not recommend in order to spoof better
+     *                      official YouTube clients)
+     * @param streamingUrls streaming URLs, which may not contain a throttling parameter
+     * @return a map of the obfuscated throttling parameters found in the given streaming URLs to
+     * their deobfuscated variant, which does not contain the parameters on which the function
+     * returned {@code null} or {@code undefined}
+     * @throws ParsingException if the extraction of the base JavaScript player file or the
+     * throttling parameter deobfuscation function failed, or if the function could not be run
+     */
+    @Nonnull
+    public static Map<String, String> deobfuscateThrottlingParameters(
+            @Nonnull final String videoId,
+            @Nonnull final Collection<String> streamingUrls) throws ParsingException {
+        final Map<String, String> deobfuscatedParameters = new HashMap<>();
+        final Set<String> parametersToDeobfuscate = new LinkedHashSet<>();
+        for (final String streamingUrl : streamingUrls) {
+            final String obfuscatedThrottlingParameter =
+                    YoutubeThrottlingParameterUtils.getThrottlingParameterFromStreamingUrl(
+                            streamingUrl);
+            if (obfuscatedThrottlingParameter == null) {
+                continue;
             }
-        }
 
-        try {
-            final String deobfuscatedThrottlingParameter = JavaScript.run(
-                    cachedThrottlingDeobfuscationFunction,
-                    cachedThrottlingDeobfuscationFunctionName,
+            final String cacheResult = CACHED_THROTTLING_PARAMETERS.get(
                     obfuscatedThrottlingParameter);
+            if (cacheResult != null) {
+                deobfuscatedParameters.put(obfuscatedThrottlingParameter, cacheResult);
+            } else {
+                parametersToDeobfuscate.add(obfuscatedThrottlingParameter);
+            }
+        }
+
+        if (parametersToDeobfuscate.isEmpty()) {
+            return deobfuscatedParameters;
+        }
 
-            CACHED_THROTTLING_PARAMETERS.put(
-                    obfuscatedThrottlingParameter, deobfuscatedThrottlingParameter);
+        extractThrottlingDeobfuscationFunctionIfNeeded(videoId);
 
-            return streamingUrl.replace(
-                    obfuscatedThrottlingParameter, deobfuscatedThrottlingParameter);
+        final List<String> obfuscatedParameters = new ArrayList<>(parametersToDeobfuscate);
+        final List<String> results;
+        try {
+            results = JavaScript.runOnEach(cachedThrottlingDeobfuscationFunction,
+                    cachedThrottlingDeobfuscationFunctionName, obfuscatedParameters);
         } catch (final Exception e) {
             // This shouldn't happen as the function validity is checked when it is extracted
             throw new ParsingException(
                     "Could not run throttling parameter deobfuscation JavaScript function", e);
         }
+
+        for (int i = 0; i < obfuscatedParameters.size(); i++) {
+            final String result = results.get(i);
+            // Parameters on which the function returned no result are left obfuscated and not
+            // cached, so that the function is run again on them by the next call
+            if (result != null) {
+                CACHED_THROTTLING_PARAMETERS.put(obfuscatedParameters.get(i), result);
+                deobfuscatedParameters.put(obfuscatedParameters.get(i), result);
+            }
+        }
+        return deobfuscatedParameters;
     }
 
     /**
@@ -301,6 +381,7 @@ public final class YoutubeJavaScriptPlayerManager {
      */
     public static void clearAllCaches() {
         cachedJavaScriptPlayerCode = null;
+        cachedPlayerAnalyzer = null;
         cachedSignatureDeobfuscationFunction = null;
         cachedThrottlingDeobfuscationFunctionName = null;
         cachedThrottlingDeobfuscationFunction = null;
@@ -330,9 +411,97 @@ public final class YoutubeJavaScriptPlayerManager {
         CACHED_THROTTLING_PARAMETERS.clear();
     }
 
+    /**
+     * Extract the signature deobfuscation function if it isn't already cached.
+     *
+     * @param videoId the video ID used to get the JavaScript base player file (an empty one can be
+     *                passed, even it is not recommend in order to spoof better official YouTube
+     *                clients)
+     * @throws ParsingException if the extraction of the base JavaScript player file or the
+     * signature deobfuscation function failed
+     */
+    private static void extractSignatureDeobfuscationFunctionIfNeeded(
+            @Nonnull final String videoId) throws ParsingException {
+        // If the signature deobfuscation function has been not extracted on a previous call, this
+        // mean that we will fail to extract it on next calls too if the player code has been not
+        // changed
+        // Throw again the corresponding stored exception in this case to improve performance
+        if (sigDeobFuncExtractionEx != null) {
+            throw sigDeobFuncExtractionEx;
+        }
+
+        extractJavaScriptCodeIfNeeded(videoId);
+
+        if (cachedSignatureDeobfuscationFunction == null) {
+            try {
+                cachedSignatureDeobfuscationFunction = YoutubeSignatureUtils.getDeobfuscationCode(
+                        cachedJavaScriptPlayerCode, cachedPlayerAnalyzer);
+            } catch (final ParsingException e) {
+                // Store the exception for future calls of this method, in order to improve
+                // performance
+                sigDeobFuncExtractionEx = e;
+                throw e;
+            } catch (final Exception e) {
+                sigDeobFuncExtractionEx = new ParsingException(
+                        "Could not get signature parameter deobfuscation JavaScript function", e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Extract the throttling parameter deobfuscation function if it isn't already cached.
+     *
+     * @param videoId the video ID used to get the JavaScript base player file (an empty one can be
+     *                passed, even it is not recommend in order to spoof better official YouTube
+     *                clients)
+     * @throws ParsingException if the extraction of the base JavaScript player file or the
+     * throttling parameter deobfuscation function failed
+     */
+    private static void extractThrottlingDeobfuscationFunctionIfNeeded(
+            @Nonnull final String videoId) throws ParsingException {
+        extractJavaScriptCodeIfNeeded(videoId);
+
+        // If the throttling parameter deobfuscation function has been not extracted on a previous
+        // call, this mean that we will fail to extract it on next calls too if the player code has
+        // been not changed
+        // Throw again the corresponding stored exception in this case to improve performance
+        if (throttlingDeobfFuncExtractionEx != null) {
+            throw throttlingDeobfFuncExtractionEx;
+        }
+
+        if (cachedThrottlingDeobfuscationFunction == null) {
+            try {
+                cachedThrottlingDeobfuscationFunctionName =
+                        YoutubeThrottlingParameterUtils.getDeobfuscationFunctionName(
+                                cachedJavaScriptPlayerCode, cachedPlayerAnalyzer);
+
+                cachedThrottlingDeobfuscationFunction =
+                        YoutubeThrottlingParameterUtils.getDeobfuscationFunction(
+                                cachedJavaScriptPlayerCode,
+                                cachedPlayerAnalyzer,
+                                cachedThrottlingDeobfuscationFunctionName);
+            } catch (final ParsingException e) {
+                // Store the exception for future calls of this method, in order to improve
+                // performance
+                throttlingDeobfFuncExtractionEx = e;
+                throw e;
+            } catch (final Exception e) {
+                throttlingDeobfFuncExtractionEx = new ParsingException(
+                        "Could not get throttling parameter deobfuscation JavaScript function", e);
+                throw e;
+            }
+        }
+    }
+
     /**
      * Extract the JavaScript code if it isn't already cached.
      *
+     * <p>
+     * The code is analyzed once when it is extracted, in order to locate in a single pass all the
+     * artifacts needed by this class.
+     * </p>
+     *
      * @param videoId the video ID used to get the JavaScript base player file (an empty one can be
      *                passed, even it is not recommend in order to spoof better official YouTube
      *                clients)
@@ -343,6 +512,7 @@ public final class YoutubeJavaScriptPlayerManager {
         if (cachedJavaScriptPlayerCode == null) {
             cachedJavaScriptPlayerCode = YoutubeJavaScriptExtractor.extractJavaScriptPlayerCode(
                     videoId);
+            cachedPlayerAnalyzer = YoutubePlayerAnalyzer.analyze(cachedJavaScriptPlayerCode);
         }
     }
 }
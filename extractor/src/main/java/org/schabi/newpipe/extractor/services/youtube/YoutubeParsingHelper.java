@@ -34,6 +34,7 @@ import com.grack.nanojson.JsonParserException;
 import com.grack.nanojson.JsonWriter;
 
 import org.jsoup.nodes.Entities;
+import org.schabi.newpipe.extractor.ExtractionContext;
 import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.Image.ResolutionLevel;
 import org.schabi.newpipe.extractor.downloader.Response;
@@ -46,6 +47,7 @@ import org.schabi.newpipe.extractor.localization.ContentCountry;
 import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
 import org.schabi.newpipe.extractor.stream.AudioTrackType;
+import org.schabi.newpipe.extractor.utils.ImageInterner;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.RandomStringFromAlphabetGenerator;
@@ -66,6 +68,12 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -192,13 +200,20 @@ public final class YoutubeParsingHelper {
      */
     private static final String HARDCODED_YOUTUBE_MUSIC_CLIENT_VERSION = "1.20240715.01.00";
 
-    private static String clientVersion;
+    /*
+    Client versions are published with volatile writes, so that threads which find them set never
+    block. Their extraction is done under a lock per client, so that concurrent first requests do
+    not extract them several times.
+     */
+    private static volatile String clientVersion;
 
-    private static String youtubeMusicClientVersion;
+    private static volatile String youtubeMusicClientVersion;
 
-    private static boolean clientVersionExtracted = false;
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    private static Optional<Boolean> hardcodedClientVersionValid = Optional.empty();
+    private static volatile Optional<Boolean> hardcodedClientVersionValid = Optional.empty();
+
+    private static final Object CLIENT_VERSION_LOCK = new Object();
+    private static final Object YOUTUBE_MUSIC_CLIENT_VERSION_LOCK = new Object();
 
     private static final String[] INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES =
             {"INNERTUBE_CONTEXT_CLIENT_VERSION\":\"([0-9\\.]+?)\"",
@@ -572,37 +587,31 @@ public final class YoutubeParsingHelper {
         final String responseBody = response.responseBody();
         final int responseCode = response.responseCode();
 
-        hardcodedClientVersionValid = Optional.of(responseBody.length() > 5000
-                && responseCode == 200); // Ensure to have a valid response
-        return hardcodedClientVersionValid.get();
+        final boolean valid = responseBody.length() > 5000
+                && responseCode == 200; // Ensure to have a valid response
+        hardcodedClientVersionValid = Optional.of(valid);
+        return valid;
     }
 
 
-    private static void extractClientVersionFromSwJs()
+    @Nonnull
+    private static String extractClientVersionFromSwJs()
             throws IOException, ExtractionException {
-        if (clientVersionExtracted) {
-            return;
-        }
         final String url = "https://www.youtube.com/sw.js";
         final var headers = getOriginReferrerHeaders("https://www.youtube.com");
         final String response = getDownloader().get(url, headers).responseBody();
         try {
-            clientVersion = getStringResultFromRegexArray(response,
+            return getStringResultFromRegexArray(response,
                     INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES, 1);
         } catch (final Parser.RegexException e) {
             throw new ParsingException("Could not extract YouTube WEB InnerTube client version "
                     + "from sw.js", e);
         }
-        clientVersionExtracted = true;
     }
 
-    private static void extractClientVersionFromHtmlSearchResultsPage()
+    @Nonnull
+    private static String extractClientVersionFromHtmlSearchResultsPage()
             throws IOException, ExtractionException {
-        // Don't extract the InnerTube client version if it has been already extracted
-        if (clientVersionExtracted) {
-            return;
-        }
-
         // Don't provide a search term in order to have a smaller response
         final String url = "https://www.youtube.com/results?search_query=&ucbcb=1";
         final String html = getDownloader().get(url, getCookieHeader()).responseBody();
@@ -615,12 +624,12 @@ public final class YoutubeParsingHelper {
                 .filter(JsonObject.class::isInstance)
                 .map(JsonObject.class::cast);
 
-        clientVersion = getClientVersionFromServiceTrackingParam(
+        String version = getClientVersionFromServiceTrackingParam(
                 serviceTrackingParamsStream, "CSI", "cver");
 
-        if (clientVersion == null) {
+        if (version == null) {
             try {
-                clientVersion = getStringResultFromRegexArray(html,
+                version = getStringResultFromRegexArray(html,
                         INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES, 1);
             } catch (final Parser.RegexException ignored) {
             }
@@ -628,19 +637,19 @@ public final class YoutubeParsingHelper {
 
         // Fallback to get a shortened client version which does not contain the last two
         // digits
-        if (isNullOrEmpty(clientVersion)) {
-            clientVersion = getClientVersionFromServiceTrackingParam(
+        if (isNullOrEmpty(version)) {
+            version = getClientVersionFromServiceTrackingParam(
                     serviceTrackingParamsStream, "ECATCHER", "client.version");
         }
 
-        if (clientVersion == null) {
+        if (version == null) {
             throw new ParsingException(
                     // CHECKSTYLE:OFF
                     "Could not extract YouTube WEB InnerTube client version from HTML search results page");
                     // CHECKSTYLE:ON
         }
 
-        clientVersionExtracted = true;
+        return version;
     }
 
     @Nullable
@@ -663,34 +672,47 @@ public final class YoutubeParsingHelper {
                 .orElse(null);
     }
 
-    /**
-     * Get the client version used by YouTube website on InnerTube requests.
-     */
-    public static String getClientVersion() throws IOException, ExtractionException {
-        if (!isNullOrEmpty(clientVersion)) {
-            return clientVersion;
-        }
-
+    @Nonnull
+    private static String extractClientVersion() throws IOException, ExtractionException {
         // Always extract the latest client version, by trying first to extract it from the
         // JavaScript service worker, then from HTML search results page as a fallback, to prevent
         // fingerprinting based on the client version used
         try {
-            extractClientVersionFromSwJs();
-        } catch (final Exception e) {
-            extractClientVersionFromHtmlSearchResultsPage();
+            return extractClientVersionFromSwJs();
+        } catch (final Exception swJsException) {
+            try {
+                return extractClientVersionFromHtmlSearchResultsPage();
+            } catch (final IOException | ExtractionException e) {
+                // Fallback to the hardcoded one if it is valid
+                if (isHardcodedClientVersionValid()) {
+                    return HARDCODED_CLIENT_VERSION;
+                }
+                throw e;
+            }
         }
+    }
 
-        if (clientVersionExtracted) {
-            return clientVersion;
+    /**
+     * Get the client version used by YouTube website on InnerTube requests.
+     *
+     * <p>
+     * The client version is extracted on the first call, or by {@link #warmUpClientVersions(
+     * Executor)}. If another thread is extracting it, this method waits for that extraction
+     * instead of starting a new one.
+     * </p>
+     */
+    public static String getClientVersion() throws IOException, ExtractionException {
+        final String version = clientVersion;
+        if (!isNullOrEmpty(version)) {
+            return version;
         }
 
-        // Fallback to the hardcoded one if it is valid
-        if (isHardcodedClientVersionValid()) {
-            clientVersion = HARDCODED_CLIENT_VERSION;
+        synchronized (CLIENT_VERSION_LOCK) {
+            if (isNullOrEmpty(clientVersion)) {
+                clientVersion = extractClientVersion();
+            }
             return clientVersion;
         }
-
-        throw new ExtractionException("Could not get YouTube WEB client version");
     }
 
     /**
@@ -709,8 +731,25 @@ public final class YoutubeParsingHelper {
      * </p>
      */
     public static void resetClientVersion() {
-        clientVersion = null;
-        clientVersionExtracted = false;
+        synchronized (CLIENT_VERSION_LOCK) {
+            clientVersion = null;
+        }
+    }
+
+    /**
+     * <p>
+     * <b>Only used in tests.</b>
+     * </p>
+     *
+     * <p>
+     * Reset the YouTube Music client version, like {@link #resetClientVersion()} does for the
+     * YouTube WEB client version.
+     * </p>
+     */
+    public static void resetYoutubeMusicClientVersion() {
+        synchronized (YOUTUBE_MUSIC_CLIENT_VERSION_LOCK) {
+            youtubeMusicClientVersion = null;
+        }
     }
 
     /**
@@ -764,14 +803,11 @@ public final class YoutubeParsingHelper {
         return response.responseBody().length() > 500 && response.responseCode() == 200;
     }
 
-    public static String getYoutubeMusicClientVersion()
+    @Nonnull
+    private static String extractYoutubeMusicClientVersion()
             throws IOException, ReCaptchaException, Parser.RegexException {
-        if (!isNullOrEmpty(youtubeMusicClientVersion)) {
-            return youtubeMusicClientVersion;
-        }
         if (isHardcodedYoutubeMusicClientVersionValid()) {
-            youtubeMusicClientVersion = HARDCODED_YOUTUBE_MUSIC_CLIENT_VERSION;
-            return youtubeMusicClientVersion;
+            return HARDCODED_YOUTUBE_MUSIC_CLIENT_VERSION;
         }
 
         try {
@@ -779,17 +815,147 @@ public final class YoutubeParsingHelper {
             final var headers = getOriginReferrerHeaders(YOUTUBE_MUSIC_URL);
             final String response = getDownloader().get(url, headers).responseBody();
 
-            youtubeMusicClientVersion = getStringResultFromRegexArray(response,
+            return getStringResultFromRegexArray(response,
                     INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES, 1);
         } catch (final Exception e) {
             final String url = "https://music.youtube.com/?ucbcb=1";
             final String html = getDownloader().get(url, getCookieHeader()).responseBody();
 
-            youtubeMusicClientVersion = getStringResultFromRegexArray(html,
+            return getStringResultFromRegexArray(html,
                     INNERTUBE_CONTEXT_CLIENT_VERSION_REGEXES, 1);
         }
+    }
+
+    /**
+     * Get the client version used by YouTube Music website on InnerTube requests.
+     *
+     * <p>
+     * Like {@link #getClientVersion()}, concurrent first calls extract it only once.
+     * </p>
+     */
+    public static String getYoutubeMusicClientVersion()
+            throws IOException, ReCaptchaException, Parser.RegexException {
+        final String version = youtubeMusicClientVersion;
+        if (!isNullOrEmpty(version)) {
+            return version;
+        }
+
+        synchronized (YOUTUBE_MUSIC_CLIENT_VERSION_LOCK) {
+            if (isNullOrEmpty(youtubeMusicClientVersion)) {
+                youtubeMusicClientVersion = extractYoutubeMusicClientVersion();
+            }
+            return youtubeMusicClientVersion;
+        }
+    }
+
+    /**
+     * Extract the client versions of the YouTube WEB and YouTube Music websites in parallel on
+     * the given executor, if they have not been extracted yet.
+     *
+     * <p>
+     * This can be called when an application starts, so that the first InnerTube requests do
+     * not have to wait for these extractions. Requests made while the client versions are being
+     * extracted wait for these extractions instead of starting new ones.
+     * </p>
+     *
+     * @param executor the executor on which the client versions are extracted, with the context
+     *                 which is current when this method is called
+     * @return a future completed when both client versions have been extracted, or completed
+     * exceptionally if one of the extractions failed
+     */
+    @Nonnull
+    public static CompletableFuture<Void> warmUpClientVersions(@Nonnull final Executor executor) {
+        final Executor contextExecutor = ExtractionContext.current().wrapExecutor(executor);
+        return CompletableFuture.allOf(
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        getClientVersion();
+                    } catch (final IOException | ExtractionException e) {
+                        throw new CompletionException(e);
+                    }
+                }, contextExecutor),
+                CompletableFuture.runAsync(() -> {
+                    try {
+                        getYoutubeMusicClientVersion();
+                    } catch (final IOException | ReCaptchaException | Parser.RegexException e) {
+                        throw new CompletionException(e);
+                    }
+                }, contextExecutor));
+    }
+
+    /**
+     * Extract again the client versions of the YouTube WEB and YouTube Music websites.
+     *
+     * <p>
+     * The current client versions are still returned to other threads until the new ones have
+     * been extracted, so that they never wait for this refresh. If the extraction of a client
+     * version fails, the current one is kept.
+     * </p>
+     *
+     * @throws IOException if the extraction of one of the client versions failed because of a
+     * network error
+     * @throws ExtractionException if the extraction of one of the client versions failed
+     */
+    public static void refreshClientVersions() throws IOException, ExtractionException {
+        Exception failure = null;
+        try {
+            final String version = extractClientVersion();
+            synchronized (CLIENT_VERSION_LOCK) {
+                clientVersion = version;
+            }
+        } catch (final IOException | ExtractionException e) {
+            failure = e;
+        }
+
+        try {
+            final String version = extractYoutubeMusicClientVersion();
+            synchronized (YOUTUBE_MUSIC_CLIENT_VERSION_LOCK) {
+                youtubeMusicClientVersion = version;
+            }
+        } catch (final IOException | ExtractionException e) {
+            if (failure == null) {
+                failure = e;
+            } else {
+                failure.addSuppressed(e);
+            }
+        }
+
+        // Failures are either IOExceptions or ExtractionExceptions
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure != null) {
+            throw (ExtractionException) failure;
+        }
+    }
 
-        return youtubeMusicClientVersion;
+    /**
+     * Refresh the client versions of the YouTube WEB and YouTube Music websites periodically
+     * with {@link #refreshClientVersions()} on the given scheduler.
+     *
+     * <p>
+     * Refresh failures, including unexpected runtime exceptions, are ignored: the current client
+     * versions are kept until the next successful refresh, and the refreshes are not stopped.
+     * </p>
+     *
+     * @param scheduler the scheduler on which the refreshes are run, with the context which is
+     *                  current when this method is called
+     * @param period    the delay between the end of a refresh and the start of the next one
+     * @param unit      the unit of {@code period}
+     * @return a future which can be used to cancel the refreshes
+     */
+    @Nonnull
+    public static ScheduledFuture<?> scheduleClientVersionsRefresh(
+            @Nonnull final ScheduledExecutorService scheduler,
+            final long period,
+            @Nonnull final TimeUnit unit) {
+        return scheduler.scheduleWithFixedDelay(ExtractionContext.current().wrap(() -> {
+            try {
+                refreshClientVersions();
+            } catch (final Exception ignored) {
+                // Keep the current client versions until the next refresh; an exception thrown
+                // by a scheduled task would cancel all its next runs
+            }
+        }), period, period, unit);
     }
 
     @Nullable
@@ -1052,13 +1218,18 @@ public final class YoutubeParsingHelper {
      * thumbnail items.
      * </p>
      *
+     * <p>
+     * The list returned is {@link ImageInterner#intern(List) interned}, so that the thumbnails
+     * of the same channel or video returned multiple times share a single list.
+     * </p>
+     *
      * @param thumbnails a YouTube {@code thumbnails} {@link JsonArray}
      * @return an unmodifiable list of {@link Image}s extracted from the given {@link JsonArray}
      */
     @Nonnull
     public static List<Image> getImagesFromThumbnailsArray(
             @Nonnull final JsonArray thumbnails) {
-        return thumbnails.stream()
+        return ImageInterner.intern(thumbnails.stream()
                 .filter(JsonObject.class::isInstance)
                 .map(JsonObject.class::cast)
                 .filter(thumbnail -> !isNullOrEmpty(thumbnail.getString("url")))
@@ -1069,7 +1240,7 @@ public final class YoutubeParsingHelper {
                             thumbnail.getInt("width", Image.WIDTH_UNKNOWN),
                             ResolutionLevel.fromHeight(height));
                 })
-                .collect(Collectors.toUnmodifiableList());
+                .collect(Collectors.toUnmodifiableList()));
     }
 
     @Nonnull
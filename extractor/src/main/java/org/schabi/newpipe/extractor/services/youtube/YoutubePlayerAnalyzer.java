@@ -0,0 +1,445 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.utils.jsextractor.Lexer;
+import org.schabi.newpipe.extractor.utils.jsextractor.Token;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Analyzer of YouTube's base JavaScript player, locating in a single pass all the player
+ * artifacts used by {@link YoutubeJavaScriptPlayerManager}.
+ *
+ * <p>
+ * The player code is tokenized once with the {@link Lexer}, while the last tokens are matched
+ * against the known shapes of the signature timestamp, of the signature deobfuscation function
+ * and its helper object, and of the throttling parameter deobfuscation function and its call
+ * site. Braces are counted during the same pass to find where these functions and objects end,
+ * so that the player code is never copied nor lexed again.
+ * </p>
+ *
+ * <p>
+ * Artifacts which could not be found are returned as {@code null}: callers are expected to fall
+ * back to the regular expressions of {@link YoutubeSignatureUtils} and
+ * {@link YoutubeThrottlingParameterUtils} in this case.
+ * </p>
+ */
+final class YoutubePlayerAnalyzer {
+
+    /**
+     * The number of tokens kept to match the shapes of the searched artifacts, which must be a
+     * power of two.
+     */
+    private static final int WINDOW_SIZE = 16;
+    private static final int WINDOW_MASK = WINDOW_SIZE - 1;
+
+    /**
+     * The maximum number of tokens between the {@code n} parameter name and the call of the
+     * throttling parameter deobfuscation function.
+     */
+    private static final int MAX_THROTTLING_CALL_DISTANCE = 48;
+
+    private static final String SIGNATURE_TIMESTAMP = "signatureTimestamp";
+    private static final String DECODE_URI_COMPONENT = "decodeURIComponent";
+    private static final String SPLIT = "split";
+
+    @Nonnull
+    private final String code;
+
+    private final Token[] windowTokens = new Token[WINDOW_SIZE];
+    private final int[] windowStarts = new int[WINDOW_SIZE];
+    private final int[] windowEnds = new int[WINDOW_SIZE];
+    private int tokenCount;
+    private int braceDepth;
+
+    private final List<Region> openRegions = new ArrayList<>();
+    private final Map<String, Region> functions = new HashMap<>();
+    private final Map<String, Region> objects = new HashMap<>();
+    private final Map<String, List<String>> arrays = new HashMap<>();
+
+    @Nullable
+    private String pendingArrayName;
+    @Nullable
+    private List<String> pendingArrayElements;
+
+    private int lastThrottlingParameterTokenIndex = -MAX_THROTTLING_CALL_DISTANCE - 1;
+
+    @Nullable
+    private String signatureTimestamp;
+    @Nullable
+    private String signatureCallFunctionName;
+    @Nullable
+    private String throttlingCallFunctionName;
+    private int throttlingCallArrayIndex = -1;
+
+    private YoutubePlayerAnalyzer(@Nonnull final String code) {
+        this.code = code;
+    }
+
+    /**
+     * Analyze the given base JavaScript player code.
+     *
+     * <p>
+     * Lexing errors, and runtime errors of the lexer on unexpected code, are not reported: the
+     * artifacts found before the error are kept and the others are returned as {@code null}.
+     * </p>
+     *
+     * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @return the analysis of the player code
+     */
+    @Nonnull
+    static YoutubePlayerAnalyzer analyze(@Nonnull final String javaScriptPlayerCode) {
+        final YoutubePlayerAnalyzer analyzer = new YoutubePlayerAnalyzer(javaScriptPlayerCode);
+        try {
+            analyzer.scan();
+        } catch (final ParsingException | RuntimeException ignored) {
+            // Use the artifacts found before the error, the other ones will be extracted with
+            // regular expressions
+        }
+        return analyzer;
+    }
+
+    /**
+     * @return the signature timestamp of the player, or {@code null} if it has not been found
+     */
+    @Nullable
+    String getSignatureTimestamp() {
+        return signatureTimestamp;
+    }
+
+    /**
+     * Get the name of the signature deobfuscation function, found at its call site.
+     *
+     * <p>
+     * Functions which only look like the signature deobfuscation function are not returned when
+     * no call site has been found, as using the wrong function would silently produce invalid
+     * signatures.
+     * </p>
+     *
+     * @return the name of the signature deobfuscation function, or {@code null} if it has not
+     * been found
+     */
+    @Nullable
+    String getSignatureFunctionName() {
+        return signatureCallFunctionName;
+    }
+
+    /**
+     * @return the code of the signature deobfuscation function, in the form
+     * {@code name=function(a){...}}, or {@code null} if it has not been found
+     */
+    @Nullable
+    String getSignatureFunction() {
+        final Region function = getClosedFunction(getSignatureFunctionName());
+        return function == null ? null : code.substring(function.start, function.end);
+    }
+
+    /**
+     * @return the declaration of the helper object used by the signature deobfuscation function,
+     * or {@code null} if it has not been found
+     */
+    @Nullable
+    String getSignatureHelperObject() {
+        final Region function = getClosedFunction(getSignatureFunctionName());
+        if (function == null || function.helperObjectName == null) {
+            return null;
+        }
+
+        final Region helperObject = objects.get(function.helperObjectName);
+        if (helperObject == null || helperObject.end < 0) {
+            return null;
+        }
+        return code.substring(helperObject.start, helperObject.end).replace("\n", "") + ";";
+    }
+
+    /**
+     * @return the name of the throttling parameter deobfuscation function, or {@code null} if it
+     * has not been found
+     */
+    @Nullable
+    String getThrottlingFunctionName() {
+        if (throttlingCallFunctionName == null || throttlingCallArrayIndex < 0) {
+            return throttlingCallFunctionName;
+        }
+
+        final List<String> functionNames = arrays.get(throttlingCallFunctionName);
+        if (functionNames == null || throttlingCallArrayIndex >= functionNames.size()) {
+            return null;
+        }
+        return functionNames.get(throttlingCallArrayIndex);
+    }
+
+    /**
+     * @return the code of the throttling parameter deobfuscation function, in the form
+     * {@code name=function(a){...};}, or {@code null} if it has not been found
+     */
+    @Nullable
+    String getThrottlingFunction() {
+        final Region function = getClosedFunction(getThrottlingFunctionName());
+        return function == null ? null : code.substring(function.start, function.end) + ";";
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Scanning
+    //////////////////////////////////////////////////////////////////////////*/
+
+    private void scan() throws ParsingException {
+        final Lexer lexer = new Lexer(code);
+        while (true) {
+            final Token token = lexer.nextToken();
+            if (token == Token.EOF) {
+                return;
+            }
+            if (token == Token.COMMENT) {
+                continue;
+            }
+
+            final int index = tokenCount & WINDOW_MASK;
+            windowTokens[index] = token;
+            windowStarts[index] = lexer.getTokenStart();
+            windowEnds[index] = lexer.getTokenEnd();
+            tokenCount++;
+
+            onToken(token);
+        }
+    }
+
+    private void onToken(@Nonnull final Token token) {
+        if (pendingArrayName != null) {
+            collectArrayElement(token);
+        }
+
+        switch (token) {
+            case LC:
+                braceDepth++;
+                break;
+            case RC:
+                closeRegions();
+                braceDepth--;
+                break;
+            case LB:
+                onOpenBracket();
+                break;
+            case LP:
+                onOpenParen();
+                break;
+            case RP:
+                onCloseParen();
+                break;
+            case NAME:
+                if (signatureCallFunctionName == null && textIs(0, DECODE_URI_COMPONENT)
+                        && is(1, Token.LP) && is(2, Token.NAME) && is(3, Token.ASSIGN)) {
+                    // m=Xy(decodeURIComponent(h.s)) or c&&(c=Xy(decodeURIComponent(c))
+                    signatureCallFunctionName = text(2);
+                }
+                break;
+            case NUMBER:
+                onNumber();
+                break;
+            case STRING:
+                onString();
+                break;
+            case FUNCTION:
+                onFunction();
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void onNumber() {
+        if (signatureTimestamp == null && (is(1, Token.COLON) || is(1, Token.ASSIGN))
+                && textIs(2, SIGNATURE_TIMESTAMP)) {
+            signatureTimestamp = text(0);
+        } else if (textIs(0, "110") && is(1, Token.LP) && textIs(2, "fromCharCode")) {
+            // String.fromCharCode(110) is the n parameter name
+            lastThrottlingParameterTokenIndex = tokenCount;
+        }
+    }
+
+    private void onString() {
+        if (stringIs(0, "nn") || (stringIs(0, "n") && is(1, Token.LP) && textIs(2, "get"))) {
+            // "nn"[+a.D] or .get("n")
+            lastThrottlingParameterTokenIndex = tokenCount;
+        } else if (stringIs(0, "") && is(1, Token.LP) && textIs(2, SPLIT) && is(3, Token.DOT)
+                && sameNames(4, 6) && is(5, Token.ASSIGN) && is(7, Token.LC)
+                && is(8, Token.RP) && sameNames(6, 9) && is(10, Token.LP)
+                && is(11, Token.FUNCTION) && is(12, Token.ASSIGN) && is(13, Token.NAME)) {
+            // Xy=function(a){a=a.split("")
+            openRegion(new Region(text(13), start(13), true), functions);
+        }
+    }
+
+    private void onOpenParen() {
+        if (textIs(1, SPLIT) && is(2, Token.DOT) && is(3, Token.NAME) && is(4, Token.ASSIGN)
+                && is(5, Token.NAME) && is(6, Token.VAR) && is(7, Token.LC)
+                && is(8, Token.RP) && sameNames(3, 9) && is(10, Token.LP)
+                && is(11, Token.FUNCTION) && is(12, Token.ASSIGN) && is(13, Token.NAME)) {
+            // Xy=function(a){var b=a.split(
+            openRegion(new Region(text(13), start(13), false), functions);
+        } else if (is(1, Token.NAME) && is(2, Token.DOT) && is(3, Token.NAME)
+                && is(4, Token.SEMI) && length(3) >= 2) {
+            // ;Xy.ab( in the signature deobfuscation function
+            final Region function = getInnermostOpenRegion();
+            if (function != null && function.isSignatureFunction
+                    && function.helperObjectName == null) {
+                function.helperObjectName = text(3);
+            }
+        }
+    }
+
+    private void onCloseParen() {
+        if (throttlingCallFunctionName != null
+                || tokenCount - lastThrottlingParameterTokenIndex > MAX_THROTTLING_CALL_DISTANCE
+                || !is(1, Token.NAME) || !is(2, Token.LP)) {
+            return;
+        }
+
+        if (is(3, Token.RB) && is(4, Token.NUMBER) && is(5, Token.LB) && is(6, Token.NAME)
+                && is(7, Token.ASSIGN) && sameNames(1, 8) && is(9, Token.LP)
+                && is(10, Token.AND)) {
+            // &&(c=Xy[0](c)
+            throttlingCallFunctionName = text(6);
+            throttlingCallArrayIndex = parseArrayIndex(text(4));
+        } else if (is(3, Token.NAME) && is(4, Token.ASSIGN) && sameNames(1, 5)
+                && is(6, Token.LP) && is(7, Token.AND)) {
+            // &&(c=Xy(c)
+            throttlingCallFunctionName = text(3);
+        }
+    }
+
+    private void onOpenBracket() {
+        if (is(1, Token.ASSIGN) && is(2, Token.NAME) && is(3, Token.VAR)) {
+            // var Xy=[
+            pendingArrayName = text(2);
+            pendingArrayElements = new ArrayList<>();
+        }
+    }
+
+    private void collectArrayElement(@Nonnull final Token token) {
+        if (token == Token.NAME) {
+            pendingArrayElements.add(text(0));
+        } else if (token == Token.RB) {
+            arrays.putIfAbsent(pendingArrayName, pendingArrayElements);
+            pendingArrayName = null;
+            pendingArrayElements = null;
+        } else if (token != Token.COMMA) {
+            // Only arrays of function names are useful
+            pendingArrayName = null;
+            pendingArrayElements = null;
+        }
+    }
+
+    private void onFunction() {
+        if (is(1, Token.COLON) && is(2, Token.NAME) && is(3, Token.LC) && is(4, Token.ASSIGN)
+                && is(5, Token.NAME) && is(6, Token.VAR)) {
+            // var Xy={ab:function
+            openRegion(new Region(text(5), start(6), false), objects);
+        }
+    }
+
+    private void openRegion(@Nonnull final Region region,
+                            @Nonnull final Map<String, Region> regions) {
+        if (regions.putIfAbsent(region.name, region) == null) {
+            region.depth = braceDepth;
+            openRegions.add(region);
+        }
+    }
+
+    private void closeRegions() {
+        for (int i = openRegions.size() - 1;
+                i >= 0 && openRegions.get(i).depth == braceDepth; i--) {
+            openRegions.remove(i).end = end(0);
+        }
+    }
+
+    @Nullable
+    private Region getInnermostOpenRegion() {
+        return openRegions.isEmpty() ? null : openRegions.get(openRegions.size() - 1);
+    }
+
+    @Nullable
+    private Region getClosedFunction(@Nullable final String name) {
+        if (name == null) {
+            return null;
+        }
+        final Region function = functions.get(name);
+        return function == null || function.end < 0 ? null : function;
+    }
+
+    /*//////////////////////////////////////////////////////////////////////////
+    // Token window
+    //////////////////////////////////////////////////////////////////////////*/
+
+    private boolean is(final int back, @Nonnull final Token token) {
+        return back < tokenCount && windowTokens[(tokenCount - 1 - back) & WINDOW_MASK] == token;
+    }
+
+    private int start(final int back) {
+        return windowStarts[(tokenCount - 1 - back) & WINDOW_MASK];
+    }
+
+    private int end(final int back) {
+        return windowEnds[(tokenCount - 1 - back) & WINDOW_MASK];
+    }
+
+    private int length(final int back) {
+        return end(back) - start(back);
+    }
+
+    @Nonnull
+    private String text(final int back) {
+        return code.substring(start(back), end(back));
+    }
+
+    private boolean textIs(final int back, @Nonnull final String text) {
+        return back < tokenCount && length(back) == text.length()
+                && code.startsWith(text, start(back));
+    }
+
+    private boolean stringIs(final int back, @Nonnull final String value) {
+        return is(back, Token.STRING) && length(back) == value.length() + 2
+                && code.startsWith(value, start(back) + 1);
+    }
+
+    private boolean sameNames(final int back, final int otherBack) {
+        return is(back, Token.NAME) && is(otherBack, Token.NAME)
+                && length(back) == length(otherBack)
+                && code.regionMatches(start(back), code, start(otherBack), length(back));
+    }
+
+    private static int parseArrayIndex(@Nonnull final String number) {
+        try {
+            return Integer.parseInt(number);
+        } catch (final NumberFormatException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * A function or an object declaration of the player code, which is closed once its closing
+     * brace has been found.
+     */
+    private static final class Region {
+        @Nonnull
+        final String name;
+        final int start;
+        final boolean isSignatureFunction;
+        int depth;
+        int end = -1;
+        @Nullable
+        String helperObjectName;
+
+        Region(@Nonnull final String name, final int start, final boolean isSignatureFunction) {
+            this.name = name;
+            this.start = start;
+            this.isSignatureFunction = isSignatureFunction;
+        }
+    }
+}
@@ -47,12 +47,20 @@ final class YoutubeSignatureUtils {
      * Get the signature timestamp property of YouTube's base JavaScript file.
      *
      * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @param playerAnalyzer       the analysis of the player code, used before falling back to
+     *                             regular expressions
      * @return the signature timestamp
      * @throws ParsingException if the signature timestamp couldn't be extracted
      */
     @Nonnull
-    static String getSignatureTimestamp(@Nonnull final String javaScriptPlayerCode)
+    static String getSignatureTimestamp(@Nonnull final String javaScriptPlayerCode,
+                                        @Nonnull final YoutubePlayerAnalyzer playerAnalyzer)
             throws ParsingException {
+        final String signatureTimestamp = playerAnalyzer.getSignatureTimestamp();
+        if (signatureTimestamp != null) {
+            return signatureTimestamp;
+        }
+
         try {
             return Parser.matchGroup1(STS_REGEX, javaScriptPlayerCode);
         } catch (final ParsingException e) {
@@ -65,32 +73,41 @@ final class YoutubeSignatureUtils {
      * Get the signature deobfuscation code of YouTube's base JavaScript file.
      *
      * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @param playerAnalyzer       the analysis of the player code, used before falling back to
+     *                             regular expressions
      * @return the signature deobfuscation code
      * @throws ParsingException if the signature deobfuscation code couldn't be extracted
      */
     @Nonnull
-    static String getDeobfuscationCode(@Nonnull final String javaScriptPlayerCode)
+    static String getDeobfuscationCode(@Nonnull final String javaScriptPlayerCode,
+                                       @Nonnull final YoutubePlayerAnalyzer playerAnalyzer)
             throws ParsingException {
         try {
-            final String deobfuscationFunctionName = getDeobfuscationFunctionName(
-                    javaScriptPlayerCode);
-
-            String deobfuscationFunction;
-            try {
-                deobfuscationFunction = getDeobfuscateFunctionWithLexer(
-                        javaScriptPlayerCode, deobfuscationFunctionName);
-            } catch (final Exception e) {
-                deobfuscationFunction = getDeobfuscateFunctionWithRegex(
-                        javaScriptPlayerCode, deobfuscationFunctionName);
+            final String analyzedFunctionName = playerAnalyzer.getSignatureFunctionName();
+            final String deobfuscationFunctionName = analyzedFunctionName != null
+                    ? analyzedFunctionName
+                    : getDeobfuscationFunctionName(javaScriptPlayerCode);
+
+            String deobfuscationFunction = playerAnalyzer.getSignatureFunction();
+            if (deobfuscationFunction == null) {
+                try {
+                    deobfuscationFunction = getDeobfuscateFunctionWithLexer(
+                            javaScriptPlayerCode, deobfuscationFunctionName);
+                } catch (final Exception e) {
+                    deobfuscationFunction = getDeobfuscateFunctionWithRegex(
+                            javaScriptPlayerCode, deobfuscationFunctionName);
+                }
             }
 
             // Assert the extracted deobfuscation function is valid
             JavaScript.compileOrThrow(deobfuscationFunction);
 
-            final String helperObjectName =
-                    Parser.matchGroup1(SIG_DEOBF_HELPER_OBJ_NAME_REGEX, deobfuscationFunction);
-
-            final String helperObject = getHelperObject(javaScriptPlayerCode, helperObjectName);
+            String helperObject = playerAnalyzer.getSignatureHelperObject();
+            if (helperObject == null) {
+                final String helperObjectName = Parser.matchGroup1(
+                        SIG_DEOBF_HELPER_OBJ_NAME_REGEX, deobfuscationFunction);
+                helperObject = getHelperObject(javaScriptPlayerCode, helperObjectName);
+            }
 
             final String callerFunction = "function " + DEOBFUSCATION_FUNCTION_NAME
                     + "(a){return "
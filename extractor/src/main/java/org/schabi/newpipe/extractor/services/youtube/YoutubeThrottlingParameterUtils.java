@@ -2,6 +2,7 @@ package org.schabi.newpipe.extractor.services.youtube;
 
 import static org.schabi.newpipe.extractor.utils.Parser.matchMultiplePatterns;
 
+import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.utils.JavaScript;
 import org.schabi.newpipe.extractor.utils.Parser;
@@ -18,6 +19,9 @@ import java.util.regex.Pattern;
  */
 final class YoutubeThrottlingParameterUtils {
 
+    private static final String DEOBFUSCATION_FUNCTION_COMPONENT =
+            "youtube.throttling.deobfuscationFunction";
+
     private static final Pattern THROTTLING_PARAM_PATTERN = Pattern.compile("[&?]n=([^&]+)");
 
     private static final String SINGLE_CHAR_VARIABLE_REGEX = "[a-zA-Z0-9$_]";
@@ -119,13 +123,21 @@ final class YoutubeThrottlingParameterUtils {
      * Get the throttling parameter deobfuscation function name of YouTube's base JavaScript file.
      *
      * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @param playerAnalyzer       the analysis of the player code, used before falling back to
+     *                             regular expressions
      * @return the name of the throttling parameter deobfuscation function
      * @throws ParsingException if the name of the throttling parameter deobfuscation function
      * could not be extracted
      */
     @Nonnull
-    static String getDeobfuscationFunctionName(@Nonnull final String javaScriptPlayerCode)
-            throws ParsingException {
+    static String getDeobfuscationFunctionName(
+            @Nonnull final String javaScriptPlayerCode,
+            @Nonnull final YoutubePlayerAnalyzer playerAnalyzer) throws ParsingException {
+        final String analyzedFunctionName = playerAnalyzer.getThrottlingFunctionName();
+        if (analyzedFunctionName != null) {
+            return analyzedFunctionName;
+        }
+
         final Matcher matcher;
         try {
             matcher = matchMultiplePatterns(DEOBFUSCATION_FUNCTION_NAME_REGEXES,
@@ -154,17 +166,35 @@ final class YoutubeThrottlingParameterUtils {
      * Get the throttling parameter deobfuscation code of YouTube's base JavaScript file.
      *
      * @param javaScriptPlayerCode the complete JavaScript base player code
+     * @param playerAnalyzer       the analysis of the player code, used before falling back to
+     *                             the lexer and regular expressions
+     * @param functionName         the name of the throttling parameter deobfuscation function
      * @return the throttling parameter deobfuscation function name
      * @throws ParsingException if the throttling parameter deobfuscation code couldn't be
      * extracted
      */
     @Nonnull
     static String getDeobfuscationFunction(@Nonnull final String javaScriptPlayerCode,
+                                           @Nonnull final YoutubePlayerAnalyzer playerAnalyzer,
                                            @Nonnull final String functionName)
             throws ParsingException {
+        final String analyzedFunction = playerAnalyzer.getThrottlingFunction();
+        if (analyzedFunction != null
+                && functionName.equals(playerAnalyzer.getThrottlingFunctionName())) {
+            try {
+                return validateFunction(analyzedFunction);
+            } catch (final Exception e) {
+                // Extract the function again with the lexer or regular expressions
+                NewPipe.getExtractionListener().onFallback(DEOBFUSCATION_FUNCTION_COMPONENT,
+                        "lexer", e);
+            }
+        }
+
         try {
             return parseFunctionWithLexer(javaScriptPlayerCode, functionName);
         } catch (final Exception e) {
+            NewPipe.getExtractionListener().onFallback(DEOBFUSCATION_FUNCTION_COMPONENT,
+                    "regex", e);
             return parseFunctionWithRegex(javaScriptPlayerCode, functionName);
         }
     }
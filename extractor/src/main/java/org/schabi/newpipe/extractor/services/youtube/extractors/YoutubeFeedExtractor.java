@@ -16,6 +16,7 @@ import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper;
 import org.schabi.newpipe.extractor.stream.StreamInfoItem;
 import org.schabi.newpipe.extractor.stream.StreamInfoItemsCollector;
+import org.schabi.newpipe.extractor.utils.RevalidatingCache;
 
 import java.io.IOException;
 
@@ -24,6 +25,19 @@ import javax.annotation.Nonnull;
 public class YoutubeFeedExtractor extends FeedExtractor {
     private static final String WEBSITE_CHANNEL_BASE_URL = "https://www.youtube.com/channel/";
 
+    /**
+     * The default maximum number of feeds kept in the cache of feeds, which should be enough for
+     * the subscriptions of most users.
+     */
+    public static final int DEFAULT_FEED_CACHE_SIZE = 2000;
+
+    /**
+     * The parsed feeds, which are reused when YouTube answers that a feed did not change. As
+     * documents are mutable, each extractor gets its own copy of a cached feed.
+     */
+    private static final RevalidatingCache<Document> FEED_CACHE =
+            new RevalidatingCache<>("youtube.feed", DEFAULT_FEED_CACHE_SIZE);
+
     public YoutubeFeedExtractor(final StreamingService service, final ListLinkHandler linkHandler) {
         super(service, linkHandler);
     }
@@ -36,11 +50,49 @@ public class YoutubeFeedExtractor extends FeedExtractor {
         final String channelIdOrUser = getLinkHandler().getId();
         final String feedUrl = YoutubeParsingHelper.getFeedUrlFrom(channelIdOrUser);
 
-        final Response response = downloader.get(feedUrl);
+        document = FEED_CACHE.get(feedUrl,
+                validators -> downloader.getConditionally(feedUrl, null, validators,
+                        getExtractorLocalization()),
+                YoutubeFeedExtractor::parseFeed).clone();
+    }
+
+    @Nonnull
+    private static Document parseFeed(@Nonnull final Response response)
+            throws ContentNotAvailableException {
         if (response.responseCode() == 404) {
             throw new ContentNotAvailableException("Could not get feed: 404 - not found");
         }
-        document = Jsoup.parse(response.responseBody());
+        return Jsoup.parse(response.responseBody());
+    }
+
+    /**
+     * Set the maximum number of feeds kept in the cache of feeds.
+     *
+     * <p>
+     * Clients fetching the feeds of many subscriptions should use a size at least equal to their
+     * number of subscriptions, otherwise feeds are removed from the cache before being fetched
+     * again and can't be revalidated.
+     * </p>
+     *
+     * @param maximumSize the new maximum size of the cache, which must be strictly positive
+     */
+    public static void setFeedCacheSize(final int maximumSize) {
+        FEED_CACHE.setMaximumSize(maximumSize);
+    }
+
+    public static int getFeedCacheSize() {
+        return FEED_CACHE.getMaximumSize();
+    }
+
+    /**
+     * Remove all feeds from the cache of feeds.
+     *
+     * <p>
+     * <b>Only used in tests.</b>
+     * </p>
+     */
+    public static void clearCache() {
+        FEED_CACHE.clear();
     }
 
     @Nonnull
@@ -23,6 +23,7 @@ import org.schabi.newpipe.extractor.exceptions.ParsingException;
 import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
 import org.schabi.newpipe.extractor.localization.Localization;
 import org.schabi.newpipe.extractor.localization.TimeAgoParser;
+import org.schabi.newpipe.extractor.playlist.PlaylistEntry;
 import org.schabi.newpipe.extractor.playlist.PlaylistExtractor;
 import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
 import org.schabi.newpipe.extractor.services.youtube.YoutubeParsingHelper;
@@ -34,6 +35,8 @@ import org.schabi.newpipe.extractor.utils.Utils;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -302,8 +305,62 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
     @Override
     public InfoItemsPage<StreamInfoItem> getInitialPage() throws IOException, ExtractionException {
         final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-        Page nextPage = null;
 
+        final JsonArray videosArray = getInitialVideosArray();
+        collectStreamsFrom(collector, videosArray);
+
+        return new InfoItemsPage<>(collector, getNextPageFrom(videosArray));
+    }
+
+    @Override
+    public InfoItemsPage<StreamInfoItem> getPage(final Page page) throws IOException,
+            ExtractionException {
+        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
+
+        final JsonArray continuation = getContinuationItems(page);
+        collectStreamsFrom(collector, continuation);
+
+        return new InfoItemsPage<>(collector, getNextPageFrom(continuation));
+    }
+
+    /**
+     * Walk the whole playlist and pass a compact {@link PlaylistEntry} for each of its streams to
+     * the given consumer, in playlist order.
+     *
+     * <p>
+     * Contrary to {@link #getInitialPage()} and {@link #getPage(Page)}, no
+     * {@link StreamInfoItem} is built: only the video ID, title, duration and uploader channel ID
+     * are read from each item, while thumbnails, badges, view counts and upload dates are
+     * skipped. Each continuation response can be garbage collected as soon as its entries have
+     * been consumed, so exporting playlists of thousands of videos only requires the memory of
+     * one page at a time.
+     * </p>
+     *
+     * <p>
+     * The page must have been {@link #fetchPage() fetched} before calling this method.
+     * </p>
+     *
+     * @param consumer the consumer receiving each entry of the playlist
+     * @return the number of entries passed to the consumer
+     */
+    public long exportEntries(@Nonnull final Consumer<PlaylistEntry> consumer)
+            throws IOException, ExtractionException {
+        assertPageFetched();
+
+        JsonArray videosArray = getInitialVideosArray();
+        long count = collectEntriesFrom(consumer, videosArray);
+
+        Page nextPage = getNextPageFrom(videosArray);
+        while (nextPage != null) {
+            videosArray = getContinuationItems(nextPage);
+            count += collectEntriesFrom(consumer, videosArray);
+            nextPage = getNextPageFrom(videosArray);
+        }
+        return count;
+    }
+
+    @Nonnull
+    private JsonArray getInitialVideosArray() {
         final JsonArray contents = browseResponse.getObject("contents")
                 .getObject("twoColumnBrowseResultsRenderer")
                 .getArray("tabs")
@@ -324,45 +381,33 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
                 .findFirst()
                 .orElse(null);
 
-        if (videoPlaylistObject != null) {
-            final JsonObject renderer;
-            if (videoPlaylistObject.has(PLAYLIST_VIDEO_LIST_RENDERER)) {
-                renderer = videoPlaylistObject.getObject(PLAYLIST_VIDEO_LIST_RENDERER);
-            } else if (videoPlaylistObject.has(RICH_GRID_RENDERER)) {
-                renderer = videoPlaylistObject.getObject(RICH_GRID_RENDERER);
-            } else {
-                return new InfoItemsPage<>(collector, null);
-            }
-
-            final JsonArray videosArray = renderer.getArray("contents");
-            collectStreamsFrom(collector, videosArray);
-
-            nextPage = getNextPageFrom(videosArray);
+        if (videoPlaylistObject == null) {
+            return new JsonArray();
         }
 
-        return new InfoItemsPage<>(collector, nextPage);
+        final JsonObject renderer;
+        if (videoPlaylistObject.has(PLAYLIST_VIDEO_LIST_RENDERER)) {
+            renderer = videoPlaylistObject.getObject(PLAYLIST_VIDEO_LIST_RENDERER);
+        } else {
+            renderer = videoPlaylistObject.getObject(RICH_GRID_RENDERER);
+        }
+        return renderer.getArray("contents");
     }
 
-    @Override
-    public InfoItemsPage<StreamInfoItem> getPage(final Page page) throws IOException,
-            ExtractionException {
+    @Nonnull
+    private JsonArray getContinuationItems(final Page page)
+            throws IOException, ExtractionException {
         if (page == null || isNullOrEmpty(page.getUrl())) {
             throw new IllegalArgumentException("Page doesn't contain an URL");
         }
 
-        final StreamInfoItemsCollector collector = new StreamInfoItemsCollector(getServiceId());
-
         final JsonObject ajaxJson = getJsonPostResponse("browse", page.getBody(),
                 getExtractorLocalization());
 
-        final JsonArray continuation = ajaxJson.getArray("onResponseReceivedActions")
+        return ajaxJson.getArray("onResponseReceivedActions")
                 .getObject(0)
                 .getObject("appendContinuationItemsAction")
                 .getArray("continuationItems");
-
-        collectStreamsFrom(collector, continuation);
-
-        return new InfoItemsPage<>(collector, getNextPageFrom(continuation));
     }
 
     @Nullable
@@ -416,6 +461,66 @@ public class YoutubePlaylistExtractor extends PlaylistExtractor {
                 });
     }
 
+    private static long collectEntriesFrom(@Nonnull final Consumer<PlaylistEntry> consumer,
+                                           @Nonnull final JsonArray videos) {
+        long count = 0;
+        for (final Object item : videos) {
+            if (!(item instanceof JsonObject)) {
+                continue;
+            }
+
+            final JsonObject video = (JsonObject) item;
+            final PlaylistEntry entry;
+            if (video.has(PLAYLIST_VIDEO_RENDERER)) {
+                entry = getEntryFromPlaylistVideo(video.getObject(PLAYLIST_VIDEO_RENDERER));
+            } else {
+                final JsonObject reelItem = video.getObject(RICH_ITEM_RENDERER)
+                        .getObject("content")
+                        .getObject(REEL_ITEM_RENDERER);
+                entry = reelItem.has("videoId")
+                        ? new PlaylistEntry(reelItem.getString("videoId"),
+                                Objects.requireNonNullElse(
+                                        getTextFromObject(reelItem.getObject("headline")), ""),
+                                -1, null)
+                        : null;
+            }
+
+            if (entry != null) {
+                consumer.accept(entry);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Nullable
+    private static PlaylistEntry getEntryFromPlaylistVideo(@Nonnull final JsonObject video) {
+        final String videoId = video.getString("videoId");
+        if (isNullOrEmpty(videoId)) {
+            return null;
+        }
+
+        long duration = -1;
+        final String lengthSeconds = video.getString("lengthSeconds");
+        if (!isNullOrEmpty(lengthSeconds)) {
+            try {
+                duration = Long.parseLong(lengthSeconds);
+            } catch (final NumberFormatException ignored) {
+            }
+        }
+
+        final String uploaderId = video.getObject("shortBylineText")
+                .getArray("runs")
+                .getObject(0)
+                .getObject("navigationEndpoint")
+                .getObject("browseEndpoint")
+                .getString("browseId");
+
+        return new PlaylistEntry(videoId,
+                Objects.requireNonNullElse(getTextFromObject(video.getObject("title")), ""),
+                duration, uploaderId);
+    }
+
     @Nonnull
     @Override
     public PlaylistInfo.PlaylistType getPlaylistType() throws ParsingException {
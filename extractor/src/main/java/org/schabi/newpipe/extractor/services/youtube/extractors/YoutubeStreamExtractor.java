@@ -49,6 +49,7 @@ import org.schabi.newpipe.extractor.Image;
 import org.schabi.newpipe.extractor.MediaFormat;
 import org.schabi.newpipe.extractor.MetaInfo;
 import org.schabi.newpipe.extractor.MultiInfoItemsCollector;
+import org.schabi.newpipe.extractor.NewPipe;
 import org.schabi.newpipe.extractor.StreamingService;
 import org.schabi.newpipe.extractor.downloader.Downloader;
 import org.schabi.newpipe.extractor.exceptions.AgeRestrictedContentException;
@@ -73,6 +74,7 @@ import org.schabi.newpipe.extractor.services.youtube.linkHandler.YoutubeChannelL
 import org.schabi.newpipe.extractor.stream.AudioStream;
 import org.schabi.newpipe.extractor.stream.DeliveryMethod;
 import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.DistinctStreamsBuilder;
 import org.schabi.newpipe.extractor.stream.Frameset;
 import org.schabi.newpipe.extractor.stream.Stream;
 import org.schabi.newpipe.extractor.stream.StreamExtractor;
@@ -82,7 +84,6 @@ import org.schabi.newpipe.extractor.stream.SubtitlesStream;
 import org.schabi.newpipe.extractor.stream.VideoStream;
 import org.schabi.newpipe.extractor.utils.JsonUtils;
 import org.schabi.newpipe.extractor.utils.LocaleCompat;
-import org.schabi.newpipe.extractor.utils.Pair;
 import org.schabi.newpipe.extractor.utils.Parser;
 import org.schabi.newpipe.extractor.utils.Utils;
 
@@ -94,9 +95,12 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
@@ -129,6 +133,10 @@ public class YoutubeStreamExtractor extends StreamExtractor {
     private String androidCpn;
     private String tvHtml5SimplyEmbedCpn;
 
+    // The signatures of all formats are deobfuscated at once, before building the first streams
+    @Nullable
+    private Map<String, String> deobfuscatedSignatures;
+
     public YoutubeStreamExtractor(final StreamingService service, final LinkHandler linkHandler) {
         super(service, linkHandler);
     }
@@ -831,9 +839,11 @@ public class YoutubeStreamExtractor extends StreamExtractor {
 
             try {
                 fetchAndroidMobileJsonPlayer(contentCountry, localization, videoId);
-            } catch (final Exception ignored) {
+            } catch (final Exception e) {
                 // Ignore exceptions related to ANDROID client fetch or parsing, as it is not
                 // compulsory to play contents
+                NewPipe.getExtractionListener().onFallback("youtube.streamingData", "iosOnly",
+                        e);
             }
         }
 
@@ -1102,34 +1112,30 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             final String streamTypeExceptionMessage) throws ParsingException {
         try {
             final String videoId = getId();
-            final List<T> streamList = new ArrayList<>();
-
-            java.util.stream.Stream.of(
-                    /*
-                    Use the iosStreamingData object first because there is no n param and no
-                    signatureCiphers in streaming URLs of the iOS client
-
-                    The androidStreamingData is used as second way as it isn't used on livestreams,
-                    it doesn't return all available streams, and the Android client extraction is
-                    more likely to break
-
-                    As age-restricted videos are not common, use tvHtml5SimplyEmbedStreamingData
-                    last, which will be the only one not empty for age-restricted content
-                     */
-                    new Pair<>(iosStreamingData, iosCpn),
-                    new Pair<>(androidStreamingData, androidCpn),
-                    new Pair<>(tvHtml5SimplyEmbedStreamingData, tvHtml5SimplyEmbedCpn)
-            )
-                    .flatMap(pair -> getStreamsFromStreamingDataKey(videoId, pair.getFirst(),
-                            streamingDataKey, itagTypeWanted, pair.getSecond()))
-                    .map(streamBuilderHelper)
-                    .forEachOrdered(stream -> {
-                        if (!Stream.containSimilarStream(stream, streamList)) {
-                            streamList.add(stream);
-                        }
-                    });
-
-            return streamList;
+            final DistinctStreamsBuilder<T> streams = new DistinctStreamsBuilder<>();
+
+            deobfuscateAllFormatsIfNeeded(videoId);
+
+            /*
+            Use the iosStreamingData object first because there is no n param and no
+            signatureCiphers in streaming URLs of the iOS client
+
+            The androidStreamingData is used as second way as it isn't used on livestreams,
+            it doesn't return all available streams, and the Android client extraction is
+            more likely to break
+
+            As age-restricted videos are not common, use tvHtml5SimplyEmbedStreamingData
+            last, which will be the only one not empty for age-restricted content
+             */
+            addStreamsFromStreamingDataKey(videoId, iosStreamingData, streamingDataKey,
+                    itagTypeWanted, iosCpn, streamBuilderHelper, streams);
+            addStreamsFromStreamingDataKey(videoId, androidStreamingData, streamingDataKey,
+                    itagTypeWanted, androidCpn, streamBuilderHelper, streams);
+            addStreamsFromStreamingDataKey(videoId, tvHtml5SimplyEmbedStreamingData,
+                    streamingDataKey, itagTypeWanted, tvHtml5SimplyEmbedCpn, streamBuilderHelper,
+                    streams);
+
+            return streams.build();
         } catch (final Exception e) {
             throw new ParsingException(
                     "Could not get " + streamTypeExceptionMessage + " streams", e);
@@ -1249,34 +1255,115 @@ public class YoutubeStreamExtractor extends StreamExtractor {
         };
     }
 
-    @Nonnull
-    private java.util.stream.Stream<ItagInfo> getStreamsFromStreamingDataKey(
+    private <T extends Stream> void addStreamsFromStreamingDataKey(
             final String videoId,
-            final JsonObject streamingData,
+            @Nullable final JsonObject streamingData,
             final String streamingDataKey,
             @Nonnull final ItagItem.ItagType itagTypeWanted,
-            @Nonnull final String contentPlaybackNonce) {
+            @Nonnull final String contentPlaybackNonce,
+            @Nonnull final java.util.function.Function<ItagInfo, T> streamBuilderHelper,
+            @Nonnull final DistinctStreamsBuilder<T> streams) {
         if (streamingData == null || !streamingData.has(streamingDataKey)) {
-            return java.util.stream.Stream.empty();
+            return;
         }
 
-        return streamingData.getArray(streamingDataKey).stream()
-                .filter(JsonObject.class::isInstance)
-                .map(JsonObject.class::cast)
-                .map(formatData -> {
-                    try {
-                        final ItagItem itagItem = ItagItem.getItag(formatData.getInt("itag"));
-                        if (itagItem.itagType == itagTypeWanted) {
-                            return buildAndAddItagInfoToList(videoId, formatData, itagItem,
-                                    itagItem.itagType, contentPlaybackNonce);
-                        }
-                    } catch (final ExtractionException ignored) {
-                        // If the itag is not supported, the n parameter of HTML5 clients cannot be
-                        // decoded or buildAndAddItagInfoToList fails, we end up here
-                    }
-                    return null;
-                })
-                .filter(Objects::nonNull);
+        for (final Object format : streamingData.getArray(streamingDataKey)) {
+            if (!(format instanceof JsonObject)) {
+                continue;
+            }
+
+            final JsonObject formatData = (JsonObject) format;
+            try {
+                // Check the itag type before copying the ItagItem
+                final int itag = formatData.getInt("itag");
+                if (ItagItem.getItagType(itag) != itagTypeWanted) {
+                    continue;
+                }
+
+                final ItagItem itagItem = ItagItem.getItag(itag);
+                streams.addIfDistinct(streamBuilderHelper.apply(buildAndAddItagInfoToList(
+                        videoId, formatData, itagItem, itagItem.itagType,
+                        contentPlaybackNonce)));
+            } catch (final ExtractionException ignored) {
+                // If the itag is not supported, the n parameter of HTML5 clients cannot be
+                // decoded or buildAndAddItagInfoToList fails, we end up here
+            }
+        }
+    }
+
+    /**
+     * Deobfuscate at once the signatures and the throttling parameters of the streaming URLs of
+     * all formats returned by all clients, if it has not been already done.
+     *
+     * <p>
+     * Each deobfuscation function is so run in a single JavaScript context for all distinct
+     * values, instead of once per format. Throttling parameters are stored in the cache of
+     * {@link YoutubeJavaScriptPlayerManager}, so that
+     * {@link YoutubeJavaScriptPlayerManager#getUrlWithThrottlingParameterDeobfuscated(String,
+     * String)} doesn't run the deobfuscation function for them anymore.
+     * </p>
+     *
+     * <p>
+     * Deobfuscation errors are ignored, as values which could not be deobfuscated are
+     * deobfuscated again for each format when building streams, where errors are handled.
+     * </p>
+     *
+     * @param videoId the ID of the video
+     */
+    private void deobfuscateAllFormatsIfNeeded(@Nonnull final String videoId) {
+        if (deobfuscatedSignatures != null) {
+            return;
+        }
+
+        final Set<String> obfuscatedSignatures = new LinkedHashSet<>();
+        final Set<String> streamingUrls = new LinkedHashSet<>();
+        for (final JsonObject streamingData : Arrays.asList(iosStreamingData,
+                androidStreamingData, tvHtml5SimplyEmbedStreamingData)) {
+            if (streamingData == null) {
+                continue;
+            }
+
+            for (final String streamingDataKey : Arrays.asList(FORMATS, ADAPTIVE_FORMATS)) {
+                streamingData.getArray(streamingDataKey).stream()
+                        .filter(JsonObject.class::isInstance)
+                        .map(JsonObject.class::cast)
+                        .forEach(formatData -> {
+                            if (formatData.has("url")) {
+                                streamingUrls.add(formatData.getString("url"));
+                                return;
+                            }
+
+                            final String cipherString = formatData.getString(CIPHER,
+                                    formatData.getString(SIGNATURE_CIPHER));
+                            if (cipherString == null) {
+                                return;
+                            }
+
+                            final var cipher = Parser.compatParseMap(cipherString);
+                            if (cipher.containsKey("s")) {
+                                obfuscatedSignatures.add(cipher.get("s"));
+                            }
+                            if (cipher.containsKey("url")) {
+                                streamingUrls.add(cipher.get("url"));
+                            }
+                        });
+            }
+        }
+
+        try {
+            deobfuscatedSignatures = YoutubeJavaScriptPlayerManager.deobfuscateSignatures(
+                    videoId, obfuscatedSignatures);
+        } catch (final ParsingException e) {
+            deobfuscatedSignatures = Collections.emptyMap();
+        }
+
+        try {
+            YoutubeJavaScriptPlayerManager.deobfuscateThrottlingParameters(videoId,
+                    streamingUrls);
+        } catch (final ParsingException ignored) {
+            // Throttling parameters will be deobfuscated for each format, ignoring formats for
+            // which it fails
+        }
     }
 
     private ItagInfo buildAndAddItagInfoToList(
@@ -1293,8 +1380,14 @@ public class YoutubeStreamExtractor extends StreamExtractor {
             final String cipherString = formatData.getString(CIPHER,
                     formatData.getString(SIGNATURE_CIPHER));
             final var cipher = Parser.compatParseMap(cipherString);
-            final String signature = YoutubeJavaScriptPlayerManager.deobfuscateSignature(videoId,
-                    cipher.getOrDefault("s", ""));
+            final String obfuscatedSignature = cipher.getOrDefault("s", "");
+            String signature = deobfuscatedSignatures == null
+                    ? null
+                    : deobfuscatedSignatures.get(obfuscatedSignature);
+            if (signature == null) {
+                signature = YoutubeJavaScriptPlayerManager.deobfuscateSignature(videoId,
+                        obfuscatedSignature);
+            }
             streamUrl = cipher.get("url") + "&" + cipher.get("sp") + "=" + signature;
         }
 
@@ -1432,26 +1525,18 @@ public class YoutubeStreamExtractor extends StreamExtractor {
                 final int framesPerPageY = Integer.parseInt(parts[4]);
                 final String baseUrl = url.replace("$L", String.valueOf(i - 1))
                         .replace("$N", parts[6]) + "&sigh=" + parts[7];
-                final List<String> urls;
+                final int frameWidth = Integer.parseInt(parts[0]);
+                final int frameHeight = Integer.parseInt(parts[1]);
+                final int durationPerFrame = Integer.parseInt(parts[5]);
                 if (baseUrl.contains("$M")) {
-                    final int totalPages = (int) Math.ceil(totalCount / (double)
-                            (framesPerPageX * framesPerPageY));
-                    urls = new ArrayList<>(totalPages);
-                    for (int j = 0; j < totalPages; j++) {
-                        urls.add(baseUrl.replace("$M", String.valueOf(j)));
-                    }
+                    // Page URLs are computed on demand, as long streams have many pages
+                    result.add(new Frameset(baseUrl, "$M", frameWidth, frameHeight, totalCount,
+                            durationPerFrame, framesPerPageX, framesPerPageY));
                 } else {
-                    urls = Collections.singletonList(baseUrl);
+                    result.add(new Frameset(Collections.singletonList(baseUrl), frameWidth,
+                            frameHeight, totalCount, durationPerFrame, framesPerPageX,
+                            framesPerPageY));
                 }
-                result.add(new Frameset(
-                        urls,
-                        /*frameWidth=*/Integer.parseInt(parts[0]),
-                        /*frameHeight=*/Integer.parseInt(parts[1]),
-                        totalCount,
-                        /*durationPerFrame=*/Integer.parseInt(parts[5]),
-                        framesPerPageX,
-                        framesPerPageY
-                ));
             }
             return result;
         } catch (final Exception e) {
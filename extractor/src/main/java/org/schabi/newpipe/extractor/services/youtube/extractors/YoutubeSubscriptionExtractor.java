@@ -1,6 +1,5 @@
 package org.schabi.newpipe.extractor.services.youtube.extractors;
 
-import com.grack.nanojson.JsonArray;
 import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
@@ -9,18 +8,22 @@ import org.schabi.newpipe.extractor.exceptions.ExtractionException;
 import org.schabi.newpipe.extractor.services.youtube.YoutubeService;
 import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.subscription.SubscriptionItem;
+import org.schabi.newpipe.extractor.subscription.SubscriptionItemReader;
+import org.schabi.newpipe.extractor.utils.CsvScanner;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 import static org.schabi.newpipe.extractor.subscription.SubscriptionExtractor.ContentSource.INPUT_STREAM;
 
@@ -29,6 +32,10 @@ import static org.schabi.newpipe.extractor.subscription.SubscriptionExtractor.Co
  */
 public class YoutubeSubscriptionExtractor extends SubscriptionExtractor {
     private static final String BASE_CHANNEL_URL = "https://www.youtube.com/channel/";
+    private static final byte[] HTTPS_CHANNEL_URL_BYTES =
+            BASE_CHANNEL_URL.getBytes(StandardCharsets.UTF_8);
+    private static final byte[] HTTP_CHANNEL_URL_BYTES =
+            "http://www.youtube.com/channel/".getBytes(StandardCharsets.UTF_8);
 
     public YoutubeSubscriptionExtractor(final YoutubeService youtubeService) {
         super(youtubeService, Collections.singletonList(INPUT_STREAM));
@@ -65,69 +72,286 @@ public class YoutubeSubscriptionExtractor extends SubscriptionExtractor {
         }
     }
 
+    @Nonnull
+    @Override
+    public SubscriptionItemReader readerFromInputStream(
+            @Nonnull final InputStream contentInputStream,
+            @Nonnull final String contentType) throws ExtractionException {
+        switch (contentType) {
+            case "json":
+            case "application/json":
+                return new JsonSubscriptionsReader(contentInputStream);
+            case "csv":
+            case "text/csv":
+            case "text/comma-separated-values":
+                return new CsvSubscriptionsReader(contentInputStream);
+            case "zip":
+            case "application/zip":
+                return new ZipSubscriptionsReader(contentInputStream);
+            default:
+                throw new InvalidSourceException("Unsupported content type: " + contentType);
+        }
+    }
+
     public List<SubscriptionItem> fromJsonInputStream(@Nonnull final InputStream contentInputStream)
             throws ExtractionException {
-        final JsonArray subscriptions;
-        try {
-            subscriptions = JsonParser.array().from(contentInputStream);
-        } catch (final JsonParserException e) {
-            throw new InvalidSourceException("Invalid json input stream", e);
+        return new JsonSubscriptionsReader(contentInputStream).readAll();
+    }
+
+    public List<SubscriptionItem> fromZipInputStream(@Nonnull final InputStream contentInputStream)
+            throws ExtractionException {
+        try (ZipSubscriptionsReader reader = new ZipSubscriptionsReader(contentInputStream)) {
+            return reader.readAll();
+        } catch (final IOException e) {
+            throw new InvalidSourceException("Error reading contents of zip file", e);
+        }
+    }
+
+    public List<SubscriptionItem> fromCsvInputStream(@Nonnull final InputStream contentInputStream)
+            throws ExtractionException {
+        try (CsvSubscriptionsReader reader = new CsvSubscriptionsReader(contentInputStream)) {
+            return reader.readAll();
+        } catch (final IOException e) {
+            throw new InvalidSourceException("Error closing CSV file", e);
+        }
+    }
+
+    /**
+     * Reads the subscriptions of a JSON array one by one, parsing only one element of the array
+     * at a time instead of the whole array.
+     */
+    private final class JsonSubscriptionsReader extends SubscriptionItemReader {
+        private final Reader reader;
+        private final StringBuilder element = new StringBuilder();
+        private int pushedBackChar = -1;
+        private boolean started = false;
+        private boolean finished = false;
+        private boolean foundValidSubscription = false;
+        private boolean foundInvalidSubscription = false;
+
+        JsonSubscriptionsReader(@Nonnull final InputStream contentInputStream) {
+            reader = new BufferedReader(
+                    new InputStreamReader(contentInputStream, StandardCharsets.UTF_8));
+        }
+
+        @Nullable
+        @Override
+        public SubscriptionItem read() throws ExtractionException {
+            try {
+                if (!started) {
+                    started = true;
+                    if (readNonWhitespace() != '[') {
+                        throw new InvalidSourceException("Invalid json input stream");
+                    }
+                    final int c = readNonWhitespace();
+                    if (c == ']') {
+                        finish();
+                    } else {
+                        pushedBackChar = c;
+                    }
+                }
+
+                while (!finished) {
+                    final boolean lastElement = readElement() == ']';
+                    final SubscriptionItem item = parseElement();
+                    if (lastElement) {
+                        finish();
+                    }
+                    if (item != null) {
+                        return item;
+                    }
+                }
+                return null;
+            } catch (final IOException e) {
+                throw new InvalidSourceException("Invalid json input stream", e);
+            }
+        }
+
+        /**
+         * Read the next element of the array in {@link #element}.
+         *
+         * @return the character ending the element, {@code ','} or {@code ']'}
+         */
+        private int readElement() throws IOException, ExtractionException {
+            element.setLength(0);
+            int depth = 0;
+            boolean inString = false;
+            boolean escaped = false;
+            int c = readNonWhitespace();
+            while (true) {
+                if (c == -1) {
+                    throw new InvalidSourceException("Invalid json input stream");
+                }
+
+                if (inString) {
+                    if (escaped) {
+                        escaped = false;
+                    } else if (c == '\\') {
+                        escaped = true;
+                    } else if (c == '"') {
+                        inString = false;
+                    }
+                } else if (c == '"') {
+                    inString = true;
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    if (depth == 0) {
+                        if (c == ']' && element.length() > 0) {
+                            return c;
+                        }
+                        throw new InvalidSourceException("Invalid json input stream");
+                    }
+                    depth--;
+                } else if (c == ',' && depth == 0) {
+                    if (element.length() == 0) {
+                        throw new InvalidSourceException("Invalid json input stream");
+                    }
+                    return c;
+                }
+
+                element.append((char) c);
+                c = reader.read();
+            }
         }
 
-        boolean foundInvalidSubscription = false;
-        final List<SubscriptionItem> subscriptionItems = new ArrayList<>();
-        for (final Object subscriptionObject : subscriptions) {
-            if (!(subscriptionObject instanceof JsonObject)) {
+        @Nullable
+        private SubscriptionItem parseElement() throws ExtractionException {
+            final String elementJson = element.toString();
+            if (elementJson.charAt(0) != '{') {
+                try {
+                    // Only check that the element is valid
+                    JsonParser.array().from("[" + elementJson + "]");
+                } catch (final JsonParserException e) {
+                    throw new InvalidSourceException("Invalid json input stream", e);
+                }
                 foundInvalidSubscription = true;
-                continue;
+                return null;
             }
 
-            final JsonObject subscription = ((JsonObject) subscriptionObject).getObject("snippet");
+            final JsonObject subscriptionObject;
+            try {
+                subscriptionObject = JsonParser.object().from(elementJson);
+            } catch (final JsonParserException e) {
+                throw new InvalidSourceException("Invalid json input stream", e);
+            }
+
+            final JsonObject subscription = subscriptionObject.getObject("snippet");
             final String id = subscription.getObject("resourceId").getString("channelId", "");
             if (id.length() != 24) { // e.g. UCsXVk37bltHxD1rDPwtNM8Q
                 foundInvalidSubscription = true;
-                continue;
+                return null;
             }
 
-            subscriptionItems.add(new SubscriptionItem(service.getServiceId(),
-                    BASE_CHANNEL_URL + id, subscription.getString("title", "")));
+            foundValidSubscription = true;
+            return new SubscriptionItem(service.getServiceId(), BASE_CHANNEL_URL + id,
+                    subscription.getString("title", ""));
+        }
+
+        private void finish() throws IOException, ExtractionException {
+            finished = true;
+            if (readNonWhitespace() != -1) {
+                throw new InvalidSourceException("Invalid json input stream");
+            }
+            if (foundInvalidSubscription && !foundValidSubscription) {
+                throw new InvalidSourceException("Found only invalid channel ids");
+            }
+        }
+
+        private int readNonWhitespace() throws IOException {
+            int c = pushedBackChar;
+            pushedBackChar = -1;
+            if (c == -1) {
+                c = reader.read();
+            }
+            while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                c = reader.read();
+            }
+            return c;
         }
 
-        if (foundInvalidSubscription && subscriptionItems.isEmpty()) {
-            throw new InvalidSourceException("Found only invalid channel ids");
+        @Override
+        public void close() throws IOException {
+            reader.close();
         }
-        return subscriptionItems;
     }
 
-    public List<SubscriptionItem> fromZipInputStream(@Nonnull final InputStream contentInputStream)
-            throws ExtractionException {
-        try (ZipInputStream zipInputStream = new ZipInputStream(contentInputStream)) {
-            ZipEntry zipEntry;
-            while ((zipEntry = zipInputStream.getNextEntry()) != null) {
-                if (zipEntry.getName().toLowerCase().endsWith(".csv")) {
-                    try {
-                        final List<SubscriptionItem> csvItems = fromCsvInputStream(zipInputStream);
-
-                        // Return it only if it has items (it exits early if it's the wrong file
-                        // format), otherwise try the next file
-                        if (csvItems.size() > 0) {
-                            return csvItems;
+    /**
+     * Reads the subscriptions of the first CSV file of a ZIP archive which contains
+     * subscriptions.
+     */
+    private final class ZipSubscriptionsReader extends SubscriptionItemReader {
+        private final ZipInputStream zipInputStream;
+        @Nullable
+        private CsvSubscriptionsReader csvReader = null;
+        private boolean foundSubscriptions = false;
+        private boolean finished = false;
+
+        ZipSubscriptionsReader(@Nonnull final InputStream contentInputStream) {
+            zipInputStream = new ZipInputStream(contentInputStream);
+        }
+
+        @Nullable
+        @Override
+        public SubscriptionItem read() throws ExtractionException {
+            try {
+                while (!finished) {
+                    if (csvReader != null) {
+                        final SubscriptionItem item = readFromCurrentCsvFile();
+                        if (item != null) {
+                            return item;
+                        }
+
+                        csvReader = null;
+                        if (foundSubscriptions) {
+                            // Only the subscriptions of the first valid file are returned
+                            finished = true;
+                            return null;
                         }
-                    } catch (final ExtractionException e) {
-                        // Ignore error and go to next file
+                    }
+
+                    final ZipEntry zipEntry = zipInputStream.getNextEntry();
+                    if (zipEntry == null) {
+                        finished = true;
+                        throw new InvalidSourceException("Unable to find a valid subscriptions.csv"
+                                + " file (try extracting and selecting the csv file)");
+                    }
+                    if (zipEntry.getName().toLowerCase().endsWith(".csv")) {
+                        // The CSV reader must not close the ZIP input stream
+                        csvReader = new CsvSubscriptionsReader(zipInputStream);
                     }
                 }
+                return null;
+            } catch (final IOException e) {
+                throw new InvalidSourceException("Error reading contents of zip file", e);
             }
-        } catch (final IOException e) {
-            throw new InvalidSourceException("Error reading contents of zip file", e);
         }
 
-        throw new InvalidSourceException("Unable to find a valid subscriptions.csv file"
-                + " (try extracting and selecting the csv file)");
+        @Nullable
+        private SubscriptionItem readFromCurrentCsvFile() throws ExtractionException {
+            try {
+                final SubscriptionItem item = csvReader.read();
+                if (item != null) {
+                    foundSubscriptions = true;
+                }
+                return item;
+            } catch (final ExtractionException e) {
+                if (foundSubscriptions) {
+                    // Subscriptions of this file have already been returned
+                    throw e;
+                }
+                // Ignore error and go to next file
+                return null;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            zipInputStream.close();
+        }
     }
 
-    public List<SubscriptionItem> fromCsvInputStream(@Nonnull final InputStream contentInputStream)
-            throws ExtractionException {
+    private final class CsvSubscriptionsReader extends SubscriptionItemReader {
         // Expected format of CSV file:
         // Channel Id,Channel Url,Channel Title
         //UC1JTQBa5QxZCpXrFSkMxmPw,http://www.youtube.com/channel/UC1JTQBa5QxZCpXrFSkMxmPw,Raycevick
@@ -139,68 +363,82 @@ public class YoutubeSubscriptionExtractor extends SubscriptionExtractor {
         //      Header names are different based on the locale
         //      Fortunately the data is always the same order no matter what locale
 
-        int currentLine = 0;
-        String line = "";
-
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(contentInputStream))) {
-            final List<SubscriptionItem> subscriptionItems = new ArrayList<>();
+        private final InputStream inputStream;
+        private final CsvScanner scanner;
+        private int currentRecord = 0;
+        private boolean foundSubscriptions = false;
+        private boolean finished = false;
 
-            // ignore header and skip first line
-            currentLine = 1;
-            line = br.readLine();
-
-            while ((line = br.readLine()) != null) {
-                currentLine++;
+        CsvSubscriptionsReader(@Nonnull final InputStream contentInputStream) {
+            inputStream = contentInputStream;
+            scanner = new CsvScanner(contentInputStream);
+        }
 
-                // Exit early if we've read the first few lines and we haven't added any items
-                // It's likely we're in the wrong file
-                if (currentLine > 5 && subscriptionItems.size() == 0) {
-                    break;
-                }
+        @Nullable
+        @Override
+        public SubscriptionItem read() throws ExtractionException {
+            if (finished) {
+                return null;
+            }
 
-                // First comma
-                final int i1 = line.indexOf(",");
-                if (i1 == -1) {
-                    continue;
+            try {
+                if (currentRecord == 0) {
+                    // ignore header and skip first record
+                    currentRecord = 1;
+                    scanner.nextRecord();
                 }
 
-                // Second comma
-                final int i2 = line.indexOf(",", i1 + 1);
-                if (i2 == -1) {
-                    continue;
-                }
+                while (scanner.nextRecord()) {
+                    currentRecord++;
 
-                // Third comma or line length
-                int i3 = line.indexOf(",", i2 + 1);
-                if (i3 == -1) {
-                    i3 = line.length();
-                }
+                    // Exit early if we've read the first few records and we haven't added any
+                    // items. It's likely we're in the wrong file
+                    if (currentRecord > 5 && !foundSubscriptions) {
+                        break;
+                    }
 
-                // Channel URL from second entry
-                final String channelUrl = line
-                        .substring(i1 + 1, i2)
-                        .replace("http://", "https://");
-                if (!channelUrl.startsWith(BASE_CHANNEL_URL)) {
-                    continue;
+                    final SubscriptionItem item = parseRecord();
+                    if (item != null) {
+                        foundSubscriptions = true;
+                        return item;
+                    }
                 }
 
-                // Channel title from third entry
-                final String channelTitle = line.substring(i2 + 1, i3);
+                finished = true;
+                return null;
+            } catch (final IOException e) {
+                finished = true;
+                throw new InvalidSourceException("Error reading CSV file on record number = "
+                        + currentRecord, e);
+            }
+        }
 
-                final SubscriptionItem newItem
-                        = new SubscriptionItem(service.getServiceId(), channelUrl, channelTitle);
-                subscriptionItems.add(newItem);
+        @Nullable
+        private SubscriptionItem parseRecord() {
+            if (scanner.getFieldCount() < 3) {
+                return null;
             }
 
-            return subscriptionItems;
-        } catch (final IOException e) {
-            if (line == null) {
-                line = "<null>";
-            } else if (line.length() > 10) {
-                line = line.substring(0, 10) + "...";
+            // Channel URL from second field
+            final int channelIdOffset;
+            if (scanner.fieldStartsWith(1, HTTPS_CHANNEL_URL_BYTES)) {
+                channelIdOffset = HTTPS_CHANNEL_URL_BYTES.length;
+            } else if (scanner.fieldStartsWith(1, HTTP_CHANNEL_URL_BYTES)) {
+                channelIdOffset = HTTP_CHANNEL_URL_BYTES.length;
+            } else {
+                return null;
             }
-            throw new InvalidSourceException("Error reading CSV file on line = \"" + line
-                    + "\", line number = " + currentLine, e);
+            final String channelUrl = BASE_CHANNEL_URL + scanner.getField(1, channelIdOffset);
+
+            // Channel title from third field
+            final String channelTitle = scanner.getField(2);
+
+            return new SubscriptionItem(service.getServiceId(), channelUrl, channelTitle);
+        }
+
+        @Override
+        public void close() throws IOException {
+            inputStream.close();
         }
     }
 }
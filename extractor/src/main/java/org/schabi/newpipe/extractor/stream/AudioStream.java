@@ -377,6 +377,17 @@ public final class AudioStream extends Stream {
                 && Objects.equals(audioLocale, ((AudioStream) cmp).audioLocale);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int statsHashCode() {
+        int result = 31 * super.statsHashCode() + averageBitrate;
+        result = 31 * result + Objects.hashCode(audioTrackId);
+        result = 31 * result + Objects.hashCode(audioTrackType);
+        return 31 * result + Objects.hashCode(audioLocale);
+    }
+
     /**
      * Get the average bitrate of the stream.
      *
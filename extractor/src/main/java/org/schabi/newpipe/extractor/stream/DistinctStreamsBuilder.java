@@ -0,0 +1,106 @@
+package org.schabi.newpipe.extractor.stream;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A builder of lists of {@link Stream}s in which similar streams, according to
+ * {@link Stream#equalStats(Stream)}, can be skipped.
+ *
+ * <p>
+ * Unlike {@link Stream#containSimilarStream(Stream, List)}, which compares a stream with all
+ * streams of a list, streams are indexed by their {@link Stream#statsHashCode() stats hash code},
+ * so that building a list of {@code n} streams costs {@code O(n)} comparisons instead of
+ * {@code O(n²)}.
+ * </p>
+ *
+ * <p>
+ * The order in which streams are added is kept in the built list.
+ * </p>
+ *
+ * @param <T> the type of the streams
+ */
+public final class DistinctStreamsBuilder<T extends Stream> {
+    @Nonnull
+    private final List<T> streams = new ArrayList<>();
+    @Nonnull
+    private final Set<StatsKey> stats = new HashSet<>();
+
+    /**
+     * Add a stream if no similar stream has been already added.
+     *
+     * @param stream the stream to add
+     * @return whether the stream has been added
+     */
+    public boolean addIfDistinct(@Nonnull final T stream) {
+        if (!stats.add(new StatsKey(stream))) {
+            return false;
+        }
+        streams.add(stream);
+        return true;
+    }
+
+    /**
+     * Add a stream, even if a similar stream has been already added.
+     *
+     * <p>
+     * The stream is still taken into account by the next calls of {@link #addIfDistinct(Stream)}.
+     * </p>
+     *
+     * @param stream the stream to add
+     */
+    public void add(@Nonnull final T stream) {
+        stats.add(new StatsKey(stream));
+        streams.add(stream);
+    }
+
+    public boolean isEmpty() {
+        return streams.isEmpty();
+    }
+
+    public int size() {
+        return streams.size();
+    }
+
+    /**
+     * @return a new mutable list of all the streams added, in the order in which they have been
+     * added
+     */
+    @Nonnull
+    public List<T> build() {
+        return new ArrayList<>(streams);
+    }
+
+    /**
+     * A key comparing streams with {@link Stream#equalStats(Stream)}.
+     *
+     * <p>
+     * As {@link Stream#equalStats(Stream)} returns {@code false} for streams with an unknown
+     * media format, even for the same stream, such streams are never considered as similar.
+     * </p>
+     */
+    private static final class StatsKey {
+        @Nonnull
+        private final Stream stream;
+        private final int hashCode;
+
+        StatsKey(@Nonnull final Stream stream) {
+            this.stream = stream;
+            this.hashCode = stream.statsHashCode();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof StatsKey && stream.equalStats(((StatsKey) o).stream);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -1,14 +1,34 @@
 package org.schabi.newpipe.extractor.stream;
 
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.List;
 
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
 /**
  * Class to handle framesets / storyboards which summarize the stream content.
+ *
+ * <p>
+ * The URLs of the images with frames, called pages, can either be given as a list or be
+ * computed on demand from a URL template, so that framesets of long streams with many pages do
+ * not need to hold all their URLs.
+ * </p>
  */
 public final class Frameset implements Serializable {
 
+    /**
+     * The number of elements of the arrays returned by {@link #getFrameBoundsAt(long)}.
+     */
+    public static final int FRAME_BOUNDS_SIZE = 5;
+
+    @Nullable
     private final List<String> urls;
+    @Nullable
+    private final String urlTemplate;
+    @Nullable
+    private final String pageIndexPlaceholder;
     private final int frameWidth;
     private final int frameHeight;
     private final int totalCount;
@@ -37,6 +57,44 @@ public final class Frameset implements Serializable {
             final int framesPerPageY) {
 
         this.urls = urls;
+        this.urlTemplate = null;
+        this.pageIndexPlaceholder = null;
+        this.totalCount = totalCount;
+        this.durationPerFrame = durationPerFrame;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+        this.framesPerPageX = framesPerPageX;
+        this.framesPerPageY = framesPerPageY;
+    }
+
+    /**
+     * Creates a new Frameset or set of storyboards, whose page URLs are computed on demand from
+     * a URL template.
+     *
+     * @param urlTemplate the URL of the images with frames / storyboards, in which
+     *                    {@code pageIndexPlaceholder} is replaced by the index of a page
+     * @param pageIndexPlaceholder the placeholder of the page index in {@code urlTemplate}
+     * @param frameWidth the width of a single frame, in pixels
+     * @param frameHeight the height of a single frame, in pixels
+     * @param totalCount the total count of frames
+     * @param durationPerFrame the duration per frame in milliseconds
+     * @param framesPerPageX the maximum count of frames per page by x / over the width of the image
+     * @param framesPerPageY the maximum count of frames per page by y / over the height
+     *                       of the image
+     */
+    public Frameset(
+            @Nonnull final String urlTemplate,
+            @Nonnull final String pageIndexPlaceholder,
+            final int frameWidth,
+            final int frameHeight,
+            final int totalCount,
+            final int durationPerFrame,
+            final int framesPerPageX,
+            final int framesPerPageY) {
+
+        this.urls = null;
+        this.urlTemplate = urlTemplate;
+        this.pageIndexPlaceholder = pageIndexPlaceholder;
         this.totalCount = totalCount;
         this.durationPerFrame = durationPerFrame;
         this.frameWidth = frameWidth;
@@ -46,10 +104,54 @@ public final class Frameset implements Serializable {
     }
 
     /**
+     * Get the URLs to the images with frames.
+     *
+     * <p>
+     * If this frameset has been created from a URL template, the returned list is a view whose
+     * URLs are computed when they are accessed.
+     * </p>
+     *
      * @return list of URLs to images with frames
      */
     public List<String> getUrls() {
-        return urls;
+        if (urls != null) {
+            return urls;
+        }
+        return new PageUrls(this);
+    }
+
+    /**
+     * @return the count of images with frames
+     */
+    public int getPageCount() {
+        if (urls != null) {
+            return urls.size();
+        }
+        final int framesPerPage = framesPerPageX * framesPerPageY;
+        if (framesPerPage <= 0) {
+            return 1;
+        }
+        return Math.max(1, (totalCount + framesPerPage - 1) / framesPerPage);
+    }
+
+    /**
+     * Get the URL of an image with frames.
+     *
+     * @param pageIndex the index of the image, from {@code 0} to {@link #getPageCount()}
+     *                  (exclusive)
+     * @return the URL of the image
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    @Nonnull
+    public String getPageUrl(final int pageIndex) {
+        if (urls != null) {
+            return urls.get(pageIndex);
+        }
+        if (pageIndex < 0 || pageIndex >= getPageCount()) {
+            throw new IndexOutOfBoundsException("Page index: " + pageIndex
+                    + ", page count: " + getPageCount());
+        }
+        return urlTemplate.replace(pageIndexPlaceholder, String.valueOf(pageIndex));
     }
 
     /**
@@ -110,24 +212,97 @@ public final class Frameset implements Serializable {
      * </ul>
      */
     public int[] getFrameBoundsAt(final long position) {
-        if (position < 0 || position > ((long) (totalCount + 1) * durationPerFrame)) {
-            // Return the first frame as fallback
-            return new int[] {0, 0, 0, frameWidth, frameHeight};
+        return getFrameBoundsAt(position, new int[FRAME_BOUNDS_SIZE]);
+    }
+
+    /**
+     * Writes the information for the frame at stream position in the given array, without
+     * allocating a new one.
+     *
+     * <p>
+     * This is meant to be called repeatedly while seeking, with the same array. The URL of the
+     * image containing the frame can then be get with {@link #getPageUrl(int)}.
+     * </p>
+     *
+     * @param position Position in milliseconds
+     * @param bounds an array of at least {@link #FRAME_BOUNDS_SIZE} elements, in which the index
+     *               of the URL and the bounds of the frame are written in the same order as in
+     *               the array returned by {@link #getFrameBoundsAt(long)}
+     * @return the given array
+     */
+    public int[] getFrameBoundsAt(final long position, @Nonnull final int[] bounds) {
+        final int absoluteFrameNumber = getFrameNumberAt(position);
+        if (absoluteFrameNumber == 0) {
+            // First frame, also used as fallback for invalid positions and framesets
+            bounds[0] = 0;
+            bounds[1] = 0;
+            bounds[2] = 0;
+            bounds[3] = frameWidth;
+            bounds[4] = frameHeight;
+            return bounds;
         }
 
         final int framesPerStoryboard = framesPerPageX * framesPerPageY;
-        final int absoluteFrameNumber = Math.min((int) (position / durationPerFrame), totalCount);
-
         final int relativeFrameNumber = absoluteFrameNumber % framesPerStoryboard;
 
-        final int rowIndex = Math.floorDiv(relativeFrameNumber, framesPerPageX);
-        final int columnIndex = relativeFrameNumber % framesPerPageY;
+        final int rowIndex = relativeFrameNumber / framesPerPageX;
+        final int columnIndex = relativeFrameNumber % framesPerPageX;
+
+        bounds[0] = absoluteFrameNumber / framesPerStoryboard;
+        bounds[1] = columnIndex * frameWidth;
+        bounds[2] = rowIndex * frameHeight;
+        bounds[3] = columnIndex * frameWidth + frameWidth;
+        bounds[4] = rowIndex * frameHeight + frameHeight;
+        return bounds;
+    }
+
+    /**
+     * Get the URL of the image containing the frame at stream position.
+     *
+     * @param position Position in milliseconds
+     * @return the URL of the image containing the frame
+     */
+    @Nonnull
+    public String getPageUrlAt(final long position) {
+        final int frameNumber = getFrameNumberAt(position);
+        final int pageIndex = frameNumber == 0
+                ? 0
+                : frameNumber / (framesPerPageX * framesPerPageY);
+        return getPageUrl(Math.min(pageIndex, getPageCount() - 1));
+    }
 
-        return new int[] {
-                /* storyboardIndex */ Math.floorDiv(absoluteFrameNumber, framesPerStoryboard),
-                /* left */ columnIndex * frameWidth,
-                /* top */ rowIndex * frameHeight,
-                /* right */ columnIndex * frameWidth + frameWidth,
-                /* bottom */ rowIndex * frameHeight + frameHeight };
+    /**
+     * @param position Position in milliseconds
+     * @return the number of the frame at stream position, or {@code 0} (the first frame) as
+     * fallback if the position is out of the stream or the frameset is invalid
+     */
+    private int getFrameNumberAt(final long position) {
+        if (position < 0 || durationPerFrame <= 0 || framesPerPageX <= 0 || framesPerPageY <= 0
+                || position > ((long) (totalCount + 1) * durationPerFrame)) {
+            return 0;
+        }
+        return (int) Math.min(position / durationPerFrame, Math.max(totalCount - 1, 0));
+    }
+
+    /**
+     * The URLs of the pages of a frameset created from a URL template, computed on access.
+     */
+    private static final class PageUrls extends AbstractList<String> implements Serializable {
+        @Nonnull
+        private final Frameset frameset;
+
+        PageUrls(@Nonnull final Frameset frameset) {
+            this.frameset = frameset;
+        }
+
+        @Override
+        public String get(final int index) {
+            return frameset.getPageUrl(index);
+        }
+
+        @Override
+        public int size() {
+            return frameset.getPageCount();
+        }
     }
 }
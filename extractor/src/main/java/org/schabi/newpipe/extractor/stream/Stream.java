@@ -64,6 +64,11 @@ public abstract class Stream implements Serializable {
     /**
      * Checks if the list already contains a stream with the same statistics.
      *
+     * <p>
+     * This method scans the whole list: use a {@link DistinctStreamsBuilder} to build lists of
+     * streams without similar streams.
+     * </p>
+     *
      * @param stream the stream to be compared against the streams in the stream list
      * @param streamList the list of {@link Stream}s which will be compared
      * @return whether the list already contains one stream with equals stats
@@ -105,6 +110,23 @@ public abstract class Stream implements Serializable {
                 && isUrl == other.isUrl;
     }
 
+    /**
+     * Get a hash code of the statistics of this stream, consistent with
+     * {@link #equalStats(Stream)}.
+     *
+     * <p>
+     * Streams with equal stats have the same stats hash code. Subclasses overriding
+     * {@link #equalStats(Stream)} must override this method too.
+     * </p>
+     *
+     * @return the hash code of the stats of this stream
+     */
+    public int statsHashCode() {
+        int result = mediaFormat == null ? FORMAT_ID_UNKNOWN : mediaFormat.id;
+        result = 31 * result + (deliveryMethod == null ? -1 : deliveryMethod.ordinal());
+        return 31 * result + Boolean.hashCode(isUrl);
+    }
+
     /**
      * Gets the identifier of this stream, e.g. the itag for YouTube.
      *
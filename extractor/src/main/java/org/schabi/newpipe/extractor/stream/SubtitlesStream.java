@@ -272,6 +272,15 @@ public final class SubtitlesStream extends Stream {
                 && autoGenerated == ((SubtitlesStream) cmp).autoGenerated;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int statsHashCode() {
+        return 31 * (31 * super.statsHashCode() + code.hashCode())
+                + Boolean.hashCode(autoGenerated);
+    }
+
     /**
      * Get the display language name of the subtitles.
      *
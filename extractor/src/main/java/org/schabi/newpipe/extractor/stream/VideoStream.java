@@ -333,6 +333,15 @@ public final class VideoStream extends Stream {
                 && isVideoOnly == ((VideoStream) cmp).isVideoOnly;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int statsHashCode() {
+        return 31 * (31 * super.statsHashCode() + resolution.hashCode())
+                + Boolean.hashCode(isVideoOnly);
+    }
+
     /**
      * Get the video resolution.
      *
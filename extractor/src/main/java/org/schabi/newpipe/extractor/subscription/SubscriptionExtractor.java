@@ -10,6 +10,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public abstract class SubscriptionExtractor {
 
@@ -96,4 +97,49 @@ public abstract class SubscriptionExtractor {
         throw new UnsupportedOperationException("Service " + service.getServiceInfo().getName()
                 + " doesn't support extracting from an InputStream");
     }
+
+    /**
+     * Get a {@link SubscriptionItemReader} which reads and parses {@link SubscriptionItem}s one by
+     * one from the given InputStream, without reading the whole InputStream first.
+     *
+     * <p>
+     * The default implementation reads all items with
+     * {@link #fromInputStream(InputStream, String)} before returning; services supporting
+     * incremental parsing override it.
+     * </p>
+     *
+     * @throws InvalidSourceException when the content read from the InputStream is invalid and can
+     *                                not be parsed
+     */
+    @Nonnull
+    public SubscriptionItemReader readerFromInputStream(
+            @Nonnull final InputStream contentInputStream,
+            @Nonnull final String contentType) throws ExtractionException {
+        return SubscriptionItemReader.of(fromInputStream(contentInputStream, contentType));
+    }
+
+    /**
+     * Reads and parse {@link SubscriptionItem}s from the given InputStream, passing each of them
+     * to the given consumer as soon as it has been read.
+     *
+     * <p>
+     * This allows to handle the items while the InputStream is still being read, and does not
+     * keep all the items in memory.
+     * </p>
+     *
+     * @throws InvalidSourceException when the content read from the InputStream is invalid and can
+     *                                not be parsed
+     * @see #readerFromInputStream(InputStream, String)
+     */
+    public void fromInputStream(@Nonnull final InputStream contentInputStream,
+                                @Nonnull final String contentType,
+                                @Nonnull final Consumer<? super SubscriptionItem> consumer)
+            throws ExtractionException {
+        try (SubscriptionItemReader reader =
+                     readerFromInputStream(contentInputStream, contentType)) {
+            reader.forEachRemaining(consumer);
+        } catch (final IOException e) {
+            throw new InvalidSourceException("Error closing input stream", e);
+        }
+    }
 }
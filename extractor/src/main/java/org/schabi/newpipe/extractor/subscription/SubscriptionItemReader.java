@@ -0,0 +1,156 @@
+package org.schabi.newpipe.extractor.subscription;
+
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Reads {@link SubscriptionItem}s one by one from a source, such as a file exported by a
+ * service, without reading the whole source first.
+ *
+ * <p>
+ * Items can be handled while the source is still being read, e.g. while it is being uploaded,
+ * and large sources are never buffered entirely. Readers must be {@link #close() closed} once
+ * they are not needed anymore, in order to close their source.
+ * </p>
+ *
+ * @see SubscriptionExtractor#readerFromInputStream(java.io.InputStream, String)
+ */
+public abstract class SubscriptionItemReader implements Closeable {
+
+    /**
+     * Read the next subscription item of the source.
+     *
+     * @return the next subscription item, or {@code null} if all items have been read
+     * @throws SubscriptionExtractor.InvalidSourceException when the content read is invalid and
+     *                                                      can not be parsed
+     */
+    @Nullable
+    public abstract SubscriptionItem read() throws ExtractionException;
+
+    /**
+     * Read all the remaining subscription items of the source and pass each of them to the given
+     * consumer as soon as it has been read.
+     *
+     * @param consumer the consumer of the subscription items
+     * @throws SubscriptionExtractor.InvalidSourceException when the content read is invalid and
+     *                                                      can not be parsed
+     */
+    public void forEachRemaining(@Nonnull final Consumer<? super SubscriptionItem> consumer)
+            throws ExtractionException {
+        SubscriptionItem item;
+        while ((item = read()) != null) {
+            consumer.accept(item);
+        }
+    }
+
+    /**
+     * Read all the remaining subscription items of the source.
+     *
+     * @return a list of the subscription items read
+     * @throws SubscriptionExtractor.InvalidSourceException when the content read is invalid and
+     *                                                      can not be parsed
+     */
+    @Nonnull
+    public List<SubscriptionItem> readAll() throws ExtractionException {
+        final List<SubscriptionItem> subscriptionItems = new ArrayList<>();
+        forEachRemaining(subscriptionItems::add);
+        return subscriptionItems;
+    }
+
+    /**
+     * Get an {@link Iterator} over the remaining subscription items of the source.
+     *
+     * <p>
+     * Errors thrown while reading the source are thrown by {@link Iterator#hasNext()} as
+     * {@link ReadException}s.
+     * </p>
+     *
+     * @return an iterator over the remaining subscription items
+     */
+    @Nonnull
+    public Iterator<SubscriptionItem> iterator() {
+        return new Iterator<>() {
+            @Nullable
+            private SubscriptionItem next = null;
+            private boolean finished = false;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !finished) {
+                    try {
+                        next = read();
+                    } catch (final ExtractionException e) {
+                        finished = true;
+                        throw new ReadException(e);
+                    }
+                    finished = next == null;
+                }
+                return next != null;
+            }
+
+            @Override
+            public SubscriptionItem next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                final SubscriptionItem item = next;
+                next = null;
+                return item;
+            }
+        };
+    }
+
+    /**
+     * Close the source of this reader.
+     *
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     */
+    @Override
+    public void close() throws IOException {
+    }
+
+    /**
+     * Get a reader over subscription items which have already been read.
+     *
+     * @param items the subscription items
+     * @return a reader returning the given subscription items
+     */
+    @Nonnull
+    public static SubscriptionItemReader of(@Nonnull final List<SubscriptionItem> items) {
+        final Iterator<SubscriptionItem> iterator = items.iterator();
+        return new SubscriptionItemReader() {
+            @Nullable
+            @Override
+            public SubscriptionItem read() {
+                return iterator.hasNext() ? iterator.next() : null;
+            }
+        };
+    }
+
+    /**
+     * Unchecked exception thrown by the {@link #iterator() iterator} of a
+     * {@link SubscriptionItemReader} when its source could not be read.
+     */
+    public static final class ReadException extends RuntimeException {
+        public ReadException(final ExtractionException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized ExtractionException getCause() {
+            return (ExtractionException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package org.schabi.newpipe.extractor.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A scanner of CSV records, reading UTF-8 encoded bytes from an {@link InputStream}.
+ *
+ * <p>
+ * Records are scanned directly in a byte buffer: the scanner only stores the positions of the
+ * fields of the current record, and fields are decoded to {@link String}s only when they are
+ * requested with {@link #getField(int)}. Fields can also be compared to byte prefixes without
+ * decoding them with {@link #fieldStartsWith(int, byte[])}.
+ * </p>
+ *
+ * <p>
+ * Fields can be quoted as described in <a href="https://www.rfc-editor.org/rfc/rfc4180">RFC
+ * 4180</a>: quoted fields may contain commas, line breaks and quotes escaped by doubling them.
+ * Records can be separated by {@code \n}, {@code \r\n} or {@code \r}, and a UTF-8 byte order
+ * mark at the start of the stream is ignored.
+ * </p>
+ *
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public final class CsvScanner {
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int INITIAL_MAX_FIELD_COUNT = 8;
+
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @Nonnull
+    private final InputStream inputStream;
+    @Nonnull
+    private byte[] buffer;
+    private int position = 0;
+    private int limit = 0;
+    private boolean endOfStream = false;
+    private boolean startOfStream = true;
+    private boolean skipLineFeed = false;
+
+    private int recordStart = 0;
+    private int fieldCount = 0;
+    @Nonnull
+    private int[] fieldStarts = new int[INITIAL_MAX_FIELD_COUNT];
+    @Nonnull
+    private int[] fieldEnds = new int[INITIAL_MAX_FIELD_COUNT];
+    @Nonnull
+    private boolean[] fieldsWithEscapedQuotes = new boolean[INITIAL_MAX_FIELD_COUNT];
+
+    /**
+     * Create a new scanner of the CSV records of the given stream.
+     *
+     * <p>
+     * The stream is not closed by the scanner.
+     * </p>
+     *
+     * @param inputStream the stream of UTF-8 encoded CSV content
+     */
+    public CsvScanner(@Nonnull final InputStream inputStream) {
+        this(inputStream, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Create a new scanner of the CSV records of the given stream, using a buffer of the given
+     * initial size.
+     *
+     * <p>
+     * The buffer grows if a record does not fit in it.
+     * </p>
+     *
+     * @param inputStream       the stream of UTF-8 encoded CSV content
+     * @param initialBufferSize the initial size of the buffer, which must be positive
+     */
+    public CsvScanner(@Nonnull final InputStream inputStream, final int initialBufferSize) {
+        if (initialBufferSize <= 0) {
+            throw new IllegalArgumentException("Invalid buffer size: " + initialBufferSize);
+        }
+        this.inputStream = inputStream;
+        this.buffer = new byte[initialBufferSize];
+    }
+
+    /**
+     * Scan the next record.
+     *
+     * <p>
+     * Empty lines are returned as records with a single empty field.
+     * </p>
+     *
+     * @return whether a record has been scanned, {@code false} if the end of the stream has been
+     * reached
+     * @throws IOException if the stream could not be read
+     */
+    public boolean nextRecord() throws IOException {
+        fieldCount = 0;
+        if (startOfStream) {
+            startOfStream = false;
+            skipByteOrderMark();
+        }
+        if (skipLineFeed) {
+            skipLineFeed = false;
+            if (ensureAvailable() && buffer[position] == '\n') {
+                position++;
+            }
+        }
+        recordStart = position;
+        if (!ensureAvailable()) {
+            return false;
+        }
+
+        int fieldStart = position;
+        boolean quoted = false;
+        boolean escapedQuotes = false;
+        // End of a quoted field, after its closing quote has been found
+        int quotedFieldEnd = -1;
+
+        while (true) {
+            if (position == limit) {
+                final int shift = recordStart;
+                final boolean hasNextByte = fill();
+                fieldStart -= shift - recordStart;
+                if (quotedFieldEnd != -1) {
+                    quotedFieldEnd -= shift - recordStart;
+                }
+                if (!hasNextByte) {
+                    // End of stream: the last record has no line break
+                    addField(fieldStart, quotedFieldEnd == -1 ? position : quotedFieldEnd,
+                            escapedQuotes);
+                    return true;
+                }
+            }
+
+            final byte b = buffer[position];
+            if (quoted && quotedFieldEnd == -1) {
+                if (b == '"') {
+                    // Either an escaped quote or the closing quote, depending on the next byte
+                    if (position + 1 == limit) {
+                        final int shift = recordStart;
+                        final boolean hasNextByte = fill();
+                        fieldStart -= shift - recordStart;
+                        if (!hasNextByte) {
+                            quotedFieldEnd = position;
+                            position++;
+                            continue;
+                        }
+                    }
+                    if (buffer[position + 1] == '"') {
+                        escapedQuotes = true;
+                        position += 2;
+                    } else {
+                        quotedFieldEnd = position;
+                        position++;
+                    }
+                } else {
+                    position++;
+                }
+            } else if (b == ',') {
+                addField(fieldStart, quotedFieldEnd == -1 ? position : quotedFieldEnd,
+                        escapedQuotes);
+                position++;
+                fieldStart = position;
+                quoted = false;
+                escapedQuotes = false;
+                quotedFieldEnd = -1;
+            } else if (b == '\n' || b == '\r') {
+                addField(fieldStart, quotedFieldEnd == -1 ? position : quotedFieldEnd,
+                        escapedQuotes);
+                position++;
+                skipLineFeed = b == '\r';
+                return true;
+            } else if (b == '"' && position == fieldStart) {
+                quoted = true;
+                position++;
+                fieldStart = position;
+            } else {
+                // Bytes after the closing quote of a quoted field are ignored
+                position++;
+            }
+        }
+    }
+
+    /**
+     * @return the number of fields of the current record
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Get a field of the current record, without its quotes.
+     *
+     * @param index the index of the field
+     * @return the decoded content of the field
+     */
+    @Nonnull
+    public String getField(final int index) {
+        return getField(index, 0);
+    }
+
+    /**
+     * Get a field of the current record, without its quotes and its first bytes.
+     *
+     * @param index           the index of the field
+     * @param beginByteOffset the number of bytes of the field to skip, e.g. the length of a
+     *                        prefix checked with {@link #fieldStartsWith(int, byte[])}
+     * @return the decoded content of the field, from the given offset
+     */
+    @Nonnull
+    public String getField(final int index, final int beginByteOffset) {
+        checkFieldIndex(index);
+        final int start = fieldStarts[index] + beginByteOffset;
+        final String field = new String(buffer, start, fieldEnds[index] - start,
+                StandardCharsets.UTF_8);
+        return fieldsWithEscapedQuotes[index] ? field.replace("\"\"", "\"") : field;
+    }
+
+    /**
+     * @param index the index of the field
+     * @return the length of a field of the current record in bytes, without its quotes
+     */
+    public int getFieldByteLength(final int index) {
+        checkFieldIndex(index);
+        return fieldEnds[index] - fieldStarts[index];
+    }
+
+    /**
+     * Check whether a field of the current record starts with the given bytes, without decoding
+     * it.
+     *
+     * @param index  the index of the field
+     * @param prefix the UTF-8 encoded prefix
+     * @return whether the field starts with the given prefix
+     */
+    public boolean fieldStartsWith(final int index, @Nonnull final byte[] prefix) {
+        checkFieldIndex(index);
+        final int start = fieldStarts[index];
+        if (fieldEnds[index] - start < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (buffer[start + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkFieldIndex(final int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field index: " + index
+                    + ", field count: " + fieldCount);
+        }
+    }
+
+    private void addField(final int start, final int end, final boolean escapedQuotes) {
+        if (fieldCount == fieldStarts.length) {
+            final int newLength = fieldCount * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, newLength);
+            fieldEnds = Arrays.copyOf(fieldEnds, newLength);
+            fieldsWithEscapedQuotes = Arrays.copyOf(fieldsWithEscapedQuotes, newLength);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldsWithEscapedQuotes[fieldCount] = escapedQuotes;
+        fieldCount++;
+    }
+
+    private void skipByteOrderMark() throws IOException {
+        while (limit - position < UTF8_BOM.length && !endOfStream) {
+            fill();
+        }
+        if (limit - position >= UTF8_BOM.length
+                && buffer[position] == UTF8_BOM[0]
+                && buffer[position + 1] == UTF8_BOM[1]
+                && buffer[position + 2] == UTF8_BOM[2]) {
+            position += UTF8_BOM.length;
+        }
+    }
+
+    /**
+     * @return whether at least one byte is available at the current position
+     */
+    private boolean ensureAvailable() throws IOException {
+        return position < limit || fill();
+    }
+
+    /**
+     * Read more bytes from the stream, keeping the bytes of the current record in the buffer.
+     *
+     * <p>
+     * The bytes of the current record are moved to the start of the buffer, which grows if the
+     * record fills it entirely. Positions of the current record are shifted accordingly, except
+     * the local ones of {@link #nextRecord()}, which are shifted by the caller.
+     * </p>
+     *
+     * @return whether bytes have been read, {@code false} if the end of the stream has been
+     * reached
+     */
+    private boolean fill() throws IOException {
+        if (endOfStream) {
+            return false;
+        }
+
+        final int shift = recordStart;
+        if (shift > 0) {
+            System.arraycopy(buffer, shift, buffer, 0, limit - shift);
+            limit -= shift;
+            position -= shift;
+            recordStart = 0;
+            for (int i = 0; i < fieldCount; i++) {
+                fieldStarts[i] -= shift;
+                fieldEnds[i] -= shift;
+            }
+        } else if (limit == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+
+        final int read = inputStream.read(buffer, limit, buffer.length - limit);
+        if (read == -1) {
+            endOfStream = true;
+            return false;
+        }
+        limit += read;
+        return true;
+    }
+}
@@ -0,0 +1,257 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.ExtractionContext;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache whose values expire after a time to live.
+ *
+ * <p>
+ * Values are loaded by the first thread requesting them; other threads requesting the same key
+ * in the meantime wait for that load instead of starting new ones. Failed loads are not cached.
+ * </p>
+ *
+ * <p>
+ * Once a value is older than the refresh delay of the cache, it is still returned, but it is
+ * loaded again in the background, so that frequently used values are replaced before they
+ * expire. The value is refreshed with the {@link ExtractionContext context} of the thread which
+ * requested it, on the executor of the cache or, if there is none, on the
+ * {@link ExtractionContext#getExecutor() executor of that context}. When the cache is full, the
+ * least recently used value is removed.
+ * </p>
+ *
+ * @param <K> the type of the keys of the cache
+ * @param <V> the type of the values of the cache
+ */
+public final class ExpiringCache<K, V> {
+
+    /**
+     * Loads the value of a key of an {@link ExpiringCache}.
+     *
+     * @param <V> the type of the value
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        @Nonnull
+        V load() throws IOException, ExtractionException;
+    }
+
+    @Nonnull
+    private final String name;
+    private final long timeToLiveNanos;
+    private final long refreshDelayNanos;
+    @Nullable
+    private final Executor refreshExecutor;
+    @Nonnull
+    private final LongSupplier nanoTime;
+    private final Map<K, CacheEntry<V>> entries;
+
+    /**
+     * Create a cache whose values are refreshed on the executor of the context of the thread
+     * requesting them.
+     *
+     * @param name         the name of the cache, reported to the
+     *                     {@link NewPipe#getExtractionListener() extraction listener}
+     * @param timeToLive   the time after which values are loaded again before being returned
+     * @param refreshDelay the time after which values are loaded again in the background, which
+     *                     should be less than {@code timeToLive} to have an effect
+     * @param unit         the unit of {@code timeToLive} and {@code refreshDelay}
+     * @param maximumSize  the maximum number of values in the cache
+     */
+    public ExpiringCache(@Nonnull final String name,
+                         final long timeToLive,
+                         final long refreshDelay,
+                         @Nonnull final TimeUnit unit,
+                         final int maximumSize) {
+        this(name, unit.toNanos(timeToLive), unit.toNanos(refreshDelay), maximumSize, null,
+                System::nanoTime);
+    }
+
+    /**
+     * Create a cache whose values are refreshed on the given executor.
+     *
+     * @param name            the name of the cache, reported to the
+     *                        {@link NewPipe#getExtractionListener() extraction listener}
+     * @param timeToLive      the time after which values are loaded again before being returned
+     * @param refreshDelay    the time after which values are loaded again in the background,
+     *                        which should be less than {@code timeToLive} to have an effect
+     * @param unit            the unit of {@code timeToLive} and {@code refreshDelay}
+     * @param maximumSize     the maximum number of values in the cache
+     * @param refreshExecutor the executor on which values are loaded in the background
+     */
+    public ExpiringCache(@Nonnull final String name,
+                         final long timeToLive,
+                         final long refreshDelay,
+                         @Nonnull final TimeUnit unit,
+                         final int maximumSize,
+                         @Nonnull final Executor refreshExecutor) {
+        this(name, unit.toNanos(timeToLive), unit.toNanos(refreshDelay), maximumSize,
+                refreshExecutor, System::nanoTime);
+    }
+
+    ExpiringCache(@Nonnull final String name,
+                  final long timeToLiveNanos,
+                  final long refreshDelayNanos,
+                  final int maximumSize,
+                  @Nullable final Executor refreshExecutor,
+                  @Nonnull final LongSupplier nanoTime) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum size");
+        }
+        this.name = name;
+        this.timeToLiveNanos = timeToLiveNanos;
+        this.refreshDelayNanos = refreshDelayNanos;
+        this.refreshExecutor = refreshExecutor;
+        this.nanoTime = nanoTime;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, CacheEntry<V>> eldest) {
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Get the value of a key, loading it if it is not cached or if it has expired.
+     *
+     * @param key    the key
+     * @param loader the loader of the value of the key, which is also used to refresh it in the
+     *               background
+     * @return the value of the key
+     * @throws IOException         if the value was not cached and could not be loaded because of
+     *                             a network error
+     * @throws ExtractionException if the value was not cached and could not be loaded
+     */
+    @Nonnull
+    public V get(@Nonnull final K key, @Nonnull final Loader<V> loader)
+            throws IOException, ExtractionException {
+        final long now = nanoTime.getAsLong();
+        final CacheEntry<V> entry;
+        final boolean loadHere;
+        synchronized (entries) {
+            final CacheEntry<V> cached = entries.get(key);
+            if (cached != null && (!cached.value.isDone()
+                    || now - cached.loadedAt < timeToLiveNanos)) {
+                entry = cached;
+                loadHere = false;
+            } else {
+                entry = new CacheEntry<>(now);
+                entries.put(key, entry);
+                loadHere = true;
+            }
+        }
+        NewPipe.getExtractionListener().onCacheAccess(name, !loadHere);
+
+        if (loadHere) {
+            load(key, entry, loader);
+        } else if (entry.value.isDone() && now - entry.loadedAt >= refreshDelayNanos
+                && entry.refreshing.compareAndSet(false, true)) {
+            final ExtractionContext context = ExtractionContext.current();
+            final Executor executor =
+                    refreshExecutor == null ? context.getExecutor() : refreshExecutor;
+            executor.execute(context.wrap(() -> {
+                final CacheEntry<V> refreshed = new CacheEntry<>(nanoTime.getAsLong());
+                load(key, refreshed, loader);
+                synchronized (entries) {
+                    if (!refreshed.value.isCompletedExceptionally()
+                            && entries.get(key) == entry) {
+                        entries.put(key, refreshed);
+                    }
+                }
+                entry.refreshing.set(false);
+            }));
+        }
+
+        try {
+            return entry.value.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof ExtractionException) {
+                throw (ExtractionException) e.getCause();
+            }
+            throw new ExtractionException(e.getCause());
+        }
+    }
+
+    /**
+     * @return the cached value of the key, or {@code null} if it is not cached, has expired or
+     * is being loaded
+     */
+    @Nullable
+    public V getIfPresent(@Nonnull final K key) {
+        final CacheEntry<V> entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry == null || !entry.value.isDone() || entry.value.isCompletedExceptionally()
+                || nanoTime.getAsLong() - entry.loadedAt >= timeToLiveNanos) {
+            return null;
+        }
+        return entry.value.join();
+    }
+
+    /**
+     * Remove the value of a key from the cache.
+     */
+    public void invalidate(@Nonnull final K key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /**
+     * Remove all values from the cache.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * @return the number of values in the cache, including expired ones and values being loaded
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void load(@Nonnull final K key,
+                      @Nonnull final CacheEntry<V> entry,
+                      @Nonnull final Loader<V> loader) {
+        try {
+            entry.value.complete(loader.load());
+        } catch (final Exception e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.value.completeExceptionally(e);
+        }
+    }
+
+    private static final class CacheEntry<V> {
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+        private final long loadedAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        CacheEntry(final long loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+    }
+}
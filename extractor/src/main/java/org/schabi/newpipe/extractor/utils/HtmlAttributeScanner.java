@@ -0,0 +1,187 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.jsoup.parser.Parser;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Utility class to find attributes in HTML documents without parsing them into a DOM.
+ *
+ * <p>
+ * Tags are scanned in document order. Comments, end tags, declarations and the contents of raw
+ * text elements (such as {@code script} and {@code style}) are skipped, so that text looking like
+ * an attribute in them is never returned.
+ * </p>
+ */
+public final class HtmlAttributeScanner {
+    // Elements whose content is not parsed as HTML
+    private static final String[] RAW_TEXT_ELEMENTS = {
+            "script", "style", "textarea", "title", "xmp", "iframe", "noembed", "noframes"};
+
+    private HtmlAttributeScanner() {
+    }
+
+    /**
+     * Get the value of an attribute of the first element which has it, like
+     * {@code Jsoup.parse(html).getElementsByAttribute(name).attr(name)} does.
+     *
+     * @param html          the HTML document
+     * @param attributeName the name of the attribute, which is compared ignoring case
+     * @return the value of the attribute with its character references decoded, or {@code null}
+     * if no element has this attribute
+     */
+    @Nullable
+    public static String getFirstAttributeValue(@Nonnull final String html,
+                                                @Nonnull final String attributeName) {
+        final int length = html.length();
+        int position = 0;
+
+        while (true) {
+            position = html.indexOf('<', position);
+            if (position == -1 || position + 1 >= length) {
+                return null;
+            }
+
+            final char next = html.charAt(position + 1);
+            if (html.startsWith("<!--", position)) {
+                final int commentEnd = html.indexOf("-->", position + 4);
+                if (commentEnd == -1) {
+                    return null;
+                }
+                position = commentEnd + 3;
+            } else if (next == '/' || next == '!' || next == '?') {
+                // End tag, declaration or processing instruction
+                position = skipTag(html, position + 2);
+            } else if (isAsciiLetter(next)) {
+                final int tagNameStart = position + 1;
+                position = tagNameStart;
+                while (position < length && !isTagNameEnd(html.charAt(position))) {
+                    position++;
+                }
+                final String tagName = html.substring(tagNameStart, position);
+
+                // Scan the attributes of the tag
+                while (true) {
+                    while (position < length && (isWhitespace(html.charAt(position))
+                            || html.charAt(position) == '/')) {
+                        position++;
+                    }
+                    if (position >= length) {
+                        return null;
+                    }
+                    if (html.charAt(position) == '>') {
+                        position++;
+                        break;
+                    }
+
+                    final int nameStart = position;
+                    while (position < length && !isAttributeNameEnd(html.charAt(position))) {
+                        position++;
+                    }
+                    final boolean nameMatches = position - nameStart == attributeName.length()
+                            && html.regionMatches(true, nameStart, attributeName, 0,
+                            attributeName.length());
+
+                    while (position < length && isWhitespace(html.charAt(position))) {
+                        position++;
+                    }
+                    if (position >= length || html.charAt(position) != '=') {
+                        // Attribute without value
+                        if (nameMatches) {
+                            return "";
+                        }
+                        continue;
+                    }
+                    position++;
+                    while (position < length && isWhitespace(html.charAt(position))) {
+                        position++;
+                    }
+
+                    final int valueStart;
+                    final int valueEnd;
+                    if (position < length && (html.charAt(position) == '"'
+                            || html.charAt(position) == '\'')) {
+                        valueStart = position + 1;
+                        final int closingQuote = html.indexOf(html.charAt(position), valueStart);
+                        valueEnd = closingQuote == -1 ? length : closingQuote;
+                        position = valueEnd + 1;
+                    } else {
+                        valueStart = position;
+                        while (position < length && !isWhitespace(html.charAt(position))
+                                && html.charAt(position) != '>') {
+                            position++;
+                        }
+                        valueEnd = position;
+                    }
+
+                    if (nameMatches) {
+                        return decode(html.substring(valueStart, valueEnd));
+                    }
+                }
+
+                if (isRawTextElement(tagName)) {
+                    position = skipRawText(html, position, tagName);
+                }
+            } else {
+                // Not a tag, e.g. a "<" in text
+                position++;
+            }
+        }
+    }
+
+    @Nonnull
+    private static String decode(@Nonnull final String value) {
+        return value.indexOf('&') == -1 ? value : Parser.unescapeEntities(value, true);
+    }
+
+    /**
+     * @return the position after the end of the tag starting before the given position
+     */
+    private static int skipTag(@Nonnull final String html, final int position) {
+        final int tagEnd = html.indexOf('>', position);
+        return tagEnd == -1 ? html.length() : tagEnd + 1;
+    }
+
+    /**
+     * @return the position of the end tag of the given raw text element, starting the search at
+     * the given position
+     */
+    private static int skipRawText(@Nonnull final String html,
+                                   final int position,
+                                   @Nonnull final String tagName) {
+        int endTag = html.indexOf("</", position);
+        while (endTag != -1) {
+            if (html.regionMatches(true, endTag + 2, tagName, 0, tagName.length())) {
+                return endTag;
+            }
+            endTag = html.indexOf("</", endTag + 2);
+        }
+        return html.length();
+    }
+
+    private static boolean isRawTextElement(@Nonnull final String tagName) {
+        for (final String element : RAW_TEXT_ELEMENTS) {
+            if (element.equalsIgnoreCase(tagName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isAsciiLetter(final char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isWhitespace(final char c) {
+        return c == ' ' || c == '\n' || c == '\t' || c == '\r' || c == '\f';
+    }
+
+    private static boolean isTagNameEnd(final char c) {
+        return isWhitespace(c) || c == '/' || c == '>';
+    }
+
+    private static boolean isAttributeNameEnd(final char c) {
+        return isWhitespace(c) || c == '/' || c == '>' || c == '=';
+    }
+}
@@ -0,0 +1,212 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.Image;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A shared cache of the {@link Image} lists created by the services' parsing helpers.
+ *
+ * <p>
+ * The same images, such as the avatar of an uploader, are usually returned many times in a single
+ * page of comments or search results, and again in the following pages. Instead of keeping one
+ * copy of the same list of {@link Image}s per item, equal lists are deduplicated, so that
+ * {@link org.schabi.newpipe.extractor.Info Info} and
+ * {@link org.schabi.newpipe.extractor.InfoItem InfoItem} objects kept in memory by clients share
+ * them.
+ * </p>
+ *
+ * <p>
+ * Lists derived from a base URL and a constant list of {@link ImageSuffix}es are looked up before
+ * being built, so that a cache hit costs no {@link Image} nor URL allocation.
+ * </p>
+ *
+ * <p>
+ * The cache is bounded: it is cleared when it reaches its {@link #getMaximumSize() maximum size}.
+ * All lists returned by this class are unmodifiable and can be used concurrently.
+ * </p>
+ */
+public final class ImageInterner {
+
+    /**
+     * The default maximum number of image lists kept by the interner.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 4096;
+
+    private static final Map<List<Image>, List<Image>> IMAGE_LISTS = new ConcurrentHashMap<>();
+    private static final Map<SuffixedImagesKey, List<Image>> SUFFIXED_IMAGE_LISTS =
+            new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = true;
+    private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+    private ImageInterner() {
+    }
+
+    /**
+     * Get the shared instance of a list of images equal to the given one.
+     *
+     * @param images a list of images, which should not be modified after having been passed to
+     *               this method
+     * @return an unmodifiable list equal to {@code images}, which may be shared with other callers
+     */
+    @Nonnull
+    public static List<Image> intern(@Nonnull final List<Image> images) {
+        if (images.isEmpty()) {
+            return List.of();
+        }
+
+        final List<Image> unmodifiableImages = List.copyOf(images);
+        if (!enabled) {
+            return unmodifiableImages;
+        }
+
+        ensureCapacity(IMAGE_LISTS);
+        final List<Image> previous = IMAGE_LISTS.putIfAbsent(unmodifiableImages,
+                unmodifiableImages);
+        return previous == null ? unmodifiableImages : previous;
+    }
+
+    /**
+     * Get the images available for each of the given suffixes of a base URL.
+     *
+     * <p>
+     * If a list was already built with the same base URL and the same suffixes list instance, it
+     * is returned directly. This is why {@code imageSuffixes} must be a constant list.
+     * </p>
+     *
+     * @param baseUrl       the base URL of the image, identifying it among all images of a
+     *                      service with the given suffixes
+     * @param imageSuffixes a constant list of suffixes
+     * @param urlBuilder    a function building the URL of the image for a given suffix
+     * @return an unmodifiable list of one {@link Image} per suffix, which may be shared with
+     * other callers
+     */
+    @Nonnull
+    public static List<Image> getImagesFromSuffixes(
+            @Nonnull final String baseUrl,
+            @Nonnull final List<ImageSuffix> imageSuffixes,
+            @Nonnull final Function<ImageSuffix, String> urlBuilder) {
+        if (!enabled) {
+            return buildImagesFromSuffixes(imageSuffixes, urlBuilder);
+        }
+
+        final SuffixedImagesKey key = new SuffixedImagesKey(baseUrl, imageSuffixes);
+        final List<Image> cachedImages = SUFFIXED_IMAGE_LISTS.get(key);
+        if (cachedImages != null) {
+            return cachedImages;
+        }
+
+        ensureCapacity(SUFFIXED_IMAGE_LISTS);
+        final List<Image> images = buildImagesFromSuffixes(imageSuffixes, urlBuilder);
+        final List<Image> previous = SUFFIXED_IMAGE_LISTS.putIfAbsent(key, images);
+        return previous == null ? images : previous;
+    }
+
+    /**
+     * Enable or disable the interning of image lists.
+     *
+     * <p>
+     * When disabled, a new list is returned on each call and the cache is emptied.
+     * </p>
+     *
+     * @param enable whether image lists should be interned, which is the default
+     */
+    public static void setEnabled(final boolean enable) {
+        enabled = enable;
+        if (!enable) {
+            clear();
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set the maximum number of image lists kept in each of the caches of the interner.
+     *
+     * @param maximumSize the new maximum size of the cache, which must be strictly positive
+     */
+    public static void setMaximumSize(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum size");
+        }
+        ImageInterner.maximumSize = maximumSize;
+    }
+
+    public static int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of image lists currently kept by the interner
+     */
+    public static int size() {
+        return IMAGE_LISTS.size() + SUFFIXED_IMAGE_LISTS.size();
+    }
+
+    /**
+     * Remove all the image lists kept by the interner.
+     */
+    public static void clear() {
+        IMAGE_LISTS.clear();
+        SUFFIXED_IMAGE_LISTS.clear();
+    }
+
+    private static void ensureCapacity(@Nonnull final Map<?, ?> cache) {
+        if (cache.size() >= maximumSize) {
+            // Lists already returned are still valid, they are only not shared anymore with
+            // future callers
+            cache.clear();
+        }
+    }
+
+    @Nonnull
+    private static List<Image> buildImagesFromSuffixes(
+            @Nonnull final List<ImageSuffix> imageSuffixes,
+            @Nonnull final Function<ImageSuffix, String> urlBuilder) {
+        return imageSuffixes.stream()
+                .map(imageSuffix -> new Image(urlBuilder.apply(imageSuffix),
+                        imageSuffix.getHeight(), imageSuffix.getWidth(),
+                        imageSuffix.getResolutionLevel()))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    private static final class SuffixedImagesKey {
+        @Nonnull
+        private final String baseUrl;
+        @Nonnull
+        private final List<ImageSuffix> imageSuffixes;
+
+        SuffixedImagesKey(@Nonnull final String baseUrl,
+                          @Nonnull final List<ImageSuffix> imageSuffixes) {
+            this.baseUrl = baseUrl;
+            this.imageSuffixes = imageSuffixes;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SuffixedImagesKey)) {
+                return false;
+            }
+            final SuffixedImagesKey that = (SuffixedImagesKey) o;
+            // Suffixes lists are constants, so comparing them by identity is enough
+            return imageSuffixes == that.imageSuffixes && baseUrl.equals(that.baseUrl);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * baseUrl.hashCode() + System.identityHashCode(imageSuffixes);
+        }
+    }
+}
@@ -0,0 +1,585 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.Image;
+import org.schabi.newpipe.extractor.Image.ResolutionLevel;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.channel.ChannelInfoItem;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfoItem;
+import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A compact binary codec for lists of {@link InfoItem}s, meant to be used by clients caching
+ * extraction results instead of the default Java serialization.
+ *
+ * <p>
+ * The format is versioned and is made of a header followed by the items:
+ * </p>
+ * <ul>
+ *     <li>strings, such as URLs, names and enum constant names, are written once and then
+ *     referenced by their index in a table built while encoding and decoding, so the same
+ *     uploader URL or avatar URL repeated across a page costs a few bytes per occurrence;</li>
+ *     <li>new strings are written as the length of the prefix they share with the previous new
+ *     string of the same property followed by the rest of the string, as the URLs of consecutive
+ *     items usually only differ by an ID;</li>
+ *     <li>integers and counts are written as variable length integers, zigzag encoded when they
+ *     can be negative (e.g. {@code -1} for unknown values);</li>
+ *     <li>dates are written as epoch seconds and nanoseconds, as {@link DateWrapper}s are always
+ *     in UTC;</li>
+ *     <li>boolean properties of an item are packed in a single byte.</li>
+ * </ul>
+ *
+ * <p>
+ * {@link StreamInfoItem}s, {@link ChannelInfoItem}s and {@link PlaylistInfoItem}s are supported.
+ * Decoding an encoded list gives back items with the same properties.
+ * </p>
+ */
+public final class InfoItemCodec {
+
+    /**
+     * The version of the format written by this codec.
+     */
+    public static final int FORMAT_VERSION = 1;
+
+    private static final int MAGIC = 0x4E50_4943; // "NPIC"
+
+    // String references: 0 is null, 1 is a new string written inline, n >= 2 is table entry n - 2
+    private static final int STRING_NULL = 0;
+    private static final int STRING_NEW = 1;
+    private static final int STRING_REFERENCE_OFFSET = 2;
+
+    /**
+     * The maximum number of bytes of a string allocated before they have been read, so that a
+     * corrupted string length can't make the decoder allocate a huge array.
+     */
+    private static final int STRING_CHUNK_SIZE = 8192;
+
+    // Fields whose new strings are written relative to the previous new string of the same field
+    private static final int FIELD_ENUM = 0;
+    private static final int FIELD_URL = 1;
+    private static final int FIELD_NAME = 2;
+    private static final int FIELD_IMAGE_URL = 3;
+    private static final int FIELD_UPLOADER_NAME = 4;
+    private static final int FIELD_UPLOADER_URL = 5;
+    private static final int FIELD_DESCRIPTION = 6;
+    private static final int FIELD_TEXTUAL_DATE = 7;
+    private static final int FIELD_COUNT = 8;
+
+    private static final int FLAG_UPLOADER_VERIFIED = 1;
+    private static final int FLAG_SHORT_FORM_CONTENT = 1 << 1;
+    private static final int FLAG_HAS_UPLOAD_DATE = 1 << 2;
+    private static final int FLAG_UPLOAD_DATE_APPROXIMATION = 1 << 3;
+    private static final int FLAG_VERIFIED = 1;
+    private static final int FLAG_HAS_DESCRIPTION = 1 << 1;
+
+    private InfoItemCodec() {
+    }
+
+    /**
+     * Encode the given items to a byte array.
+     *
+     * @param items the items to encode, whose {@link InfoItem.InfoType type} must not be
+     *              {@link InfoItem.InfoType#COMMENT}
+     * @return the encoded items
+     */
+    @Nonnull
+    public static byte[] encode(@Nonnull final List<? extends InfoItem> items) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            encode(items, outputStream);
+        } catch (final IOException e) {
+            // Cannot happen with a ByteArrayOutputStream
+            throw new IllegalStateException(e);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Encode the given items to an {@link OutputStream}, which is flushed but not closed.
+     *
+     * @param items        the items to encode, whose {@link InfoItem.InfoType type} must not be
+     *                     {@link InfoItem.InfoType#COMMENT}
+     * @param outputStream the stream to which the encoded items are written
+     * @throws IOException if the output stream could not be written
+     */
+    public static void encode(@Nonnull final List<? extends InfoItem> items,
+                              @Nonnull final OutputStream outputStream) throws IOException {
+        final Encoder encoder = new Encoder(new DataOutputStream(
+                new BufferedOutputStream(outputStream)));
+        encoder.out.writeInt(MAGIC);
+        encoder.writeVarInt(FORMAT_VERSION);
+        encoder.writeVarInt(items.size());
+        for (final InfoItem item : items) {
+            encoder.writeItem(item);
+        }
+        encoder.out.flush();
+    }
+
+    /**
+     * Decode items encoded with {@link #encode(List)}.
+     *
+     * @param data the encoded items
+     * @return a mutable list of the decoded items
+     * @throws IOException if the data is not valid or has been written by an unsupported version
+     *                     of the codec
+     */
+    @Nonnull
+    public static List<InfoItem> decode(@Nonnull final byte[] data) throws IOException {
+        return decode(new ByteArrayInputStream(data));
+    }
+
+    /**
+     * Decode items encoded with {@link #encode(List, OutputStream)}.
+     *
+     * @param inputStream the stream from which encoded items are read, which is not closed
+     * @return a mutable list of the decoded items
+     * @throws IOException if the stream could not be read, if the data is not valid or has been
+     *                     written by an unsupported version of the codec
+     */
+    @Nonnull
+    public static List<InfoItem> decode(@Nonnull final InputStream inputStream)
+            throws IOException {
+        final Decoder decoder = new Decoder(new DataInputStream(
+                new BufferedInputStream(inputStream)));
+        if (decoder.in.readInt() != MAGIC) {
+            throw new IOException("Data has not been encoded with InfoItemCodec");
+        }
+        final int version = decoder.readVarInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported InfoItemCodec format version: " + version);
+        }
+
+        final int size = decoder.readVarInt();
+        final List<InfoItem> items = new ArrayList<>(Math.min(size, 1024));
+        for (int i = 0; i < size; i++) {
+            items.add(decoder.readItem());
+        }
+        return items;
+    }
+
+    private static final class Encoder {
+        private final DataOutputStream out;
+        private final Map<String, Integer> stringTable = new HashMap<>();
+        private final String[] previousStrings = newPreviousStrings();
+
+        Encoder(final DataOutputStream out) {
+            this.out = out;
+        }
+
+        void writeItem(@Nonnull final InfoItem item) throws IOException {
+            writeString(FIELD_ENUM, item.getInfoType().name());
+            writeVarInt(item.getServiceId());
+            writeString(FIELD_URL, item.getUrl());
+            writeString(FIELD_NAME, item.getName());
+            writeImages(item.getThumbnails());
+
+            switch (item.getInfoType()) {
+                case STREAM:
+                    writeStream((StreamInfoItem) item);
+                    break;
+                case CHANNEL:
+                    writeChannel((ChannelInfoItem) item);
+                    break;
+                case PLAYLIST:
+                    writePlaylist((PlaylistInfoItem) item);
+                    break;
+                default:
+                    throw new IllegalArgumentException(
+                            "Unsupported info item type: " + item.getInfoType());
+            }
+        }
+
+        private void writeStream(@Nonnull final StreamInfoItem item) throws IOException {
+            final DateWrapper uploadDate = item.getUploadDate();
+            int flags = 0;
+            if (item.isUploaderVerified()) {
+                flags |= FLAG_UPLOADER_VERIFIED;
+            }
+            if (item.isShortFormContent()) {
+                flags |= FLAG_SHORT_FORM_CONTENT;
+            }
+            if (uploadDate != null) {
+                flags |= FLAG_HAS_UPLOAD_DATE;
+                if (uploadDate.isApproximation()) {
+                    flags |= FLAG_UPLOAD_DATE_APPROXIMATION;
+                }
+            }
+            out.writeByte(flags);
+
+            writeString(FIELD_ENUM, item.getStreamType().name());
+            writeString(FIELD_UPLOADER_NAME, item.getUploaderName());
+            writeString(FIELD_DESCRIPTION, item.getShortDescription());
+            writeString(FIELD_TEXTUAL_DATE, item.getTextualUploadDate());
+            if (uploadDate != null) {
+                final Instant instant = uploadDate.offsetDateTime().toInstant();
+                writeVarLong(zigzag(instant.getEpochSecond()));
+                writeVarInt(instant.getNano());
+            }
+            writeVarLong(zigzag(item.getViewCount()));
+            writeVarLong(zigzag(item.getDuration()));
+            writeString(FIELD_UPLOADER_URL, item.getUploaderUrl());
+            writeImages(item.getUploaderAvatars());
+        }
+
+        private void writeChannel(@Nonnull final ChannelInfoItem item) throws IOException {
+            out.writeByte(item.isVerified() ? FLAG_VERIFIED : 0);
+            writeString(FIELD_DESCRIPTION, item.getDescription());
+            writeVarLong(zigzag(item.getSubscriberCount()));
+            writeVarLong(zigzag(item.getStreamCount()));
+        }
+
+        private void writePlaylist(@Nonnull final PlaylistInfoItem item) throws IOException {
+            final Description description = item.getDescription();
+            int flags = 0;
+            if (item.isUploaderVerified()) {
+                flags |= FLAG_VERIFIED;
+            }
+            if (description != null) {
+                flags |= FLAG_HAS_DESCRIPTION;
+            }
+            out.writeByte(flags);
+
+            writeString(FIELD_UPLOADER_NAME, item.getUploaderName());
+            writeString(FIELD_UPLOADER_URL, item.getUploaderUrl());
+            writeVarLong(zigzag(item.getStreamCount()));
+            if (description != null) {
+                writeString(FIELD_DESCRIPTION, description.getContent());
+                writeVarInt(description.getType());
+            }
+            writeString(FIELD_ENUM,
+                    item.getPlaylistType() == null ? null : item.getPlaylistType().name());
+        }
+
+        private void writeImages(@Nonnull final List<Image> images) throws IOException {
+            writeVarInt(images.size());
+            for (final Image image : images) {
+                writeString(FIELD_IMAGE_URL, image.getUrl());
+                writeVarInt(zigzag(image.getHeight()));
+                writeVarInt(zigzag(image.getWidth()));
+                out.writeByte(image.getEstimatedResolutionLevel().ordinal());
+            }
+        }
+
+        private void writeString(final int field,
+                                 @Nullable final String string) throws IOException {
+            if (string == null) {
+                writeVarInt(STRING_NULL);
+                return;
+            }
+
+            final Integer index = stringTable.get(string);
+            if (index != null) {
+                writeVarInt(index + STRING_REFERENCE_OFFSET);
+                return;
+            }
+
+            stringTable.put(string, stringTable.size());
+            final int prefixLength = commonPrefixLength(previousStrings[field], string);
+            final byte[] suffix = string.substring(prefixLength)
+                    .getBytes(StandardCharsets.UTF_8);
+            writeVarInt(STRING_NEW);
+            writeVarInt(prefixLength);
+            writeVarInt(suffix.length);
+            out.write(suffix);
+            previousStrings[field] = string;
+        }
+
+        void writeVarInt(final int value) throws IOException {
+            int remaining = value;
+            while ((remaining & ~0x7F) != 0) {
+                out.writeByte((remaining & 0x7F) | 0x80);
+                remaining >>>= 7;
+            }
+            out.writeByte(remaining);
+        }
+
+        private void writeVarLong(final long value) throws IOException {
+            long remaining = value;
+            while ((remaining & ~0x7FL) != 0) {
+                out.writeByte((int) ((remaining & 0x7F) | 0x80));
+                remaining >>>= 7;
+            }
+            out.writeByte((int) remaining);
+        }
+    }
+
+    private static final class Decoder {
+        private final DataInputStream in;
+        private final List<String> stringTable = new ArrayList<>();
+        private final String[] previousStrings = newPreviousStrings();
+
+        Decoder(final DataInputStream in) {
+            this.in = in;
+        }
+
+        @Nonnull
+        InfoItem readItem() throws IOException {
+            final InfoItem.InfoType infoType = readEnum(InfoItem.InfoType.class);
+            final int serviceId = readVarInt();
+            final String url = readString(FIELD_URL);
+            final String name = readString(FIELD_NAME);
+            final List<Image> thumbnails = readImages();
+
+            final InfoItem item;
+            switch (infoType) {
+                case STREAM:
+                    item = readStream(serviceId, url, name);
+                    break;
+                case CHANNEL:
+                    item = readChannel(serviceId, url, name);
+                    break;
+                case PLAYLIST:
+                    item = readPlaylist(serviceId, url, name);
+                    break;
+                default:
+                    throw new IOException("Unsupported info item type: " + infoType);
+            }
+            item.setThumbnails(thumbnails);
+            return item;
+        }
+
+        @Nonnull
+        private StreamInfoItem readStream(final int serviceId,
+                                          final String url,
+                                          final String name) throws IOException {
+            final int flags = in.readUnsignedByte();
+            final StreamInfoItem item = new StreamInfoItem(serviceId, url, name,
+                    readEnum(StreamType.class));
+            item.setUploaderVerified((flags & FLAG_UPLOADER_VERIFIED) != 0);
+            item.setShortFormContent((flags & FLAG_SHORT_FORM_CONTENT) != 0);
+            item.setUploaderName(readString(FIELD_UPLOADER_NAME));
+            item.setShortDescription(readString(FIELD_DESCRIPTION));
+            item.setTextualUploadDate(readString(FIELD_TEXTUAL_DATE));
+            if ((flags & FLAG_HAS_UPLOAD_DATE) != 0) {
+                final long epochSecond = unzigzag(readVarLong());
+                final int nanos = readVarInt();
+                item.setUploadDate(new DateWrapper(OffsetDateTime.ofInstant(
+                        Instant.ofEpochSecond(epochSecond, nanos), ZoneOffset.UTC),
+                        (flags & FLAG_UPLOAD_DATE_APPROXIMATION) != 0));
+            }
+            item.setViewCount(unzigzag(readVarLong()));
+            item.setDuration(unzigzag(readVarLong()));
+            item.setUploaderUrl(readString(FIELD_UPLOADER_URL));
+            item.setUploaderAvatars(readImages());
+            return item;
+        }
+
+        @Nonnull
+        private ChannelInfoItem readChannel(final int serviceId,
+                                            final String url,
+                                            final String name) throws IOException {
+            final int flags = in.readUnsignedByte();
+            final ChannelInfoItem item = new ChannelInfoItem(serviceId, url, name);
+            item.setVerified((flags & FLAG_VERIFIED) != 0);
+            item.setDescription(readString(FIELD_DESCRIPTION));
+            item.setSubscriberCount(unzigzag(readVarLong()));
+            item.setStreamCount(unzigzag(readVarLong()));
+            return item;
+        }
+
+        @Nonnull
+        private PlaylistInfoItem readPlaylist(final int serviceId,
+                                              final String url,
+                                              final String name) throws IOException {
+            final int flags = in.readUnsignedByte();
+            final PlaylistInfoItem item = new PlaylistInfoItem(serviceId, url, name);
+            item.setUploaderVerified((flags & FLAG_VERIFIED) != 0);
+            item.setUploaderName(readString(FIELD_UPLOADER_NAME));
+            item.setUploaderUrl(readString(FIELD_UPLOADER_URL));
+            item.setStreamCount(unzigzag(readVarLong()));
+            if ((flags & FLAG_HAS_DESCRIPTION) != 0) {
+                final String content = readString(FIELD_DESCRIPTION);
+                item.setDescription(new Description(content, readVarInt()));
+            }
+            final String playlistType = readString(FIELD_ENUM);
+            if (playlistType != null) {
+                item.setPlaylistType(readEnumConstant(PlaylistInfo.PlaylistType.class,
+                        playlistType));
+            }
+            return item;
+        }
+
+        @Nonnull
+        private List<Image> readImages() throws IOException {
+            final int size = readVarInt();
+            if (size == 0) {
+                return List.of();
+            }
+
+            final ResolutionLevel[] resolutionLevels = ResolutionLevel.values();
+            final List<Image> images = new ArrayList<>(Math.min(size, 64));
+            for (int i = 0; i < size; i++) {
+                final String url = readString(FIELD_IMAGE_URL);
+                final int height = unzigzag(readVarInt());
+                final int width = unzigzag(readVarInt());
+                final int resolutionLevel = in.readUnsignedByte();
+                if (url == null || resolutionLevel >= resolutionLevels.length) {
+                    throw new IOException("Invalid image");
+                }
+                images.add(new Image(url, height, width, resolutionLevels[resolutionLevel]));
+            }
+            return ImageInterner.intern(images);
+        }
+
+        @Nullable
+        private String readString(final int field) throws IOException {
+            final int reference = readVarInt();
+            if (reference == STRING_NULL) {
+                return null;
+            } else if (reference == STRING_NEW) {
+                final int prefixLength = readVarInt();
+                final int suffixLength = readVarInt();
+                final String previousString = previousStrings[field];
+                if (prefixLength < 0 || prefixLength > previousString.length()
+                        || suffixLength < 0) {
+                    throw new IOException("Invalid string");
+                }
+                final String string = previousString.substring(0, prefixLength)
+                        + new String(readBytes(suffixLength), StandardCharsets.UTF_8);
+                stringTable.add(string);
+                previousStrings[field] = string;
+                return string;
+            }
+
+            // Negative references are decoded from corrupted variable length integers
+            final int index = reference - STRING_REFERENCE_OFFSET;
+            if (index < 0 || index >= stringTable.size()) {
+                throw new IOException("Invalid string reference: " + reference);
+            }
+            return stringTable.get(index);
+        }
+
+        /**
+         * Read the given number of bytes, allocating memory as they are read.
+         *
+         * @throws java.io.EOFException if the data ends before {@code length} bytes were read
+         */
+        @Nonnull
+        private byte[] readBytes(final int length) throws IOException {
+            if (length <= STRING_CHUNK_SIZE) {
+                final byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return bytes;
+            }
+
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(STRING_CHUNK_SIZE);
+            final byte[] chunk = new byte[STRING_CHUNK_SIZE];
+            int remaining = length;
+            while (remaining > 0) {
+                final int chunkLength = Math.min(remaining, STRING_CHUNK_SIZE);
+                in.readFully(chunk, 0, chunkLength);
+                bytes.write(chunk, 0, chunkLength);
+                remaining -= chunkLength;
+            }
+            return bytes.toByteArray();
+        }
+
+        @Nonnull
+        private <E extends Enum<E>> E readEnum(@Nonnull final Class<E> enumClass)
+                throws IOException {
+            final String constantName = readString(FIELD_ENUM);
+            if (constantName == null) {
+                throw new IOException("Missing " + enumClass.getSimpleName());
+            }
+            return readEnumConstant(enumClass, constantName);
+        }
+
+        @Nonnull
+        private static <E extends Enum<E>> E readEnumConstant(@Nonnull final Class<E> enumClass,
+                                                              @Nonnull final String name)
+                throws IOException {
+            try {
+                return Enum.valueOf(enumClass, name);
+            } catch (final IllegalArgumentException e) {
+                throw new IOException("Unknown " + enumClass.getSimpleName() + ": " + name, e);
+            }
+        }
+
+        int readVarInt() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                final int b = in.readUnsignedByte();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+
+        private long readVarLong() throws IOException {
+            long result = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                final int b = in.readUnsignedByte();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed variable length integer");
+        }
+    }
+
+    @Nonnull
+    private static String[] newPreviousStrings() {
+        final String[] previousStrings = new String[FIELD_COUNT];
+        Arrays.fill(previousStrings, "");
+        return previousStrings;
+    }
+
+    /**
+     * Get the length of the common prefix of two strings, without splitting surrogate pairs.
+     */
+    private static int commonPrefixLength(@Nonnull final String a, @Nonnull final String b) {
+        final int maxLength = Math.min(a.length(), b.length());
+        int length = 0;
+        while (length < maxLength && a.charAt(length) == b.charAt(length)) {
+            length++;
+        }
+        if (length > 0 && Character.isHighSurrogate(a.charAt(length - 1))) {
+            length--;
+        }
+        return length;
+    }
+
+    private static int zigzag(final int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static int unzigzag(final int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -3,6 +3,14 @@ package org.schabi.newpipe.extractor.utils;
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.Function;
 import org.mozilla.javascript.ScriptableObject;
+import org.mozilla.javascript.Undefined;
+import org.schabi.newpipe.extractor.NewPipe;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 
 public final class JavaScript {
 
@@ -21,9 +29,61 @@ public final class JavaScript {
         }
     }
 
+    /**
+     * Run a function with the given parameters.
+     *
+     * @param function     the code declaring the function
+     * @param functionName the name of the function to call
+     * @param parameters   the parameters of the function
+     * @return the result of the function converted to a string, or {@code null} if the function
+     * returned {@code null} or {@code undefined}
+     */
+    @Nullable
     public static String run(final String function,
                              final String functionName,
                              final String... parameters) {
+        final long startedAt = System.nanoTime();
+        try {
+            final Context context = Context.enter();
+            context.setOptimizationLevel(-1);
+            final ScriptableObject scope = context.initSafeStandardObjects();
+
+            context.evaluateString(scope, function, functionName, 1, null);
+            final Function jsFunction = (Function) scope.get(functionName, scope);
+            return resultToString(
+                    jsFunction.call(context, scope, scope, parameters));
+        } finally {
+            Context.exit();
+            NewPipe.getExtractionListener().onJavaScriptEvaluation(functionName,
+                    System.nanoTime() - startedAt);
+        }
+    }
+
+    /**
+     * Run a function with one parameter on each of the given parameters.
+     *
+     * <p>
+     * Unlike calling {@link #run(String, String, String...)} for each parameter, the code of the
+     * function is evaluated and its scope is initialized only once for all parameters.
+     * </p>
+     *
+     * @param function     the code declaring the function
+     * @param functionName the name of the function to call
+     * @param parameters   the parameters on which the function will be called
+     * @return the results of the function, in the order of the given parameters; like for
+     * {@link #run(String, String, String...)}, a result is {@code null} if the function returned
+     * {@code null} or {@code undefined} for its parameter
+     */
+    @Nonnull
+    public static List<String> runOnEach(final String function,
+                                         final String functionName,
+                                         @Nonnull final List<String> parameters) {
+        final List<String> results = new ArrayList<>(parameters.size());
+        if (parameters.isEmpty()) {
+            return results;
+        }
+
+        final long startedAt = System.nanoTime();
         try {
             final Context context = Context.enter();
             context.setOptimizationLevel(-1);
@@ -31,11 +91,27 @@ public final class JavaScript {
 
             context.evaluateString(scope, function, functionName, 1, null);
             final Function jsFunction = (Function) scope.get(functionName, scope);
-            final Object result = jsFunction.call(context, scope, scope, parameters);
-            return result.toString();
+            for (final String parameter : parameters) {
+                results.add(resultToString(jsFunction.call(context, scope, scope,
+                        new Object[]{parameter})));
+            }
+            return results;
         } finally {
             Context.exit();
+            NewPipe.getExtractionListener().onJavaScriptEvaluation(functionName,
+                    System.nanoTime() - startedAt);
         }
     }
 
+    /**
+     * Convert the result of a function to a string, without turning {@code undefined} into the
+     * {@code "undefined"} string.
+     */
+    @Nullable
+    private static String resultToString(@Nullable final Object result) {
+        if (result == null || Undefined.isUndefined(result)) {
+            return null;
+        }
+        return result.toString();
+    }
 }
@@ -5,8 +5,6 @@ import com.grack.nanojson.JsonObject;
 import com.grack.nanojson.JsonParser;
 import com.grack.nanojson.JsonParserException;
 
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
 import java.util.ArrayList;
@@ -143,6 +141,9 @@ public final class JsonUtils {
      * }
      * </pre>
      *
+     * <p>The HTML is not parsed into a document: the attribute is found with
+     * {@link HtmlAttributeScanner#getFirstAttributeValue(String, String)}.</p>
+     *
      * @param html     The HTML where the JSON we're looking for is stored inside a
      *                 variable inside some JavaScript block
      * @param variable Name of the variable
@@ -150,9 +151,8 @@ public final class JsonUtils {
      */
     public static JsonObject getJsonData(final String html, final String variable)
             throws JsonParserException, ArrayIndexOutOfBoundsException {
-        final Document document = Jsoup.parse(html);
-        final String json = document.getElementsByAttribute(variable).attr(variable);
-        return JsonParser.object().from(json);
+        final String json = HtmlAttributeScanner.getFirstAttributeValue(html, variable);
+        return JsonParser.object().from(json == null ? "" : json);
     }
 
     public static List<String> getStringListFromJsonArray(@Nonnull final JsonArray array) {
@@ -0,0 +1,188 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.downloader.Validators;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache of parsed responses, which are revalidated with conditional requests.
+ *
+ * <p>
+ * Every call fetches the resource again, sending the validators of the cached response (see
+ * {@link Validators}). If the server answers that the resource did not change, the previously
+ * parsed value is returned without downloading and parsing the resource again. Responses without
+ * validators are not cached. When the cache is full, the least recently used value is removed.
+ * </p>
+ *
+ * <p>
+ * Cached values are shared between callers, so they must not be modified.
+ * </p>
+ *
+ * @param <V> the type of the parsed values
+ */
+public final class RevalidatingCache<V> {
+
+    /**
+     * Fetches a resource, making the request conditional with the given validators.
+     */
+    @FunctionalInterface
+    public interface Fetcher {
+        @Nonnull
+        Response fetch(@Nonnull Validators validators) throws IOException, ExtractionException;
+    }
+
+    /**
+     * Parses the response of a resource which is not cached or which changed.
+     *
+     * @param <V> the type of the parsed value
+     */
+    @FunctionalInterface
+    public interface ResponseParser<V> {
+        @Nonnull
+        V parse(@Nonnull Response response) throws IOException, ExtractionException;
+    }
+
+    @Nonnull
+    private final String name;
+    private final Map<String, CacheEntry<V>> entries;
+    private volatile int maximumSize;
+
+    /**
+     * @param name        the name of the cache, reported to the
+     *                    {@link NewPipe#getExtractionListener() extraction listener}
+     * @param maximumSize the maximum number of values in the cache
+     */
+    public RevalidatingCache(@Nonnull final String name, final int maximumSize) {
+        checkMaximumSize(maximumSize);
+        this.name = name;
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CacheEntry<V>> eldest) {
+                return size() > RevalidatingCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Fetch a resource and get its parsed value, reusing the cached value if the server answers
+     * that the resource did not change.
+     *
+     * @param key     the key of the resource, usually its URL
+     * @param fetcher the fetcher of the resource, which should make the request conditional
+     * @param parser  the parser of the response, used only if the resource changed
+     * @return the parsed value of the resource
+     * @throws IOException         if the resource could not be fetched because of a network error
+     * @throws ExtractionException if the resource could not be fetched or parsed
+     */
+    @Nonnull
+    public V get(@Nonnull final String key,
+                 @Nonnull final Fetcher fetcher,
+                 @Nonnull final ResponseParser<V> parser)
+            throws IOException, ExtractionException {
+        final CacheEntry<V> cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+
+        final Response response = fetcher.fetch(cached == null
+                ? Validators.NONE : cached.validators);
+        if (response.isNotModified()) {
+            if (cached == null) {
+                throw new ExtractionException("Unexpected HTTP 304 response for " + key);
+            }
+            NewPipe.getExtractionListener().onCacheAccess(name, true);
+            return cached.value;
+        }
+        NewPipe.getExtractionListener().onCacheAccess(name, false);
+
+        final V value = parser.parse(response);
+        final Validators validators = response.getValidators();
+        synchronized (entries) {
+            if (validators.isEmpty()) {
+                entries.remove(key);
+            } else {
+                entries.put(key, new CacheEntry<>(validators, value));
+            }
+        }
+        return value;
+    }
+
+    /**
+     * @return the cached value of the resource, or {@code null} if it is not cached
+     */
+    @Nullable
+    public V getIfPresent(@Nonnull final String key) {
+        synchronized (entries) {
+            final CacheEntry<V> entry = entries.get(key);
+            return entry == null ? null : entry.value;
+        }
+    }
+
+    /**
+     * Remove all values from the cache.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    /**
+     * Set the maximum number of values in the cache, removing the least recently used values if
+     * the cache contains more values.
+     *
+     * @param maximumSize the new maximum size of the cache, which must be strictly positive
+     */
+    public void setMaximumSize(final int maximumSize) {
+        checkMaximumSize(maximumSize);
+        synchronized (entries) {
+            this.maximumSize = maximumSize;
+            final Iterator<String> keys = entries.keySet().iterator();
+            while (entries.size() > maximumSize) {
+                keys.next();
+                keys.remove();
+            }
+        }
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * @return the number of values in the cache
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static void checkMaximumSize(final int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Invalid maximum size");
+        }
+    }
+
+    private static final class CacheEntry<V> {
+        @Nonnull
+        private final Validators validators;
+        @Nonnull
+        private final V value;
+
+        CacheEntry(@Nonnull final Validators validators, @Nonnull final V value) {
+            this.validators = validators;
+            this.value = value;
+        }
+    }
+}
@@ -29,19 +29,35 @@ public final class JavaScriptExtractor {
             throw new ParsingException("Start not found");
         }
         startIndex += start.length();
-        final String js = jsCode.substring(startIndex);
+        return jsCode.substring(startIndex, findClosingBrace(jsCode, startIndex));
+    }
 
-        final Lexer lexer = new Lexer(js);
+    /**
+     * Searches the given JavaScript code, starting at the given offset, for the end of the first
+     * block delimited by braces.
+     *
+     * <p>
+     * The code is lexed in place, so that only the tokens after the given offset are scanned and
+     * no copy of the code is made.
+     * </p>
+     *
+     * @param jsCode JavaScript code
+     * @param startIndex offset at which the search starts, before the opening brace
+     * @return offset after the closing brace matching the first opening brace found
+     * @throws ParsingException if no matching braces could be found
+     */
+    public static int findClosingBrace(@Nonnull final CharSequence jsCode, final int startIndex)
+            throws ParsingException {
+        final Lexer lexer = new Lexer(jsCode, startIndex, jsCode.length());
         boolean visitedOpenBrace = false;
 
         while (true) {
-            final Lexer.ParsedToken parsedToken = lexer.getNextToken();
-            final Token t = parsedToken.token;
+            final Token t = lexer.nextToken();
 
             if (t == Token.LC) {
                 visitedOpenBrace = true;
             } else if (visitedOpenBrace && lexer.isBalanced()) {
-                return js.substring(0, parsedToken.end);
+                return lexer.getTokenEnd();
             } else if (t == Token.EOF) {
                 throw new ParsingException("Could not find matching braces");
             }
@@ -3,8 +3,6 @@ package org.schabi.newpipe.extractor.utils.jsextractor;
 import org.mozilla.javascript.Context;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
-import java.util.Stack;
-
 /**
  * JavaScript lexer that is able to parse JavaScript code and return its
  * tokens.
@@ -13,94 +11,93 @@ import java.util.Stack;
  * The algorithm for distinguishing between division operators and regex literals
  * was taken from the <a href="https://github.com/rusty-ecma/RESS/">RESS lexer</a>.
  * </p>
+ *
+ * <p>
+ * The lexer scans a region of a {@link CharSequence} without copying it and works as a mutable
+ * cursor: {@link #nextToken()} returns the type of the next token, whose position is then
+ * available with {@link #getTokenStart()} and {@link #getTokenEnd()}. The book keeping needed to
+ * detect regex literals is done with primitive stacks, so that lexing does not allocate objects
+ * per token.
+ * </p>
  */
 public class Lexer {
-    private static class Paren {
-        public final boolean funcExpr;
-        public final boolean conditional;
-
-        Paren(final boolean funcExpr, final boolean conditional) {
-            this.funcExpr = funcExpr;
-            this.conditional = conditional;
+    /*
+     * Parens and braces are stored in the stacks and the look behind as bit sets of their flags.
+     */
+    private static final int PAREN_FUNC_EXPR = 1;
+    private static final int PAREN_CONDITIONAL = 1 << 1;
+    private static final int BRACE_IS_BLOCK = 1 << 2;
+    private static final int BRACE_HAS_PAREN = 1 << 3;
+
+    private static final class IntStack {
+        private int[] elements = new int[16];
+        private int size;
+
+        void push(final int element) {
+            if (size == elements.length) {
+                final int[] newElements = new int[size * 2];
+                System.arraycopy(elements, 0, newElements, 0, size);
+                elements = newElements;
+            }
+            elements[size++] = element;
         }
-    }
-
-    private static class Brace {
-        public final boolean isBlock;
-        public final Paren paren;
 
-        Brace(final boolean isBlock, final Paren paren) {
-            this.isBlock = isBlock;
-            this.paren = paren;
+        int pop() {
+            return elements[--size];
         }
-    }
 
-    private static class MetaToken {
-        public final Token token;
-        public final int lineno;
-
-        MetaToken(final Token token, final int lineno) {
-            this.token = token;
-            this.lineno = lineno;
+        int peek() {
+            return elements[size - 1];
         }
-    }
 
-    private static class BraceMetaToken extends MetaToken {
-        public final Brace brace;
-
-        BraceMetaToken(final Token token, final int lineno, final Brace brace) {
-            super(token, lineno);
-            this.brace = brace;
+        boolean isEmpty() {
+            return size == 0;
         }
     }
 
-    private static class ParenMetaToken extends MetaToken {
-        public final Paren paren;
-
-        ParenMetaToken(final Token token, final int lineno, final Paren paren) {
-            super(token, lineno);
-            this.paren = paren;
+    private static final class LookBehind {
+        private final Token[] tokens = new Token[3];
+        private final int[] linenos = new int[3];
+        private final int[] flags = new int[3];
+
+        void push(final Token token, final int lineno, final int flag) {
+            tokens[2] = tokens[1];
+            linenos[2] = linenos[1];
+            flags[2] = flags[1];
+            tokens[1] = tokens[0];
+            linenos[1] = linenos[0];
+            flags[1] = flags[0];
+            tokens[0] = token;
+            linenos[0] = lineno;
+            flags[0] = flag;
         }
-    }
-
-    private static class LookBehind {
-        private final MetaToken[] list;
 
-        LookBehind() {
-            list = new MetaToken[3];
+        Token one() {
+            return tokens[0];
         }
 
-        void push(final MetaToken t) {
-            MetaToken toShift = t;
-            for (int i = 0; i < 3; i++) {
-                final MetaToken tmp = list[i];
-                list[i] = toShift;
-                toShift = tmp;
-            }
+        Token two() {
+            return tokens[1];
         }
 
-        MetaToken one() {
-            return list[0];
+        Token three() {
+            return tokens[2];
         }
 
-        MetaToken two() {
-            return list[1];
+        int oneFlags() {
+            return flags[0];
         }
 
-        MetaToken three() {
-            return list[2];
+        int twoLineno() {
+            return linenos[1];
         }
 
         boolean oneIs(final Token token) {
-            return list[0] != null && list[0].token == token;
+            return tokens[0] == token;
         }
 
         boolean twoIs(final Token token) {
-            return list[1] != null && list[1].token == token;
-        }
-
-        boolean threeIs(final Token token) {
-            return list[2] != null && list[2].token == token;
+            return tokens[1] == token;
         }
     }
 
@@ -121,8 +118,41 @@ public class Lexer {
 
     private final TokenStream stream;
     private final LookBehind lastThree;
-    private final Stack<Brace> braceStack;
-    private final Stack<Paren> parenStack;
+    private final IntStack braceStack;
+    private final IntStack parenStack;
+
+    /**
+     * Create a new JavaScript lexer scanning a region of the given source code, without copying
+     * it.
+     *
+     * <p>
+     * Token positions are absolute offsets in the given source code.
+     * </p>
+     *
+     * @param js JavaScript code
+     * @param start offset of the first character to scan
+     * @param end offset after the last character to scan
+     * @param languageVersion JavaScript version (from Rhino)
+     */
+    public Lexer(final CharSequence js, final int start, final int end,
+                 final int languageVersion) {
+        stream = new TokenStream(js, start, end, 0, languageVersion);
+        lastThree = new LookBehind();
+        braceStack = new IntStack();
+        parenStack = new IntStack();
+    }
+
+    /**
+     * Create a new JavaScript lexer scanning a region of the given source code, without copying
+     * it.
+     *
+     * @param js JavaScript code
+     * @param start offset of the first character to scan
+     * @param end offset after the last character to scan
+     */
+    public Lexer(final CharSequence js, final int start, final int end) {
+        this(js, start, end, Context.VERSION_DEFAULT);
+    }
 
     /**
      * Create a new JavaScript lexer with the given source code
@@ -131,10 +161,7 @@ public class Lexer {
      * @param languageVersion JavaScript version (from Rhino)
      */
     public Lexer(final String js, final int languageVersion) {
-        stream = new TokenStream(js, 0, languageVersion);
-        lastThree = new LookBehind();
-        braceStack = new Stack<>();
-        parenStack = new Stack<>();
+        this(js, 0, js.length(), languageVersion);
     }
 
     /**
@@ -152,6 +179,23 @@ public class Lexer {
      * @throws ParsingException
      */
     public ParsedToken getNextToken() throws ParsingException {
+        final Token token = nextToken();
+        return new ParsedToken(token, stream.tokenBeg, stream.tokenEnd);
+    }
+
+    /**
+     * Continue parsing and return the type of the next token, without allocating a
+     * {@link ParsedToken}.
+     *
+     * <p>
+     * The position of the token can then be get with {@link #getTokenStart()} and
+     * {@link #getTokenEnd()}.
+     * </p>
+     *
+     * @return next token
+     * @throws ParsingException
+     */
+    public Token nextToken() throws ParsingException {
         Token token = stream.nextToken();
 
         if ((token == Token.DIV || token == Token.ASSIGN_DIV) && isRegexStart()) {
@@ -159,9 +203,22 @@ public class Lexer {
             token = Token.REGEXP;
         }
 
-        final ParsedToken parsedToken = new ParsedToken(token, stream.tokenBeg, stream.tokenEnd);
-        keepBooks(parsedToken);
-        return parsedToken;
+        keepBooks(token);
+        return token;
+    }
+
+    /**
+     * @return the offset of the first character of the last token returned
+     */
+    public int getTokenStart() {
+        return stream.tokenBeg;
+    }
+
+    /**
+     * @return the offset after the last character of the last token returned
+     */
+    public int getTokenEnd() {
+        return stream.tokenEnd;
     }
 
     /**
@@ -176,9 +233,9 @@ public class Lexer {
      * Evaluate the token for possible regex start and handle updating the
      * `self.last_three`, `self.paren_stack` and `self.brace_stack`
      */
-    void keepBooks(final ParsedToken parsedToken) throws ParsingException {
-        if (parsedToken.token.isPunct) {
-            switch (parsedToken.token) {
+    void keepBooks(final Token token) throws ParsingException {
+        if (token.isPunct) {
+            switch (token) {
                 case LP:
                     handleOpenParenBooks();
                     return;
@@ -186,15 +243,15 @@ public class Lexer {
                     handleOpenBraceBooks();
                     return;
                 case RP:
-                    handleCloseParenBooks(parsedToken.start);
+                    handleCloseParenBooks(stream.tokenBeg);
                     return;
                 case RC:
-                    handleCloseBraceBooks(parsedToken.start);
+                    handleCloseBraceBooks(stream.tokenBeg);
                     return;
             }
         }
-        if (parsedToken.token != Token.COMMENT) {
-            lastThree.push(new MetaToken(parsedToken.token, stream.lineno));
+        if (token != Token.COMMENT) {
+            lastThree.push(token, stream.lineno, 0);
         }
     }
 
@@ -204,17 +261,18 @@ public class Lexer {
     void handleOpenParenBooks() {
         boolean funcExpr = false;
         if (lastThree.oneIs(Token.FUNCTION)) {
-            funcExpr = lastThree.two() != null && checkForExpression(lastThree.two().token);
+            funcExpr = lastThree.two() != null && checkForExpression(lastThree.two());
         } else if (lastThree.twoIs(Token.FUNCTION)) {
-            funcExpr = lastThree.three() != null && checkForExpression(lastThree.three().token);
+            funcExpr = lastThree.three() != null && checkForExpression(lastThree.three());
         }
 
         final boolean conditional = lastThree.one() != null
-                && lastThree.one().token.isConditional();
+                && lastThree.one().isConditional();
 
-        final Paren paren = new Paren(funcExpr, conditional);
+        final int paren = (funcExpr ? PAREN_FUNC_EXPR : 0)
+                | (conditional ? PAREN_CONDITIONAL : 0);
         parenStack.push(paren);
-        lastThree.push(new ParenMetaToken(Token.LP, stream.lineno, paren));
+        lastThree.push(Token.LP, stream.lineno, paren);
     }
 
     /**
@@ -223,32 +281,33 @@ public class Lexer {
     void handleOpenBraceBooks() {
         boolean isBlock = true;
         if (lastThree.one() != null) {
-            switch (lastThree.one().token) {
+            switch (lastThree.one()) {
                 case LP:
                 case LC:
                 case CASE:
                     isBlock = false;
                     break;
                 case COLON:
-                    isBlock = !braceStack.isEmpty() && braceStack.lastElement().isBlock;
+                    isBlock = !braceStack.isEmpty()
+                            && (braceStack.peek() & BRACE_IS_BLOCK) != 0;
                     break;
                 case RETURN:
                 case YIELD:
                 case YIELD_STAR:
-                    isBlock = lastThree.two() != null && lastThree.two().lineno != stream.lineno;
+                    isBlock = lastThree.two() != null && lastThree.twoLineno() != stream.lineno;
                     break;
                 default:
-                    isBlock = !lastThree.one().token.isOp;
+                    isBlock = !lastThree.one().isOp;
             }
         }
 
-        Paren paren = null;
-        if (lastThree.one() instanceof ParenMetaToken && lastThree.one().token == Token.RP) {
-            paren = ((ParenMetaToken) lastThree.one()).paren;
+        int brace = isBlock ? BRACE_IS_BLOCK : 0;
+        if (lastThree.oneIs(Token.RP)) {
+            // Keep the flags of the paren before the brace
+            brace |= BRACE_HAS_PAREN | lastThree.oneFlags();
         }
-        final Brace brace = new Brace(isBlock, paren);
         braceStack.push(brace);
-        lastThree.push(new BraceMetaToken(Token.LC, stream.lineno, brace));
+        lastThree.push(Token.LC, stream.lineno, brace);
     }
 
     /**
@@ -258,7 +317,7 @@ public class Lexer {
         if (parenStack.isEmpty()) {
             throw new ParsingException("unmached closing paren at " + start);
         }
-        lastThree.push(new ParenMetaToken(Token.RP, stream.lineno, parenStack.pop()));
+        lastThree.push(Token.RP, stream.lineno, parenStack.pop());
     }
 
     /**
@@ -268,7 +327,7 @@ public class Lexer {
         if (braceStack.isEmpty()) {
             throw new ParsingException("unmatched closing brace at " + start);
         }
-        lastThree.push(new BraceMetaToken(Token.RC, stream.lineno, braceStack.pop()));
+        lastThree.push(Token.RC, stream.lineno, braceStack.pop());
     }
 
     boolean checkForExpression(final Token token) {
@@ -283,16 +342,16 @@ public class Lexer {
      */
     boolean isRegexStart() {
         if (lastThree.one() != null) {
-            final Token t = lastThree.one().token;
+            final Token t = lastThree.one();
             if (t.isKeyw) {
                 return t != Token.THIS;
-            } else if (t == Token.RP && lastThree.one() instanceof ParenMetaToken) {
-                return ((ParenMetaToken) lastThree.one()).paren.conditional;
-            } else if (t == Token.RC && lastThree.one() instanceof BraceMetaToken) {
-                final BraceMetaToken mt = (BraceMetaToken) lastThree.one();
-                if (mt.brace.isBlock) {
-                    if (mt.brace.paren != null) {
-                        return !mt.brace.paren.funcExpr;
+            } else if (t == Token.RP) {
+                return (lastThree.oneFlags() & PAREN_CONDITIONAL) != 0;
+            } else if (t == Token.RC) {
+                final int brace = lastThree.oneFlags();
+                if ((brace & BRACE_IS_BLOCK) != 0) {
+                    if ((brace & BRACE_HAS_PAREN) != 0) {
+                        return (brace & PAREN_FUNC_EXPR) == 0;
                     } else {
                         return true;
                     }
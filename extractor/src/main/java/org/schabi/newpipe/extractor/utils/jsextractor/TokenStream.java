@@ -2,7 +2,6 @@ package org.schabi.newpipe.extractor.utils.jsextractor;
 
 import org.mozilla.javascript.Context;
 import org.mozilla.javascript.Kit;
-import org.mozilla.javascript.ObjToIntMap;
 import org.mozilla.javascript.ScriptRuntime;
 import org.schabi.newpipe.extractor.exceptions.ParsingException;
 
@@ -28,26 +27,86 @@ class TokenStream {
 
     private static final char BYTE_ORDER_MARK = '\uFEFF';
     private static final char NUMERIC_SEPARATOR = '_';
+    private static final boolean STRICT_MODE = false;
 
-    TokenStream(final String sourceString, final int lineno, final int languageVersion) {
-        this.sourceString = sourceString;
-        this.sourceCursor = 0;
-        this.cursor = 0;
+    /*
+     * All the words which are keywords in at least one language version, used to look up
+     * keywords without creating a string for each scanned identifier.
+     */
+    private static final String[] KEYWORD_CANDIDATES = {
+            "abstract", "await", "boolean", "break", "byte", "case", "catch", "char", "class",
+            "const", "continue", "debugger", "default", "delete", "do", "double", "else", "enum",
+            "export", "extends", "false", "final", "finally", "float", "for", "function", "goto",
+            "if", "implements", "import", "in", "instanceof", "int", "interface", "let", "long",
+            "native", "new", "null", "package", "private", "protected", "public", "return",
+            "short", "static", "super", "switch", "synchronized", "this", "throw", "throws",
+            "transient", "true", "try", "typeof", "var", "void", "volatile", "while", "with",
+            "yield"
+    };
+    private static final int MIN_KEYWORD_LENGTH = 2;
+    private static final int MAX_KEYWORD_LENGTH = 12;
+    private static final char[][] KEYWORD_CANDIDATE_CHARS =
+            new char[KEYWORD_CANDIDATES.length][];
+    private static final Token[] JS_KEYWORD_TOKENS = new Token[KEYWORD_CANDIDATES.length];
+    private static final Token[] ES_KEYWORD_TOKENS = new Token[KEYWORD_CANDIDATES.length];
+
+    static {
+        for (int i = 0; i < KEYWORD_CANDIDATES.length; i++) {
+            KEYWORD_CANDIDATE_CHARS[i] = KEYWORD_CANDIDATES[i].toCharArray();
+            JS_KEYWORD_TOKENS[i] = stringToKeywordForJS(KEYWORD_CANDIDATES[i]);
+            ES_KEYWORD_TOKENS[i] = stringToKeywordForES(KEYWORD_CANDIDATES[i], STRICT_MODE);
+        }
+    }
+
+    /**
+     * Create a token stream scanning a region of the given source, without copying it.
+     *
+     * <p>
+     * Token offsets are absolute offsets in the given source.
+     * </p>
+     *
+     * @param source          the source code
+     * @param start           the offset of the first character to scan
+     * @param end             the offset after the last character to scan
+     * @param lineno          the line number of the first scanned character
+     * @param languageVersion the JavaScript version (from Rhino)
+     */
+    TokenStream(final CharSequence source, final int start, final int end, final int lineno,
+                final int languageVersion) {
+        this.source = source;
+        this.sourceEnd = end;
+        this.sourceCursor = start;
+        this.cursor = start;
 
         this.lineno = lineno;
         this.languageVersion = languageVersion;
+        this.keywordTokens = languageVersion < Context.VERSION_ES6
+                ? JS_KEYWORD_TOKENS
+                : ES_KEYWORD_TOKENS;
     }
 
-    static boolean isKeyword(final String s, final int version, final boolean isStrict) {
-        return Token.EOF != stringToKeyword(s, version, isStrict);
+    private Token findKeyword(final char[] chars, final int length) {
+        if (length < MIN_KEYWORD_LENGTH || length > MAX_KEYWORD_LENGTH
+                || chars[0] < 'a' || chars[0] > 'z') {
+            return Token.EOF;
+        }
+
+        for (int i = 0; i < KEYWORD_CANDIDATE_CHARS.length; i++) {
+            final char[] candidate = KEYWORD_CANDIDATE_CHARS[i];
+            if (candidate.length == length && regionEquals(candidate, chars, length)) {
+                return keywordTokens[i];
+            }
+        }
+        return Token.EOF;
     }
 
-    private static Token stringToKeyword(final String name, final int version,
-                                       final boolean isStrict) {
-        if (version < Context.VERSION_ES6) {
-            return stringToKeywordForJS(name);
+    private static boolean regionEquals(final char[] a, final char[] b, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
         }
-        return stringToKeywordForES(name, isStrict);
+        return true;
     }
 
     /** JavaScript 1.8 and earlier */
@@ -342,24 +401,17 @@ class TokenStream {
                     }
                 }
                 ungetChar(c);
+                tokenEnd = cursor;
 
-                String str = getStringFromBuffer();
                 if (!containsEscape) {
-                    // OPT we shouldn't have to make a string (object!) to
-                    // check if it's a keyword.
-
                     // Return the corresponding token if it's a keyword
-                    Token result = stringToKeyword(str, languageVersion, STRICT_MODE);
+                    Token result = findKeyword(stringBuffer, stringBufferTop);
                     if (result != Token.EOF) {
                         if ((result == Token.LET || result == Token.YIELD)
                                 && languageVersion < Context.VERSION_1_7) {
                             // LET and YIELD are tokens only in 1.7 and later
-                            string = result == Token.LET ? "let" : "yield";
                             result = Token.NAME;
                         }
-                        // Save the string in case we need to use in
-                        // object literal definitions.
-                        this.string = (String) allStrings.intern(str);
                         if (result != Token.RESERVED) {
                             return result;
                         } else if (languageVersion >= Context.VERSION_ES6) {
@@ -368,15 +420,7 @@ class TokenStream {
                             return result;
                         }
                     }
-                } else if (isKeyword(
-                        str,
-                        languageVersion,
-                        STRICT_MODE)) {
-                    // If a string contains unicodes, and converted to a keyword,
-                    // we convert the last character back to unicode
-                    str = convertLastCharToHex(str);
                 }
-                this.string = (String) allStrings.intern(str);
                 return Token.NAME;
             }
 
@@ -466,7 +510,7 @@ class TokenStream {
                     }
                 }
                 ungetChar(c);
-                this.string = getStringFromBuffer();
+                tokenEnd = cursor;
                 return Token.NUMBER;
             }
 
@@ -605,8 +649,7 @@ class TokenStream {
                     c = getChar(false);
                 }
 
-                final String str = getStringFromBuffer();
-                this.string = (String) allStrings.intern(str);
+                tokenEnd = cursor;
                 return quoteChar == '`' ? Token.TEMPLATE_LITERAL : Token.STRING;
             }
 
@@ -920,7 +963,6 @@ class TokenStream {
             }
             if (peekChar() == '*') {
                 tokenEnd = cursor - 1;
-                this.string = new String(stringBuffer, 0, stringBufferTop);
                 throw new ParsingException("msg.unterminated.re.lit");
             }
         }
@@ -944,7 +986,6 @@ class TokenStream {
             }
             addToString(c);
         }
-        final int reEnd = stringBufferTop;
 
         while (true) {
             c = getCharIgnoreLineEnd();
@@ -959,12 +1000,6 @@ class TokenStream {
         }
 
         tokenEnd = start + stringBufferTop + 2; // include slashes
-        this.string = new String(stringBuffer, 0, reEnd);
-    }
-
-    private String getStringFromBuffer() {
-        tokenEnd = cursor;
-        return new String(stringBuffer, 0, stringBufferTop);
     }
 
     private void addToString(final int c) {
@@ -1018,12 +1053,12 @@ class TokenStream {
         }
 
         for (;;) {
-            if (sourceCursor == sourceString.length()) {
+            if (sourceCursor == sourceEnd) {
                 hitEOF = true;
                 return EOF_CHAR;
             }
             cursor++;
-            int c = sourceString.charAt(sourceCursor++);
+            int c = source.charAt(sourceCursor++);
 
             if (!ignoreLineEnd && lineEndChar >= 0) {
                 if (lineEndChar == '\r' && c == '\n') {
@@ -1099,19 +1134,7 @@ class TokenStream {
     }
 
     public String getTokenRaw() {
-        return sourceString.substring(tokenBeg, tokenEnd);
-    }
-
-    private static String convertLastCharToHex(final String str) {
-        final int lastIndex = str.length() - 1;
-        final StringBuilder buf = new StringBuilder(str.substring(0, lastIndex));
-        buf.append("\\u");
-        final String hexCode = Integer.toHexString(str.charAt(lastIndex));
-        for (int i = 0; i < 4 - hexCode.length(); ++i) {
-            buf.append('0');
-        }
-        buf.append(hexCode);
-        return buf.toString();
+        return source.subSequence(tokenBeg, tokenEnd).toString();
     }
 
     public Token nextToken() throws ParsingException {
@@ -1124,11 +1147,9 @@ class TokenStream {
 
     // stuff other than whitespace since start of line
     private boolean dirtyLine;
-    private String string = "";
 
     private char[] stringBuffer = new char[128];
     private int stringBufferTop;
-    private final ObjToIntMap allStrings = new ObjToIntMap(50);
 
     // Room to backtrace from to < on failed match of the last - in <!--
     private final int[] ungetBuffer = new int[3];
@@ -1140,7 +1161,8 @@ class TokenStream {
     private int lineEndChar = -1;
     int lineno;
 
-    private final String sourceString;
+    private final CharSequence source;
+    private final int sourceEnd;
 
     // sourceCursor is an index into a small buffer that keeps a
     // sliding window of the source stream.
@@ -1156,6 +1178,6 @@ class TokenStream {
     int tokenEnd;
 
     private final int languageVersion;
+    private final Token[] keywordTokens;
     private static final boolean IS_RESERVED_KEYWORD_AS_IDENTIFIER = true;
-    private static final boolean STRICT_MODE = false;
 }
@@ -0,0 +1,170 @@
+package org.schabi.newpipe.downloader;
+
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+/**
+ * <p>
+ * A {@link Downloader} answering requests with the responses of a {@link Handler}, for tests
+ * which need synthetic, slow or failing responses instead of the ones recorded for the
+ * {@link MockDownloader}.
+ * </p>
+ * <p>
+ * The requests made are recorded, as well as the maximum number of concurrent requests.
+ * </p>
+ */
+public class FakeDownloader extends Downloader {
+
+    /**
+     * Builds the response of a request.
+     */
+    @FunctionalInterface
+    public interface Handler {
+        Response handle(@Nonnull Request request) throws IOException, ReCaptchaException;
+    }
+
+    private final long latencyMillis;
+    @Nonnull
+    private final Handler handler;
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private final AtomicInteger runningRequests = new AtomicInteger();
+    private final AtomicInteger maxRunningRequests = new AtomicInteger();
+
+    public FakeDownloader(@Nonnull final Handler handler) {
+        this(0, handler);
+    }
+
+    /**
+     * @param latencyMillis the time waited before each request is handled, which gives other
+     *                      threads the opportunity to make the same request
+     * @param handler       the handler building the responses
+     */
+    public FakeDownloader(final long latencyMillis, @Nonnull final Handler handler) {
+        this.latencyMillis = latencyMillis;
+        this.handler = handler;
+    }
+
+    /**
+     * Create a downloader and initialize {@link NewPipe} with it.
+     */
+    @Nonnull
+    public static FakeDownloader init(@Nonnull final Handler handler) {
+        return init(0, handler);
+    }
+
+    /**
+     * Create a downloader and initialize {@link NewPipe} with it.
+     *
+     * @see #FakeDownloader(long, Handler)
+     */
+    @Nonnull
+    public static FakeDownloader init(final long latencyMillis, @Nonnull final Handler handler) {
+        final FakeDownloader downloader = new FakeDownloader(latencyMillis, handler);
+        NewPipe.init(downloader);
+        return downloader;
+    }
+
+    @Override
+    public Response execute(@Nonnull final Request request)
+            throws IOException, ReCaptchaException {
+        requests.add(request);
+        maxRunningRequests.accumulateAndGet(runningRequests.incrementAndGet(), Math::max);
+        try {
+            sleep(latencyMillis);
+            return handler.handle(request);
+        } finally {
+            runningRequests.decrementAndGet();
+        }
+    }
+
+    @Nonnull
+    public List<Request> getRequests() {
+        return requests;
+    }
+
+    @Nonnull
+    public List<String> getRequestedUrls() {
+        return requests.stream().map(Request::url).collect(Collectors.toList());
+    }
+
+    public int getRequestCount(@Nonnull final String url) {
+        return (int) requests.stream().filter(request -> request.url().equals(url)).count();
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxRunningRequests.get();
+    }
+
+    public void clearRequests() {
+        requests.clear();
+    }
+
+    /**
+     * @return a successful response to the request with the given body
+     */
+    @Nonnull
+    public static Response ok(@Nonnull final Request request, @Nonnull final String body) {
+        return new Response(200, "OK", Map.of(), body, request.url());
+    }
+
+    /**
+     * @return an empty response to the request with the given status code
+     */
+    @Nonnull
+    public static Response status(@Nonnull final Request request, final int responseCode) {
+        return new Response(responseCode, "", Map.of(), "", request.url());
+    }
+
+    /**
+     * @return a response to a conditional request for a resource with the given body and entity
+     * tag: an HTTP 304 response if the request has the entity tag in its {@code If-None-Match}
+     * header, or a successful response with the body and the entity tag otherwise
+     */
+    @Nonnull
+    public static Response revalidated(@Nonnull final Request request,
+                                       @Nonnull final String body,
+                                       @Nonnull final String entityTag) {
+        if (List.of(entityTag).equals(request.headers().get("If-None-Match"))) {
+            return status(request, 304);
+        }
+        return new Response(200, "OK", Map.of("ETag", List.of(entityTag)), body, request.url());
+    }
+
+    /**
+     * @return the number of requests to the URL which were conditional, i.e. which had an
+     * {@code If-None-Match} header
+     */
+    public int getConditionalRequestCount(@Nonnull final String url) {
+        return (int) requests.stream()
+                .filter(request -> request.url().equals(url)
+                        && request.headers().containsKey("If-None-Match"))
+                .count();
+    }
+
+    /**
+     * Wait like a slow server, turning an interruption into an {@link IOException} like many
+     * HTTP clients do.
+     */
+    public static void sleep(final long millis) throws IOException {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (final InterruptedException e) {
+            throw new IOException(e);
+        }
+    }
+}
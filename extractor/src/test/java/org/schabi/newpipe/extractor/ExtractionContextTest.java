@@ -0,0 +1,292 @@
+package org.schabi.newpipe.extractor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.kiosk.KioskExtractor;
+import org.schabi.newpipe.extractor.kiosk.KioskInfo;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.localization.ContentCountry;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.metrics.ExtractionListener;
+import org.schabi.newpipe.extractor.metrics.ExtractionPhase;
+import org.schabi.newpipe.extractor.services.media_ccc.extractors.MediaCCCRecentKiosk;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.schabi.newpipe.extractor.ServiceList.MediaCCC;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+class ExtractionContextTest {
+    private static final String STREAM_URL =
+            "https://media.ccc.de/v/36c3-10652-bahnmining_-_punktlichkeit_ist_eine_zier";
+
+    private final FakeDownloader defaultDownloader = createDownloader();
+
+    @BeforeEach
+    void setUp() {
+        NewPipe.init(defaultDownloader, Localization.DEFAULT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        NewPipe.init(null);
+    }
+
+    @Test
+    void enteredContextIsUsedUntilClosed() {
+        final Downloader downloader = createDownloader();
+        final ExtractionContext context = ExtractionContext.newBuilder()
+                .downloader(downloader)
+                .localization(new Localization("de", "AT"))
+                .build();
+        assertEquals(new ContentCountry("AT"), context.getContentCountry());
+
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            assertSame(context, ExtractionContext.current());
+            assertSame(downloader, NewPipe.getDownloader());
+            assertEquals(new Localization("de", "AT"), NewPipe.getPreferredLocalization());
+            assertEquals(new ContentCountry("AT"), NewPipe.getPreferredContentCountry());
+
+            final ExtractionContext nested = context.toBuilder()
+                    .contentCountry(new ContentCountry("CH"))
+                    .build();
+            try (ExtractionContext.Scope ignored2 = nested.enter()) {
+                assertSame(downloader, NewPipe.getDownloader());
+                assertEquals(new ContentCountry("CH"), NewPipe.getPreferredContentCountry());
+            }
+            assertSame(context, ExtractionContext.current());
+        }
+
+        assertNull(ExtractionContext.getEntered());
+        assertSame(defaultDownloader, NewPipe.getDownloader());
+        assertEquals(Localization.DEFAULT, NewPipe.getPreferredLocalization());
+        assertSame(defaultDownloader, ExtractionContext.current().getDownloader());
+    }
+
+    @Test
+    void concurrentExtractionsUseTheirOwnContext() throws Exception {
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch entered = new CountDownLatch(threads);
+        try {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                final ExtractionContext context = ExtractionContext.newBuilder()
+                        .downloader(createDownloader())
+                        .localization(new Localization("en", "C" + i))
+                        .build();
+                results.add(executor.submit(() -> {
+                    try (ExtractionContext.Scope ignored = context.enter()) {
+                        entered.countDown();
+                        entered.await(5, TimeUnit.SECONDS);
+                        return NewPipe.getDownloader() == context.getDownloader()
+                                && NewPipe.getPreferredContentCountry()
+                                .equals(context.getContentCountry());
+                    }
+                }));
+            }
+            for (final Future<Boolean> result : results) {
+                assertEquals(true, result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void extractorUsesTheContextItWasCreatedWith() throws Exception {
+        final FakeDownloader downloader = createDownloader();
+        final List<ExtractionPhase> phases = Collections.synchronizedList(new ArrayList<>());
+        final ExtractionContext context = ExtractionContext.newBuilder()
+                .downloader(downloader)
+                .extractionListener(new ExtractionListener() {
+                    @Override
+                    public void onPhase(@Nonnull final ExtractionPhase phase,
+                                        final int serviceId,
+                                        @Nonnull final String url,
+                                        @Nullable final Exception error,
+                                        final long durationNanos) {
+                        phases.add(phase);
+                    }
+                })
+                .build();
+
+        final StreamExtractor extractor = MediaCCC.getStreamExtractor(context, STREAM_URL);
+        assertSame(context, extractor.getContext());
+        assertNull(ExtractionContext.getEntered());
+
+        assertThrows(ExtractionException.class, extractor::fetchPage);
+        assertEquals(1, downloader.getRequests().size());
+        assertEquals(List.of(ExtractionPhase.FETCH_PAGE), phases);
+        assertNull(ExtractionContext.getEntered());
+    }
+
+    @Test
+    void extractorLocalizationFallsBackToItsContext() throws Exception {
+        final ExtractionContext context = ExtractionContext.newBuilder()
+                .downloader(createDownloader())
+                .localization(new Localization("de", "AT"))
+                .contentCountry(new ContentCountry("AT"))
+                .build();
+        final StreamExtractor extractor = YouTube.getStreamExtractor(context,
+                "https://www.youtube.com/watch?v=dQw4w9WgXcQ");
+
+        // Outside of the context, only the values supported by the service are used
+        assertEquals(new ContentCountry("AT"), extractor.getExtractorContentCountry());
+        assertEquals(Localization.DEFAULT, extractor.getExtractorLocalization());
+
+        extractor.forceContentCountry(new ContentCountry("CH"));
+        assertEquals(new ContentCountry("CH"), extractor.getExtractorContentCountry());
+    }
+
+        @Test
+    void pagesAreRequestedWithTheContextOfTheExtractor() throws Exception {
+        final FakeDownloader downloader = createDownloader();
+        final ExtractionContext context = ExtractionContext.newBuilder()
+                .downloader(downloader)
+                .build();
+        final DownloadingListExtractor extractor;
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            extractor = new DownloadingListExtractor();
+        }
+
+        // Outside of the scope in which the extractor was created
+        final InfoItemsPage<StreamInfoItem> page = extractor.getPageInContext(new Page("page1"));
+        assertEquals(List.of("page1"), downloader.getRequestedUrls());
+
+        // On another thread, while iterating in the background
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (PageIterator<StreamInfoItem> iterator =
+                     new PageIterator<>(extractor, page.getNextPage(), 1, executor)) {
+            assertEquals("page2", iterator.next().getItems().get(0).getUrl());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(List.of("page1", "page2"), downloader.getRequestedUrls());
+        assertEquals(0, defaultDownloader.getRequests().size());
+    }
+
+    @Test
+    void infosAndPagesReportTheirPhases() throws Exception {
+        final List<ExtractionPhase> phases = new ArrayList<>();
+        final ExtractionContext context = ExtractionContext.newBuilder()
+                .downloader(new FakeDownloader(request ->
+                        FakeDownloader.ok(request, "{\"events\": []}")))
+                .extractionListener(new ExtractionListener() {
+                    @Override
+                    public void onPhase(@Nonnull final ExtractionPhase phase,
+                                        final int serviceId,
+                                        @Nonnull final String url,
+                                        @Nullable final Exception error,
+                                        final long durationNanos) {
+                        phases.add(phase);
+                    }
+                })
+                .build();
+        final KioskExtractor<?> kioskExtractor;
+        final DownloadingListExtractor listExtractor;
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            kioskExtractor = MediaCCC.getKioskList().getExtractorById("recent", null);
+            listExtractor = new DownloadingListExtractor();
+        }
+
+        MediaCCCRecentKiosk.clearCache();
+        try {
+            kioskExtractor.fetchPage();
+            KioskInfo.getInfo(kioskExtractor);
+        } finally {
+            MediaCCCRecentKiosk.clearCache();
+        }
+        listExtractor.getPageInContext(new Page("page1"));
+
+        assertEquals(List.of(ExtractionPhase.FETCH_PAGE, ExtractionPhase.EXTRACT_INFO,
+                ExtractionPhase.GET_PAGE), phases);
+    }
+
+        @Test
+    void wrappedTasksRunInTheContextTheyWereWrappedWith() throws Exception {
+        final ExtractionContext context = ExtractionContext.newBuilder()
+                .downloader(createDownloader())
+                .build();
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final AtomicReference<ExtractionContext> entered = new AtomicReference<>();
+        final CountDownLatch done = new CountDownLatch(1);
+        try {
+            context.wrapExecutor(executor).execute(() -> {
+                entered.set(ExtractionContext.getEntered());
+                done.countDown();
+            });
+            assertEquals(true, done.await(5, TimeUnit.SECONDS));
+            assertSame(context, entered.get());
+
+            // The context is left once the task is done
+            assertNull(executor.submit(ExtractionContext::getEntered).get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Nonnull
+    private static FakeDownloader createDownloader() {
+        return new FakeDownloader(request -> FakeDownloader.ok(request, "{"));
+    }
+
+    /**
+     * A list extractor requesting each page with the downloader of the current context, like
+     * the extractors of the services do.
+     */
+    private static final class DownloadingListExtractor extends ListExtractor<StreamInfoItem> {
+        DownloadingListExtractor() {
+            super(MediaCCC, new ListLinkHandler("", "", "", Collections.emptyList(), ""));
+        }
+
+        @Override
+        public void onFetchPage(@Nonnull final Downloader downloader) {
+        }
+
+        @Nonnull
+        @Override
+        public String getName() {
+            return "downloading";
+        }
+
+        @Nonnull
+        @Override
+        public InfoItemsPage<StreamInfoItem> getInitialPage() {
+            return InfoItemsPage.emptyPage();
+        }
+
+        @Override
+        public InfoItemsPage<StreamInfoItem> getPage(final Page page)
+                throws IOException, ExtractionException {
+            final String url = NewPipe.getDownloader().get(page.getUrl()).latestUrl();
+            final Page nextPage = url.equals("page1") ? new Page("page2") : null;
+            return new InfoItemsPage<>(List.of(new StreamInfoItem(getServiceId(), url, url,
+                    StreamType.VIDEO_STREAM)), nextPage, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package org.schabi.newpipe.extractor;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.services.youtube.ItagItem;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MediaFormatTest {
+    @Test
+    void lookupsByIdReturnFirstDeclaredFormat() {
+        for (final MediaFormat mediaFormat : MediaFormat.values()) {
+            final MediaFormat found = MediaFormat.getFormatById(mediaFormat.id);
+            assertEquals(mediaFormat.id, found.id);
+            assertEquals(found.name, MediaFormat.getNameById(mediaFormat.id));
+            assertEquals(found.suffix, MediaFormat.getSuffixById(mediaFormat.id));
+            assertEquals(found.mimeType, MediaFormat.getMimeById(mediaFormat.id));
+        }
+
+        // WEBMA and WEBMA_OPUS share the same id
+        assertEquals(MediaFormat.WEBMA, MediaFormat.getFormatById(0x200));
+        assertEquals(MediaFormat.AIFF, MediaFormat.getFormatById(0x600));
+
+        assertNull(MediaFormat.getFormatById(0x123));
+        assertEquals("", MediaFormat.getNameById(-1));
+        assertEquals("", MediaFormat.getSuffixById(0x7FFFFFFF));
+        assertNull(MediaFormat.getMimeById(0x123));
+    }
+
+    @Test
+    void lookupsByMimeTypeAndSuffix() {
+        assertEquals(MediaFormat.MP3, MediaFormat.getFromMimeType("audio/mpeg"));
+        assertEquals(List.of(MediaFormat.MP3, MediaFormat.MP2),
+                MediaFormat.getAllFromMimeType("audio/mpeg"));
+        assertEquals(List.of(MediaFormat.TRANSCRIPT1, MediaFormat.TRANSCRIPT2,
+                MediaFormat.TRANSCRIPT3), MediaFormat.getAllFromMimeType("text/xml"));
+        assertNull(MediaFormat.getFromMimeType("application/unknown"));
+        assertTrue(MediaFormat.getAllFromMimeType("application/unknown").isEmpty());
+
+        // The returned list must stay modifiable and independent from the lookup table
+        final List<MediaFormat> formats = MediaFormat.getAllFromMimeType("audio/webm");
+        formats.clear();
+        assertEquals(2, MediaFormat.getAllFromMimeType("audio/webm").size());
+
+        assertEquals(MediaFormat.WEBM, MediaFormat.getFromSuffix("webm"));
+        assertEquals(MediaFormat.AIF, MediaFormat.getFromSuffix("aif"));
+        assertNull(MediaFormat.getFromSuffix("exe"));
+    }
+
+    @Test
+    void itagLookups() throws ParsingException {
+        final ItagItem itag = ItagItem.getItag(251);
+        assertEquals(251, itag.id);
+        assertEquals(MediaFormat.WEBMA_OPUS, itag.getMediaFormat());
+        assertNotSame(itag, ItagItem.getItag(251));
+
+        assertTrue(ItagItem.isSupported(17));
+        assertFalse(ItagItem.isSupported(0));
+        assertFalse(ItagItem.isSupported(-5));
+        assertFalse(ItagItem.isSupported(100_000));
+        assertThrows(ParsingException.class, () -> ItagItem.getItag(1));
+    }
+}
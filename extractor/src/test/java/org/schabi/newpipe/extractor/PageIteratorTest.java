@@ -0,0 +1,205 @@
+package org.schabi.newpipe.extractor;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageIteratorTest {
+    private static final int PAGE_COUNT = 5;
+    private static final int ITEMS_PER_PAGE = 3;
+
+    @BeforeAll
+    static void setUp() {
+        FakeDownloader.init(request -> {
+            throw new UnsupportedOperationException("No network access in this test");
+        });
+    }
+
+    @Test
+    void iteratesAllPagesInOrder() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(-1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (PageIterator<StreamInfoItem> iterator = extractor.pageIterator(2, executor)) {
+            final List<String> urls = new ArrayList<>();
+            while (iterator.hasNext()) {
+                iterator.next().getItems().forEach(item -> urls.add(item.getUrl()));
+            }
+
+            assertEquals(PAGE_COUNT * ITEMS_PER_PAGE, urls.size());
+            assertEquals("0/0", urls.get(0));
+            assertEquals((PAGE_COUNT - 1) + "/" + (ITEMS_PER_PAGE - 1),
+                    urls.get(urls.size() - 1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void prefetchIsBounded() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(-1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (PageIterator<StreamInfoItem> iterator = extractor.pageIterator(1, executor)) {
+            assertTrue(iterator.hasNext());
+            // give the background task time to fetch as much as it is allowed to
+            Thread.sleep(200);
+            // the page being consumed and the single page fetched ahead of it
+            assertTrue(extractor.fetchedPages.get() <= 2,
+                    "Fetched too many pages: " + extractor.fetchedPages.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void itemsStreamIsLazyAndClosable() {
+        final FakeListExtractor extractor = new FakeListExtractor(-1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (Stream<StreamInfoItem> items = extractor.itemsStream(1, executor)) {
+            final List<String> firstUrls = items.limit(4)
+                    .map(StreamInfoItem::getUrl)
+                    .collect(Collectors.toList());
+            assertEquals(List.of("0/0", "0/1", "0/2", "1/0"), firstUrls);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void fetchErrorsAreRethrown() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(2);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (PageIterator<StreamInfoItem> iterator = extractor.pageIterator(1, executor)) {
+            iterator.next();
+            iterator.next();
+            final PageIterator.FetchException e =
+                    assertThrows(PageIterator.FetchException.class, iterator::next);
+            assertInstanceOf(ParsingException.class, e.getCause());
+            assertFalse(iterator.hasNext());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void closeStopsFetching() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(-1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final PageIterator<StreamInfoItem> iterator = extractor.pageIterator(1, executor);
+        iterator.next();
+        iterator.close();
+
+        assertTrue(iterator.isClosed());
+        assertFalse(iterator.hasNext());
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void closeStopsFetchingWhenInterruptionIsSwallowed() throws Exception {
+        final FakeListExtractor extractor = new FakeListExtractor(-1, 1);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final PageIterator<StreamInfoItem> iterator = extractor.pageIterator(1, executor);
+        // the first page is consumed and the second one is being fetched
+        iterator.next();
+        while (extractor.fetchedPages.get() < 2) {
+            Thread.sleep(10);
+        }
+        iterator.close();
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    private static final class FakeListExtractor extends ListExtractor<StreamInfoItem> {
+        private final int failingPage;
+        private final int blockingPage;
+        private final AtomicInteger fetchedPages = new AtomicInteger();
+
+        FakeListExtractor(final int failingPage) {
+            this(failingPage, -1);
+        }
+
+        /**
+         * @param blockingPage the page whose fetch blocks until it is interrupted and then
+         *                     fails with an {@link IOException}, like some downloaders do
+         */
+        FakeListExtractor(final int failingPage, final int blockingPage) {
+            super(ServiceList.YouTube, new ListLinkHandler("", "", "",
+                    Collections.emptyList(), ""));
+            this.failingPage = failingPage;
+            this.blockingPage = blockingPage;
+        }
+
+        @Override
+        public void onFetchPage(@Nonnull final Downloader downloader) {
+        }
+
+        @Nonnull
+        @Override
+        public String getName() {
+            return "fake";
+        }
+
+        @Nonnull
+        @Override
+        public InfoItemsPage<StreamInfoItem> getInitialPage() throws ParsingException {
+            return buildPage(0);
+        }
+
+        @Override
+        public InfoItemsPage<StreamInfoItem> getPage(final Page page)
+                throws IOException, ParsingException {
+            final int index = Integer.parseInt(page.getUrl());
+            if (index == blockingPage) {
+                fetchedPages.incrementAndGet();
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (final InterruptedException e) {
+                    throw new IOException("Request interrupted", e);
+                }
+            }
+            return buildPage(index);
+        }
+
+        private InfoItemsPage<StreamInfoItem> buildPage(final int index) throws ParsingException {
+            fetchedPages.incrementAndGet();
+            if (index == failingPage) {
+                throw new ParsingException("Could not parse page " + index);
+            }
+
+            final List<StreamInfoItem> items = new ArrayList<>();
+            for (int i = 0; i < ITEMS_PER_PAGE; i++) {
+                items.add(new StreamInfoItem(getServiceId(), index + "/" + i, "item",
+                        StreamType.VIDEO_STREAM));
+            }
+            final Page nextPage = index + 1 < PAGE_COUNT
+                    ? new Page(String.valueOf(index + 1)) : null;
+            return new InfoItemsPage<>(items, nextPage, Collections.emptyList());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyDownloaderTest {
+    private static final String PLAYER_URL = "https://www.youtube.com/youtubei/v1/player";
+    private static final String OTHER_URL = "https://www.youtube.com/feeds/videos.xml";
+    private static final RequestPolicy FAST_RETRIES = RequestPolicy.newBuilder()
+            .maxRetries(2)
+            .backoff(1, 5, TimeUnit.MILLISECONDS)
+            .build();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Nonnull
+    private PolicyDownloader createDownloader(@Nonnull final Downloader delegate,
+                                              @Nonnull final RequestPolicy playerPolicy) {
+        return new PolicyDownloader(delegate, FAST_RETRIES, Map.of(PLAYER_URL, playerPolicy),
+                executor);
+    }
+
+    @Test
+    void idempotentRequestsAreRetried() throws Exception {
+        final PolicyDownloader downloader = createDownloader(new FakeDownloader(request -> {
+            if (requestCount.incrementAndGet() == 1) {
+                throw new IOException("Connection reset");
+            }
+            return FakeDownloader.status(request, requestCount.get() == 2 ? 503 : 200);
+        }), FAST_RETRIES);
+
+        assertEquals(200, downloader.get(OTHER_URL).responseCode());
+        assertEquals(3, requestCount.get());
+        assertEquals(2, downloader.getMetrics(OTHER_URL).getRetryCount());
+        assertEquals(1, downloader.getMetrics(OTHER_URL).getRequestCount());
+        assertEquals(0, downloader.getMetrics(PLAYER_URL).getRequestCount());
+
+        // Non-idempotent requests are never retried
+        requestCount.set(0);
+        assertThrows(IOException.class, () -> downloader.post(OTHER_URL, null, new byte[0]));
+        assertEquals(1, requestCount.get());
+        assertEquals(1, downloader.getMetrics(OTHER_URL).getFailureCount());
+    }
+
+    @Test
+    void retriesAreBounded() throws Exception {
+        final PolicyDownloader downloader = createDownloader(new FakeDownloader(request -> {
+            requestCount.incrementAndGet();
+            return FakeDownloader.status(request, 429);
+        }), FAST_RETRIES);
+
+        assertEquals(429, downloader.get(OTHER_URL).responseCode());
+        assertEquals(3, requestCount.get());
+    }
+
+    @Test
+    void longRetryAfterDelaysAreNotWaited() throws Exception {
+        final PolicyDownloader downloader = createDownloader(new FakeDownloader(request -> {
+            requestCount.incrementAndGet();
+            return new Response(503, "", Map.of("Retry-After", List.of("86400")), "",
+                    request.url());
+        }), FAST_RETRIES);
+
+        // The default policy has no deadline, so only the maximum backoff limits the wait
+        final long startedAt = System.nanoTime();
+        assertEquals(503, downloader.get(OTHER_URL).responseCode());
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, requestCount.get());
+        assertEquals(0, downloader.getMetrics(OTHER_URL).getRetryCount());
+    }
+
+    @Test
+    void requestsFailAfterTheirDeadline() {
+        final PolicyDownloader downloader = createDownloader(new FakeDownloader(request -> {
+            requestCount.incrementAndGet();
+            FakeDownloader.sleep(5000);
+            return FakeDownloader.status(request, 200);
+        }), RequestPolicy.newBuilder().deadline(200, TimeUnit.MILLISECONDS).build());
+
+        final long startedAt = System.nanoTime();
+        assertThrows(SocketTimeoutException.class, () -> downloader.get(PLAYER_URL));
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, requestCount.get());
+        assertEquals(1, downloader.getMetrics(PLAYER_URL).getTimeoutCount());
+        assertEquals(1, downloader.getMetrics(PLAYER_URL).getFailureCount());
+    }
+
+    @Test
+    void slowRequestsAreHedged() throws Exception {
+        final PolicyDownloader downloader = createDownloader(new FakeDownloader(request -> {
+            if (requestCount.incrementAndGet() == 1) {
+                FakeDownloader.sleep(5000);
+            }
+            return FakeDownloader.ok(request, "hedged");
+        }), RequestPolicy.newBuilder()
+                .hedging(0.95, 50, TimeUnit.MILLISECONDS)
+                .build());
+
+        final long startedAt = System.nanoTime();
+        assertEquals("hedged", downloader.get(PLAYER_URL).responseBody());
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(2));
+
+        final PolicyDownloader.EndpointMetrics metrics = downloader.getMetrics(PLAYER_URL);
+        assertEquals(1, metrics.getHedgeCount());
+        assertEquals(1, metrics.getHedgeWinCount());
+        assertEquals(1, metrics.getLatencySampleCount());
+    }
+
+    @Test
+    void attemptsOnOtherThreadsKeepThePriorityOfTheCaller() throws Exception {
+        final List<RequestPriority> priorities = Collections.synchronizedList(new ArrayList<>());
+        final ThrottlingDownloader throttlingDownloader = new ThrottlingDownloader(
+                new FakeDownloader(request -> {
+                    priorities.add(RequestPriority.current());
+                    return FakeDownloader.ok(request, "");
+                }), new ThrottlingDownloader.Limits(1000, 1000, 8), Map.of());
+        // Requests to the player have a deadline, so they are made on the executor
+        final PolicyDownloader downloader = createDownloader(throttlingDownloader,
+                RequestPolicy.newBuilder().deadline(5, TimeUnit.SECONDS).build());
+
+        downloader.get(PLAYER_URL);
+        try (RequestPriority.Scope ignored = RequestPriority.enter(RequestPriority.BACKGROUND)) {
+            downloader.get(PLAYER_URL);
+            downloader.get(OTHER_URL);
+        }
+
+        assertEquals(List.of(RequestPriority.INTERACTIVE, RequestPriority.BACKGROUND,
+                RequestPriority.BACKGROUND), priorities);
+    }
+
+    @Test
+    void backoffIsCappedWithoutOverflowing() {
+        final RequestPolicy policy = RequestPolicy.newBuilder()
+                .backoff(10, 1000, TimeUnit.SECONDS)
+                .build();
+
+        assertEquals(TimeUnit.SECONDS.toNanos(10), PolicyDownloader.getBackoffNanos(policy, 0));
+        assertEquals(TimeUnit.SECONDS.toNanos(640), PolicyDownloader.getBackoffNanos(policy, 6));
+        for (final int retry : List.of(7, 31, 40, 63, 100)) {
+            assertEquals(TimeUnit.SECONDS.toNanos(1000),
+                    PolicyDownloader.getBackoffNanos(policy, retry));
+        }
+    }
+
+    @Test
+    void latencyPercentiles() {
+        final PolicyDownloader.EndpointMetrics metrics = new PolicyDownloader.EndpointMetrics();
+        assertEquals(-1, metrics.getLatency(0.5, TimeUnit.MILLISECONDS));
+        for (final long latency : List.of(40L, 10L, 30L, 20L, 100L)) {
+            metrics.recordLatency(TimeUnit.MILLISECONDS.toNanos(latency));
+        }
+
+        assertEquals(5, metrics.getLatencySampleCount());
+        assertEquals(30, metrics.getLatency(0.5, TimeUnit.MILLISECONDS));
+        assertEquals(100, metrics.getLatency(0.95, TimeUnit.MILLISECONDS));
+        assertEquals(10, metrics.getLatency(0, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,154 @@
+package org.schabi.newpipe.extractor.downloader;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.exceptions.ReCaptchaException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ThrottlingDownloaderTest {
+    private static final String URL = "https://www.youtube.com/watch?v=dQw4w9WgXcQ";
+    private static final String OTHER_URL = "https://soundcloud.com/";
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @Nonnull
+    private ThrottlingDownloader createDownloader(
+            @Nonnull final Downloader delegate,
+            @Nonnull final ThrottlingDownloader.Limits limits) {
+        return new ThrottlingDownloader(delegate, limits, Map.of(), nanoTime::get, nanos -> {
+            sleeps.add(nanos);
+            nanoTime.addAndGet(nanos);
+        });
+    }
+
+    @Nonnull
+    private static Downloader respondingWith(final int responseCode,
+                                             @Nonnull final Map<String, List<String>> headers) {
+        return new FakeDownloader(request ->
+                new Response(responseCode, "", headers, "", request.url()));
+    }
+
+    @Test
+    void requestsAreLimitedByTheTokenBucketOfTheirHost() throws Exception {
+        final ThrottlingDownloader downloader = createDownloader(respondingWith(200, Map.of()),
+                new ThrottlingDownloader.Limits(2, 2, 10));
+
+        for (int i = 0; i < 4; i++) {
+            downloader.get(URL);
+        }
+        downloader.get(OTHER_URL);
+
+        assertEquals(List.of(TimeUnit.MILLISECONDS.toNanos(500),
+                TimeUnit.MILLISECONDS.toNanos(500)), sleeps);
+    }
+
+    @Test
+    void concurrencyLimitIsAdaptedToTheResponses() throws Exception {
+        final AtomicInteger responseCode = new AtomicInteger(429);
+        final ThrottlingDownloader downloader = createDownloader(new FakeDownloader(request ->
+                        FakeDownloader.status(request, responseCode.get())),
+                new ThrottlingDownloader.Limits(1000, 1000, 8));
+
+        assertEquals(8, downloader.getConcurrencyLimit("www.youtube.com"));
+        downloader.get(URL);
+        assertEquals(4, downloader.getConcurrencyLimit("www.youtube.com"));
+        nanoTime.incrementAndGet();
+        downloader.get(URL);
+        assertEquals(2, downloader.getConcurrencyLimit("www.youtube.com"));
+        assertEquals(8, downloader.getConcurrencyLimit("soundcloud.com"));
+
+        responseCode.set(200);
+        downloader.get(URL);
+        downloader.get(URL);
+        assertEquals(2, downloader.getConcurrencyLimit("www.youtube.com"));
+        downloader.get(URL);
+        assertEquals(3, downloader.getConcurrencyLimit("www.youtube.com"));
+    }
+
+    @Test
+    void reCaptchaExceptionsDecreaseTheConcurrencyLimit() {
+        final ThrottlingDownloader downloader = createDownloader(new FakeDownloader(request -> {
+            throw new ReCaptchaException("reCaptcha challenge requested", request.url());
+        }), new ThrottlingDownloader.Limits(1000, 1000, 8));
+
+        assertThrows(ReCaptchaException.class, () -> downloader.get(URL));
+        assertEquals(4, downloader.getConcurrencyLimit("www.youtube.com"));
+    }
+
+    @Test
+    void retryAfterDelaysTheNextRequests() throws Exception {
+        final ThrottlingDownloader downloader = createDownloader(
+                respondingWith(429, Map.of("Retry-After", List.of("3"))),
+                new ThrottlingDownloader.Limits(1000, 1000, 8));
+
+        downloader.get(URL);
+        assertTrue(sleeps.isEmpty());
+        downloader.get(URL);
+        assertEquals(List.of(TimeUnit.SECONDS.toNanos(3)), sleeps);
+    }
+
+    @Test
+    void interactiveRequestsGetFreeSlotsFirst() throws Exception {
+        final CountDownLatch firstRequestStarted = new CountDownLatch(1);
+        final CountDownLatch releaseFirstRequest = new CountDownLatch(1);
+        final FakeDownloader delegate = new FakeDownloader(request -> {
+            if (request.url().endsWith("first")) {
+                firstRequestStarted.countDown();
+                try {
+                    releaseFirstRequest.await();
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            return FakeDownloader.status(request, 200);
+        });
+        final ThrottlingDownloader downloader = new ThrottlingDownloader(delegate,
+                new ThrottlingDownloader.Limits(1000, 1000, 1), Map.of());
+
+        final Thread first = startRequest(downloader, URL + "&first", RequestPriority.INTERACTIVE);
+        assertTrue(firstRequestStarted.await(5, TimeUnit.SECONDS));
+        final Thread background = startRequest(downloader, URL + "&background",
+                RequestPriority.BACKGROUND);
+        Thread.sleep(100);
+        final Thread interactive = startRequest(downloader, URL + "&interactive",
+                RequestPriority.INTERACTIVE);
+        Thread.sleep(100);
+
+        releaseFirstRequest.countDown();
+        for (final Thread thread : List.of(first, background, interactive)) {
+            thread.join(5000);
+        }
+        assertEquals(List.of(URL + "&first", URL + "&interactive", URL + "&background"),
+                delegate.getRequestedUrls());
+    }
+
+    @Nonnull
+    private static Thread startRequest(@Nonnull final Downloader downloader,
+                                       @Nonnull final String url,
+                                       @Nonnull final RequestPriority priority) {
+        final Thread thread = new Thread(() -> {
+            try (RequestPriority.Scope ignored = RequestPriority.enter(priority)) {
+                downloader.get(url);
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+}
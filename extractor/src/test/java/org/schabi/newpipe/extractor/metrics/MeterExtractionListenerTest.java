@@ -0,0 +1,109 @@
+package org.schabi.newpipe.extractor.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Downloader;
+import org.schabi.newpipe.extractor.downloader.ListeningDownloader;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.utils.RevalidatingCache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeterExtractionListenerTest {
+    private static final String URL = "https://Media.CCC.de/public/events/recent";
+
+    private final List<String> meters = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        NewPipe.setExtractionListener(new MeterExtractionListener(new MeterRecorder() {
+            @Override
+            public void increment(@Nonnull final String name,
+                                  @Nonnull final Map<String, String> tags) {
+                meters.add(name + " " + tags.entrySet().stream().sorted(Map.Entry.comparingByKey())
+                        .map(Object::toString).reduce((a, b) -> a + "," + b).orElse(""));
+            }
+
+            @Override
+            public void recordDuration(@Nonnull final String name,
+                                       @Nonnull final Map<String, String> tags,
+                                       final long durationNanos) {
+                assertTrue(durationNanos >= 0);
+                increment(name, tags);
+            }
+
+            @Override
+            public void recordValue(@Nonnull final String name,
+                                    @Nonnull final Map<String, String> tags,
+                                    final double value) {
+                increment(name, tags);
+                meters.add(name + " = " + (long) value);
+            }
+        }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        NewPipe.setExtractionListener(null);
+    }
+
+    @Test
+    void requestsAreRecorded() throws Exception {
+        final Downloader downloader = new ListeningDownloader(new FakeDownloader(request -> {
+            if (request.httpMethod().equals("HEAD")) {
+                throw new IOException("Connection reset");
+            }
+            return FakeDownloader.ok(request, "héllo");
+        }));
+
+        downloader.get(URL);
+        assertThrows(IOException.class, () -> downloader.head(URL));
+
+        assertEquals(List.of(
+                "newpipe.extractor.requests host=media.ccc.de,method=GET,status=200",
+                "newpipe.extractor.response.size host=media.ccc.de",
+                "newpipe.extractor.response.size = 6",
+                "newpipe.extractor.requests host=media.ccc.de,method=HEAD,status=IOException"),
+                meters);
+    }
+
+    @Test
+    void cacheAccessesAndFallbacksAreRecorded() throws Exception {
+        final RevalidatingCache<String> cache = new RevalidatingCache<>("test", 1);
+        final RevalidatingCache.Fetcher fetcher = validators -> validators.isEmpty()
+                ? new Response(200, "OK", Map.of("ETag", List.of("\"1\"")), "body", URL)
+                : new Response(304, "Not Modified", Map.of(), "", URL);
+        cache.get(URL, fetcher, Response::responseBody);
+        cache.get(URL, fetcher, Response::responseBody);
+
+        NewPipe.getExtractionListener().onFallback("youtube.streamingData", "iosOnly", null);
+
+        assertEquals(List.of(
+                "newpipe.extractor.cache cache=test,result=miss",
+                "newpipe.extractor.cache cache=test,result=hit",
+                "newpipe.extractor.fallbacks component=youtube.streamingData,fallback=iosOnly"),
+                meters);
+    }
+
+    @Test
+    void utf8Length() {
+        for (final String string : List.of("", "abc", "é", "€uro", "😀!", "\uD83D")) {
+            assertEquals(string.getBytes(StandardCharsets.UTF_8).length,
+                    MeterExtractionListener.getUtf8Length(string), string);
+        }
+    }
+}
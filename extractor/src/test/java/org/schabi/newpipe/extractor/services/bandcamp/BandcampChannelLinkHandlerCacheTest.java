@@ -0,0 +1,111 @@
+package org.schabi.newpipe.extractor.services.bandcamp;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.channel.ChannelExtractor;
+import org.schabi.newpipe.extractor.linkhandler.ListLinkHandler;
+import org.schabi.newpipe.extractor.services.bandcamp.linkHandler.BandcampChannelLinkHandlerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.Bandcamp;
+
+/**
+ * Test that {@link BandcampChannelLinkHandlerFactory} and the Bandcamp channel extractor do not
+ * download the same data twice.
+ */
+class BandcampChannelLinkHandlerCacheTest {
+    private static final String ARTIST_PAGE = "<html><body>"
+            + "<div id=\"customHeader\"><img src=\"http://f4.bcbits.com/img/0001_1.jpg\"></div>"
+            + "<p id=\"pagedata\" data-band=\"{&quot;id&quot;:42,&quot;name&quot;:&quot;Artist"
+            + "&quot;}\"></p></body></html>";
+    private static final String BAND_DETAILS = "{\"id\":42,\"name\":\"Artist\","
+            + "\"bandcamp_url\":\"https://artist.bandcamp.com\",\"bio_image_id\":1,"
+            + "\"bio\":\"Bio\",\"discography\":[]}";
+
+    private final BandcampChannelLinkHandlerFactory factory =
+            BandcampChannelLinkHandlerFactory.getInstance();
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        factory.clearCache();
+        downloader = FakeDownloader.init(request -> FakeDownloader.ok(request,
+                request.url().endsWith("/band_details") ? BAND_DETAILS : ARTIST_PAGE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        factory.clearCache();
+    }
+
+    @Test
+    void artistDataIsDownloadedOnce() throws Exception {
+        final ListLinkHandler linkHandler =
+                factory.fromUrl("http://Artist.bandcamp.com/releases");
+        assertEquals("42", linkHandler.getId());
+        assertEquals("https://artist.bandcamp.com", linkHandler.getUrl());
+        assertEquals(2, downloader.getRequests().size());
+        assertEquals("https://Artist.bandcamp.com/releases",
+                downloader.getRequestedUrls().get(0));
+        assertTrue(downloader.getRequestedUrls().get(1).endsWith("/band_details"));
+
+        // The extractor reuses the artist page and the artist details of the link handler
+        final ChannelExtractor extractor = Bandcamp.getChannelExtractor(linkHandler);
+        extractor.fetchPage();
+        assertEquals("Artist", extractor.getName());
+        assertEquals("https://f4.bcbits.com/img/0001_1.jpg",
+                extractor.getBanners().get(0).getUrl());
+        extractor.getBanners();
+        assertEquals(2, downloader.getRequests().size());
+    }
+
+    @Test
+    void channelUrlIsTheCanonicalOneOnAllPaths() throws Exception {
+        final String canonicalUrl = "https://Artist.bandcamp.com";
+        downloader = FakeDownloader.init(request -> FakeDownloader.ok(request,
+                request.url().endsWith("/band_details")
+                        ? BAND_DETAILS.replace("https://artist.bandcamp.com", canonicalUrl)
+                        : ARTIST_PAGE));
+
+        assertEquals(canonicalUrl, factory.fromUrl("https://artist.bandcamp.com/music").getUrl());
+        assertEquals(canonicalUrl, factory.fromUrl("https://ARTIST.bandcamp.com").getUrl());
+        assertEquals(canonicalUrl, factory.getUrl("42"));
+
+        factory.clearCache();
+        downloader.clearRequests();
+        assertEquals(canonicalUrl, factory.getUrl("42"));
+        assertEquals(canonicalUrl, factory.fromUrl("https://artist.bandcamp.com").getUrl());
+        // The ID of the artist has been cached for its canonical URL
+        assertEquals(1, downloader.getRequests().size());
+    }
+
+    @Test
+    void repeatedChannelsAreServedFromCache() throws Exception {
+        factory.fromUrl("https://artist.bandcamp.com");
+        downloader.clearRequests();
+
+        final ListLinkHandler linkHandler = factory.fromUrl("https://artist.bandcamp.com/music");
+        assertEquals("42", linkHandler.getId());
+        assertEquals("42", factory.getId("https://artist.bandcamp.com/"));
+        assertEquals("https://artist.bandcamp.com", factory.getUrl("42"));
+        assertTrue(downloader.getRequests().isEmpty());
+
+        // Without the page in the link handler, the extractor downloads it once
+        final ChannelExtractor extractor = Bandcamp.getChannelExtractor(linkHandler);
+        extractor.fetchPage();
+        extractor.getBanners();
+        extractor.getBanners();
+        assertEquals(2, downloader.getRequests().size());
+    }
+
+    @Test
+    void idsResolvedFromTheApiAreCached() throws Exception {
+        assertEquals("https://artist.bandcamp.com", factory.getUrl("42"));
+        assertEquals("https://artist.bandcamp.com", factory.getUrl("42"));
+        assertEquals("42", factory.getId("https://artist.bandcamp.com/releases"));
+        assertEquals(1, downloader.getRequests().size());
+    }
+}
@@ -0,0 +1,73 @@
+package org.schabi.newpipe.extractor.services.media_ccc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.channel.ChannelExtractor;
+import org.schabi.newpipe.extractor.localization.Localization;
+import org.schabi.newpipe.extractor.services.media_ccc.extractors.MediaCCCParsingHelper;
+import org.schabi.newpipe.extractor.stream.StreamExtractor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.schabi.newpipe.extractor.ServiceList.MediaCCC;
+
+class MediaCCCParsingHelperTest {
+    private static final String CONFERENCE_URL =
+            "https://api.media.ccc.de/public/conferences/36c3";
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        MediaCCCParsingHelper.clearCaches();
+        downloader = FakeDownloader.init(request -> {
+            if (request.url().equals(CONFERENCE_URL)) {
+                return FakeDownloader.ok(request, "{\"acronym\":\"36c3\",\"title\":\"36C3\","
+                        + "\"logo_url\":\"https://static.media.ccc.de/36c3.png\","
+                        + "\"events\":[]}");
+            } else if (request.url().endsWith("/streams/v2.json")) {
+                return FakeDownloader.ok(request, "[{\"conference\":\"36C3\",\"groups\":[]}]");
+            }
+            return FakeDownloader.ok(request,
+                    "{\"title\":\"Talk\",\"conference_url\":\"" + CONFERENCE_URL + "\"}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        MediaCCCParsingHelper.clearCaches();
+    }
+
+    @Test
+    void conferenceIsDownloadedOnceForAllItsTalks() throws Exception {
+        for (final String id : List.of("1", "2", "3")) {
+            final StreamExtractor extractor = MediaCCC.getStreamExtractor(
+                    "https://media.ccc.de/v/" + id);
+            extractor.fetchPage();
+            assertEquals("36c3", extractor.getUploaderName());
+            assertEquals("https://static.media.ccc.de/36c3.png",
+                    extractor.getUploaderAvatars().get(0).getUrl());
+        }
+
+        final ChannelExtractor conferenceExtractor =
+                MediaCCC.getChannelExtractor("https://media.ccc.de/c/36c3");
+        conferenceExtractor.fetchPage();
+        assertEquals("36C3", conferenceExtractor.getName());
+
+        assertEquals(4, downloader.getRequests().size());
+        assertEquals(1, downloader.getRequestCount(CONFERENCE_URL));
+    }
+
+    @Test
+    void liveStreamsAreCached() throws Exception {
+        final Localization localization = NewPipe.getPreferredLocalization();
+        assertSame(MediaCCCParsingHelper.getLiveStreams(NewPipe.getDownloader(), localization),
+                MediaCCCParsingHelper.getLiveStreams(NewPipe.getDownloader(), localization));
+        assertEquals(1, downloader.getRequests().size());
+    }
+}
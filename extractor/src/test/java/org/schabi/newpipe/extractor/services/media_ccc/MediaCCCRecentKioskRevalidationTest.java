@@ -0,0 +1,73 @@
+package org.schabi.newpipe.extractor.services.media_ccc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.kiosk.KioskExtractor;
+import org.schabi.newpipe.extractor.services.media_ccc.extractors.MediaCCCRecentKiosk;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.schabi.newpipe.extractor.ServiceList.MediaCCC;
+
+/**
+ * Test that {@link MediaCCCRecentKiosk} revalidates the recent events with conditional requests,
+ * on synthetic responses.
+ */
+class MediaCCCRecentKioskRevalidationTest {
+    private static final String RECENT_EVENTS_URL =
+            "https://api.media.ccc.de/public/events/recent";
+    private static final String RECENT_EVENTS = "{\"events\":["
+            + event("first", "2024-01-02T10:00:00.000+01:00") + ","
+            + event("second", "2024-01-01T10:00:00.000+01:00") + "]}";
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        MediaCCCRecentKiosk.clearCache();
+        downloader = FakeDownloader.init(request ->
+                FakeDownloader.revalidated(request, RECENT_EVENTS, "\"recent-v1\""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        MediaCCCRecentKiosk.clearCache();
+    }
+
+    @Test
+    void unchangedRecentEventsAreNotDownloadedAgain() throws Exception {
+        final List<String> firstUrls = getItemUrls();
+        assertEquals(List.of("https://media.ccc.de/v/first", "https://media.ccc.de/v/second"),
+                firstUrls);
+
+        assertEquals(firstUrls, getItemUrls());
+        assertEquals(2, downloader.getRequestCount(RECENT_EVENTS_URL));
+        assertEquals(1, downloader.getConditionalRequestCount(RECENT_EVENTS_URL));
+    }
+
+    @Nonnull
+    private static List<String> getItemUrls() throws Exception {
+        final KioskExtractor<?> extractor = MediaCCC.getKioskList()
+                .getExtractorById(MediaCCCRecentKiosk.KIOSK_ID, null);
+        extractor.fetchPage();
+        return extractor.getInitialPage().getItems().stream()
+                .map(InfoItem::getUrl)
+                .collect(Collectors.toList());
+    }
+
+    @Nonnull
+    private static String event(@Nonnull final String slug, @Nonnull final String date) {
+        return "{\"title\":\"" + slug + "\",\"frontend_link\":\"https://media.ccc.de/v/" + slug
+                + "\",\"poster_url\":\"https://static.media.ccc.de/" + slug + ".jpg\","
+                + "\"duration\":3600,\"view_count\":42,\"conference_title\":\"Congress\","
+                + "\"conference_url\":\"https://api.media.ccc.de/public/conferences/congress\","
+                + "\"date\":\"" + date + "\"}";
+    }
+}
@@ -0,0 +1,153 @@
+package org.schabi.newpipe.extractor.services.peertube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PeertubeInstanceRegistryTest {
+    private static final String INSTANCE = "https://instance.example";
+    private static final String DOWN = "https://down.example";
+    private static final String CONFIG = "{\"instance\":{\"name\":\"Instance\"},"
+            + "\"serverVersion\":\"6.0.0\","
+            + "\"search\":{\"searchIndex\":{\"enabled\":true,\"url\":\"https://sepiasearch.org\"}},"
+            + "\"videoCaption\":{\"file\":{\"extensions\":[\".vtt\",\".srt\"]}}}";
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private PeertubeInstanceRegistry registry;
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        registry = new PeertubeInstanceRegistry(TimeUnit.HOURS.toNanos(1),
+                TimeUnit.MINUTES.toNanos(1), nanoTime::get);
+        downloader = FakeDownloader.init(50, request -> {
+            if (request.url().startsWith(DOWN)) {
+                throw new IOException("Connection refused");
+            }
+            return FakeDownloader.ok(request, CONFIG);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        PeertubeInstanceRegistry.getDefault().clear();
+    }
+
+    @Test
+    void metaDataIsParsedAndCachedPerHost() throws Exception {
+        final PeertubeInstanceMetaData metaData = registry.getMetaData(INSTANCE);
+
+        assertEquals("Instance", metaData.getName());
+        assertEquals("6.0.0", metaData.getServerVersion());
+        assertTrue(metaData.isSearchIndexEnabled());
+        assertEquals("https://sepiasearch.org", metaData.getSearchIndexUrl());
+        assertEquals(List.of("vtt", "srt"), metaData.getCaptionExtensions());
+
+        assertSame(metaData, registry.getMetaData(INSTANCE + "/"));
+        assertSame(metaData, registry.getCachedMetaData(INSTANCE));
+        assertEquals(1, getConfigRequestCount(INSTANCE));
+    }
+
+    @Test
+    void metaDataIsFetchedAgainAfterItsTimeToLive() throws Exception {
+        final PeertubeInstanceMetaData metaData = registry.getMetaData(INSTANCE);
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(59));
+        assertSame(metaData, registry.getMetaData(INSTANCE));
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertNull(registry.getCachedMetaData(INSTANCE));
+        registry.getMetaData(INSTANCE);
+        assertEquals(2, getConfigRequestCount(INSTANCE));
+
+        registry.invalidate(INSTANCE);
+        registry.getMetaData(INSTANCE);
+        assertEquals(3, getConfigRequestCount(INSTANCE));
+    }
+
+    @Test
+    void failuresAreCachedForTheirTimeToLive() {
+        assertThrows(ExtractionException.class, () -> registry.getMetaData(DOWN));
+        assertThrows(ExtractionException.class, () -> registry.getMetaData(DOWN));
+        assertEquals(1, getConfigRequestCount(DOWN));
+
+        nanoTime.addAndGet(TimeUnit.MINUTES.toNanos(1));
+        assertThrows(ExtractionException.class, () -> registry.getMetaData(DOWN));
+        assertEquals(2, getConfigRequestCount(DOWN));
+
+        final PeertubeInstanceRegistry.Health health = registry.getHealth(DOWN);
+        assertFalse(health.isHealthy());
+        assertEquals(2, health.getFailureCount());
+        assertEquals(2, health.getConsecutiveFailures());
+        assertEquals(-1, health.getLastLatency(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void warmUpFetchesEachInstanceOnce() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            registry.warmUp(List.of(INSTANCE, INSTANCE, INSTANCE + "/", DOWN, DOWN), executor)
+                    .get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, getConfigRequestCount(INSTANCE));
+        assertEquals(1, getConfigRequestCount(DOWN));
+        assertEquals("Instance", registry.getCachedMetaData(INSTANCE).getName());
+        assertTrue(registry.getHealth(INSTANCE).isHealthy());
+        assertFalse(registry.getHealth(DOWN).isHealthy());
+    }
+
+    @Test
+    void reportedRequestsUpdateHealth() {
+        assertFalse(registry.getHealth(INSTANCE).isHealthy());
+
+        registry.reportSuccess(INSTANCE, 100, TimeUnit.MILLISECONDS);
+        registry.reportSuccess(INSTANCE, 200, TimeUnit.MILLISECONDS);
+        PeertubeInstanceRegistry.Health health = registry.getHealth(INSTANCE + "/videos");
+        assertTrue(health.isHealthy());
+        assertEquals(2, health.getSuccessCount());
+        assertEquals(200, health.getLastLatency(TimeUnit.MILLISECONDS));
+        assertEquals(125, health.getSmoothedLatency(TimeUnit.MILLISECONDS));
+
+        registry.reportFailure(INSTANCE);
+        health = registry.getHealth(INSTANCE);
+        assertFalse(health.isHealthy());
+        assertEquals(1, health.getConsecutiveFailures());
+    }
+
+    @Test
+    void instancesShareTheDefaultRegistry() throws Exception {
+        final PeertubeInstance instance = new PeertubeInstance(INSTANCE);
+        final PeertubeInstance sameInstance = new PeertubeInstance(INSTANCE + "/");
+        instance.fetchInstanceMetaData();
+        sameInstance.fetchInstanceMetaData();
+
+        assertEquals("Instance", sameInstance.getName());
+        assertSame(instance.getMetaData(), sameInstance.getMetaData());
+        assertEquals(1, getConfigRequestCount(INSTANCE));
+    }
+
+    private int getConfigRequestCount(@Nonnull final String instanceUrl) {
+        return downloader.getRequestCount(instanceUrl + "/api/v1/config");
+    }
+}
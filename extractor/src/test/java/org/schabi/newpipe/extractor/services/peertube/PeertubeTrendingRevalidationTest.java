@@ -0,0 +1,71 @@
+package org.schabi.newpipe.extractor.services.peertube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.kiosk.KioskExtractor;
+import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeTrendingExtractor;
+import org.schabi.newpipe.extractor.services.peertube.linkHandler.PeertubeTrendingLinkHandlerFactory;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.schabi.newpipe.extractor.ServiceList.PeerTube;
+
+/**
+ * Test that {@link PeertubeTrendingExtractor} revalidates its pages with conditional requests,
+ * on synthetic responses.
+ */
+class PeertubeTrendingRevalidationTest {
+    private static final String TRENDING_PAGE = "{\"total\":2,\"data\":["
+            + video("11111111-1111-1111-1111-111111111111", "First") + ","
+            + video("22222222-2222-2222-2222-222222222222", "Second") + "]}";
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        PeertubeTrendingExtractor.clearCache();
+        downloader = FakeDownloader.init(request ->
+                FakeDownloader.revalidated(request, TRENDING_PAGE, "\"trending-v1\""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        PeertubeTrendingExtractor.clearCache();
+    }
+
+    @Test
+    void unchangedPagesAreNotDownloadedAgain() throws Exception {
+        final List<String> firstNames = getItemNames();
+        assertEquals(List.of("First", "Second"), firstNames);
+
+        assertEquals(firstNames, getItemNames());
+        final String pageUrl = downloader.getRequestedUrls().get(0);
+        assertEquals(2, downloader.getRequestCount(pageUrl));
+        assertEquals(1, downloader.getConditionalRequestCount(pageUrl));
+    }
+
+    @Nonnull
+    private static List<String> getItemNames() throws Exception {
+        final KioskExtractor<?> extractor = PeerTube.getKioskList()
+                .getExtractorById(PeertubeTrendingLinkHandlerFactory.KIOSK_TRENDING, null);
+        extractor.fetchPage();
+        return extractor.getInitialPage().getItems().stream()
+                .map(InfoItem::getName)
+                .collect(Collectors.toList());
+    }
+
+    @Nonnull
+    private static String video(@Nonnull final String uuid, @Nonnull final String name) {
+        return "{\"uuid\":\"" + uuid + "\",\"name\":\"" + name + "\",\"views\":42,"
+                + "\"duration\":60,\"publishedAt\":\"2024-01-01T00:00:00.000Z\","
+                + "\"account\":{\"name\":\"account\",\"host\":\"framatube.org\","
+                + "\"displayName\":\"Account\"}}";
+    }
+}
@@ -0,0 +1,178 @@
+package org.schabi.newpipe.extractor.services.peertube.search;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.ListExtractor.InfoItemsPage;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+import org.schabi.newpipe.extractor.linkhandler.SearchQueryHandler;
+import org.schabi.newpipe.extractor.services.peertube.PeertubeInstance;
+import org.schabi.newpipe.extractor.services.peertube.PeertubeInstanceRegistry;
+import org.schabi.newpipe.extractor.services.peertube.extractors.PeertubeFederatedSearchExtractor;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.schabi.newpipe.extractor.ServiceList.PeerTube;
+import static org.schabi.newpipe.extractor.services.peertube.linkHandler.PeertubeSearchQueryHandlerFactory.VIDEOS;
+
+class PeertubeFederatedSearchExtractorTest {
+    private static final String FIRST = "https://first.example";
+    private static final String SECOND = "https://second.example";
+    private static final String SLOW = "https://slow.example";
+    private static final String DOWN = "https://down.example";
+
+    private static final String SHARED_UUID = "9c9de5e8-0a1e-484a-b099-e80766180a6d";
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        PeertubeInstanceRegistry.getDefault().clear();
+        FakeDownloader.init(request -> {
+            final String url = request.url();
+            if (url.startsWith(DOWN)) {
+                throw new IOException("Connection refused");
+            } else if (url.startsWith(SLOW) && url.contains("/search/")) {
+                FakeDownloader.sleep(5000);
+            }
+
+            if (url.endsWith("/api/v1/config")) {
+                return FakeDownloader.ok(request, "{\"instance\":{\"name\":\"Instance\"}}");
+            } else if (url.startsWith(FIRST) && url.contains("start=0")) {
+                // 13 results: a next page is available
+                return FakeDownloader.ok(request, searchResults(13, "first-1", SHARED_UUID));
+            } else if (url.startsWith(FIRST)) {
+                return FakeDownloader.ok(request, searchResults(13, "first-13"));
+            } else {
+                return FakeDownloader.ok(request, searchResults(2, SHARED_UUID, "second-2"));
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        PeertubeInstanceRegistry.getDefault().clear();
+    }
+
+    @Test
+    void resultsAreMergedAndDeduplicated() throws Exception {
+        final PeertubeFederatedSearchExtractor extractor = getExtractor(FIRST, SECOND);
+        extractor.fetchPage();
+
+        final List<InfoItemsPage<InfoItem>> instancePages = new ArrayList<>();
+        final InfoItemsPage<InfoItem> page = extractor.getInitialPage(instancePages::add);
+
+        final List<String> ids = getIds(page);
+        assertEquals(3, ids.size());
+        assertTrue(ids.containsAll(List.of("first-1", SHARED_UUID, "second-2")));
+        assertEquals(2, instancePages.size());
+        assertEquals(3, instancePages.get(0).getItems().size()
+                + instancePages.get(1).getItems().size());
+        assertFalse(instancePages.get(0).hasNextPage());
+
+        // Only the first instance has a next page
+        assertTrue(page.hasNextPage());
+        assertEquals(1, page.getNextPage().getIds().size());
+        assertTrue(page.getNextPage().getIds().get(0).startsWith(FIRST));
+        assertTrue(page.getNextPage().getIds().get(0).contains("start=12"));
+
+        final InfoItemsPage<InfoItem> nextPage = extractor.getPage(page.getNextPage());
+        assertEquals(List.of("first-13"), getIds(nextPage));
+        assertFalse(nextPage.hasNextPage());
+    }
+
+    @Test
+    void slowAndUnavailableInstancesAreSkipped() throws Exception {
+        final PeertubeFederatedSearchExtractor extractor = getExtractor(SECOND, SLOW, DOWN);
+        extractor.fetchPage();
+
+        final long start = System.nanoTime();
+        final InfoItemsPage<InfoItem> page = extractor.getInitialPage();
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(4));
+
+        assertEquals(List.of(SHARED_UUID, "second-2"), getIds(page));
+        // Errors of the unavailable instance and of the slow one
+        assertTrue(page.getErrors().stream().anyMatch(error ->
+                error.getCause() instanceof IOException && error.getMessage().contains(DOWN)));
+        assertTrue(page.getErrors().stream().anyMatch(error ->
+                error.getCause() instanceof TimeoutException));
+        assertFalse(page.hasNextPage());
+    }
+
+    @Test
+    void failsWhenNoInstanceIsAvailable() {
+        final PeertubeFederatedSearchExtractor extractor = getExtractor(DOWN);
+        assertThrows(ExtractionException.class, extractor::fetchPage);
+    }
+
+    @Test
+    void instanceMetaDataIsFetched() throws Exception {
+        final PeertubeInstance instance = new PeertubeInstance(SECOND);
+        assertFalse(instance.isMetaDataFetched());
+
+        PeerTube.getFederatedSearchExtractor(getQueryHandler(), List.of(instance), executor,
+                1, TimeUnit.SECONDS).fetchPage();
+
+        assertTrue(instance.isMetaDataFetched());
+        assertEquals("Instance", instance.getName());
+    }
+
+    @Nonnull
+    private PeertubeFederatedSearchExtractor getExtractor(@Nonnull final String... urls) {
+        final List<PeertubeInstance> instances = new ArrayList<>();
+        for (final String url : urls) {
+            instances.add(new PeertubeInstance(url));
+        }
+        return PeerTube.getFederatedSearchExtractor(getQueryHandler(), instances, executor,
+                500, TimeUnit.MILLISECONDS);
+    }
+
+    @Nonnull
+    private static SearchQueryHandler getQueryHandler() {
+        try {
+            return PeerTube.getSearchQHFactory().fromQuery("fsf", singletonList(VIDEOS), "");
+        } catch (final Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    @Nonnull
+    private static List<String> getIds(@Nonnull final InfoItemsPage<InfoItem> page)
+            throws Exception {
+        final List<String> ids = new ArrayList<>();
+        for (final InfoItem item : page.getItems()) {
+            assertNotNull(item.getName());
+            ids.add(PeerTube.getStreamLHFactory().getId(item.getUrl()));
+        }
+        return ids;
+    }
+
+    @Nonnull
+    private static String searchResults(final long total, @Nonnull final String... uuids) {
+        return "{\"total\":" + total + ",\"data\":["
+                + List.of(uuids).stream()
+                        .map(uuid -> "{\"uuid\":\"" + uuid + "\",\"name\":\"Video " + uuid
+                                + "\",\"duration\":60,\"views\":1}")
+                        .collect(Collectors.joining(","))
+                + "]}";
+    }
+}
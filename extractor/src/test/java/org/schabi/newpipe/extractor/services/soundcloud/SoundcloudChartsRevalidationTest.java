@@ -0,0 +1,85 @@
+package org.schabi.newpipe.extractor.services.soundcloud;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.kiosk.KioskExtractor;
+import org.schabi.newpipe.extractor.services.soundcloud.extractors.SoundcloudChartsExtractor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.schabi.newpipe.extractor.ServiceList.SoundCloud;
+
+/**
+ * Test that the pages of {@link SoundcloudChartsExtractor} are revalidated with conditional
+ * requests, on synthetic responses.
+ */
+class SoundcloudChartsRevalidationTest {
+    private static final String HOME_PAGE = "<html><head>"
+            + "<script src=\"https://a-v2.sndcdn.com/assets/49-bbb.js\"></script>"
+            + "</head></html>";
+    private static final String CHARTS_PAGE = "{\"collection\":["
+            + track("first") + "," + track("second") + "]}";
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        SoundcloudParsingHelper.clearChartsCache();
+        SoundcloudClientIdProvider.getDefault().clear();
+        downloader = FakeDownloader.init(request -> {
+            final String url = request.url();
+            if (url.startsWith(SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL)) {
+                return FakeDownloader.revalidated(request, CHARTS_PAGE, "\"charts-v1\"");
+            } else if (url.endsWith(".js")) {
+                return FakeDownloader.ok(request, "var a={},client_id:\"id1\",b=1");
+            }
+            return FakeDownloader.ok(request, HOME_PAGE);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        SoundcloudParsingHelper.clearChartsCache();
+        SoundcloudClientIdProvider.getDefault().clear();
+    }
+
+    @Test
+    void unchangedPagesAreNotDownloadedAgain() throws Exception {
+        final List<String> firstUrls = getItemUrls();
+        assertEquals(List.of("https://soundcloud.com/artist/first",
+                "https://soundcloud.com/artist/second"), firstUrls);
+
+        assertEquals(firstUrls, getItemUrls());
+        final String pageUrl = downloader.getRequestedUrls().stream()
+                .filter(url -> url.startsWith(SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, downloader.getRequestCount(pageUrl));
+        assertEquals(1, downloader.getConditionalRequestCount(pageUrl));
+    }
+
+    @Nonnull
+    private static List<String> getItemUrls() throws Exception {
+        final KioskExtractor<?> extractor = SoundCloud.getKioskList()
+                .getExtractorById("Top 50", null);
+        extractor.fetchPage();
+        return extractor.getInitialPage().getItems().stream()
+                .map(InfoItem::getUrl)
+                .collect(Collectors.toList());
+    }
+
+    @Nonnull
+    private static String track(@Nonnull final String name) {
+        return "{\"track\":{\"permalink_url\":\"https://soundcloud.com/artist/" + name + "\","
+                + "\"title\":\"" + name + "\",\"duration\":60000,\"playback_count\":42,"
+                + "\"created_at\":\"2024-01-01T00:00:00Z\",\"user\":{\"username\":\"artist\","
+                + "\"permalink_url\":\"https://soundcloud.com/artist\",\"verified\":false}}}";
+    }
+}
@@ -0,0 +1,151 @@
+package org.schabi.newpipe.extractor.services.soundcloud;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.NewPipe;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SoundcloudClientIdProviderTest {
+    private static final String HOME_PAGE = "<html><head>"
+            + "<script src=\"https://a-v2.sndcdn.com/assets/0-aaa.js\"></script>"
+            + "<script src=\"https://a-v2.sndcdn.com/assets/49-bbb.js\"></script>"
+            + "<script src=\"https://a-v2.sndcdn.com/assets/50-ccc.js\"></script>"
+            + "<script src=\"https://example.com/other.js\"></script>"
+            + "</head></html>";
+    private static final String HOME_PAGE_URL = "https://soundcloud.com";
+    private static final String SCRIPT_WITH_CLIENT_ID = "49-bbb.js";
+    private static final String API_URL = SoundcloudParsingHelper.SOUNDCLOUD_API_V2_URL
+            + "tracks/1?client_id=";
+
+    private final AtomicInteger generation = new AtomicInteger(1);
+    private final AtomicLong nanoTime = new AtomicLong();
+    private volatile boolean clientIdAvailable = true;
+    private ExecutorService executor;
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(4);
+        SoundcloudClientIdProvider.getDefault().clear();
+        downloader = FakeDownloader.init(request -> {
+            final String url = request.url();
+            if (url.equals(HOME_PAGE_URL)) {
+                // Give other threads the opportunity to request the client ID
+                FakeDownloader.sleep(50);
+                return FakeDownloader.ok(request, HOME_PAGE);
+            } else if (url.startsWith(API_URL)) {
+                return url.endsWith("=id" + generation.get())
+                        ? FakeDownloader.ok(request, "{}") : FakeDownloader.status(request, 401);
+            } else if (url.endsWith(SCRIPT_WITH_CLIENT_ID) && clientIdAvailable) {
+                return FakeDownloader.ok(request,
+                        "var a={},client_id:\"id" + generation.get() + "\",b=1");
+            }
+            return FakeDownloader.ok(request, "var a={}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        SoundcloudClientIdProvider.getDefault().clear();
+    }
+
+    @Test
+    void concurrentCallersShareOneExtraction() throws Exception {
+        final SoundcloudClientIdProvider provider = createProvider();
+        final List<Callable<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(provider::getClientId);
+        }
+
+        final ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            for (final Future<String> result : callers.invokeAll(calls)) {
+                assertEquals("id1", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        assertEquals(1, getHomePageRequestCount());
+        assertEquals("id1", provider.getClientId());
+        assertEquals(1, getHomePageRequestCount());
+    }
+
+    @Test
+    void clientIdIsRefreshedInTheBackground() throws Exception {
+        final SoundcloudClientIdProvider provider = createProvider();
+        assertEquals("id1", provider.getClientId());
+
+        generation.set(2);
+        nanoTime.addAndGet(TimeUnit.HOURS.toNanos(1));
+        // The current client ID is returned while the new one is extracted
+        assertEquals("id1", provider.getClientId());
+        assertEquals("id2", provider.refresh().get(10, TimeUnit.SECONDS));
+        assertEquals("id2", provider.getClientId());
+        assertEquals(2, getHomePageRequestCount());
+    }
+
+    @Test
+    void failedRefreshKeepsCurrentClientId() throws Exception {
+        final SoundcloudClientIdProvider provider = createProvider();
+        assertEquals("id1", provider.getClientId());
+
+        clientIdAvailable = false;
+        nanoTime.addAndGet(TimeUnit.HOURS.toNanos(1));
+        assertThrows(Exception.class, () -> provider.refresh().get(10, TimeUnit.SECONDS));
+        assertEquals("id1", provider.getClientId());
+        assertEquals(2, getHomePageRequestCount());
+
+        provider.invalidate("id1");
+        assertNull(provider.getCachedClientId());
+        assertThrows(ExtractionException.class, provider::getClientId);
+    }
+
+    @Test
+    void rejectedClientIdIsReplaced() throws Exception {
+        final String clientId = SoundcloudParsingHelper.clientId();
+        assertEquals("id1", clientId);
+
+        generation.set(2);
+        final Response response = SoundcloudParsingHelper.getFromApi(NewPipe.getDownloader(),
+                API_URL + clientId, NewPipe.getPreferredLocalization());
+        assertEquals(200, response.responseCode());
+        assertEquals(API_URL + "id2", response.latestUrl());
+        assertEquals(2, downloader.getRequests().stream()
+                .filter(request -> request.url().startsWith(API_URL)).count());
+        assertEquals("id2", SoundcloudParsingHelper.clientId());
+
+        // Requests with the rejected client ID only extract a new one once
+        SoundcloudParsingHelper.getFromApi(NewPipe.getDownloader(), API_URL + clientId,
+                NewPipe.getPreferredLocalization());
+        assertEquals(2, getHomePageRequestCount());
+    }
+
+    private int getHomePageRequestCount() {
+        return downloader.getRequestCount(HOME_PAGE_URL);
+    }
+
+    @Nonnull
+    private SoundcloudClientIdProvider createProvider() {
+        return new SoundcloudClientIdProvider(TimeUnit.HOURS.toNanos(1), nanoTime::get, executor);
+    }
+}
@@ -0,0 +1,133 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class YoutubeClientVersionsWarmUpTest {
+    private static final String WEB_SW_JS_URL = "https://www.youtube.com/sw.js";
+    private static final String MUSIC_SW_JS_URL = "https://music.youtube.com/sw.js";
+
+    private volatile String webClientVersion = "2.20990101.00.00";
+    private volatile boolean failWithRuntimeException = false;
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        YoutubeParsingHelper.resetYoutubeMusicClientVersion();
+        downloader = FakeDownloader.init(50, request -> {
+            if (failWithRuntimeException) {
+                throw new IllegalStateException("Unexpected failure");
+            }
+            if (request.url().equals(WEB_SW_JS_URL)) {
+                return FakeDownloader.ok(request, "\"INNERTUBE_CONTEXT_CLIENT_VERSION\":\""
+                        + webClientVersion + "\"");
+            } else if (request.url().equals(MUSIC_SW_JS_URL)) {
+                return FakeDownloader.ok(request,
+                        "\"INNERTUBE_CONTEXT_CLIENT_VERSION\":\"1.20990101.01.00\"");
+            }
+            // Makes the hardcoded YouTube Music client version invalid
+            return FakeDownloader.ok(request, "{}");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeTestsUtils.ensureStateless();
+        YoutubeParsingHelper.resetYoutubeMusicClientVersion();
+    }
+
+    @Test
+    void warmUpExtractsAllClientVersions() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            YoutubeParsingHelper.warmUpClientVersions(executor).get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, downloader.getRequestCount(WEB_SW_JS_URL));
+        assertEquals(1, downloader.getRequestCount(MUSIC_SW_JS_URL));
+
+        // Client versions are now returned without requests
+        assertEquals("2.20990101.00.00", YoutubeParsingHelper.getClientVersion());
+        assertEquals("1.20990101.01.00", YoutubeParsingHelper.getYoutubeMusicClientVersion());
+        assertEquals(1, downloader.getRequestCount(WEB_SW_JS_URL));
+        assertEquals(1, downloader.getRequestCount(MUSIC_SW_JS_URL));
+    }
+
+    @Test
+    void concurrentFirstCallsExtractClientVersionOnce() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(YoutubeParsingHelper::getClientVersion));
+            }
+            for (final Future<String> future : futures) {
+                assertEquals("2.20990101.00.00", future.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, downloader.getRequestCount(WEB_SW_JS_URL));
+    }
+
+    @Test
+    void refreshReplacesClientVersions() throws Exception {
+        assertEquals("2.20990101.00.00", YoutubeParsingHelper.getClientVersion());
+
+        webClientVersion = "2.20990202.00.00";
+        YoutubeParsingHelper.refreshClientVersions();
+
+        assertEquals("2.20990202.00.00", YoutubeParsingHelper.getClientVersion());
+        assertEquals("1.20990101.01.00", YoutubeParsingHelper.getYoutubeMusicClientVersion());
+        assertEquals(2, downloader.getRequestCount(WEB_SW_JS_URL));
+        assertEquals(1, downloader.getRequestCount(MUSIC_SW_JS_URL));
+    }
+
+    @Test
+    void scheduledRefreshesSurviveRuntimeExceptions() throws Exception {
+        failWithRuntimeException = true;
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            final ScheduledFuture<?> refreshes = YoutubeParsingHelper
+                    .scheduleClientVersionsRefresh(scheduler, 20, TimeUnit.MILLISECONDS);
+            waitUntil(() -> downloader.getRequestCount(WEB_SW_JS_URL) >= 2);
+            assertFalse(refreshes.isDone());
+
+            failWithRuntimeException = false;
+            webClientVersion = "2.20990202.00.00";
+            waitUntil(() -> "2.20990202.00.00".equals(YoutubeParsingHelper.getClientVersion()));
+        } finally {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private static void waitUntil(@Nonnull final Callable<Boolean> condition) throws Exception {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.call()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not met in time");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.feed.FeedExtractor;
+import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubeFeedExtractor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+/**
+ * Test that {@link YoutubeFeedExtractor} revalidates feeds with conditional requests, on
+ * synthetic responses.
+ */
+class YoutubeFeedRevalidationTest {
+    private static final String CHANNEL_ID = "UCfeedRevalidation0000000";
+    private static final String CHANNEL_URL = "https://www.youtube.com/channel/" + CHANNEL_ID;
+    private static final String FEED_URL =
+            "https://www.youtube.com/feeds/videos.xml?channel_id=" + CHANNEL_ID;
+    private static final String FEED = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+            + "<feed xmlns:yt=\"http://www.youtube.com/xml/schemas/2015\""
+            + " xmlns:media=\"http://search.yahoo.com/mrss/\""
+            + " xmlns=\"http://www.w3.org/2005/Atom\">"
+            + "<title>Channel</title>"
+            + "<author><name>Channel</name><uri>" + CHANNEL_URL + "</uri></author>"
+            + entry("video1", "First") + entry("video2", "Second")
+            + "</feed>";
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeFeedExtractor.clearCache();
+        downloader = FakeDownloader.init(request ->
+                FakeDownloader.revalidated(request, FEED, "\"feed-v1\""));
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeFeedExtractor.setFeedCacheSize(YoutubeFeedExtractor.DEFAULT_FEED_CACHE_SIZE);
+        YoutubeFeedExtractor.clearCache();
+    }
+
+    @Test
+    void unchangedFeedIsNotDownloadedAgain() throws Exception {
+        final List<String> firstUrls = getItemUrls();
+        assertEquals(List.of("https://www.youtube.com/watch?v=video1",
+                "https://www.youtube.com/watch?v=video2"), firstUrls);
+
+        // The second extractor gets a 304 response and its own copy of the cached feed
+        assertEquals(firstUrls, getItemUrls());
+        assertEquals(2, downloader.getRequestCount(FEED_URL));
+        assertEquals(1, downloader.getConditionalRequestCount(FEED_URL));
+    }
+
+    @Test
+    void feedsOfManySubscriptionsAreRevalidated() throws Exception {
+        // Walk more subscriptions than the previous fixed size of the cache, twice
+        final int subscriptionCount = 250;
+        for (int pass = 0; pass < 2; pass++) {
+            for (int i = 0; i < subscriptionCount; i++) {
+                fetchFeed(getChannelId(i));
+            }
+        }
+
+        for (int i = 0; i < subscriptionCount; i++) {
+            assertEquals(1, downloader.getConditionalRequestCount(getFeedUrl(i)));
+        }
+    }
+
+    @Test
+    void leastRecentlyUsedFeedsAreRemovedWhenCacheIsFull() throws Exception {
+        YoutubeFeedExtractor.setFeedCacheSize(3);
+        for (int i = 0; i < 5; i++) {
+            fetchFeed(getChannelId(i));
+        }
+
+        fetchFeed(getChannelId(4));
+        fetchFeed(getChannelId(0));
+        assertEquals(1, downloader.getConditionalRequestCount(getFeedUrl(4)));
+        assertEquals(0, downloader.getConditionalRequestCount(getFeedUrl(0)));
+    }
+
+    private static void fetchFeed(@Nonnull final String channelId) throws Exception {
+        YouTube.getFeedExtractor("https://www.youtube.com/channel/" + channelId).fetchPage();
+    }
+
+    @Nonnull
+    private static String getChannelId(final int index) {
+        return String.format("UCfeedRevalidation%07d", index);
+    }
+
+    @Nonnull
+    private static String getFeedUrl(final int index) {
+        return "https://www.youtube.com/feeds/videos.xml?channel_id=" + getChannelId(index);
+    }
+
+    @Nonnull
+    private static List<String> getItemUrls() throws Exception {
+        final FeedExtractor extractor = YouTube.getFeedExtractor(CHANNEL_URL);
+        extractor.fetchPage();
+        assertEquals(CHANNEL_URL, extractor.getUrl());
+        return extractor.getInitialPage().getItems().stream()
+                .map(InfoItem::getUrl)
+                .collect(Collectors.toList());
+    }
+
+    @Nonnull
+    private static String entry(@Nonnull final String videoId, @Nonnull final String title) {
+        return "<entry><yt:videoId>" + videoId + "</yt:videoId><title>" + title + "</title>"
+                + "<link rel=\"alternate\" href=\"https://www.youtube.com/watch?v=" + videoId
+                + "\"/><author><name>Channel</name><uri>" + CHANNEL_URL + "</uri></author>"
+                + "<published>2024-01-01T00:00:00+00:00</published>"
+                + "<media:group><media:thumbnail url=\"https://i.ytimg.com/vi/" + videoId
+                + "/hqdefault.jpg\" width=\"480\" height=\"360\"/>"
+                + "<media:community><media:statistics views=\"42\"/></media:community>"
+                + "</media:group></entry>";
+    }
+}
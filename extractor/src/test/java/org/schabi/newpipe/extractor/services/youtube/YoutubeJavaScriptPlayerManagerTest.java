@@ -0,0 +1,110 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.exceptions.ParsingException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test the batch deobfuscation methods of {@link YoutubeJavaScriptPlayerManager} on a synthetic
+ * base player, whose functions return {@code undefined} for some parameters.
+ */
+class YoutubeJavaScriptPlayerManagerTest {
+    private static final String VIDEO_ID = "";
+    private static final String IFRAME_API_URL = "https://www.youtube.com/iframe_api";
+    private static final String PLAYER_URL =
+            "https://www.youtube.com/s/player/abcdef12/player_ias.vflset/en_GB/base.js";
+    private static final String STREAMING_URL = "https://rr1---sn-x.googlevideo.com/videoplayback"
+            + "?expire=1&n=%s&sig=1";
+
+    /**
+     * A player whose signature function drops the first two characters of the signature and
+     * reverses the others, and whose throttling function reverses the parameter. Both return
+     * {@code undefined} when they have nothing to return.
+     */
+    private static final String PLAYER = "var _yt_player={};(function(g){var window=this;\n"
+            + "var Zx={Ab:function(a,b){a.splice(0,b)},\ncd:function(a){a.reverse()}};"
+            + "g.Ip=function(a,b){a.D&&(b=\"nn\"[+a.D],c=a.get(b))&&(c=SDa[0](c),a.set(b,c),"
+            + "SDa.length||Wma(\"\"))};var SDa=[Wma];"
+            + "Wq=function(a){a=a.split(\"\");Zx.Ab(a,2);Zx.cd(a,5);"
+            + "return a.length?a.join(\"\"):undefined};"
+            + "Wma=function(a){if(a===\"skip\"){return undefined}var b=a.split(\"\"),"
+            + "c=[function(d){if(d){return {}}},b];c[1].reverse();return b.join(\"\")};"
+            + "g.Jp=function(h){h.s&&(m=Wq(decodeURIComponent(h.s)))};"
+            + "var Qy={signatureTimestamp:19369};"
+            + "})(_yt_player);";
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        downloader = FakeDownloader.init(request -> {
+            if (request.url().equals(IFRAME_API_URL)) {
+                return FakeDownloader.ok(request,
+                        "var scriptUrl = 'https:\\/\\/www.youtube.com\\/s\\/player\\/abcdef12"
+                                + "\\/www-widgetapi.vflset\\/www-widgetapi.js';");
+            } else if (request.url().equals(PLAYER_URL)) {
+                return FakeDownloader.ok(request, PLAYER);
+            }
+            return FakeDownloader.status(request, 404);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeTestsUtils.ensureStateless();
+    }
+
+    @Test
+    void signaturesAreDeobfuscatedTogether() throws ParsingException {
+        final Map<String, String> signatures = YoutubeJavaScriptPlayerManager
+                .deobfuscateSignatures(VIDEO_ID, List.of("abcdefg", "xyz", "abcdefg"));
+
+        assertEquals(Map.of("abcdefg", "gfedc", "xyz", "z"), signatures);
+        assertEquals(1, downloader.getRequestCount(PLAYER_URL));
+    }
+
+    @Test
+    void undefinedSignatureIsEmpty() throws ParsingException {
+        assertEquals(Map.of("ab", ""),
+                YoutubeJavaScriptPlayerManager.deobfuscateSignatures(VIDEO_ID, List.of("ab")));
+        assertEquals("", YoutubeJavaScriptPlayerManager.deobfuscateSignature(VIDEO_ID, "ab"));
+    }
+
+    @Test
+    void throttlingParametersAreDeobfuscatedTogetherAndCached() throws ParsingException {
+        final Map<String, String> parameters = YoutubeJavaScriptPlayerManager
+                .deobfuscateThrottlingParameters(VIDEO_ID, List.of(
+                        String.format(STREAMING_URL, "abc"),
+                        String.format(STREAMING_URL, "def"),
+                        "https://rr1---sn-x.googlevideo.com/videoplayback?expire=1"));
+
+        assertEquals(Map.of("abc", "cba", "def", "fed"), parameters);
+        assertEquals(2, YoutubeJavaScriptPlayerManager.getThrottlingParametersCacheSize());
+        assertEquals(String.format(STREAMING_URL, "cba"),
+                YoutubeJavaScriptPlayerManager.getUrlWithThrottlingParameterDeobfuscated(
+                        VIDEO_ID, String.format(STREAMING_URL, "abc")));
+    }
+
+    @Test
+    void undefinedThrottlingParameterIsNotUsed() throws ParsingException {
+        final Map<String, String> parameters = YoutubeJavaScriptPlayerManager
+                .deobfuscateThrottlingParameters(VIDEO_ID, List.of(
+                        String.format(STREAMING_URL, "abc"),
+                        String.format(STREAMING_URL, "skip")));
+
+        assertEquals(Map.of("abc", "cba"), parameters);
+        assertEquals(1, YoutubeJavaScriptPlayerManager.getThrottlingParametersCacheSize());
+        assertThrows(ParsingException.class, () -> YoutubeJavaScriptPlayerManager
+                .getUrlWithThrottlingParameterDeobfuscated(
+                        VIDEO_ID, String.format(STREAMING_URL, "skip")));
+    }
+}
@@ -0,0 +1,84 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class YoutubePlayerAnalyzerTest {
+    private static final String HELPER_OBJECT = "var Zx={Ab:function(a,b){a.splice(0,b)},\n"
+            + "cd:function(a){a.reverse()}};";
+    private static final String SIGNATURE_FUNCTION =
+            "Wq=function(a){a=a.split(\"\");Zx.Ab(a,2);Zx.cd(a,5);return a.join(\"\")}";
+    private static final String THROTTLING_FUNCTION = "Wma=function(a){var b=a.split(\"\"),"
+            + "c=[function(d){if(d){return {}}},b];/* } */c[1].reverse();return b.join(\"\")};";
+
+    private static final String PLAYER = "var _yt_player={};(function(g){var window=this;\n"
+            + "// A comment with braces {\n"
+            + "var kv=function(a){var b=a.split(\"-\");return b};"
+            + HELPER_OBJECT
+            + "g.Ip=function(a,b){a.D&&(b=\"nn\"[+a.D],c=a.get(b))&&(c=SDa[0](c),a.set(b,c),"
+            + "SDa.length||Wma(\"\"))};var SDa=[Wma];"
+            + SIGNATURE_FUNCTION + ";"
+            + "var x=1/2,y=/}/g;"
+            + THROTTLING_FUNCTION
+            + "g.Jp=function(h){h.s&&(m=Wq(decodeURIComponent(h.s)))};"
+            + "var Qy={signatureTimestamp:19369,other:\"value\"};"
+            + "})(_yt_player);";
+
+    @Test
+    void allArtifactsAreFoundInOnePass() {
+        final YoutubePlayerAnalyzer analyzer = YoutubePlayerAnalyzer.analyze(PLAYER);
+
+        assertEquals("19369", analyzer.getSignatureTimestamp());
+        assertEquals("Wq", analyzer.getSignatureFunctionName());
+        assertEquals(SIGNATURE_FUNCTION, analyzer.getSignatureFunction());
+        assertEquals(HELPER_OBJECT.replace("\n", ""), analyzer.getSignatureHelperObject());
+        assertEquals("Wma", analyzer.getThrottlingFunctionName());
+        assertEquals(THROTTLING_FUNCTION, analyzer.getThrottlingFunction());
+    }
+
+    @Test
+    void throttlingFunctionCalledDirectlyIsFound() {
+        final YoutubePlayerAnalyzer analyzer = YoutubePlayerAnalyzer.analyze(
+                "(function(g){" + THROTTLING_FUNCTION
+                        + "g.Ip=function(a){(b=String.fromCharCode(110),c=a.get(b))"
+                        + "&&(c=Wma(c),a.set(b,c))};})(_yt_player);");
+
+        assertEquals("Wma", analyzer.getThrottlingFunctionName());
+        assertEquals(THROTTLING_FUNCTION, analyzer.getThrottlingFunction());
+    }
+
+    @Test
+    void signatureFunctionWithoutCallSiteIsNotUsed() {
+        final YoutubePlayerAnalyzer analyzer = YoutubePlayerAnalyzer.analyze(
+                "(function(g){" + HELPER_OBJECT + SIGNATURE_FUNCTION + ";})(_yt_player);");
+
+        assertNull(analyzer.getSignatureFunctionName());
+        assertNull(analyzer.getSignatureFunction());
+        assertNull(analyzer.getSignatureHelperObject());
+    }
+
+    @Test
+    void artifactsFoundBeforeAnErrorAreKept() {
+        // The lexer fails on the name followed by a backslash at the end of the code
+        final YoutubePlayerAnalyzer analyzer = YoutubePlayerAnalyzer.analyze(
+                "var Qy={signatureTimestamp:19369};a\\");
+
+        assertEquals("19369", analyzer.getSignatureTimestamp());
+        assertNull(analyzer.getSignatureFunctionName());
+    }
+
+    @Test
+    void missingArtifactsAreNull() {
+        final YoutubePlayerAnalyzer analyzer = YoutubePlayerAnalyzer.analyze(
+                "var a={b:function(c){return c}};a.b(1);}");
+
+        assertNull(analyzer.getSignatureTimestamp());
+        assertNull(analyzer.getSignatureFunctionName());
+        assertNull(analyzer.getSignatureFunction());
+        assertNull(analyzer.getSignatureHelperObject());
+        assertNull(analyzer.getThrottlingFunctionName());
+        assertNull(analyzer.getThrottlingFunction());
+    }
+}
@@ -0,0 +1,110 @@
+package org.schabi.newpipe.extractor.services.youtube;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.playlist.PlaylistEntry;
+import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubePlaylistExtractor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Nonnull;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.schabi.newpipe.extractor.ServiceList.YouTube;
+
+/**
+ * Test {@link YoutubePlaylistExtractor#exportEntries(java.util.function.Consumer)} on synthetic
+ * responses, as it walks all the continuations of a playlist.
+ */
+class YoutubePlaylistExportTest {
+    private static final String PLAYLIST_URL =
+            "https://www.youtube.com/playlist?list=PLAYLIST_ID_FOR_TESTS";
+    private static final String BROWSE_URL = "https://www.youtube.com/youtubei/v1/browse";
+
+    /**
+     * The responses of the browse endpoint: the playlist itself, then its continuations.
+     */
+    private static final List<String> BROWSE_RESPONSES = List.of(
+            "{\"contents\":{\"twoColumnBrowseResultsRenderer\":{\"tabs\":[{\"tabRenderer\":"
+                    + "{\"content\":{\"sectionListRenderer\":{\"contents\":[{"
+                    + "\"itemSectionRenderer\":{\"contents\":[{\"playlistVideoListRenderer\":"
+                    + "{\"contents\":[" + video("video1", "First", "61") + ","
+                    + video("video2", "Second", "") + "," + continuation("token1")
+                    + "]}}]}}]}}}}]}}}",
+            continuationResponse(video("video3", "Third", "3600") + ","
+                    + continuation("token2")),
+            // A video without ID, e.g. a removed one, is skipped
+            continuationResponse("{\"playlistVideoRenderer\":{\"title\":{\"simpleText\":"
+                    + "\"[Deleted video]\"}}}," + video("video4", "Fourth", "5") + ","
+                    + "{\"richItemRenderer\":{\"content\":{\"reelItemRenderer\":{"
+                    + "\"videoId\":\"short1\",\"headline\":{\"simpleText\":\"Short\"}}}}}"));
+
+    private FakeDownloader downloader;
+
+    @BeforeEach
+    void setUp() {
+        YoutubeTestsUtils.ensureStateless();
+        final List<String> responses = new ArrayList<>(BROWSE_RESPONSES);
+        downloader = FakeDownloader.init(request -> {
+            if (request.url().startsWith(BROWSE_URL)) {
+                return FakeDownloader.ok(request, responses.remove(0));
+            }
+            // The client version extracted from the service worker
+            return FakeDownloader.ok(request,
+                    "\"INNERTUBE_CONTEXT_CLIENT_VERSION\":\"2.20990101.00.00\"");
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        YoutubeTestsUtils.ensureStateless();
+    }
+
+    @Test
+    void allPagesAreExported() throws Exception {
+        final YoutubePlaylistExtractor extractor =
+                (YoutubePlaylistExtractor) YouTube.getPlaylistExtractor(PLAYLIST_URL);
+        extractor.fetchPage();
+
+        final List<PlaylistEntry> entries = new ArrayList<>();
+        assertEquals(5, extractor.exportEntries(entries::add));
+
+        assertEquals(List.of(
+                new PlaylistEntry("video1", "First", 61, "UC_uploader"),
+                new PlaylistEntry("video2", "Second", -1, "UC_uploader"),
+                new PlaylistEntry("video3", "Third", 3600, "UC_uploader"),
+                new PlaylistEntry("video4", "Fourth", 5, "UC_uploader"),
+                new PlaylistEntry("short1", "Short", -1, null)), entries);
+
+        // The playlist and its two continuations, the last one having no continuation
+        assertEquals(3, downloader.getRequestedUrls().stream()
+                .filter(url -> url.startsWith(BROWSE_URL))
+                .count());
+    }
+
+    @Nonnull
+    private static String video(@Nonnull final String id,
+                                @Nonnull final String title,
+                                @Nonnull final String lengthSeconds) {
+        return "{\"playlistVideoRenderer\":{\"videoId\":\"" + id + "\","
+                + "\"title\":{\"runs\":[{\"text\":\"" + title + "\"}]},"
+                + "\"lengthSeconds\":\"" + lengthSeconds + "\","
+                + "\"shortBylineText\":{\"runs\":[{\"text\":\"Uploader\",\"navigationEndpoint\":"
+                + "{\"browseEndpoint\":{\"browseId\":\"UC_uploader\"}}}]}}}";
+    }
+
+    @Nonnull
+    private static String continuation(@Nonnull final String token) {
+        return "{\"continuationItemRenderer\":{\"continuationEndpoint\":{\"continuationCommand\":"
+                + "{\"token\":\"" + token + "\"}}}}";
+    }
+
+    @Nonnull
+    private static String continuationResponse(@Nonnull final String items) {
+        return "{\"onResponseReceivedActions\":[{\"appendContinuationItemsAction\":"
+                + "{\"continuationItems\":[" + items + "]}}]}";
+    }
+}
@@ -2,6 +2,7 @@ package org.schabi.newpipe.extractor.services.youtube;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.schabi.newpipe.FileUtils.resolveTestResource;
@@ -15,13 +16,20 @@ import org.schabi.newpipe.extractor.linkhandler.LinkHandlerFactory;
 import org.schabi.newpipe.extractor.services.youtube.extractors.YoutubeSubscriptionExtractor;
 import org.schabi.newpipe.extractor.subscription.SubscriptionExtractor;
 import org.schabi.newpipe.extractor.subscription.SubscriptionItem;
+import org.schabi.newpipe.extractor.subscription.SubscriptionItemReader;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.file.Files;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Test for {@link YoutubeSubscriptionExtractor}
@@ -158,4 +166,93 @@ public class YoutubeSubscriptionExtractorTest {
             assertSubscriptionItems(subscriptionItems);
         }
     }
+
+    @Test
+    public void fromLargeCsvInputStream() throws Exception {
+        // Synthetic takeout file with 100k subscriptions, built from the rows of a real one
+        final List<String> rows = Files.readAllLines(
+                resolveTestResource("youtube_takeout_import_test_1.csv").toPath());
+        final String header = rows.get(0);
+        final List<String> subscriptionRows = rows.subList(1, rows.size()).stream()
+                .filter(row -> !row.isEmpty())
+                .collect(Collectors.toList());
+
+        final StringBuilder csv = new StringBuilder("\uFEFF").append(header).append("\r\n");
+        for (int i = 0; i < 100_000; i++) {
+            final String[] fields = subscriptionRows.get(i % subscriptionRows.size()).split(",");
+            // Quote some titles, as takeout files do when titles contain commas or quotes
+            final String title = i % 10 == 0
+                    ? "\"" + fields[2] + ", \"\"" + i + "\"\"\""
+                    : fields[2];
+            csv.append(fields[0]).append(',').append(fields[1]).append(',').append(title)
+                    .append("\r\n");
+        }
+
+        final List<SubscriptionItem> items = subscriptionExtractor.fromCsvInputStream(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(100_000, items.size());
+        final String[] firstFields = subscriptionRows.get(0).split(",");
+        assertEquals(firstFields[2] + ", \"0\"", items.get(0).getName());
+        assertEquals(firstFields[1].replace("http://", "https://"), items.get(0).getUrl());
+        assertEquals(subscriptionRows.get(1).split(",")[2], items.get(1).getName());
+    }
+
+    @Test
+    public void readerFromJsonInputStream() throws Exception {
+        final List<SubscriptionItem> expectedItems = subscriptionExtractor.fromInputStream(
+                new FileInputStream(resolveTestResource("youtube_takeout_import_test.json")));
+
+        final List<SubscriptionItem> items = new ArrayList<>();
+        try (SubscriptionItemReader reader = subscriptionExtractor.readerFromInputStream(
+                new FileInputStream(resolveTestResource("youtube_takeout_import_test.json")),
+                "json")) {
+            reader.iterator().forEachRemaining(items::add);
+        }
+
+        assertEquals(getUrls(expectedItems), getUrls(items));
+    }
+
+    @Test
+    public void fromZipInputStreamWithConsumer() throws Exception {
+        for (final String path : Arrays.asList(
+                "youtube_takeout_import_test_1.zip", "youtube_takeout_import_test_2.zip")) {
+            final List<SubscriptionItem> expectedItems = subscriptionExtractor.fromZipInputStream(
+                    new FileInputStream(resolveTestResource(path)));
+
+            final List<SubscriptionItem> items = new ArrayList<>();
+            subscriptionExtractor.fromInputStream(new FileInputStream(resolveTestResource(path)),
+                    "zip", items::add);
+
+            assertSubscriptionItems(items);
+            assertEquals(getUrls(expectedItems), getUrls(items));
+        }
+    }
+
+    @Test
+    public void itemsAreReadBeforeTheEndOfTheInputStream() {
+        final String source = "[{\"snippet\":{\"resourceId\":{\"channelId\":"
+                + "\"UCEOXxzW2vU0P-0THehuIIeg\"},\"title\":\"name1\"}},";
+        // Fails when reading after the first subscription
+        final InputStream inputStream = new SequenceInputStream(
+                new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("Connection lost");
+                    }
+                });
+
+        final List<SubscriptionItem> items = new ArrayList<>();
+        assertThrows(SubscriptionExtractor.InvalidSourceException.class,
+                () -> subscriptionExtractor.fromInputStream(inputStream, "json", items::add));
+        assertEquals(1, items.size());
+        assertEquals("name1", items.get(0).getName());
+    }
+
+    private static List<String> getUrls(final List<SubscriptionItem> subscriptionItems) {
+        return subscriptionItems.stream()
+                .map(SubscriptionItem::getUrl)
+                .collect(Collectors.toList());
+    }
 }
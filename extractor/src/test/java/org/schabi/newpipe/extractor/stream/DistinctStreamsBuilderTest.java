@@ -0,0 +1,92 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.MediaFormat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DistinctStreamsBuilderTest {
+
+    @Test
+    void similarAudioStreamsAreSkipped() {
+        final DistinctStreamsBuilder<AudioStream> builder = new DistinctStreamsBuilder<>();
+        final AudioStream first = createAudioStream("1", MediaFormat.M4A, 128);
+        final AudioStream other = createAudioStream("2", MediaFormat.M4A, 48);
+
+        assertTrue(builder.addIfDistinct(first));
+        assertFalse(builder.addIfDistinct(createAudioStream("3", MediaFormat.M4A, 128)));
+        assertTrue(builder.addIfDistinct(other));
+        assertTrue(builder.addIfDistinct(createAudioStream("4", MediaFormat.WEBMA, 128)));
+
+        final List<AudioStream> streams = builder.build();
+        assertEquals(3, streams.size());
+        assertSame(first, streams.get(0));
+        assertSame(other, streams.get(1));
+    }
+
+    @Test
+    void similarVideoStreamsAreSkipped() {
+        final DistinctStreamsBuilder<VideoStream> builder = new DistinctStreamsBuilder<>();
+        builder.add(createVideoStream("1", "720p", false));
+
+        assertFalse(builder.addIfDistinct(createVideoStream("2", "720p", false)));
+        assertTrue(builder.addIfDistinct(createVideoStream("3", "720p", true)));
+        assertTrue(builder.addIfDistinct(createVideoStream("4", "1080p", false)));
+        assertEquals(3, builder.size());
+    }
+
+    @Test
+    void streamsWithUnknownFormatAreAlwaysAdded() {
+        final DistinctStreamsBuilder<AudioStream> builder = new DistinctStreamsBuilder<>();
+
+        assertTrue(builder.addIfDistinct(createAudioStream("1", null, 128)));
+        assertTrue(builder.addIfDistinct(createAudioStream("1", null, 128)));
+        assertEquals(2, builder.build().size());
+    }
+
+    @Test
+    void resultsMatchContainSimilarStream() {
+        final DistinctStreamsBuilder<AudioStream> builder = new DistinctStreamsBuilder<>();
+        final List<AudioStream> expected = new ArrayList<>();
+        final MediaFormat[] formats = {MediaFormat.M4A, MediaFormat.WEBMA, MediaFormat.MP3, null};
+        for (int i = 0; i < 64; i++) {
+            final AudioStream stream = createAudioStream(String.valueOf(i),
+                    formats[i % formats.length], 32 * (i % 5));
+            if (!Stream.containSimilarStream(stream, expected)) {
+                expected.add(stream);
+            }
+            builder.addIfDistinct(stream);
+        }
+
+        assertEquals(expected, builder.build());
+    }
+
+    private static AudioStream createAudioStream(final String id,
+                                                 final MediaFormat mediaFormat,
+                                                 final int averageBitrate) {
+        return new AudioStream.Builder()
+                .setId(id)
+                .setContent("https://example.com/audio/" + id, true)
+                .setMediaFormat(mediaFormat)
+                .setAverageBitrate(averageBitrate)
+                .build();
+    }
+
+    private static VideoStream createVideoStream(final String id,
+                                                 final String resolution,
+                                                 final boolean isVideoOnly) {
+        return new VideoStream.Builder()
+                .setId(id)
+                .setContent("https://example.com/video/" + id, true)
+                .setMediaFormat(MediaFormat.MPEG_4)
+                .setResolution(resolution)
+                .setIsVideoOnly(isVideoOnly)
+                .build();
+    }
+}
@@ -0,0 +1,86 @@
+package org.schabi.newpipe.extractor.stream;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FramesetTest {
+    private static final String URL_TEMPLATE = "https://example.com/sb/M$M.jpg?sigh=abc";
+
+    @Test
+    void pageUrlsAreComputedFromTemplate() {
+        // 5 x 5 frames per page, 101 frames -> 5 pages
+        final Frameset frameset = new Frameset(URL_TEMPLATE, "$M", 160, 90, 101, 2000, 5, 5);
+
+        assertEquals(5, frameset.getPageCount());
+        assertEquals("https://example.com/sb/M3.jpg?sigh=abc", frameset.getPageUrl(3));
+        assertEquals(List.of(
+                "https://example.com/sb/M0.jpg?sigh=abc",
+                "https://example.com/sb/M1.jpg?sigh=abc",
+                "https://example.com/sb/M2.jpg?sigh=abc",
+                "https://example.com/sb/M3.jpg?sigh=abc",
+                "https://example.com/sb/M4.jpg?sigh=abc"), frameset.getUrls());
+        assertThrows(IndexOutOfBoundsException.class, () -> frameset.getPageUrl(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> frameset.getUrls().get(5));
+        assertInstanceOf(Serializable.class, frameset.getUrls());
+    }
+
+    @Test
+    void pageUrlsViewCanBeSerialized() throws Exception {
+        final Frameset frameset = new Frameset(URL_TEMPLATE, "$M", 160, 90, 101, 2000, 5, 5);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(frameset.getUrls());
+        }
+        try (ObjectInputStream input = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertEquals(frameset.getUrls(), input.readObject());
+        }
+    }
+
+    @Test
+    void frameBoundsAreWrittenInGivenArray() {
+        final Frameset frameset = new Frameset(URL_TEMPLATE, "$M", 160, 90, 101, 2000, 5, 5);
+        final int[] bounds = new int[Frameset.FRAME_BOUNDS_SIZE];
+
+        // Frame 32: page 1, frame 7 of the page -> row 1, column 2
+        assertSame(bounds, frameset.getFrameBoundsAt(64_500, bounds));
+        assertArrayEquals(new int[] {1, 320, 90, 480, 180}, bounds);
+        assertArrayEquals(bounds, frameset.getFrameBoundsAt(64_500));
+        assertEquals("https://example.com/sb/M1.jpg?sigh=abc", frameset.getPageUrlAt(64_500));
+
+        // Positions out of the stream fall back to the first frame
+        frameset.getFrameBoundsAt(-1, bounds);
+        assertArrayEquals(new int[] {0, 0, 0, 160, 90}, bounds);
+        frameset.getFrameBoundsAt(10_000_000, bounds);
+        assertArrayEquals(new int[] {0, 0, 0, 160, 90}, bounds);
+
+        // The last frame is used at the very end of the stream
+        frameset.getFrameBoundsAt(101 * 2000, bounds);
+        assertArrayEquals(new int[] {4, 0, 0, 160, 90}, bounds);
+    }
+
+    @Test
+    void frameBoundsOfNonSquarePages() {
+        // Single page with 4 columns and 2 rows, like PeerTube storyboards
+        final Frameset frameset = new Frameset(List.of("https://example.com/storyboard.jpg"),
+                192, 108, 8, 1000, 4, 2);
+
+        assertEquals(1, frameset.getPageCount());
+        assertArrayEquals(new int[] {0, 576, 0, 768, 108}, frameset.getFrameBoundsAt(3_000));
+        assertArrayEquals(new int[] {0, 192, 108, 384, 216}, frameset.getFrameBoundsAt(5_000));
+        assertEquals("https://example.com/storyboard.jpg", frameset.getPageUrlAt(5_000));
+    }
+}
@@ -0,0 +1,98 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvScannerTest {
+    // Small buffers make records and quotes span several reads
+    private static final int[] BUFFER_SIZES = {1, 2, 3, 4, 7, 8192};
+
+    @Test
+    void quotedFieldsAndLineBreaks() throws IOException {
+        final String csv = "\uFEFFid,url,title\r\n"
+                + "1,\"https://example.com/a,b\",\"Say \"\"hi\"\"\"\n"
+                + "2,,\"multi\r\nline\"\r"
+                + "3,été,\"\"\n"
+                + "\n"
+                + "4,last";
+
+        for (final int bufferSize : BUFFER_SIZES) {
+            assertEquals(List.of(
+                    List.of("id", "url", "title"),
+                    List.of("1", "https://example.com/a,b", "Say \"hi\""),
+                    List.of("2", "", "multi\r\nline"),
+                    List.of("3", "été", ""),
+                    List.of(""),
+                    List.of("4", "last")), scanAll(csv, bufferSize));
+        }
+    }
+
+    @Test
+    void trailingLineBreakDoesNotAddRecord() throws IOException {
+        for (final int bufferSize : BUFFER_SIZES) {
+            assertEquals(List.of(List.of("a", "b"), List.of("c", "d")),
+                    scanAll("a,b\r\nc,d\r\n", bufferSize));
+            assertEquals(List.of(List.of("a", "\"b")), scanAll("a,\"\"\"b\"", bufferSize));
+            assertEquals(List.of(), scanAll("\uFEFF", bufferSize));
+            assertEquals(List.of(), scanAll("", bufferSize));
+        }
+    }
+
+    @Test
+    void fieldPrefixesAreComparedWithoutDecoding() throws IOException {
+        final CsvScanner scanner = new CsvScanner(new ByteArrayInputStream(
+                "UC1,\"https://www.youtube.com/channel/UC1\",name\n"
+                        .getBytes(StandardCharsets.UTF_8)));
+        final byte[] prefix = "https://www.youtube.com/channel/".getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(scanner.nextRecord());
+        assertEquals(3, scanner.getFieldCount());
+        assertTrue(scanner.fieldStartsWith(1, prefix));
+        assertFalse(scanner.fieldStartsWith(0, prefix));
+        assertFalse(scanner.fieldStartsWith(2, prefix));
+        assertEquals("UC1", scanner.getField(1, prefix.length));
+        assertEquals(prefix.length + 3, scanner.getFieldByteLength(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> scanner.getField(3));
+        assertFalse(scanner.nextRecord());
+    }
+
+    @Test
+    void manyFieldsInRecord() throws IOException {
+        final StringBuilder csv = new StringBuilder();
+        final List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            if (i > 0) {
+                csv.append(',');
+            }
+            csv.append(i);
+            expected.add(String.valueOf(i));
+        }
+
+        assertEquals(List.of(expected), scanAll(csv.toString(), 16));
+    }
+
+    private static List<List<String>> scanAll(final String csv, final int bufferSize)
+            throws IOException {
+        final CsvScanner scanner = new CsvScanner(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), bufferSize);
+        final List<List<String>> records = new ArrayList<>();
+        while (scanner.nextRecord()) {
+            final List<String> fields = new ArrayList<>();
+            for (int i = 0; i < scanner.getFieldCount(); i++) {
+                fields.add(scanner.getField(i));
+            }
+            records.add(fields);
+        }
+        return records;
+    }
+}
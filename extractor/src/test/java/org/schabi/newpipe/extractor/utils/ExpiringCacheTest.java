@@ -0,0 +1,163 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.downloader.FakeDownloader;
+import org.schabi.newpipe.extractor.ExtractionContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExpiringCacheTest {
+    private static final long TIME_TO_LIVE = TimeUnit.MINUTES.toNanos(3);
+    private static final long REFRESH_DELAY = TimeUnit.MINUTES.toNanos(2);
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    // Background refreshes run when the test runs them
+    private final List<Runnable> refreshes = new ArrayList<>();
+
+    @BeforeAll
+    static void setUp() {
+        // Values are refreshed with the current context, which is the default one here
+        FakeDownloader.init(request -> {
+            throw new UnsupportedOperationException("No network access in this test");
+        });
+    }
+
+    @Test
+    void valuesExpireAfterTheirTimeToLive() throws Exception {
+        final ExpiringCache<String, String> cache = createCache(10);
+        assertEquals("value1", cache.get("key", this::load));
+        nanoTime.addAndGet(REFRESH_DELAY - 1);
+        assertEquals("value1", cache.get("key", this::load));
+        assertEquals("value1", cache.getIfPresent("key"));
+
+        nanoTime.set(TIME_TO_LIVE);
+        assertNull(cache.getIfPresent("key"));
+        assertEquals("value2", cache.get("key", this::load));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void valuesAreRefreshedInTheBackground() throws Exception {
+        final ExpiringCache<String, String> cache = createCache(10);
+        assertEquals("value1", cache.get("key", this::load));
+
+        nanoTime.set(REFRESH_DELAY);
+        assertEquals("value1", cache.get("key", this::load));
+        assertEquals("value1", cache.get("key", this::load));
+        assertEquals(1, refreshes.size());
+        assertEquals(1, loads.get());
+
+        refreshes.remove(0).run();
+        assertEquals("value2", cache.get("key", this::load));
+        // The refreshed value has its own time to live
+        nanoTime.set(REFRESH_DELAY + TIME_TO_LIVE - 1);
+        assertEquals("value2", cache.getIfPresent("key"));
+    }
+
+    @Test
+    void valuesAreRefreshedWithTheContextOfTheCaller() throws Exception {
+        final List<Runnable> contextRefreshes = new ArrayList<>();
+        final ExtractionContext context = ExtractionContext.newBuilder()
+                .downloader(new FakeDownloader(request -> FakeDownloader.ok(request, "")))
+                .executor(contextRefreshes::add)
+                .build();
+        // Without an executor, values are refreshed on the executor of the context
+        final ExpiringCache<String, String> cache = new ExpiringCache<>("test", TIME_TO_LIVE,
+                REFRESH_DELAY, 10, null, nanoTime::get);
+        final List<ExtractionContext> loadContexts = new ArrayList<>();
+        final ExpiringCache.Loader<String> loader = () -> {
+            loadContexts.add(ExtractionContext.current());
+            return load();
+        };
+
+        try (ExtractionContext.Scope ignored = context.enter()) {
+            assertEquals("value1", cache.get("key", loader));
+            nanoTime.set(REFRESH_DELAY);
+            assertEquals("value1", cache.get("key", loader));
+        }
+        assertEquals(1, contextRefreshes.size());
+
+        // The refresh runs outside of the scope of the caller, e.g. on another thread
+        contextRefreshes.remove(0).run();
+        assertEquals(2, loadContexts.size());
+        assertSame(context, loadContexts.get(1));
+        assertNotSame(context, ExtractionContext.current());
+        assertEquals("value2", cache.getIfPresent("key"));
+    }
+
+    @Test
+    void failedLoadsAreNotCached() throws Exception {
+        final ExpiringCache<String, String> cache = createCache(10);
+        assertThrows(IOException.class, () -> cache.get("key", () -> {
+            throw new IOException("Network error");
+        }));
+        assertEquals(0, cache.size());
+        assertEquals("value1", cache.get("key", this::load));
+    }
+
+    @Test
+    void leastRecentlyUsedValuesAreRemoved() throws Exception {
+        final ExpiringCache<String, String> cache = createCache(2);
+        cache.get("a", this::load);
+        cache.get("b", this::load);
+        cache.get("a", this::load);
+        cache.get("c", this::load);
+
+        assertEquals(2, cache.size());
+        assertEquals("value1", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+    }
+
+    @Test
+    void concurrentRequestsShareOneLoad() throws Exception {
+        final ExpiringCache<String, String> cache = createCache(10);
+        final List<Callable<String>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(() -> cache.get("key", () -> {
+                try {
+                    // Give other threads the opportunity to request the same key
+                    Thread.sleep(50);
+                } catch (final InterruptedException e) {
+                    throw new IOException(e);
+                }
+                return load();
+            }));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (final Future<String> result : executor.invokeAll(calls)) {
+                assertEquals("value1", result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    private ExpiringCache<String, String> createCache(final int maximumSize) {
+        return new ExpiringCache<>("test", TIME_TO_LIVE, REFRESH_DELAY, maximumSize, refreshes::add,
+                nanoTime::get);
+    }
+
+    private String load() {
+        return "value" + loads.incrementAndGet();
+    }
+}
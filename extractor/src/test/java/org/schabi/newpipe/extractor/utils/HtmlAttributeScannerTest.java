@@ -0,0 +1,64 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HtmlAttributeScannerTest {
+
+    @Test
+    void attributeValuesAreDecoded() {
+        final String html = "<!DOCTYPE html><html><head><title>a data-x=\"no\"</title>"
+                + "<script type=\"text/javascript\" data-tralbum=\"{&quot;id&quot;:1,"
+                + "&quot;title&quot;:&quot;Rock &amp; Roll &#39;n&#x27; &eacute;&quot;}\">"
+                + "var a = '<p data-embed=\"no\">';</script></head><body></body></html>";
+
+        assertEquals("{\"id\":1,\"title\":\"Rock & Roll 'n' é\"}",
+                HtmlAttributeScanner.getFirstAttributeValue(html, "data-tralbum"));
+        assertNull(HtmlAttributeScanner.getFirstAttributeValue(html, "data-embed"));
+        assertNull(HtmlAttributeScanner.getFirstAttributeValue(html, "data-x"));
+        assertNull(HtmlAttributeScanner.getFirstAttributeValue(html, "data"));
+    }
+
+    @Test
+    void resultsMatchJsoup() {
+        final List<String> documents = List.of(
+                "<div data-band='{\"id\":42}' class=a>text</div>",
+                "<DIV DATA-BAND=unquoted>text</DIV><p data-band=\"second\"></p>",
+                "<!-- <p data-band=\"comment\"> --><p data-band = \"spaced\" />",
+                "<p data-band-extra=\"other\" data-band>empty</p>",
+                "<p title=\"a > b\" data-band=\"after &gt; quoted\"></p>",
+                "<style>p[data-band=\"css\"]{}</style><br/><img src=x data-band=\"img\">",
+                "1 < 2 <p>no attribute</p>",
+                "<p data-band=\"&lt;b&gt;bold&lt;/b&gt; &copy; &#169; &unknown;\"></p>");
+
+        for (final String html : documents) {
+            final String expected = Jsoup.parse(html).getElementsByAttribute("data-band")
+                    .attr("data-band");
+            final String actual = HtmlAttributeScanner.getFirstAttributeValue(html, "data-band");
+            assertEquals(expected, actual == null ? "" : actual, html);
+        }
+    }
+
+    @Test
+    void truncatedDocuments() {
+        assertNull(HtmlAttributeScanner.getFirstAttributeValue("", "data-band"));
+        assertNull(HtmlAttributeScanner.getFirstAttributeValue("<", "data-band"));
+        assertNull(HtmlAttributeScanner.getFirstAttributeValue("<p data", "data-band"));
+        assertNull(HtmlAttributeScanner.getFirstAttributeValue("<!-- <p data-band=1>",
+                "data-band"));
+        assertEquals("{\"id\"", HtmlAttributeScanner.getFirstAttributeValue(
+                "<p data-band=\"{&quot;id&quot;", "data-band"));
+    }
+
+    @Test
+    void jsonDataIsReadFromAttribute() throws Exception {
+        final String html = "<html><body><div id=\"pagedata\" data-blob=\"{&quot;name&quot;:"
+                + "&quot;Mycenae&quot;}\"></div></body></html>";
+        assertEquals("Mycenae", JsonUtils.getJsonData(html, "data-blob").getString("name"));
+    }
+}
@@ -0,0 +1,87 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.Image;
+import org.schabi.newpipe.extractor.Image.ResolutionLevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ImageInternerTest {
+    private static final List<ImageSuffix> SUFFIXES = List.of(
+            new ImageSuffix("small", 32, 32, ResolutionLevel.LOW),
+            new ImageSuffix("large", 500, 500, ResolutionLevel.MEDIUM));
+
+    @BeforeEach
+    void resetInterner() {
+        ImageInterner.setEnabled(true);
+        ImageInterner.setMaximumSize(ImageInterner.DEFAULT_MAXIMUM_SIZE);
+        ImageInterner.clear();
+    }
+
+    @Test
+    void equalListsAreShared() {
+        final List<Image> first = ImageInterner.intern(createImages("https://example.com/a"));
+        final List<Image> second = ImageInterner.intern(createImages("https://example.com/a"));
+        final List<Image> other = ImageInterner.intern(createImages("https://example.com/b"));
+
+        assertSame(first, second);
+        assertNotSame(first, other);
+        assertEquals(2, ImageInterner.size());
+        assertThrows(UnsupportedOperationException.class, () -> first.add(null));
+    }
+
+    @Test
+    void suffixedImagesAreBuiltOnce() {
+        final List<String> builtUrls = new ArrayList<>();
+        final List<Image> first = ImageInterner.getImagesFromSuffixes("https://example.com/a-",
+                SUFFIXES, suffix -> {
+                    builtUrls.add(suffix.getSuffix());
+                    return "https://example.com/a-" + suffix.getSuffix();
+                });
+        final List<Image> second = ImageInterner.getImagesFromSuffixes("https://example.com/a-",
+                SUFFIXES, suffix -> {
+                    builtUrls.add(suffix.getSuffix());
+                    return "https://example.com/a-" + suffix.getSuffix();
+                });
+
+        assertSame(first, second);
+        assertEquals(List.of("small", "large"), builtUrls);
+        assertEquals("https://example.com/a-large", first.get(1).getUrl());
+        assertEquals(500, first.get(1).getHeight());
+        assertEquals(ResolutionLevel.LOW, first.get(0).getEstimatedResolutionLevel());
+    }
+
+    @Test
+    void cacheIsBounded() {
+        ImageInterner.setMaximumSize(3);
+        for (int i = 0; i < 10; i++) {
+            ImageInterner.intern(createImages("https://example.com/" + i));
+        }
+        assertEquals(1, ImageInterner.size());
+    }
+
+    @Test
+    void disabledInternerDoesNotShareLists() {
+        ImageInterner.setEnabled(false);
+        final List<Image> first = ImageInterner.intern(createImages("https://example.com/a"));
+        final List<Image> second = ImageInterner.intern(createImages("https://example.com/a"));
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertEquals(0, ImageInterner.size());
+    }
+
+    private static List<Image> createImages(final String url) {
+        final List<Image> images = new ArrayList<>();
+        images.add(new Image(url + "/default.jpg", 90, 120, ResolutionLevel.LOW));
+        images.add(new Image(url + "/hq.jpg", 720, 1280, ResolutionLevel.HIGH));
+        return images;
+    }
+}
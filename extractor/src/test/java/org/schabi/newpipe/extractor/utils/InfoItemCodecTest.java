@@ -0,0 +1,182 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.Image;
+import org.schabi.newpipe.extractor.Image.ResolutionLevel;
+import org.schabi.newpipe.extractor.InfoItem;
+import org.schabi.newpipe.extractor.channel.ChannelInfoItem;
+import org.schabi.newpipe.extractor.localization.DateWrapper;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfo;
+import org.schabi.newpipe.extractor.playlist.PlaylistInfoItem;
+import org.schabi.newpipe.extractor.stream.Description;
+import org.schabi.newpipe.extractor.stream.StreamInfoItem;
+import org.schabi.newpipe.extractor.stream.StreamType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InfoItemCodecTest {
+    private static final List<Image> AVATARS = List.of(
+            new Image("https://example.com/avatar=s48", 48, 48, ResolutionLevel.LOW),
+            new Image("https://example.com/avatar=s176", 176, 176, ResolutionLevel.MEDIUM));
+
+    @Test
+    void streamItemsRoundTrip() throws IOException {
+        final StreamInfoItem item = createStreamItem(0);
+        item.setUploadDate(new DateWrapper(
+                OffsetDateTime.of(2023, 4, 5, 6, 7, 8, 9, ZoneOffset.ofHours(2)), true));
+        final StreamInfoItem liveItem = new StreamInfoItem(1, "https://example.com/live",
+                "Live", StreamType.LIVE_STREAM);
+
+        final List<InfoItem> decoded = InfoItemCodec.decode(
+                InfoItemCodec.encode(List.of(item, liveItem)));
+
+        assertEquals(2, decoded.size());
+        assertStreamItemEquals(item, (StreamInfoItem) decoded.get(0));
+        assertStreamItemEquals(liveItem, (StreamInfoItem) decoded.get(1));
+        assertNull(((StreamInfoItem) decoded.get(1)).getUploadDate());
+    }
+
+    @Test
+    void channelAndPlaylistItemsRoundTrip() throws IOException {
+        final ChannelInfoItem channel = new ChannelInfoItem(2, "https://example.com/c", "Channel");
+        channel.setThumbnails(AVATARS);
+        channel.setDescription("A channel");
+        channel.setSubscriberCount(123_456_789L);
+        channel.setStreamCount(-1);
+        channel.setVerified(true);
+
+        final PlaylistInfoItem playlist = new PlaylistInfoItem(2, "https://example.com/p", "List");
+        playlist.setUploaderName("Uploader");
+        playlist.setUploaderUrl("https://example.com/c");
+        playlist.setStreamCount(42);
+        playlist.setDescription(new Description("<b>Playlist</b>", Description.HTML));
+        playlist.setPlaylistType(PlaylistInfo.PlaylistType.MIX_STREAM);
+
+        final List<InfoItem> decoded = InfoItemCodec.decode(
+                InfoItemCodec.encode(List.of(channel, playlist)));
+
+        final ChannelInfoItem decodedChannel = (ChannelInfoItem) decoded.get(0);
+        assertEquals(channel.getUrl(), decodedChannel.getUrl());
+        assertEquals(channel.getThumbnails(), decodedChannel.getThumbnails());
+        assertEquals(channel.getDescription(), decodedChannel.getDescription());
+        assertEquals(channel.getSubscriberCount(), decodedChannel.getSubscriberCount());
+        assertEquals(channel.getStreamCount(), decodedChannel.getStreamCount());
+        assertTrue(decodedChannel.isVerified());
+
+        final PlaylistInfoItem decodedPlaylist = (PlaylistInfoItem) decoded.get(1);
+        assertEquals(playlist.getName(), decodedPlaylist.getName());
+        assertEquals(playlist.getUploaderName(), decodedPlaylist.getUploaderName());
+        assertEquals(playlist.getUploaderUrl(), decodedPlaylist.getUploaderUrl());
+        assertEquals(playlist.getStreamCount(), decodedPlaylist.getStreamCount());
+        assertEquals(playlist.getDescription(), decodedPlaylist.getDescription());
+        assertEquals(playlist.getPlaylistType(), decodedPlaylist.getPlaylistType());
+    }
+
+    @Test
+    void encodingIsSmallerThanJavaSerialization() throws IOException {
+        final List<StreamInfoItem> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(createStreamItem(i));
+        }
+
+        final ByteArrayOutputStream javaSerialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(javaSerialized)) {
+            objectOutputStream.writeObject(items);
+        }
+        final byte[] encoded = InfoItemCodec.encode(items);
+
+        assertTrue(encoded.length * 3 < javaSerialized.size(), "Encoded size: "
+                + encoded.length + ", Java serialization size: " + javaSerialized.size());
+    }
+
+    @Test
+    void invalidDataIsRejected() {
+        final byte[] encoded = InfoItemCodec.encode(List.of(createStreamItem(0)));
+
+        final byte[] wrongMagic = encoded.clone();
+        wrongMagic[0] = 0;
+        assertThrows(IOException.class, () -> InfoItemCodec.decode(wrongMagic));
+
+        final byte[] wrongVersion = encoded.clone();
+        wrongVersion[4] = 127;
+        assertThrows(IOException.class, () -> InfoItemCodec.decode(wrongVersion));
+
+        assertThrows(IOException.class, () -> InfoItemCodec.decode(
+                Arrays.copyOf(encoded, encoded.length / 2)));
+    }
+
+    @Test
+    void corruptedStringsAreRejected() {
+        // Header of one item, followed by the string reference of its type
+        final byte[] header = {0x4E, 0x50, 0x49, 0x43, 1, 1};
+
+        // A reference decoded as a negative number
+        final byte[] negativeReference = concat(header,
+                new byte[] {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F});
+        assertThrows(IOException.class, () -> InfoItemCodec.decode(negativeReference));
+
+        // A new string claiming to be 2 GiB long, in a few bytes of data
+        final byte[] hugeString = concat(header,
+                new byte[] {1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'A'});
+        assertThrows(IOException.class, () -> InfoItemCodec.decode(hugeString));
+    }
+
+    private static byte[] concat(final byte[] first, final byte[] second) {
+        final byte[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    private static StreamInfoItem createStreamItem(final int index) {
+        final StreamInfoItem item = new StreamInfoItem(0, "https://example.com/watch?v=" + index,
+                "Video " + index, StreamType.VIDEO_STREAM);
+        item.setThumbnails(List.of(new Image("https://example.com/vi/" + index + "/hq.jpg",
+                360, 480, ResolutionLevel.MEDIUM)));
+        item.setUploaderName("Uploader");
+        item.setUploaderUrl("https://example.com/channel/uploader");
+        item.setUploaderAvatars(AVATARS);
+        item.setUploaderVerified(true);
+        item.setShortDescription("Description of video " + index);
+        item.setTextualUploadDate(index + " days ago");
+        item.setViewCount(1_000_000L + index);
+        item.setDuration(index * 60L);
+        item.setShortFormContent(index % 2 == 0);
+        return item;
+    }
+
+    private static void assertStreamItemEquals(final StreamInfoItem expected,
+                                               final StreamInfoItem actual) {
+        assertEquals(expected.getServiceId(), actual.getServiceId());
+        assertEquals(expected.getUrl(), actual.getUrl());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getThumbnails(), actual.getThumbnails());
+        assertEquals(expected.getStreamType(), actual.getStreamType());
+        assertEquals(expected.getUploaderName(), actual.getUploaderName());
+        assertEquals(expected.getUploaderUrl(), actual.getUploaderUrl());
+        assertEquals(expected.getUploaderAvatars(), actual.getUploaderAvatars());
+        assertEquals(expected.isUploaderVerified(), actual.isUploaderVerified());
+        assertEquals(expected.getShortDescription(), actual.getShortDescription());
+        assertEquals(expected.getTextualUploadDate(), actual.getTextualUploadDate());
+        assertEquals(expected.getViewCount(), actual.getViewCount());
+        assertEquals(expected.getDuration(), actual.getDuration());
+        assertEquals(expected.isShortFormContent(), actual.isShortFormContent());
+        if (expected.getUploadDate() != null) {
+            assertEquals(expected.getUploadDate().offsetDateTime(),
+                    actual.getUploadDate().offsetDateTime());
+            assertEquals(expected.getUploadDate().isApproximation(),
+                    actual.getUploadDate().isApproximation());
+        }
+    }
+}
@@ -23,6 +23,20 @@ public class JavaScriptExtractorTest
         assertEquals("(d){var x = [/,,/,913,/(,)}/g,\"abcdef}\\\"\",];var y = 10/2/1;return x[1][y];}", result);
     }
 
+    @Test
+    void testLexRegionByOffsets() throws ParsingException {
+        final String src = "var a=1;Wka=function(d){return d/2/1;}/x/g;var b={c:}";
+        final int start = src.indexOf("function");
+        final int end = JavaScriptExtractor.findClosingBrace(src, start);
+        assertEquals("function(d){return d/2/1;}", src.substring(start, end));
+
+        final Lexer lexer = new Lexer(src, end, src.indexOf(";var b"));
+        assertEquals(Token.REGEXP, lexer.nextToken());
+        assertEquals(end, lexer.getTokenStart());
+        assertEquals(end + 4, lexer.getTokenEnd());
+        assertEquals(Token.EOF, lexer.nextToken());
+    }
+
     @Test
     void testEverythingJs() throws ParsingException, IOException {
         final File jsFile = resolveTestResource("es5.js");
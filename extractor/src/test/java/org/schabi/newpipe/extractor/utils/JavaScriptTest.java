@@ -0,0 +1,46 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JavaScriptTest {
+    private static final String FUNCTION = "function f(a){"
+            + "if(a===\"undefined\"){return undefined}"
+            + "if(a===\"null\"){return null}"
+            + "return a.split(\"\").reverse().join(\"\")}";
+
+    @Test
+    void runReturnsTheResultAsString() {
+        assertEquals("cba", JavaScript.run(FUNCTION, "f", "abc"));
+    }
+
+    @Test
+    void runReturnsNullForUndefinedOrNull() {
+        assertNull(JavaScript.run(FUNCTION, "f", "undefined"));
+        assertNull(JavaScript.run(FUNCTION, "f", "null"));
+    }
+
+    @Test
+    void runOnEachKeepsTheOrderOfParameters() {
+        assertEquals(List.of("cba", "fed", "cba"),
+                JavaScript.runOnEach(FUNCTION, "f", List.of("abc", "def", "abc")));
+    }
+
+    @Test
+    void runOnEachReturnsNullForUndefinedOrNull() {
+        assertEquals(Arrays.asList("cba", null, null, "fed"),
+                JavaScript.runOnEach(FUNCTION, "f",
+                        List.of("abc", "undefined", "null", "def")));
+    }
+
+    @Test
+    void runOnEachWithoutParametersDoesNotEvaluateTheFunction() {
+        assertTrue(JavaScript.runOnEach("this is not JavaScript", "f", List.of()).isEmpty());
+    }
+}
@@ -0,0 +1,119 @@
+package org.schabi.newpipe.extractor.utils;
+
+import org.junit.jupiter.api.Test;
+import org.schabi.newpipe.extractor.downloader.Request;
+import org.schabi.newpipe.extractor.downloader.Response;
+import org.schabi.newpipe.extractor.downloader.Validators;
+import org.schabi.newpipe.extractor.exceptions.ExtractionException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevalidatingCacheTest {
+    private static final String URL = "https://example.com/feed";
+
+    @Test
+    void validatorsAreSentAsConditionalHeaders() {
+        final Validators validators = new Validators("\"v1\"", "Sat, 17 Oct 2026 10:00:00 GMT");
+        final Request request = Request.newBuilder()
+                .get(URL)
+                .validators(validators)
+                .build();
+
+        assertEquals(List.of("\"v1\""), request.headers().get("If-None-Match"));
+        assertEquals(List.of("Sat, 17 Oct 2026 10:00:00 GMT"),
+                request.headers().get("If-Modified-Since"));
+        assertTrue(Validators.NONE.toRequestHeaders().isEmpty());
+        assertEquals(validators, new Response(200, "OK", Map.of(
+                "ETag", List.of("\"v1\""),
+                "Last-Modified", List.of("Sat, 17 Oct 2026 10:00:00 GMT")), "", URL)
+                .getValidators());
+    }
+
+    @Test
+    void parsedValueIsReusedWhenNotModified() throws Exception {
+        final RevalidatingCache<String> cache = new RevalidatingCache<>("test", 2);
+        final List<Validators> sentValidators = new ArrayList<>();
+        final AtomicInteger parseCount = new AtomicInteger();
+
+        final RevalidatingCache.Fetcher fetcher = validators -> {
+            sentValidators.add(validators);
+            if ("\"v1\"".equals(validators.getEntityTag())) {
+                return new Response(304, "Not Modified", Map.of(), "", URL);
+            }
+            return new Response(200, "OK", Map.of("ETag", List.of("\"v1\"")), "body", URL);
+        };
+        final RevalidatingCache.ResponseParser<String> parser = response -> {
+            parseCount.incrementAndGet();
+            return new String(response.responseBody());
+        };
+
+        final String value = cache.get(URL, fetcher, parser);
+        assertEquals("body", value);
+        assertSame(value, cache.get(URL, fetcher, parser));
+        assertEquals(1, parseCount.get());
+        assertEquals(List.of(Validators.NONE, new Validators("\"v1\"", null)), sentValidators);
+    }
+
+    @Test
+    void responsesWithoutValidatorsAreNotCached() throws Exception {
+        final RevalidatingCache<String> cache = new RevalidatingCache<>("test", 2);
+        final RevalidatingCache.Fetcher fetcher = validators -> {
+            assertTrue(validators.isEmpty());
+            return new Response(200, "OK", Map.of(), "body", URL);
+        };
+
+        assertEquals("body", cache.get(URL, fetcher, Response::responseBody));
+        assertNull(cache.getIfPresent(URL));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void unexpectedNotModifiedResponseFails() {
+        final RevalidatingCache<String> cache = new RevalidatingCache<>("test", 2);
+        assertThrows(ExtractionException.class, () -> cache.get(URL,
+                validators -> new Response(304, "Not Modified", Map.of(), "", URL),
+                Response::responseBody));
+    }
+
+    @Test
+    void leastRecentlyUsedValueIsRemoved() throws Exception {
+        final RevalidatingCache<String> cache = new RevalidatingCache<>("test", 2);
+        for (final String key : List.of("a", "b", "a", "c")) {
+            cache.get(key, validators -> new Response(200, "OK",
+                    Map.of("Last-Modified", List.of("yesterday")), key, key),
+                    Response::responseBody);
+        }
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.getIfPresent("a"));
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("c", cache.getIfPresent("c"));
+    }
+
+    @Test
+    void shrinkingRemovesLeastRecentlyUsedValues() throws Exception {
+        final RevalidatingCache<String> cache = new RevalidatingCache<>("test", 3);
+        for (final String key : List.of("a", "b", "c", "a")) {
+            cache.get(key, validators -> new Response(200, "OK",
+                    Map.of("Last-Modified", List.of("yesterday")), key, key),
+                    Response::responseBody);
+        }
+
+        cache.setMaximumSize(2);
+        assertEquals(2, cache.getMaximumSize());
+        assertEquals(2, cache.size());
+        assertNull(cache.getIfPresent("b"));
+        assertEquals("c", cache.getIfPresent("c"));
+        assertEquals("a", cache.getIfPresent("a"));
+        assertThrows(IllegalArgumentException.class, () -> cache.setMaximumSize(0));
+    }
+}